@@ -0,0 +1,96 @@
+package com.kkh.shop_1.security.jwt;
+
+import com.kkh.shop_1.security.config.SecurityWhitelist;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * JwtAuthenticationFilter의 요청당 오버헤드 측정.
+ *
+ * - verifyEveryRequest: 검증된 토큰 캐시를 끈 상태 (요청마다 HMAC 검증 + 클레임 파싱)
+ * - cachedToken: 같은 토큰이 다시 오는 일반적인 경우 (SHA-256 해시 + 캐시 조회)
+ * - whitelistPrecompiled / whitelistAntPathLoop: 공개 경로 판단 방식 비교
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtAuthenticationFilterBenchmark
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private MockHttpServletRequest uncachedRequest;
+    private MockHttpServletRequest cachedRequest;
+    private MockHttpServletResponse response;
+    private final String protectedUri = "/orders/history";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProvider uncached = new JwtProvider(SECRET, 0);
+        JwtProvider cached = new JwtProvider(SECRET, 10_000);
+        uncachedFilter = new JwtAuthenticationFilter(uncached);
+        cachedFilter = new JwtAuthenticationFilter(cached);
+
+        uncachedRequest = requestWith(uncached.createAccessToken(1L, "CUSTOMER"));
+        cachedRequest = requestWith(cached.createAccessToken(1L, "CUSTOMER"));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void verifyEveryRequest() throws Exception {
+        // OncePerRequestFilter.doFilter는 요청 속성으로 재실행을 막으므로 본문만 호출한다.
+        uncachedFilter.doFilterInternal(uncachedRequest, response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public void cachedToken() throws Exception {
+        cachedFilter.doFilterInternal(cachedRequest, response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public boolean whitelistPrecompiled() {
+        return SecurityWhitelist.matches(protectedUri);
+    }
+
+    @Benchmark
+    public boolean whitelistAntPathLoop() {
+        for (String pattern : SecurityWhitelist.PATHS) {
+            if (PATH_MATCHER.match(pattern, protectedUri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MockHttpServletRequest requestWith(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", protectedUri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -19,4 +19,10 @@ public @interface Idempotent {
      * 처리 결과를 Redis에 보관할 시간 (시간 단위)
      */
     long ttlHours() default 24L;
+
+    /**
+     * 선점과 같은 Redis 호출에서 함께 잡을 락 키 (SpEL, 메서드 인자를 #이름으로 참조).
+     * 결과가 null이거나 락을 다른 요청이 들고 있으면 선점만 하고, 락은 메서드 안에서 평소대로 잡는다.
+     */
+    String lockKey() default "";
 }
@@ -0,0 +1,35 @@
+package com.kkh.shop_1.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ *
+ * @Scheduled 작업을 클러스터 전체에서 한 노드만 실행하도록 한다.
+ * 같은 name의 작업은 Redis 임대(lease)를 먼저 잡은 노드만 실행하고, 나머지 노드는 이번 주기를 건너뛴다.
+ *
+ * 노드별 메모리 상태를 다루는 작업(메모리 버퍼 flush, JVM 내 인덱스 갱신 등)에는 붙이지 않는다.
+ *
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SchedulerLock {
+
+    /**
+     * 클러스터 전체에서 유일한 작업 이름
+     */
+    String name();
+
+    /**
+     * 실행 중인 노드가 죽어도 이 시간이 지나면 임대가 풀린다. (ISO-8601, 예: PT10M)
+     * 정상 실행 중에는 임대를 주기적으로 연장하되, 시작 시점부터 이 시간을 넘겨 연장하지는 않는다.
+     */
+    String lockAtMostFor();
+
+    /**
+     * 작업이 빨리 끝나도 시작 시점부터 이 시간 동안은 임대를 유지한다. (노드 간 시계 차이로 인한 중복 실행 방지)
+     */
+    String lockAtLeastFor() default "PT0S";
+}
@@ -7,6 +7,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.kkh.shop_1.common.annotation.Idempotent;
+import com.kkh.shop_1.common.idempotency.IdempotencyStore;
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,9 +16,13 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -24,16 +30,20 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.lang.reflect.Method;
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
  * @Idempotent 메서드를 감싸서 Idempotency-Key 헤더 기준으로 중복 실행을 막는다.
  *
- * - 이미 완료된 요청(Redis에 결과가 캐시됨)이면 실제 로직을 실행하지 않고 캐시된 응답을 그대로 반환한다.
- * - 같은 키로 동시에 요청이 들어오는 경우, Redisson 분산 락(이 프로젝트에서 OrderService가 쓰는 것과 동일한 방식)으로
- *   한 요청만 실행하고 나머지는 즉시 거절한다. (대기/폴링 없이 fail-fast — OrderService의 결제 승인 락과 동일한 전략)
- * - 실패(예외 발생)한 요청은 캐시하지 않아, 같은 키로 재시도할 수 있게 한다.
+ * - IdempotencyStore의 선점 스크립트 한 번으로 완료 여부 확인과 선점을 함께 한다.
+ *   이미 완료된 요청이면 실제 로직을 실행하지 않고 저장된 응답을 그대로 반환한다.
+ * - 같은 키의 요청이 처리 중이면 대기/폴링 없이 즉시 거절한다(fail-fast).
+ * - lockKey가 지정되면 선점과 같은 호출에서 그 락도 잡고, 메서드 안쪽에서 같은 락을 잡을 때 Redis를 다시 거치지 않게 한다.
+ *   (결제 승인: 멱등 선점 + 주문 승인 락을 Redis 왕복 한 번에 처리)
+ * - 완료는 내 선점일 때만 응답으로 바꾸는 compare-and-set 한 번이며, 함께 잡은 락도 같은 호출에서 푼다.
+ * - 실패(예외 발생)한 요청은 저장하지 않고 선점을 지워, 같은 키로 재시도할 수 있게 한다.
  *
  */
 @Aspect
@@ -43,12 +53,15 @@ import java.util.concurrent.TimeUnit;
 public class IdempotencyAop {
 
     private static final String HEADER_NAME = "Idempotency-Key";
-    private static final String LOCK_KEY_PREFIX = "idempotency:lock:";
-    private static final String RESULT_KEY_PREFIX = "idempotency:result:";
-    private static final long LOCK_LEASE_SECONDS = 60L; // 실제 처리가 이보다 오래 걸리면 락이 풀릴 수 있음(재시도 시 재실행 가능성)
+    private static final Duration LEASE = Duration.ofSeconds(60); // 실제 처리가 이보다 오래 걸리면 선점이 풀릴 수 있음(재시도 시 재실행 가능성)
 
-    private final RedissonClient redissonClient;
-    private final StringRedisTemplate stringRedisTemplate;
+    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final IdempotencyStore idempotencyStore;
+    private final RedisLeaseLock redisLeaseLock;
+
+    private final Map<String, Expression> lockKeyExpressions = new ConcurrentHashMap<>();
 
     // Lombok @Getter만 있고 Setter/기본 생성자가 없는 DTO도 역직렬화할 수 있도록 필드 기준으로 접근한다.
     private final ObjectMapper objectMapper = new ObjectMapper()
@@ -63,69 +76,93 @@ public class IdempotencyAop {
             throw new IllegalArgumentException("Idempotency-Key 헤더가 필요합니다.");
         }
 
-        JavaType returnType = resolveReturnType(joinPoint);
-        String resultKey = RESULT_KEY_PREFIX + idempotencyKey;
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String lockKey = resolveLockKey(method, joinPoint.getArgs(), idempotent.lockKey());
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim(idempotencyKey, lockKey, LEASE);
+        if (claim.state() == IdempotencyStore.State.COMPLETED) {
+            Object cached = readCachedResult(idempotencyKey, claim.cachedResult(), method);
+            if (cached != null) {
+                log.info("Idempotency 캐시 응답 반환. key={}", idempotencyKey);
+                return cached;
+            }
+            // 저장된 응답을 읽을 수 없으면(응답 형식 변경 등) 멱등 보장 없이 다시 실행한다.
+            return joinPoint.proceed();
+        }
+        if (claim.state() == IdempotencyStore.State.IN_FLIGHT) {
+            throw new IllegalStateException("동일한 요청이 이미 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        return proceedClaimed(joinPoint, claim, idempotent.ttlHours());
+    }
 
-        Object cached = readCachedResult(resultKey, returnType);
-        if (cached != null) {
-            log.info("Idempotency 캐시 응답 반환. key={}", idempotencyKey);
-            return cached;
+    private Object proceedClaimed(ProceedingJoinPoint joinPoint, IdempotencyStore.Claim claim, long ttlHours) throws Throwable {
+        if (claim.lockAcquired()) {
+            redisLeaseLock.adopt(claim.lockKey(), claim.token());
         }
 
-        RLock lock = redissonClient.getLock(LOCK_KEY_PREFIX + idempotencyKey);
-        boolean isLocked;
+        Object result;
         try {
-            isLocked = lock.tryLock(0, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("요청 처리 중 인터럽트가 발생했습니다.");
+            result = joinPoint.proceed();
+        } catch (Throwable t) {
+            release(claim);
+            throw t;
+        } finally {
+            if (claim.lockAcquired()) {
+                redisLeaseLock.forget(claim.lockKey());
+            }
         }
 
-        if (!isLocked) {
-            throw new IllegalStateException("동일한 요청이 이미 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        complete(claim, result, ttlHours);
+        return result;
+    }
+
+    private void complete(IdempotencyStore.Claim claim, Object result, long ttlHours) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(result);
+        } catch (Exception e) {
+            // 응답을 저장할 수 없으면 선점만 지운다. 이번 요청 자체는 이미 성공했으므로 예외를 던지지 않는다.
+            log.error("Idempotency 응답 직렬화 실패. key={}", claim.idempotencyKey(), e);
+            release(claim);
+            return;
         }
 
         try {
-            // 락을 기다리는 동안 먼저 들어온 요청이 이미 처리를 끝냈을 수 있으므로 한 번 더 확인한다.
-            cached = readCachedResult(resultKey, returnType);
-            if (cached != null) {
-                return cached;
+            if (!idempotencyStore.complete(claim, json, Duration.ofHours(ttlHours))) {
+                log.warn("Idempotency 선점 임대가 끝나 응답을 저장하지 못했습니다. key={}", claim.idempotencyKey());
             }
-
-            Object result = joinPoint.proceed();
-            cacheResult(resultKey, result, idempotent.ttlHours());
-            return result;
-        } finally {
-            lock.unlock();
+        } catch (Exception e) {
+            // 응답 저장 실패는 멱등성 보장이 다음 재시도에서 안 될 뿐, 이번 요청 자체는 이미 성공했으므로 예외를 던지지 않는다.
+            log.error("Idempotency 응답 저장 실패. key={}", claim.idempotencyKey(), e);
         }
     }
 
-    private Object readCachedResult(String resultKey, JavaType returnType) {
-        String cachedJson = stringRedisTemplate.opsForValue().get(resultKey);
-        if (cachedJson == null) {
-            return null;
-        }
+    private void release(IdempotencyStore.Claim claim) {
         try {
-            return objectMapper.readValue(cachedJson, returnType);
+            idempotencyStore.release(claim);
         } catch (Exception e) {
-            log.error("Idempotency 캐시 응답 역직렬화 실패. key={}", resultKey, e);
-            return null;
+            // 해제에 실패해도 임대 시간이 지나면 같은 키로 재시도할 수 있다.
+            log.warn("Idempotency 선점 해제 실패. key={}", claim.idempotencyKey(), e);
         }
     }
 
-    private void cacheResult(String resultKey, Object result, long ttlHours) {
+    private Object readCachedResult(String idempotencyKey, String cachedJson, Method method) {
         try {
-            String json = objectMapper.writeValueAsString(result);
-            stringRedisTemplate.opsForValue().set(resultKey, json, Duration.ofHours(ttlHours));
+            JavaType returnType = objectMapper.getTypeFactory().constructType(method.getGenericReturnType());
+            return objectMapper.readValue(cachedJson, returnType);
         } catch (Exception e) {
-            // 응답 캐싱 실패는 멱등성 보장이 다음 재시도에서 안 될 뿐, 이번 요청 자체는 이미 성공했으므로 예외를 던지지 않는다.
-            log.error("Idempotency 응답 캐싱 실패. key={}", resultKey, e);
+            log.error("Idempotency 캐시 응답 역직렬화 실패. key={}", idempotencyKey, e);
+            return null;
         }
     }
 
-    private JavaType resolveReturnType(ProceedingJoinPoint joinPoint) {
-        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
-        return objectMapper.getTypeFactory().constructType(method.getGenericReturnType());
+    private String resolveLockKey(Method method, Object[] args, String expression) {
+        if (!StringUtils.hasText(expression)) {
+            return null;
+        }
+        EvaluationContext context = new MethodBasedEvaluationContext(null, method, args, PARAMETER_NAMES);
+        Object value = lockKeyExpressions.computeIfAbsent(expression, EXPRESSION_PARSER::parseExpression).getValue(context);
+        return value != null ? value.toString() : null;
     }
 
     private String resolveIdempotencyKey() {
@@ -0,0 +1,179 @@
+package com.kkh.shop_1.common.aop;
+
+import com.kkh.shop_1.common.annotation.SchedulerLock;
+import com.kkh.shop_1.common.util.NodeIdentity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * @SchedulerLock 작업을 Redis 임대로 감싸 클러스터에서 한 노드만 실행하게 한다.
+ *
+ * - 임대는 Redisson 버킷(SET NX + TTL)으로 잡는다. 값은 노드/실행마다 다른 토큰이라, 연장/해제는 내 토큰일 때만 한다.
+ * - TTL은 짧게(최대 30초) 두고 실행 중에는 1/3 주기로 연장한다. 노드가 죽으면 TTL 안에 다른 노드가 이어받을 수 있다.
+ *   단, 시작 시점부터 lockAtMostFor를 넘겨서는 연장하지 않는다.
+ * - 작업이 끝나면 lockAtLeastFor가 남았으면 남은 시간만큼 임대를 유지하고, 아니면 바로 해제한다.
+ * - 실행/건너뜀/실패 횟수와 실행 시간, 마지막 성공 시각을 메트릭으로 남기고,
+ *   마지막 실행 기록(노드, 시각, 결과)은 Redis 해시에 남겨 어느 노드가 돌았는지 확인할 수 있게 한다.
+ *
+ */
+@Aspect
+@Component
+@Slf4j
+public class SchedulerLockAop {
+
+    private static final String LOCK_KEY_PREFIX = "scheduler:lock:";
+    private static final String HISTORY_KEY_PREFIX = "scheduler:history:";
+    private static final Duration MAX_LEASE = Duration.ofSeconds(30);
+
+    // 내 토큰일 때만 TTL을 바꾸거나(연장/유지) 지운다.
+    private static final String EXTEND_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end";
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final ScheduledExecutorService renewalExecutor;
+    private final Map<String, AtomicLong> lastSuccessEpochSeconds = new ConcurrentHashMap<>();
+
+    public SchedulerLockAop(RedissonClient redissonClient, MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = NodeIdentity.nodeId();
+        this.renewalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-lock-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Around("@annotation(schedulerLock)")
+    public Object around(ProceedingJoinPoint joinPoint, SchedulerLock schedulerLock) throws Throwable {
+        String name = schedulerLock.name();
+        Duration lockAtMostFor = Duration.parse(schedulerLock.lockAtMostFor());
+        Duration lockAtLeastFor = Duration.parse(schedulerLock.lockAtLeastFor());
+        Duration lease = lockAtMostFor.compareTo(MAX_LEASE) < 0 ? lockAtMostFor : MAX_LEASE;
+
+        String key = LOCK_KEY_PREFIX + name;
+        String token = nodeId + ":" + UUID.randomUUID();
+
+        if (!tryAcquire(key, token, lease)) {
+            log.debug("다른 노드가 실행 중이라 이번 주기를 건너뜁니다. job={}", name);
+            meterRegistry.counter("scheduler.job.runs", "job", name, "result", "skipped").increment();
+            return null;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long deadline = startedAt + lockAtMostFor.toMillis();
+        ScheduledFuture<?> renewal = scheduleRenewal(name, key, token, lease, deadline);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            result = "failure";
+            throw t;
+        } finally {
+            renewal.cancel(false);
+            long elapsed = System.currentTimeMillis() - startedAt;
+            release(name, key, token, lockAtLeastFor.toMillis() - elapsed);
+            recordRun(name, result, startedAt, elapsed, sample);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewalExecutor.shutdownNow();
+    }
+
+    private boolean tryAcquire(String key, String token, Duration lease) {
+        try {
+            return redissonClient.<String>getBucket(key, StringCodec.INSTANCE).setIfAbsent(token, lease);
+        } catch (Exception e) {
+            // Redis를 쓸 수 없으면 여러 노드가 동시에 돌 수 있으므로 이번 주기는 건너뛴다.
+            log.warn("스케줄러 임대 획득 실패. key={}", key, e);
+            return false;
+        }
+    }
+
+    private ScheduledFuture<?> scheduleRenewal(String name, String key, String token, Duration lease, long deadline) {
+        long period = Math.max(lease.toMillis() / 3, 1L);
+        return renewalExecutor.scheduleAtFixedRate(() -> {
+            long ttl = Math.min(lease.toMillis(), deadline - System.currentTimeMillis());
+            if (ttl <= 0) {
+                return; // lockAtMostFor 이후로는 연장하지 않는다.
+            }
+            try {
+                if (!compareAndSet(EXTEND_SCRIPT, key, token, String.valueOf(ttl))) {
+                    log.warn("스케줄러 임대를 잃었습니다. 다른 노드가 같은 작업을 실행할 수 있습니다. job={}", name);
+                }
+            } catch (Exception e) {
+                log.warn("스케줄러 임대 연장 실패. job={}", name, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void release(String name, String key, String token, long remainingAtLeastMillis) {
+        try {
+            if (remainingAtLeastMillis > 0) {
+                compareAndSet(EXTEND_SCRIPT, key, token, String.valueOf(remainingAtLeastMillis));
+            } else {
+                compareAndSet(RELEASE_SCRIPT, key, token);
+            }
+        } catch (Exception e) {
+            // 해제에 실패해도 TTL이 지나면 풀린다.
+            log.warn("스케줄러 임대 해제 실패. job={}", name, e);
+        }
+    }
+
+    private boolean compareAndSet(String script, String key, Object... args) {
+        Long updated = redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.INTEGER, List.<Object>of(key), args);
+        return updated != null && updated > 0;
+    }
+
+    private void recordRun(String name, String result, long startedAt, long elapsed, Timer.Sample sample) {
+        meterRegistry.counter("scheduler.job.runs", "job", name, "result", result).increment();
+        sample.stop(meterRegistry.timer("scheduler.job.duration", "job", name, "result", result));
+        if ("success".equals(result)) {
+            lastSuccessEpochSeconds.computeIfAbsent(name, job ->
+                    meterRegistry.gauge("scheduler.job.last.success", Tags.of("job", job), new AtomicLong())
+            ).set(System.currentTimeMillis() / 1000);
+        }
+
+        try {
+            redissonClient.<String, String>getMap(HISTORY_KEY_PREFIX + name, StringCodec.INSTANCE).putAll(Map.of(
+                    "node", nodeId,
+                    "startedAt", Instant.ofEpochMilli(startedAt).toString(),
+                    "durationMs", String.valueOf(elapsed),
+                    "result", result
+            ));
+        } catch (Exception e) {
+            log.warn("스케줄러 실행 기록 저장 실패. job={}", name, e);
+        }
+    }
+}
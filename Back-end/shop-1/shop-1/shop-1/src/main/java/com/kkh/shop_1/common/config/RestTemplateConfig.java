@@ -1,20 +1,91 @@
 package com.kkh.shop_1.common.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import com.kkh.shop_1.common.http.HttpClientPoolSpec;
+import com.kkh.shop_1.common.http.PooledRestTemplateFactory;
+import com.kkh.shop_1.domain.order.service.KakaoPayService;
+import com.kkh.shop_1.domain.order.service.NaverPayService;
+import com.kkh.shop_1.domain.order.service.TossPayService;
+import com.kkh.shop_1.domain.user.service.KakaoService;
+import com.kkh.shop_1.domain.user.service.NaverService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ *
+ * 외부 연동 대상별 RestTemplate. 대상마다 연결 풀이 따로 있으므로 호출부는 @Qualifier로 자기 것을 주입받는다.
+ *
+ * 예열 주소와 operation 매핑은 각 서비스의 주소/경로 상수(PG는 *.api-base-url 프로퍼티)에서 가져와, 호출 주소가 바뀌어도 함께 따라간다.
+ * operation 매핑은 요청 경로 조각 기준이며, 지연 시간 메트릭(http.client.provider.requests)의 operation 태그가 된다.
+ *
+ */
 @Configuration
 public class RestTemplateConfig {
 
-    @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(5))
-                .build();
+    public static final String KAKAO_PAY = "kakaoPayRestTemplate";
+    public static final String NAVER_PAY = "naverPayRestTemplate";
+    public static final String TOSS_PAY = "tossPayRestTemplate";
+    public static final String KAKAO_AUTH = "kakaoAuthRestTemplate";
+    public static final String NAVER_AUTH = "naverAuthRestTemplate";
+
+    @Bean(KAKAO_PAY)
+    public RestTemplate kakaoPayRestTemplate(PooledRestTemplateFactory factory,
+                                             @Value("${kakaopay.api-base-url:" + KakaoPayService.DEFAULT_API_BASE_URL + "}") String apiBaseUrl) {
+        return factory.create(HttpClientPoolSpec.of("kakaopay", 50,
+                List.of(apiBaseUrl + "/"),
+                operations(KakaoPayService.READY_PATH, "ready",
+                        KakaoPayService.APPROVE_PATH, "approve",
+                        KakaoPayService.CANCEL_PATH, "cancel",
+                        KakaoPayService.ORDER_PATH, "inquire")));
+    }
+
+    @Bean(NAVER_PAY)
+    public RestTemplate naverPayRestTemplate(PooledRestTemplateFactory factory,
+                                             @Value("${naverpay.api-base-url:" + NaverPayService.DEFAULT_API_BASE_URL + "}") String apiBaseUrl) {
+        return factory.create(HttpClientPoolSpec.of("naverpay", 50,
+                List.of(apiBaseUrl + "/"),
+                operations(NaverPayService.RESERVE_PATH, "ready",
+                        NaverPayService.APPLY_PATH, "approve",
+                        NaverPayService.CANCEL_PATH, "cancel",
+                        NaverPayService.HISTORY_PATH, "inquire")));
+    }
+
+    @Bean(TOSS_PAY)
+    public RestTemplate tossPayRestTemplate(PooledRestTemplateFactory factory,
+                                            @Value("${toss.api-base-url:" + TossPayService.DEFAULT_API_BASE_URL + "}") String apiBaseUrl) {
+        return factory.create(HttpClientPoolSpec.of("tosspay", 50,
+                List.of(apiBaseUrl + "/"),
+                operations(TossPayService.CONFIRM_PATH, "approve",
+                        TossPayService.CANCEL_SUFFIX, "cancel",
+                        TossPayService.ORDERS_PATH, "inquire")));
+    }
+
+    @Bean(KAKAO_AUTH)
+    public RestTemplate kakaoAuthRestTemplate(PooledRestTemplateFactory factory) {
+        return factory.create(HttpClientPoolSpec.of("kakao-auth", 20,
+                List.of(KakaoService.AUTH_BASE_URL + "/", KakaoService.API_BASE_URL + "/"),
+                operations(KakaoService.TOKEN_PATH, "token",
+                        KakaoService.USER_INFO_PATH, "user-info")));
+    }
+
+    @Bean(NAVER_AUTH)
+    public RestTemplate naverAuthRestTemplate(PooledRestTemplateFactory factory) {
+        return factory.create(HttpClientPoolSpec.of("naver-auth", 20,
+                List.of(NaverService.AUTH_BASE_URL + "/", NaverService.API_BASE_URL + "/"),
+                operations(NaverService.TOKEN_PATH, "token",
+                        NaverService.USER_INFO_PATH, "user-info")));
+    }
+
+    private static Map<String, String> operations(String... pathAndOperation) {
+        Map<String, String> operations = new LinkedHashMap<>();
+        for (int i = 0; i < pathAndOperation.length; i += 2) {
+            operations.put(pathAndOperation[i], pathAndOperation[i + 1]);
+        }
+        return operations;
     }
-}
\ No newline at end of file
+}
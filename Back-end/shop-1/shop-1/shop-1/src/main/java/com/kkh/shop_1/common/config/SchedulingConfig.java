@@ -0,0 +1,27 @@
+package com.kkh.shop_1.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ *
+ * @Scheduled 작업용 스레드 풀.
+ * 기본 스케줄러는 스레드가 하나라, 카탈로그 전체 재적재나 정합성 배치처럼 오래 걸리는 작업이 돌면
+ * 1초 주기 작업(카탈로그 증분 반영, 리뷰 통계 반영, 결제 승인 폴링 등)이 그동안 모두 멈춘다.
+ *
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -0,0 +1,99 @@
+package com.kkh.shop_1.common.etag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *
+ * 조건부 GET(If-None-Match)용 리소스 버전 저장소.
+ *
+ * 리소스(상품 상세, 상품 목록, 상품별 리뷰 목록)마다 Redis에 버전 문자열 하나만 두고,
+ * 변경이 커밋될 때마다 새 버전으로 교체한다. 컨트롤러는 이 버전만 읽어 ETag를 만들기 때문에
+ * 클라이언트가 가진 ETag가 그대로 유효하면 DB 조회나 응답 직렬화 없이 304를 돌려줄 수 있다.
+ *
+ * 버전은 "현재 시각 + 난수"로 만든다. 단순 INCR 카운터는 키가 만료/유실된 뒤 다시 1부터 시작해
+ * 예전에 발급한 ETag와 겹칠 수 있기 때문이다.
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ETagVersionStore {
+
+    public static final String ITEM_LIST = "items";
+
+    private static final String KEY_PREFIX = "etag:version:";
+    // 한동안 조회되지 않은 리소스의 버전은 정리되도록 TTL을 둔다. (만료되면 새 버전으로 다시 시작)
+    private static final Duration VERSION_TTL = Duration.ofDays(7);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public static String itemDetail(Long itemId) {
+        return "item:" + itemId;
+    }
+
+    public static String itemReviews(Long itemId) {
+        return "reviews:item:" + itemId;
+    }
+
+    /**
+     * 현재 버전을 반환한다. 아직 버전이 없으면 새로 발급한다. (Redis 장애 시 null -> ETag 없이 정상 응답)
+     */
+    public String currentVersion(String resource) {
+        String key = KEY_PREFIX + resource;
+        try {
+            String version = stringRedisTemplate.opsForValue().get(key);
+            if (version != null) {
+                return version;
+            }
+            stringRedisTemplate.opsForValue().setIfAbsent(key, newVersion(), VERSION_TTL);
+            return stringRedisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("ETag 버전 조회 실패. resource={}", resource, e);
+            return null;
+        }
+    }
+
+    /**
+     * 리소스가 변경되었음을 기록한다. 트랜잭션 안이라면 커밋 이후로 미뤄, 롤백된 변경으로 버전이 바뀌지 않게 한다.
+     */
+    public void bumpAfterCommit(String... resources) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(resources);
+                }
+            });
+        } else {
+            bump(resources);
+        }
+    }
+
+    private void bump(String... resources) {
+        for (String resource : resources) {
+            try {
+                stringRedisTemplate.opsForValue().set(KEY_PREFIX + resource, newVersion(), VERSION_TTL);
+            } catch (Exception e) {
+                // 버전 갱신 실패 시 오래된 ETag로 304가 나갈 수 있으므로 키를 지워 다음 조회에서 새 버전을 발급받게 한다.
+                log.error("ETag 버전 갱신 실패. resource={}", resource, e);
+                try {
+                    stringRedisTemplate.delete(KEY_PREFIX + resource);
+                } catch (Exception ignored) {
+                    // Redis 자체가 내려간 경우라 할 수 있는 일이 없다.
+                }
+            }
+        }
+    }
+
+    private String newVersion() {
+        return Long.toHexString(System.currentTimeMillis()) + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+    }
+}
@@ -0,0 +1,72 @@
+package com.kkh.shop_1.common.etag;
+
+import com.kkh.shop_1.common.ApiResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ *
+ * ETag 문자열 생성/비교 유틸.
+ *
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * 버전과 요청 조건(페이지, 정렬, 로그인 사용자 등)을 합쳐 강한(strong) ETag를 만든다.
+     * 버전이 없으면(Redis 장애 등) null을 반환해 ETag 없이 응답하게 한다.
+     */
+    public static String strong(String prefix, String version, Object... variants) {
+        if (version == null) {
+            return null;
+        }
+        String tag = prefix + "-" + version;
+        if (variants.length > 0) {
+            tag += "-" + Integer.toHexString(Objects.hash(variants));
+        }
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * If-None-Match 헤더 값이 현재 ETag와 일치하는지 확인한다. (콤마로 구분된 여러 값, W/ 접두어 허용)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch) || etag == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals(etag) || candidate.equals("*"));
+    }
+
+    /**
+     * ETag가 일치하면 loader를 호출하지 않고(=DB 조회/직렬화 없이) 304를 반환하고,
+     * 일치하지 않으면 loader 결과를 ETag와 함께 200으로 반환한다.
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> conditional(String etag, String ifNoneMatch, Supplier<T> loader) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        T body = loader.get();
+        if (etag == null) {
+            return ResponseEntity.ok(ApiResponse.success(body));
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(body));
+    }
+}
@@ -0,0 +1,64 @@
+package com.kkh.shop_1.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ *
+ * 외부 연동 요청의 지연 시간을 provider/operation/outcome 태그로 기록하는 인터셉터.
+ *
+ * 응답 헤더를 받을 때까지(연결 획득 + 전송 + 서버 처리)를 잰다. operation은 요청 경로로 정하므로 호출부는 따로 넘길 것이 없다.
+ * 히스토그램을 함께 내보내므로 노드를 모아 p95/p99를 다시 계산할 수 있다.
+ *
+ */
+public class HttpClientMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String METRIC_NAME = "http.client.provider.requests";
+
+    private final HttpClientPoolSpec spec;
+    private final MeterRegistry meterRegistry;
+
+    public HttpClientMetricsInterceptor(HttpClientPoolSpec spec, MeterRegistry meterRegistry) {
+        this.spec = spec;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String operation = spec.operationOf(request.getURI().getPath());
+        long start = System.nanoTime();
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            outcome = outcomeOf(response.getStatusCode());
+            return response;
+        } finally {
+            timer(operation, outcome).record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .tag("provider", spec.provider())
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofMillis(100), Duration.ofMillis(300), Duration.ofSeconds(1), Duration.ofSeconds(3))
+                .register(meterRegistry);
+    }
+
+    private static String outcomeOf(HttpStatusCode status) {
+        if (status.is2xxSuccessful()) return "SUCCESS";
+        if (status.is4xxClientError()) return "CLIENT_ERROR";
+        if (status.is5xxServerError()) return "SERVER_ERROR";
+        return "OTHER";
+    }
+}
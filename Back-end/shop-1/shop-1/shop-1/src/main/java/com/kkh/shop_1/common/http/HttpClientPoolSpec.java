@@ -0,0 +1,40 @@
+package com.kkh.shop_1.common.http;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * 외부 연동 대상(provider)별 HTTP 연결 풀 설정.
+ *
+ * - maxConnections: 풀 전체 최대 연결 수 (호스트별 최대치도 같은 값을 쓴다)
+ * - prewarmUrls: 기동 시 미리 연결(TLS 핸드셰이크)을 맺어 둘 호스트 주소
+ * - operations: 요청 경로 조각 -> 연산 이름(ready/approve/cancel/inquire ...). 지연 시간 메트릭의 operation 태그로 쓰며, 앞에서부터 처음 맞는 것을 쓴다.
+ *
+ */
+public record HttpClientPoolSpec(String provider, int maxConnections, List<String> prewarmUrls, Map<String, String> operations) {
+
+    public HttpClientPoolSpec {
+        prewarmUrls = List.copyOf(prewarmUrls);
+        operations = new LinkedHashMap<>(operations);
+    }
+
+    public static HttpClientPoolSpec of(String provider, int maxConnections, List<String> prewarmUrls, Map<String, String> operations) {
+        return new HttpClientPoolSpec(provider, maxConnections, prewarmUrls, operations);
+    }
+
+    /**
+     * 요청 경로로 연산 이름을 찾는다. 맞는 것이 없으면 "other".
+     */
+    public String operationOf(String path) {
+        if (path != null) {
+            for (Map.Entry<String, String> entry : operations.entrySet()) {
+                if (path.contains(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,191 @@
+package com.kkh.shop_1.common.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToDoubleFunction;
+
+/**
+ *
+ * 외부 연동 대상(provider)별로 연결 풀을 따로 둔 RestTemplate을 만든다.
+ *
+ * 기본 RestTemplate(JDK HttpURLConnection)은 제대로 된 풀이 없어 호출마다 TLS 핸드셰이크를 다시 하기 쉽다.
+ * 여기서는 provider마다 Apache HttpClient 연결 풀을 하나씩 두어,
+ *
+ * - 한 PG가 느려져 연결을 다 잡고 있어도 다른 PG/소셜 로그인 호출은 자기 풀로 계속 나간다.
+ * - 연결은 keep-alive로 재사용하고, 서버가 알려준 유지 시간과 설정값 중 짧은 쪽까지만 들고 있는다.
+ * - 유휴 연결은 백그라운드에서 주기적으로 정리한다. (서버가 먼저 끊은 연결을 빌려 가 실패하는 일을 줄임)
+ * - 기동 직후 provider 호스트마다 연결을 미리 맺어 두어, 첫 결제 요청이 핸드셰이크 비용을 치르지 않게 한다.
+ *
+ * 풀 크기는 http.client.pools.{provider}.max-connections로 provider마다 바꿀 수 있다.
+ *
+ */
+@Slf4j
+@Component
+public class PooledRestTemplateFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Timeout connectTimeout;
+    private final Timeout readTimeout;
+    private final Timeout poolAcquireTimeout;
+    private final TimeValue idleEvictAfter;
+    private final TimeValue maxKeepAlive;
+    private final int prewarmConnections;
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    private record Pool(HttpClientPoolSpec spec, PoolingHttpClientConnectionManager connectionManager, CloseableHttpClient httpClient) {
+    }
+
+    public PooledRestTemplateFactory(MeterRegistry meterRegistry,
+                                     Environment environment,
+                                     @Value("${http.client.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                     @Value("${http.client.read-timeout-ms:5000}") long readTimeoutMs,
+                                     @Value("${http.client.pool-acquire-timeout-ms:1000}") long poolAcquireTimeoutMs,
+                                     @Value("${http.client.idle-evict-seconds:30}") long idleEvictSeconds,
+                                     @Value("${http.client.keep-alive-seconds:60}") long keepAliveSeconds,
+                                     @Value("${http.client.prewarm-connections:2}") int prewarmConnections) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.connectTimeout = Timeout.ofMilliseconds(connectTimeoutMs);
+        this.readTimeout = Timeout.ofMilliseconds(readTimeoutMs);
+        this.poolAcquireTimeout = Timeout.ofMilliseconds(poolAcquireTimeoutMs);
+        this.idleEvictAfter = TimeValue.ofSeconds(idleEvictSeconds);
+        this.maxKeepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+        this.prewarmConnections = prewarmConnections;
+    }
+
+    public RestTemplate create(HttpClientPoolSpec spec) {
+        int maxConnections = environment.getProperty(
+                "http.client.pools." + spec.provider() + ".max-connections", Integer.class, spec.maxConnections());
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        // 유휴 상태였던 연결은 빌려 주기 전에 살아 있는지 한 번 확인한다.
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(poolAcquireTimeout)
+                        .setResponseTimeout(readTimeout)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue serverHint = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverHint.compareTo(maxKeepAlive) < 0 ? serverHint : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictAfter)
+                .disableCookieManagement()
+                .build();
+
+        pools.put(spec.provider(), new Pool(spec, connectionManager, httpClient));
+        registerPoolGauges(spec.provider(), connectionManager);
+
+        return withMetrics(new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient)), spec);
+    }
+
+    private RestTemplate withMetrics(RestTemplate restTemplate, HttpClientPoolSpec spec) {
+        restTemplate.getInterceptors().add(new HttpClientMetricsInterceptor(spec, meterRegistry));
+        return restTemplate;
+    }
+
+    /**
+     * 기동 직후 provider 호스트마다 연결을 미리 맺어 둔다. 응답 코드는 보지 않으며(HEAD / 가 404여도 연결은 남는다),
+     * 실패해도 첫 요청 때 연결하면 되므로 로그만 남긴다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (prewarmConnections <= 0 || pools.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(16, pools.size() * prewarmConnections), runnable -> {
+            Thread thread = new Thread(runnable, "http-prewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Pool pool : pools.values()) {
+            for (String url : pool.spec().prewarmUrls()) {
+                // 동시에 보내야 서로 다른 연결이 열린다.
+                for (int i = 0; i < prewarmConnections; i++) {
+                    futures.add(CompletableFuture.runAsync(() -> open(pool, url), executor));
+                }
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, e) -> {
+                    executor.shutdown();
+                    pools.values().forEach(pool -> log.info("HTTP 연결 풀 예열 완료. provider={}, 유휴 연결 {}개",
+                            pool.spec().provider(), pool.connectionManager().getTotalStats().getAvailable()));
+                });
+    }
+
+    private void open(Pool pool, String url) {
+        try {
+            pool.httpClient().execute(new HttpHead(url), response -> null);
+        } catch (Exception e) {
+            log.warn("HTTP 연결 풀 예열 실패. provider={}, url={}", pool.spec().provider(), url, e);
+        }
+    }
+
+    private void registerPoolGauges(String provider, PoolingHttpClientConnectionManager connectionManager) {
+        gauge("http.client.pool.leased", provider, connectionManager, PoolStats::getLeased);
+        gauge("http.client.pool.available", provider, connectionManager, PoolStats::getAvailable);
+        gauge("http.client.pool.pending", provider, connectionManager, PoolStats::getPending);
+        gauge("http.client.pool.max", provider, connectionManager, PoolStats::getMax);
+    }
+
+    private void gauge(String name, String provider, PoolingHttpClientConnectionManager connectionManager, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(name, connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Pool pool : pools.values()) {
+            try {
+                pool.httpClient().close();
+            } catch (IOException e) {
+                log.warn("HTTP 연결 풀 종료 실패. provider={}", pool.spec().provider(), e);
+            }
+        }
+    }
+}
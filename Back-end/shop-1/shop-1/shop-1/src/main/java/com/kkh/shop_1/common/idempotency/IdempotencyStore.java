@@ -0,0 +1,120 @@
+package com.kkh.shop_1.common.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ *
+ * Idempotency-Key별 처리 상태를 Redis 키 하나에 담는 저장소.
+ *
+ * 값은 "P:{토큰}"(처리 중, 임대 TTL) 또는 "D:{응답 JSON}"(완료, 보관 TTL) 중 하나다.
+ *
+ * - claim(): Lua 스크립트 한 번으로 완료된 응답을 돌려주거나, 처리 중이면 그렇다고 알리거나, 처리 중 표시를 남기고 선점한다.
+ *   lockKey를 함께 넘기면 같은 스크립트에서 그 락(RedisLeaseLock 형식)도 같은 토큰으로 SET NX 해 본다.
+ * - complete(): 내 토큰으로 선점한 상태일 때만 완료 응답으로 바꾸고(compare-and-set), 함께 잡은 락도 같은 스크립트에서 푼다.
+ * - release(): 실패한 요청의 처리 중 표시와 락을 지워 같은 키로 재시도할 수 있게 한다.
+ *
+ * 스크립트가 두 키를 함께 다루므로 단일 Redis(또는 sentinel) 구성을 전제로 한다.
+ *
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:entry:";
+    private static final String PENDING = "P:";
+    private static final String DONE = "D:";
+    private static final String ACQUIRED = "C";
+    private static final String ACQUIRED_WITH_LOCK = "L";
+
+    // KEYS[1]=멱등 키, KEYS[2]=(선택) 락 키 / ARGV[1]=토큰, ARGV[2]=임대(ms)
+    private static final String CLAIM_SCRIPT =
+            "local current = redis.call('get', KEYS[1]) " +
+            "if current then return current end " +
+            "redis.call('set', KEYS[1], '" + PENDING + "' .. ARGV[1], 'PX', ARGV[2]) " +
+            "if #KEYS > 1 and redis.call('set', KEYS[2], ARGV[1], 'NX', 'PX', ARGV[2]) then return '" + ACQUIRED_WITH_LOCK + "' end " +
+            "return '" + ACQUIRED + "'";
+
+    // ARGV[1]=토큰, ARGV[2]=응답 JSON, ARGV[3]=보관 TTL(ms)
+    private static final String COMPLETE_SCRIPT =
+            "local completed = 0 " +
+            "if redis.call('get', KEYS[1]) == '" + PENDING + "' .. ARGV[1] then " +
+            "  redis.call('set', KEYS[1], '" + DONE + "' .. ARGV[2], 'PX', ARGV[3]) " +
+            "  completed = 1 " +
+            "end " +
+            "if #KEYS > 1 and redis.call('get', KEYS[2]) == ARGV[1] then redis.call('del', KEYS[2]) end " +
+            "return completed";
+
+    // ARGV[1]=토큰
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == '" + PENDING + "' .. ARGV[1] then redis.call('del', KEYS[1]) end " +
+            "if #KEYS > 1 and redis.call('get', KEYS[2]) == ARGV[1] then redis.call('del', KEYS[2]) end " +
+            "return 1";
+
+    private final RedissonClient redissonClient;
+
+    public enum State {
+        ACQUIRED,   // 이번 요청이 선점했다. 처리 후 complete() 또는 release()를 호출해야 한다.
+        COMPLETED,  // 이미 처리가 끝났다. cachedResult에 응답 JSON이 있다.
+        IN_FLIGHT   // 같은 키의 다른 요청이 처리 중이다.
+    }
+
+    /**
+     * @param lockAcquired claim()에 넘긴 lockKey까지 이번 토큰으로 잡았는지 여부
+     */
+    public record Claim(State state, String idempotencyKey, String lockKey, String token,
+                        boolean lockAcquired, String cachedResult) {
+    }
+
+    /**
+     * @param lockKey 선점과 함께 잡을 락 키. 없으면 null
+     */
+    public Claim claim(String idempotencyKey, String lockKey, Duration lease) {
+        String token = UUID.randomUUID().toString();
+        String reply = eval(CLAIM_SCRIPT, keys(idempotencyKey, lockKey), token, String.valueOf(lease.toMillis()));
+
+        if (ACQUIRED_WITH_LOCK.equals(reply)) {
+            return new Claim(State.ACQUIRED, idempotencyKey, lockKey, token, true, null);
+        }
+        if (ACQUIRED.equals(reply)) {
+            return new Claim(State.ACQUIRED, idempotencyKey, lockKey, token, false, null);
+        }
+        if (reply != null && reply.startsWith(DONE)) {
+            return new Claim(State.COMPLETED, idempotencyKey, lockKey, null, false, reply.substring(DONE.length()));
+        }
+        return new Claim(State.IN_FLIGHT, idempotencyKey, lockKey, null, false, null);
+    }
+
+    /**
+     * @return 완료 응답으로 바꿨으면 true. 임대가 끝나 다른 요청이 선점한 경우 false
+     */
+    public boolean complete(Claim claim, String resultJson, Duration ttl) {
+        String reply = eval(COMPLETE_SCRIPT, keysOf(claim), claim.token(), resultJson, String.valueOf(ttl.toMillis()));
+        return "1".equals(reply);
+    }
+
+    public void release(Claim claim) {
+        eval(RELEASE_SCRIPT, keysOf(claim), claim.token());
+    }
+
+    private List<Object> keysOf(Claim claim) {
+        return keys(claim.idempotencyKey(), claim.lockAcquired() ? claim.lockKey() : null);
+    }
+
+    private static List<Object> keys(String idempotencyKey, String lockKey) {
+        return lockKey != null ? List.of(KEY_PREFIX + idempotencyKey, lockKey) : List.of(KEY_PREFIX + idempotencyKey);
+    }
+
+    private String eval(String script, List<Object> keys, Object... args) {
+        Object reply = redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, script, RScript.ReturnType.VALUE, keys, args);
+        return reply != null ? reply.toString() : null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.kkh.shop_1.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ *
+ * 임대(lease) 방식의 Redis 분산 락. 키 하나에 소유 토큰을 TTL과 함께 SET NX로 저장한다.
+ *
+ * - 해제는 내 토큰일 때만 지운다(compare-and-delete). 임대가 끝나 다른 요청이 잡은 락은 건드리지 않는다.
+ * - 같은 스레드가 같은 키를 다시 잡으면 Redis를 거치지 않고 횟수만 늘린다(재진입).
+ * - 다른 경로(IdempotencyStore의 선점 스크립트 등)에서 이미 잡은 락은 adopt()로 현재 스레드 소유로 등록해,
+ *   안쪽 코드가 같은 락을 다시 잡을 때 Redis 왕복 없이 통과하게 한다.
+ *
+ * Redisson RLock과 달리 watchdog 연장이 없으므로, 임대 시간은 락 안에서 하는 일(외부 호출 타임아웃 포함)보다 길게 잡는다.
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisLeaseLock {
+
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private static final long INITIAL_BACKOFF_MILLIS = 20L;
+    private static final long MAX_BACKOFF_MILLIS = 200L;
+
+    private final RedissonClient redissonClient;
+
+    // 현재 스레드가 들고 있는 락 (키 -> 토큰/재진입 횟수)
+    private final ThreadLocal<Map<String, Hold>> holds = new ThreadLocal<>();
+
+    /**
+     * 락을 잡는다. 다른 요청이 들고 있으면 waitTime 동안 간격을 늘려 가며 다시 시도한다.
+     */
+    public boolean tryLock(String key, Duration waitTime, Duration lease) throws InterruptedException {
+        Hold held = heldBy(key);
+        if (held != null) {
+            held.count++;
+            return true;
+        }
+
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + waitTime.toMillis();
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            if (redissonClient.<String>getBucket(key, StringCodec.INSTANCE).setIfAbsent(token, lease)) {
+                hold(key, token);
+                return true;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            Thread.sleep(Math.min(backoff, remaining));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    public void unlock(String key) {
+        Hold held = heldBy(key);
+        if (held == null) {
+            throw new IllegalStateException("현재 스레드가 잡지 않은 락입니다. key=" + key);
+        }
+        if (--held.count > 0) {
+            return;
+        }
+        forget(key);
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, RELEASE_SCRIPT,
+                    RScript.ReturnType.INTEGER, List.<Object>of(key), held.token);
+        } catch (Exception e) {
+            // 해제에 실패해도 임대 시간이 지나면 풀린다.
+            log.warn("락 해제 실패. key={}", key, e);
+        }
+    }
+
+    /**
+     * token으로 이미 잡아 둔 락을 현재 스레드 소유로 등록한다. 해제는 잡은 쪽이 책임진다(forget()과 짝).
+     */
+    public void adopt(String key, String token) {
+        hold(key, token);
+    }
+
+    /**
+     * 현재 스레드의 소유 기록만 지운다. Redis의 락은 건드리지 않는다.
+     */
+    public void forget(String key) {
+        Map<String, Hold> held = holds.get();
+        if (held == null) {
+            return;
+        }
+        held.remove(key);
+        if (held.isEmpty()) {
+            holds.remove();
+        }
+    }
+
+    public boolean isHeldByCurrentThread(String key) {
+        return heldBy(key) != null;
+    }
+
+    private Hold heldBy(String key) {
+        Map<String, Hold> held = holds.get();
+        return held != null ? held.get(key) : null;
+    }
+
+    private void hold(String key, String token) {
+        Map<String, Hold> held = holds.get();
+        if (held == null) {
+            held = new HashMap<>();
+            holds.set(held);
+        }
+        held.put(key, new Hold(token));
+    }
+
+    private static final class Hold {
+        private final String token;
+        private int count = 1;
+
+        private Hold(String token) {
+            this.token = token;
+        }
+    }
+}
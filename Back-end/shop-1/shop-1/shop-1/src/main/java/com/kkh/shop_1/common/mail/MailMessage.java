@@ -0,0 +1,9 @@
+package com.kkh.shop_1.common.mail;
+
+/**
+ *
+ * 발송할 메일 한 통. (HTML 본문)
+ *
+ */
+public record MailMessage(String to, String subject, String htmlContent) {
+}
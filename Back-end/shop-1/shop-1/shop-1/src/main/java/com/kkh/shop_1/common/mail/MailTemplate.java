@@ -0,0 +1,90 @@
+package com.kkh.shop_1.common.mail;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ *
+ * 미리 컴파일해 두는 단순 메일 템플릿.
+ *
+ * - "{{name}}" 자리표시자를 생성 시점에 한 번만 파싱해 (고정 문자열, 값 추출 함수) 조각 배열로 만든다.
+ * - 렌더링은 조각을 순서대로 이어 붙이기만 하고, 값은 등록해 둔 함수(람다)로 꺼내므로 리플렉션이나 재파싱이 없다.
+ * - 본문(html) 템플릿의 값은 HTML 이스케이프한다. (닉네임 등 사용자 입력이 섞이므로)
+ *
+ */
+public final class MailTemplate<T> {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final List<Function<T, String>> values;
+    private final int sizeHint;
+
+    private MailTemplate(String[] literals, List<Function<T, String>> values, int sizeHint) {
+        this.literals = literals;
+        this.values = values;
+        this.sizeHint = sizeHint;
+    }
+
+    /**
+     * HTML 본문용 템플릿. 치환 값은 HTML 이스케이프된다.
+     */
+    public static <T> MailTemplate<T> html(String source, Map<String, Function<T, ?>> resolvers) {
+        return compile(source, resolvers, true);
+    }
+
+    /**
+     * 제목 등 일반 텍스트용 템플릿.
+     */
+    public static <T> MailTemplate<T> text(String source, Map<String, Function<T, ?>> resolvers) {
+        return compile(source, resolvers, false);
+    }
+
+    public String render(T model) {
+        StringBuilder builder = new StringBuilder(sizeHint);
+        builder.append(literals[0]);
+        for (int i = 0; i < values.size(); i++) {
+            builder.append(values.get(i).apply(model));
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    private static <T> MailTemplate<T> compile(String source, Map<String, Function<T, ?>> resolvers, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<Function<T, String>> values = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("닫히지 않은 템플릿 자리표시자입니다: " + source.substring(open));
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            Function<T, ?> resolver = resolvers.get(name);
+            if (resolver == null) {
+                throw new IllegalArgumentException("정의되지 않은 템플릿 값입니다: " + name);
+            }
+
+            literals.add(source.substring(position, open));
+            values.add(model -> {
+                Object value = resolver.apply(model);
+                String text = value == null ? "" : value.toString();
+                return escapeHtml ? HtmlUtils.htmlEscape(text) : text;
+            });
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+
+        return new MailTemplate<>(literals.toArray(String[]::new), List.copyOf(values), source.length() + 64);
+    }
+}
@@ -0,0 +1,209 @@
+package com.kkh.shop_1.common.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * 인증된 SMTP 연결(Transport)을 풀로 유지하면서 메일을 보내는 발송기.
+ *
+ * JavaMailSender.send()는 메일 한 통마다 연결 -> STARTTLS 핸드셰이크 -> 인증 -> 발송 -> 종료를 반복한다.
+ * 여기서는 연결을 최대 pool-size개까지 만들어 두고 재사용하므로, 여러 통을 보낼 때 핸드셰이크/인증은 연결당 한 번이다.
+ *
+ * - sendBatch()는 메시지를 연결 수만큼 나눠 연결마다 이어서 보낸다. 한 통이 실패해도 나머지는 계속 보내고, 실패한 것만 돌려준다.
+ * - 빌려 갈 때 한 번 살아 있는지 확인하고(NOOP), 끊겨 있으면 다시 연결한다. (서버가 유휴 연결을 끊는 경우)
+ * - 발송 중 연결 오류가 나면 그 연결을 닫고 다음 메시지 전에 다시 연결한다.
+ *
+ */
+@Slf4j
+@Component
+public class SmtpMailDispatcher {
+
+    // 이보다 적은 메시지는 연결 하나로 보낸다. (연결을 더 빌리는 비용이 더 크다)
+    private static final int MIN_MESSAGES_PER_TRANSPORT = 5;
+
+    private final JavaMailSenderImpl mailSender;
+    private final MeterRegistry meterRegistry;
+    private final int poolSize;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Transport> idleTransports = new ConcurrentLinkedDeque<>();
+    private final ExecutorService sendExecutor;
+
+    public SmtpMailDispatcher(JavaMailSenderImpl mailSender,
+                              MeterRegistry meterRegistry,
+                              @Value("${mail.dispatcher.pool-size:4}") int poolSize) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.poolSize = poolSize;
+        this.permits = new Semaphore(poolSize);
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "mail-dispatch-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 한 통 발송. 실패하면 예외를 던진다.
+     */
+    public void send(MailMessage message) {
+        Exception failure = sendBatch(List.of(message)).get(0);
+        if (failure != null) {
+            throw new IllegalStateException("이메일 전송 실패", failure);
+        }
+    }
+
+    /**
+     * 여러 통 발송. 실패한 메시지의 (목록 내 위치 -> 원인)을 반환한다. 비어 있으면 모두 성공이다.
+     */
+    public Map<Integer, Exception> sendBatch(List<MailMessage> messages) {
+        Map<Integer, Exception> failures = new ConcurrentHashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        int transports = Math.max(1, Math.min(poolSize, messages.size() / MIN_MESSAGES_PER_TRANSPORT));
+        if (transports == 1) {
+            sendOnOneTransport(messages, 0, messages.size(), failures);
+            return failures;
+        }
+
+        int chunkSize = (messages.size() + transports - 1) / transports;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(transports);
+        for (int from = 0; from < messages.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, messages.size());
+            futures.add(CompletableFuture.runAsync(() -> sendOnOneTransport(messages, start, end, failures), sendExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return failures;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+        Transport transport;
+        while ((transport = idleTransports.pollFirst()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private void sendOnOneTransport(List<MailMessage> messages, int from, int to, Map<Integer, Exception> failures) {
+        Transport transport;
+        try {
+            transport = borrow();
+        } catch (Exception e) {
+            for (int i = from; i < to; i++) {
+                failures.put(i, e);
+            }
+            meterRegistry.counter("mail.dispatch", "result", "failure").increment(to - from);
+            return;
+        }
+
+        // 빌릴 때 이미 연결을 확인했으므로, 메시지마다 NOOP을 보내지 않고 오류가 난 뒤에만 다시 연결한다.
+        boolean connected = true;
+        try {
+            for (int i = from; i < to; i++) {
+                try {
+                    if (!connected) {
+                        connect(transport);
+                        connected = true;
+                    }
+                    MimeMessage mimeMessage = toMimeMessage(messages.get(i));
+                    transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                    meterRegistry.counter("mail.dispatch", "result", "success").increment();
+                } catch (Exception e) {
+                    failures.put(i, e);
+                    meterRegistry.counter("mail.dispatch", "result", "failure").increment();
+                    if (!(e instanceof SendFailedException)) {
+                        // 수신자 오류가 아니면 연결 문제일 수 있으므로 닫고 다음 메시지 전에 다시 연결한다.
+                        closeQuietly(transport);
+                        connected = false;
+                    }
+                }
+            }
+        } finally {
+            release(transport);
+        }
+    }
+
+    private Transport borrow() throws MessagingException, InterruptedException {
+        permits.acquire();
+        try {
+            Transport transport = idleTransports.pollFirst();
+            if (transport == null) {
+                transport = mailSender.getSession().getTransport(protocol());
+            }
+            // SMTP Transport의 isConnected()는 NOOP으로 실제 연결 상태를 확인한다.
+            if (!transport.isConnected()) {
+                connect(transport);
+            }
+            return transport;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(Transport transport) {
+        idleTransports.offerFirst(transport);
+        permits.release();
+    }
+
+    private void connect(Transport transport) throws MessagingException {
+        closeQuietly(transport);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        meterRegistry.counter("mail.transport.connects").increment();
+    }
+
+    private MimeMessage toMimeMessage(MailMessage message) throws MessagingException {
+        MimeMessage mimeMessage = new MimeMessage(mailSender.getSession());
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        if (StringUtils.hasText(mailSender.getUsername())) {
+            helper.setFrom(mailSender.getUsername());
+        }
+        helper.setTo(message.to());
+        helper.setSubject(message.subject());
+        helper.setText(message.htmlContent(), true);
+        mimeMessage.setSentDate(new Date());
+        mimeMessage.saveChanges();
+        return mimeMessage;
+    }
+
+    private String protocol() {
+        return StringUtils.hasText(mailSender.getProtocol()) ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            if (transport.isConnected()) {
+                transport.close();
+            }
+        } catch (Exception e) {
+            log.debug("SMTP 연결 종료 중 오류", e);
+        }
+    }
+}
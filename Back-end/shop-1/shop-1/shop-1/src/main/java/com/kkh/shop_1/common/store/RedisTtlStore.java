@@ -0,0 +1,61 @@
+package com.kkh.shop_1.common.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ *
+ * TtlStore의 Redis 구현.
+ *
+ * - getAndDelete: GET + DEL을 Lua 스크립트 한 번으로 처리한다. (GETDEL이 없는 Redis 6.2 미만도 지원)
+ * - increment: INCR 후 처음 만들어진 카운터에만 PEXPIRE를 건다. 역시 스크립트 한 번이라 TTL 없는 카운터가 남지 않는다.
+ *
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisTtlStore implements TtlStore {
+
+    private static final RedisScript<String> GET_AND_DELETE_SCRIPT = new DefaultRedisScript<>(
+            "local value = redis.call('get', KEYS[1]) " +
+            "if value then redis.call('del', KEYS[1]) end " +
+            "return value", String.class);
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local count = redis.call('incr', KEYS[1]) " +
+            "if count == 1 then redis.call('pexpire', KEYS[1], ARGV[1]) end " +
+            "return count", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        stringRedisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public String get(String key) {
+        return stringRedisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public String getAndDelete(String key) {
+        return stringRedisTemplate.execute(GET_AND_DELETE_SCRIPT, List.of(key));
+    }
+
+    @Override
+    public long increment(String key, Duration ttl) {
+        Long count = stringRedisTemplate.execute(INCREMENT_SCRIPT, List.of(key), String.valueOf(ttl.toMillis()));
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public void delete(String key) {
+        stringRedisTemplate.delete(key);
+    }
+}
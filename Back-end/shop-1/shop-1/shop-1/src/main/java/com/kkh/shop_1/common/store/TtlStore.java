@@ -0,0 +1,37 @@
+package com.kkh.shop_1.common.store;
+
+import java.time.Duration;
+
+/**
+ *
+ * 만료 시간이 있는 짧은 수명의 키-값 저장소 (인증 코드, OAuth state, 시도 횟수 등).
+ *
+ * 모든 노드가 같은 값을 보도록 운영에서는 Redis 구현(RedisTtlStore)을 쓴다.
+ * 값은 만료되면 저장소가 알아서 지우므로, 호출부가 따로 정리할 필요가 없다.
+ *
+ */
+public interface TtlStore {
+
+    void put(String key, String value, Duration ttl);
+
+    /**
+     * @return 값이 없거나 만료됐으면 null
+     */
+    String get(String key);
+
+    /**
+     * 값을 읽으면서 지운다(원자적). 1회용 값을 두 요청이 동시에 쓰더라도 한 요청만 값을 받는다.
+     *
+     * @return 값이 없거나 만료됐으면 null
+     */
+    String getAndDelete(String key);
+
+    /**
+     * 카운터를 1 올린다(원자적). 처음 만들어질 때만 ttl을 건다.
+     *
+     * @return 올린 뒤의 값
+     */
+    long increment(String key, Duration ttl);
+
+    void delete(String key);
+}
@@ -0,0 +1,48 @@
+package com.kkh.shop_1.common.util;
+
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.function.BiFunction;
+
+/**
+ *
+ * 키셋(커서) 목록 조회의 위치 문자열 코덱.
+ *
+ * 위치는 정렬 시각 + id이며 "시각(ISO-8601),id" 형식으로 주고받는다. 시각을 그대로 문자열로 보관해
+ * 마이크로초 단위까지 손실 없이 다음 조회 조건으로 쓸 수 있다.
+ * 도메인별 커서 record(ItemCursor, ReviewCursor, OrderCursor)는 이 코덱을 감싸 필드 이름만 정한다.
+ *
+ */
+public final class KeysetCursorCodec {
+
+    private static final String DELIMITER = ",";
+
+    private KeysetCursorCodec() {
+    }
+
+    /**
+     * 커서 문자열을 해석한다. 비어 있으면 첫 페이지(null)로 본다.
+     *
+     * @throws IllegalArgumentException 형식이 맞지 않으면 던진다.
+     */
+    public static <T> T decode(String cursor, BiFunction<LocalDateTime, Long, T> factory) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        String[] parts = cursor.split(DELIMITER);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        try {
+            return factory.apply(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+    }
+
+    public static String encode(LocalDateTime sortedAt, Long id) {
+        return sortedAt + DELIMITER + id;
+    }
+}
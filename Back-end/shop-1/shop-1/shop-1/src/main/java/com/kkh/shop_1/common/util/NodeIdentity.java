@@ -0,0 +1,38 @@
+package com.kkh.shop_1.common.util;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * 이 JVM(노드)의 식별자와 선점 토큰.
+ *
+ * - nodeId(): 호스트 이름 + 기동 시 정한 임의 값. 같은 호스트에서 여러 인스턴스가 떠도 겹치지 않는다. (Outbox 스트림 소비자 이름으로도 쓴다)
+ * - nextClaimToken(): 노드 id + 순번. outbox / 결제 승인 선점(claimed_by)에 쓰며, 같은 노드의 작업자끼리도 서로의 선점을 덮어쓰지 않는다.
+ *
+ */
+public final class NodeIdentity {
+
+    private static final String NODE_ID = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    private static final AtomicLong CLAIM_SEQUENCE = new AtomicLong();
+
+    private NodeIdentity() {
+    }
+
+    public static String nodeId() {
+        return NODE_ID;
+    }
+
+    public static String nextClaimToken() {
+        return NODE_ID + "-" + CLAIM_SEQUENCE.incrementAndGet();
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
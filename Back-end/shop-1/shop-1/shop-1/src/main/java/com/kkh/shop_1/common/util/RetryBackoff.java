@@ -0,0 +1,46 @@
+package com.kkh.shop_1.common.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *
+ * 실패 후 다음 재시도 시각 계산.
+ *
+ * 지수 백오프(기본 간격, 두 배, 네 배, ... 최대 간격)에 지터를 섞는다. 대기 시간의 절반은 고정, 나머지 절반은 무작위라
+ * 하위 시스템 장애 동안 같이 실패한 작업들이 같은 시각에 한꺼번에 다시 몰리지 않는다.
+ *
+ */
+public final class RetryBackoff {
+
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public RetryBackoff(Duration baseDelay, Duration maxDelay) {
+        if (baseDelay.isNegative() || baseDelay.isZero() || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("재시도 간격이 올바르지 않습니다. base=" + baseDelay + ", max=" + maxDelay);
+        }
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public LocalDateTime nextAttemptAt(int retryCount, LocalDateTime now) {
+        return nextAttemptAt(retryCount, now, ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * @param retryCount 이번 실패 전까지의 재시도 횟수 (첫 실패면 0)
+     * @param random     [0, 1) 범위의 지터 값
+     */
+    public LocalDateTime nextAttemptAt(int retryCount, LocalDateTime now, double random) {
+        long delayMillis = baseDelay.toMillis() << Math.min(retryCount, 20);
+        delayMillis = Math.min(delayMillis, maxDelay.toMillis());
+        long jittered = delayMillis / 2 + (long) (delayMillis / 2 * random);
+        return now.plus(Duration.ofMillis(jittered));
+    }
+}
@@ -5,8 +5,10 @@ import com.kkh.shop_1.domain.cart.dto.CartItemAddRequestDTO;
 import com.kkh.shop_1.domain.cart.dto.CartItemResponseDTO;
 import com.kkh.shop_1.domain.cart.entity.CartItem;
 import com.kkh.shop_1.domain.cart.repository.CartItemRepository;
+import com.kkh.shop_1.domain.item.dto.ItemSnapshot;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import com.kkh.shop_1.domain.item.service.ItemSnapshotService;
 import com.kkh.shop_1.domain.user.entity.User;
 import com.kkh.shop_1.domain.user.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -18,8 +20,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -30,6 +30,7 @@ public class CartItemService {
     private final CartItemRepository cartItemRepository;
     private final ItemRepository itemRepository;
     private final UserService userService;
+    private final ItemSnapshotService itemSnapshotService;
 
     /**
      *
@@ -117,12 +118,11 @@ public class CartItemService {
         }
 
         List<Long> itemIds = cartItems.stream().map(CartItem::getItemId).toList();
-        Map<Long, Item> itemMap = itemRepository.findAllById(itemIds).stream()
-                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, ItemSnapshot> itemMap = itemSnapshotService.getAll(itemIds);
 
         List<CartItemResponseDTO> response = cartItems.stream()
                 .map(cartItem -> {
-                    Item item = itemMap.get(cartItem.getItemId());
+                    ItemSnapshot item = itemMap.get(cartItem.getItemId());
                     return (item != null) ? new CartItemResponseDTO(
                             cartItem.getId(),
                             item.getId(),
@@ -7,8 +7,10 @@ import com.kkh.shop_1.domain.coupon.entity.CouponType;
 import com.kkh.shop_1.domain.coupon.entity.UserCoupon;
 import com.kkh.shop_1.domain.coupon.repository.CouponRepository;
 import com.kkh.shop_1.domain.coupon.repository.UserCouponRepository;
+import com.kkh.shop_1.domain.item.dto.ItemSnapshot;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.service.ItemService;
+import com.kkh.shop_1.domain.item.service.ItemSnapshotService;
 import com.kkh.shop_1.domain.user.entity.User;
 import com.kkh.shop_1.domain.user.entity.UserRole;
 import com.kkh.shop_1.domain.user.service.UserService;
@@ -27,6 +29,7 @@ public class CouponService {
     private final UserCouponRepository userCouponRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final ItemSnapshotService itemSnapshotService;
 
     /**
      *
@@ -49,12 +52,15 @@ public class CouponService {
                 throw new IllegalArgumentException("판매자만 타겟 쿠폰을 생성할 수 있습니다.");
             }
 
-            targetItem = itemService.findById(req.getItemId())
+            ItemSnapshot snapshot = itemSnapshotService.get(req.getItemId())
                     .orElseThrow(() -> new IllegalArgumentException("상품이 존재하지 않습니다."));
 
-            if (!targetItem.getSeller().getId().equals(userId)) {
+            if (!userId.equals(snapshot.getSellerId())) {
                 throw new IllegalArgumentException("본인 상품에만 쿠폰을 생성할 수 있습니다.");
             }
+
+            // 검증은 스냅샷으로 끝났으므로 연관관계에는 조회 없는 참조만 건다.
+            targetItem = itemService.getReference(snapshot.getId());
         }
 
         Coupon coupon = Coupon.builder()
@@ -1,13 +1,18 @@
 package com.kkh.shop_1.domain.item.controller;
 
 import com.kkh.shop_1.common.ApiResponse;
+import com.kkh.shop_1.common.etag.ETagVersionStore;
+import com.kkh.shop_1.common.etag.ETags;
 import com.kkh.shop_1.domain.item.dto.*;
 import com.kkh.shop_1.domain.item.service.ItemSearchService;
 import com.kkh.shop_1.domain.item.service.ItemService;
+import com.kkh.shop_1.domain.item.service.ItemSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +29,8 @@ public class ItemController {
 
     private final ItemService itemService;
     private final ItemSearchService itemSearchService;
+    private final ItemSnapshotService itemSnapshotService;
+    private final ETagVersionStore eTagVersionStore;
 
     /**
      *
@@ -78,10 +85,11 @@ public class ItemController {
     @GetMapping
     public ResponseEntity<ApiResponse<Page<ItemSummaryDTO>>> getItems1(
             @ModelAttribute ItemSearchCondition condition,
-            @PageableDefault(size = 12) Pageable pageable
+            @PageableDefault(size = 12) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        Page<ItemSummaryDTO> items = itemService.searchItems(condition, pageable);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        String etag = ETags.strong("items", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), condition, pageable);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.searchItems(condition, pageable));
     }
 
     /**
@@ -91,10 +99,11 @@ public class ItemController {
      */
 
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<ItemSummaryDTO>>> getAllItemsForTest() {
+    public ResponseEntity<ApiResponse<List<ItemSummaryDTO>>> getAllItemsForTest(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        List<ItemSummaryDTO> items = itemService.getAllItems();
-        return ResponseEntity.ok(ApiResponse.success(items));
+        String etag = ETags.strong("items-all", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST));
+        return ETags.conditional(etag, ifNoneMatch, itemService::getAllItems);
     }
 
 
@@ -105,10 +114,56 @@ public class ItemController {
      */
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<List<ItemSummaryDTO>>> getMyItems(
-            @AuthenticationPrincipal Long sellerId) {
+            @AuthenticationPrincipal Long sellerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        List<ItemSummaryDTO> myItems = itemService.getMyItems(sellerId);
-        return ResponseEntity.ok(ApiResponse.success(myItems));
+        String etag = ETags.strong("items-me", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), sellerId);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.getMyItems(sellerId));
+    }
+
+    /**
+     *
+     * 내가 등록한 상품 목록 페이지 조회
+     *
+     */
+    @GetMapping("/me/page")
+    public ResponseEntity<ApiResponse<Page<ItemSummaryDTO>>> getMyItemsPage(
+            @AuthenticationPrincipal Long sellerId,
+            @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ETags.strong("items-me-page", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), sellerId, pageable);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.getMyItemsPage(sellerId, pageable));
+    }
+
+    /**
+     *
+     * 내가 등록한 상품 목록 커서 조회 (등록일 내림차순)
+     *
+     */
+    @GetMapping("/me/cursor")
+    public ResponseEntity<ApiResponse<ItemCursorPageDTO>> getMyItemsByCursor(
+            @AuthenticationPrincipal Long sellerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ETags.strong("items-me-cursor", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), sellerId, cursor, size);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.getMyItemsByCursor(sellerId, cursor, size));
+    }
+
+    /**
+     *
+     * 상품 일괄 조회 (예: /items/batch?ids=1,2,3)
+     *
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<ItemSnapshot>>> getItemsByIds(
+            @RequestParam List<Long> ids,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ETags.strong("items-batch", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), ids);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemSnapshotService.getVisible(ids));
     }
 
     /**
@@ -117,9 +172,12 @@ public class ItemController {
      *
      */
     @GetMapping("/{itemId}")
-    public ResponseEntity<ApiResponse<ItemDetailDTO>> getItem(@PathVariable Long itemId) {
-        ItemDetailDTO dto = itemService.getItemDetail(itemId);
-        return ResponseEntity.ok(ApiResponse.success(dto));
+    public ResponseEntity<ApiResponse<ItemDetailDTO>> getItem(
+            @PathVariable Long itemId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ETags.strong("item-" + itemId, eTagVersionStore.currentVersion(ETagVersionStore.itemDetail(itemId)));
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.getItemDetail(itemId));
     }
 
     /**
@@ -128,9 +186,44 @@ public class ItemController {
      *
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<ApiResponse<List<ItemSummaryDTO>>> getItemsByCategory(@PathVariable String category) {
-        List<ItemSummaryDTO> items = itemService.getItemsByCategory(category);
-        return ResponseEntity.ok(ApiResponse.success(items));
+    public ResponseEntity<ApiResponse<List<ItemSummaryDTO>>> getItemsByCategory(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ETags.strong("items-category", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), category);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.getItemsByCategory(category));
+    }
+
+    /**
+     *
+     * 카테고리별 상품 목록 페이지 조회 (정렬: latest, priceHigh, priceLow, views)
+     *
+     */
+    @GetMapping("/category/{category}/page")
+    public ResponseEntity<ApiResponse<Page<ItemSummaryDTO>>> getItemsByCategoryPage(
+            @PathVariable String category,
+            @RequestParam(required = false) String sort,
+            @PageableDefault(size = 12) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ETags.strong("items-category-page", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), category, sort, pageable);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.getItemsByCategoryPage(category, sort, pageable));
+    }
+
+    /**
+     *
+     * 카테고리별 상품 목록 커서 조회 (등록일 내림차순)
+     *
+     */
+    @GetMapping("/category/{category}/cursor")
+    public ResponseEntity<ApiResponse<ItemCursorPageDTO>> getItemsByCategoryCursor(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = ETags.strong("items-category-cursor", eTagVersionStore.currentVersion(ETagVersionStore.ITEM_LIST), category, cursor, size);
+        return ETags.conditional(etag, ifNoneMatch, () -> itemService.getItemsByCategoryCursor(category, cursor, size));
     }
 
     @GetMapping("/ranking")
@@ -0,0 +1,26 @@
+package com.kkh.shop_1.domain.item.dto;
+
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.entity.StockStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 카탈로그 인덱스 적재용 상품 프로젝션 (목록 요약 + 정렬/필터 값, 엔티티 로딩 없이 필요한 컬럼만 조회)
+ *
+ */
+public record ItemCatalogRow(
+        Long id,
+        String name,
+        int price,
+        Integer discountPrice,
+        ItemCategory itemCategory,
+        ItemStatus status,
+        StockStatus stockStatus,
+        String thumbnailUrl,
+        int viewCount,
+        LocalDateTime createdAt
+) {
+}
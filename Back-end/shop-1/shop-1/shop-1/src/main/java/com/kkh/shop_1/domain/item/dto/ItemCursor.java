@@ -0,0 +1,29 @@
+package com.kkh.shop_1.domain.item.dto;
+
+import com.kkh.shop_1.common.util.KeysetCursorCodec;
+import com.kkh.shop_1.domain.item.entity.Item;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 커서 기반 목록 조회의 위치 (마지막으로 내려준 상품의 등록 시각 + id, 형식은 KeysetCursorCodec)
+ *
+ */
+public record ItemCursor(LocalDateTime createdAt, Long id) {
+
+    public static ItemCursor from(Item item) {
+        return new ItemCursor(item.getCreatedAt(), item.getId());
+    }
+
+    /**
+     * 커서 문자열을 해석한다. 비어 있으면 첫 페이지(null)로 본다.
+     */
+    public static ItemCursor decode(String cursor) {
+        return KeysetCursorCodec.decode(cursor, ItemCursor::new);
+    }
+
+    public String encode() {
+        return KeysetCursorCodec.encode(createdAt, id);
+    }
+}
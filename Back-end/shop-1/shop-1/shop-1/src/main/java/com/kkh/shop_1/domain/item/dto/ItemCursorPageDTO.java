@@ -0,0 +1,23 @@
+package com.kkh.shop_1.domain.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ *
+ * 커서 기반 상품 목록 응답 (nextCursor를 다음 요청의 cursor 파라미터로 그대로 넘긴다)
+ *
+ */
+@Getter
+@AllArgsConstructor
+public class ItemCursorPageDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<ItemSummaryDTO> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,27 @@
+package com.kkh.shop_1.domain.item.dto;
+
+import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 카테고리 목록 인덱스(ZSET) 적재용 상품 프로젝션 (정렬 값만, 목록 요약은 조회 시 채운다)
+ *
+ */
+public record ItemListingRow(
+        Long id,
+        int price,
+        ItemCategory itemCategory,
+        ItemStatus status,
+        LocalDateTime createdAt,
+        int viewCount
+) {
+
+    public static ItemListingRow from(Item item) {
+        return new ItemListingRow(item.getId(), item.getPrice(), item.getItemCategory(), item.getStatus(),
+                item.getCreatedAt(), item.getViewCount());
+    }
+}
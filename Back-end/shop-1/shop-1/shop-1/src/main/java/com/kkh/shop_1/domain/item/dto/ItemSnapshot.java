@@ -0,0 +1,48 @@
+package com.kkh.shop_1.domain.item.dto;
+
+import com.kkh.shop_1.domain.item.entity.Item;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ *
+ * 다른 도메인(장바구니, 쿠폰 등)과 일괄 조회 API가 공유하는 상품 스냅샷
+ *
+ * 엔티티 대신 캐시에 저장할 수 있는 값만 담는다. (연관 엔티티/지연 로딩 없음)
+ *
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ItemSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String name;
+    private int price;
+    private Integer discountPrice;
+    private int quantity;
+    private String category;
+    private String stockStatus;
+    private String status;
+    private Long sellerId;
+    private String thumbnailUrl;
+
+    public static ItemSnapshot from(Item item) {
+        return ItemSnapshot.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .price(item.getPrice())
+                .discountPrice(item.getDiscountPrice())
+                .quantity(item.getQuantity())
+                .category(item.getItemCategory().name())
+                .stockStatus(item.getStockStatus().name())
+                .status(item.getStatus().name())
+                .sellerId(item.getSeller() != null ? item.getSeller().getId() : null)
+                .thumbnailUrl(item.getThumbnailUrl())
+                .build();
+    }
+}
@@ -7,6 +7,7 @@ import java.io.Serializable; // [1. 추가]
 
 @Getter
 @Builder
+@EqualsAndHashCode
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ItemSummaryDTO implements Serializable {
@@ -37,4 +38,20 @@ public class ItemSummaryDTO implements Serializable {
                 .thumbnailUrl(item.getThumbnailUrl() != null ? item.getThumbnailUrl() : "/no_image.jpg")
                 .build();
     }
+
+    /**
+     * 카탈로그 프로젝션을 요약 DTO로 변환 (from(Item)과 같은 규칙)
+     */
+    public static ItemSummaryDTO from(ItemCatalogRow row) {
+        return ItemSummaryDTO.builder()
+                .id(row.id())
+                .name(row.name())
+                .price(row.price())
+                .category(row.itemCategory().name())
+                .discountPrice(row.discountPrice())
+                .stockStatus(row.stockStatus().name())
+                .status(row.status().name())
+                .thumbnailUrl(row.thumbnailUrl() != null ? row.thumbnailUrl() : "/no_image.jpg")
+                .build();
+    }
 }
\ No newline at end of file
@@ -17,7 +17,10 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "item")
+@Table(name = "item", indexes = {
+        @Index(name = "idx_item_seller_status_created", columnList = "seller_id, status, created_at"),
+        @Index(name = "idx_item_category_status_created", columnList = "item_category, status, created_at")
+})
 public class Item {
 
     @Id
@@ -134,23 +137,6 @@ public class Item {
         this.thumbnailUrl = url;
     }
 
-    public void addReviewRating(int newRating) {
-        this.totalRatingScore += newRating;
-        this.reviewCount++;
-    }
-
-    public void removeReviewRating(int oldRating) {
-        if (this.reviewCount > 0) {
-            this.totalRatingScore -= oldRating;
-            this.reviewCount--;
-
-            if (this.reviewCount <= 0 || this.totalRatingScore < 0) {
-                this.totalRatingScore = 0;
-                this.reviewCount = 0;
-            }
-        }
-    }
-
     public double getAverageRating() {
         if (this.reviewCount == 0) return 0.0;
         return (double) this.totalRatingScore / this.reviewCount;
@@ -0,0 +1,38 @@
+package com.kkh.shop_1.domain.item.event;
+
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import lombok.Getter;
+
+/**
+ *
+ * 상품의 목록 노출 정보(가격, 카테고리, 상태, 재고 등)가 바뀌었을 때 발행되는 스프링 애플리케이션 이벤트.
+ * 목록용 인덱스들이 AFTER_COMMIT 시점에 이 이벤트를 받아 해당 상품만 다시 반영한다.
+ *
+ */
+@Getter
+public class ItemChangedEvent {
+
+    private final Long itemId;
+    // 재고 수량만 바뀐 경우(주문/취소). 카테고리/상태/정렬 값은 그대로다.
+    private final boolean stockOnly;
+    // 수정 전 카테고리. 수정이 아니면 null
+    private final ItemCategory previousCategory;
+
+    public ItemChangedEvent(Long itemId) {
+        this(itemId, false, null);
+    }
+
+    public ItemChangedEvent(Long itemId, ItemCategory previousCategory) {
+        this(itemId, false, previousCategory);
+    }
+
+    private ItemChangedEvent(Long itemId, boolean stockOnly, ItemCategory previousCategory) {
+        this.itemId = itemId;
+        this.stockOnly = stockOnly;
+        this.previousCategory = previousCategory;
+    }
+
+    public static ItemChangedEvent stockChanged(Long itemId) {
+        return new ItemChangedEvent(itemId, true, null);
+    }
+}
@@ -1,19 +1,52 @@
 package com.kkh.shop_1.domain.item.repository;
 
+import com.kkh.shop_1.domain.item.dto.ItemCatalogRow;
+import com.kkh.shop_1.domain.item.dto.ItemListingRow;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
-    List<Item> findBySellerIdOrderByCreatedAtDesc(Long sellerId);
+    // 삭제 상태 제외는 SQL 조건으로 처리한다. (idx_item_seller_status_created / idx_item_category_status_created 사용)
+    List<Item> findBySellerIdAndStatusNotOrderByCreatedAtDesc(Long sellerId, ItemStatus status);
 
-    List<Item> findByItemCategory(ItemCategory itemCategory);
+    Page<Item> findBySellerIdAndStatusNot(Long sellerId, ItemStatus status, Pageable pageable);
+
+    List<Item> findByItemCategoryAndStatusNot(ItemCategory itemCategory, ItemStatus status);
+
+    String CATALOG_ROW = "SELECT new com.kkh.shop_1.domain.item.dto.ItemCatalogRow(" +
+            "i.id, i.name, i.price, i.discountPrice, i.itemCategory, i.status, i.stockStatus, " +
+            "i.thumbnailUrl, i.viewCount, i.createdAt) " +
+            "FROM Item i ";
+
+    /**
+     * 카탈로그 인덱스 전체 적재용. afterId 다음부터 id 순으로 limit건씩 읽는다.
+     */
+    @Query(CATALOG_ROW + "WHERE i.id > :afterId ORDER BY i.id")
+    List<ItemCatalogRow> findCatalogRowsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query(CATALOG_ROW + "WHERE i.id IN :ids")
+    List<ItemCatalogRow> findCatalogRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 카테고리 목록 인덱스 전체 적재용. 주어진 상태를 뺀 상품을 afterId 다음부터 id 순으로 limit건씩 읽는다.
+     */
+    @Query("SELECT new com.kkh.shop_1.domain.item.dto.ItemListingRow(" +
+            "i.id, i.price, i.itemCategory, i.status, i.createdAt, i.viewCount) " +
+            "FROM Item i WHERE i.status <> :excluded AND i.id > :afterId ORDER BY i.id")
+    List<ItemListingRow> findListingRowsAfter(@Param("excluded") ItemStatus excluded,
+                                              @Param("afterId") Long afterId,
+                                              Pageable limit);
 
 
     @Modifying(clearAutomatically = true)
@@ -24,7 +57,26 @@ public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositor
     @Query("UPDATE Item i SET i.quantity = i.quantity + :count WHERE i.id = :id")
     void increaseStock(@Param("id") Long id, @Param("count") int count);
 
+    // 재고 증감 직후 호출한다. 품절 여부가 실제로 바뀐 경우에만 1을 돌려준다.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Item i SET i.stockStatus = com.kkh.shop_1.domain.item.entity.StockStatus.OUT_OF_STOCK " +
+            "WHERE i.id = :id AND i.quantity = 0 AND i.stockStatus <> com.kkh.shop_1.domain.item.entity.StockStatus.OUT_OF_STOCK")
+    int markOutOfStock(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Item i SET i.stockStatus = com.kkh.shop_1.domain.item.entity.StockStatus.IN_STOCK " +
+            "WHERE i.id = :id AND i.quantity > 0 AND i.stockStatus = com.kkh.shop_1.domain.item.entity.StockStatus.OUT_OF_STOCK")
+    int markInStock(@Param("id") Long id);
+
     @Modifying(clearAutomatically = true)
     @Query("UPDATE Item i SET i.viewCount = i.viewCount + 1 WHERE i.id = :id")
     void increaseViewCount(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Item i SET i.totalRatingScore = i.totalRatingScore + :scoreDelta, i.reviewCount = i.reviewCount + :countDelta WHERE i.id = :id")
+    void addRating(@Param("id") Long id, @Param("scoreDelta") int scoreDelta, @Param("countDelta") int countDelta);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Item i SET i.totalRatingScore = :totalScore, i.reviewCount = :reviewCount WHERE i.id = :id")
+    void overwriteRating(@Param("id") Long id, @Param("totalScore") int totalScore, @Param("reviewCount") int reviewCount);
 }
\ No newline at end of file
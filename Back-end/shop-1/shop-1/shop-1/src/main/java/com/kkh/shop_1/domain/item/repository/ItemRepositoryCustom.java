@@ -1,7 +1,9 @@
 package com.kkh.shop_1.domain.item.repository;
 
+import com.kkh.shop_1.domain.item.dto.ItemCursor;
 import com.kkh.shop_1.domain.item.dto.ItemSearchCondition;
 import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,4 +12,5 @@ import java.util.List;
 public interface ItemRepositoryCustom {
     Page<Item> search(ItemSearchCondition condition, Pageable pageable);
     List<Item> findAllWithImages();
+    List<Item> findVisibleByCursor(Long sellerId, ItemCategory category, ItemCursor cursor, int limit);
 }
\ No newline at end of file
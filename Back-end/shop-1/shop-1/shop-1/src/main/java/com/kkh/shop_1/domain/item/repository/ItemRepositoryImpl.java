@@ -1,5 +1,6 @@
 package com.kkh.shop_1.domain.item.repository;
 
+import com.kkh.shop_1.domain.item.dto.ItemCursor;
 import com.kkh.shop_1.domain.item.dto.ItemSearchCondition;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.entity.ItemCategory;
@@ -59,14 +60,44 @@ public class ItemRepositoryImpl implements ItemRepositoryCustom {
         return queryFactory
                 .selectFrom(item)
                 .leftJoin(item.images, itemImage).fetchJoin()
+                .where(statusNotDeleted())
                 .distinct()
                 .fetch();
     }
 
+    /**
+     * 등록일 내림차순 커서 조회. offset 없이 (createdAt, id) 복합 조건으로 다음 위치부터 읽으므로
+     * 뒤 페이지로 갈수록 느려지지 않는다. sellerId/category가 null이면 해당 조건은 생략한다.
+     */
+    @Override
+    public List<Item> findVisibleByCursor(Long sellerId, ItemCategory category, ItemCursor cursor, int limit) {
+        return queryFactory
+                .selectFrom(item)
+                .where(
+                        statusNotDeleted(),
+                        sellerIdEq(sellerId),
+                        category != null ? item.itemCategory.eq(category) : null,
+                        afterCursor(cursor)
+                )
+                .orderBy(item.createdAt.desc(), item.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
     private BooleanExpression statusNotDeleted() {
         return item.status.ne(ItemStatus.DELETED);
     }
 
+    private BooleanExpression sellerIdEq(Long sellerId) {
+        return sellerId != null ? item.seller.id.eq(sellerId) : null;
+    }
+
+    private BooleanExpression afterCursor(ItemCursor cursor) {
+        if (cursor == null) return null;
+        return item.createdAt.lt(cursor.createdAt())
+                .or(item.createdAt.eq(cursor.createdAt()).and(item.id.lt(cursor.id())));
+    }
+
     private BooleanExpression keywordContains(String keyword) {
         if (!StringUtils.hasText(keyword)) return null;
         String searchPattern = "%" + keyword + "%";
@@ -0,0 +1,201 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.kkh.shop_1.domain.item.dto.ItemCatalogRow;
+import com.kkh.shop_1.domain.item.dto.ItemSearchCondition;
+import com.kkh.shop_1.domain.item.dto.ItemSummaryDTO;
+import com.kkh.shop_1.domain.item.event.ItemChangedEvent;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * GET /items 목록 조회를 DB 없이 처리하는 JVM 내 상품 카탈로그 인덱스.
+ *
+ * - 기동 시 전체 상품을 한 번 읽어 ItemCatalogSnapshot을 만든다.
+ * - 상품 변경(ItemChangedEvent)은 커밋 후 Redis 토픽으로 전 노드에 알리고, 각 노드는 바뀐 상품 id만 모아
+ *   1초 주기로 해당 상품들만 다시 읽어 반영한다.
+ *   정렬/필터 값(가격, 카테고리, 상태, 등록일)이 그대로면(재고 변경 등) 요약만 바꿔 끼우고 다시 정렬하지 않는다.
+ *   상품이 추가/삭제되거나 정렬 값이 바뀐 주기에만 스냅샷을 다시 만든다.
+ * - 조회수처럼 이벤트 없이 계속 바뀌는 값은 10분 주기 전체 재적재로 맞춘다.
+ *
+ * 스케줄러 스레드가 여러 개라 증분 반영과 전체 재적재가 동시에 돌 수 있다. 전체 재적재는 락 밖에서 페이지 단위로 읽고
+ * 교체할 때만 락을 잡는다. 읽는 동안 반영된 상품은 교체 뒤 다시 읽도록 대기열에 되돌린다.
+ * (적재가 읽은 예전 값이 그 사이의 증분 반영을 되돌리지 않도록)
+ *
+ * 스냅샷이 아직 준비되지 않았으면 isReady()가 false를 반환하고, 호출부는 기존 DB 쿼리로 처리한다.
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemCatalogIndex {
+
+    private static final String CHANGE_TOPIC = "catalog:item-changed";
+    private static final int RELOAD_PAGE_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final RedissonClient redissonClient;
+
+    private final Set<Long> pendingItemIds = ConcurrentHashMap.newKeySet();
+    // 아래 필드는 writeLock 안에서만 읽고 쓴다. 조회는 snapshot만 읽는다.
+    private final Object writeLock = new Object();
+    private Map<Long, ItemCatalogSnapshot.Row> rows = new HashMap<>();
+    private boolean reloading;
+    private final Set<Long> changedDuringReload = new HashSet<>();
+    private volatile ItemCatalogSnapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            changeTopic().addListener(String.class, (channel, itemId) -> pendingItemIds.add(Long.valueOf(itemId)));
+        } catch (Exception e) {
+            log.error("카탈로그 변경 토픽 구독 실패. 다른 노드의 변경은 전체 재적재 주기에만 반영됩니다.", e);
+        }
+        reloadAll();
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * 키워드 없는 목록 조회만 처리한다. 키워드가 있으면 supports()가 false이므로 호출하지 않는다.
+     */
+    public boolean supports(ItemSearchCondition condition) {
+        return isReady() && !StringUtils.hasText(condition.getKeyword());
+    }
+
+    public Page<ItemSummaryDTO> search(ItemSearchCondition condition, Pageable pageable) {
+        return snapshot.search(condition, pageable);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        pendingItemIds.add(event.getItemId());
+        try {
+            changeTopic().publish(String.valueOf(event.getItemId()));
+        } catch (Exception e) {
+            // 이 노드에는 이미 반영 대기열에 넣었으므로, 다른 노드는 전체 재적재 주기에 맞춰진다.
+            log.warn("카탈로그 변경 알림 발행 실패. itemId={}", event.getItemId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000L)
+    public void applyPendingChanges() {
+        if (pendingItemIds.isEmpty() || !isReady()) {
+            return;
+        }
+
+        Set<Long> itemIds = new HashSet<>();
+        Iterator<Long> iterator = pendingItemIds.iterator();
+        while (iterator.hasNext()) {
+            itemIds.add(iterator.next());
+            iterator.remove();
+        }
+
+        try {
+            synchronized (writeLock) {
+                Map<Long, ItemCatalogSnapshot.Row> loaded = new HashMap<>();
+                for (ItemCatalogRow row : itemRepository.findCatalogRowsByIdIn(itemIds)) {
+                    loaded.put(row.id(), ItemCatalogSnapshot.Row.from(row));
+                }
+
+                boolean reorder = false;
+                List<ItemSummaryDTO> patched = new ArrayList<>();
+                for (Long itemId : itemIds) {
+                    ItemCatalogSnapshot.Row current = rows.get(itemId);
+                    ItemCatalogSnapshot.Row next = loaded.get(itemId);
+                    if (next == null) {
+                        reorder |= rows.remove(itemId) != null; // DB에서 사라진 상품
+                    } else if (current == null || !current.sameOrdering(next)) {
+                        rows.put(itemId, next);
+                        reorder = true;
+                    } else if (!current.summary().equals(next.summary())) {
+                        rows.put(itemId, current.withSummary(next.summary()));
+                        patched.add(next.summary());
+                    }
+                }
+
+                if (reorder) {
+                    snapshot = ItemCatalogSnapshot.of(rows.values());
+                } else if (!patched.isEmpty()) {
+                    snapshot = snapshot.withSummaries(patched);
+                }
+                if (reloading) {
+                    changedDuringReload.addAll(itemIds);
+                }
+            }
+        } catch (Exception e) {
+            pendingItemIds.addAll(itemIds);
+            log.error("카탈로그 인덱스 증분 반영 실패. 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    @Scheduled(initialDelay = 10 * 60 * 1000L, fixedDelay = 10 * 60 * 1000L) // 10분마다
+    public void reloadAll() {
+        synchronized (writeLock) {
+            reloading = true;
+            changedDuringReload.clear();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<Long, ItemCatalogSnapshot.Row> next = loadAllRows();
+            ItemCatalogSnapshot nextSnapshot = ItemCatalogSnapshot.of(next.values());
+            synchronized (writeLock) {
+                rows = next;
+                snapshot = nextSnapshot;
+                pendingItemIds.addAll(changedDuringReload);
+            }
+            log.info("카탈로그 인덱스 전체 적재 완료. {}건, {}ms", next.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("카탈로그 인덱스 전체 적재 실패. 기존 스냅샷(없으면 DB 조회)으로 계속 처리합니다.", e);
+        } finally {
+            synchronized (writeLock) {
+                reloading = false;
+                changedDuringReload.clear();
+            }
+        }
+    }
+
+    private Map<Long, ItemCatalogSnapshot.Row> loadAllRows() {
+        Map<Long, ItemCatalogSnapshot.Row> loaded = new HashMap<>();
+        long afterId = 0L;
+        while (true) {
+            List<ItemCatalogRow> page = itemRepository.findCatalogRowsAfter(afterId, PageRequest.of(0, RELOAD_PAGE_SIZE));
+            for (ItemCatalogRow row : page) {
+                loaded.put(row.id(), ItemCatalogSnapshot.Row.from(row));
+            }
+            if (page.size() < RELOAD_PAGE_SIZE) {
+                return loaded;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+    }
+
+    private RTopic changeTopic() {
+        return redissonClient.getTopic(CHANGE_TOPIC, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,258 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.kkh.shop_1.domain.item.dto.ItemCatalogRow;
+import com.kkh.shop_1.domain.item.dto.ItemSearchCondition;
+import com.kkh.shop_1.domain.item.dto.ItemSummaryDTO;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.StringUtils;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ *
+ * 상품 목록 조회용 불변(immutable) 컬럼형 스냅샷.
+ *
+ * - 필터/정렬에 쓰이는 값(가격, 카테고리, 상태, 조회수, 등록일)은 원시 타입 배열로 보관한다.
+ * - 카테고리/상태별로 비트맵(BitSet)을 두어 필터는 비트 연산, 전체 건수는 cardinality로 구한다.
+ * - 정렬 기준(latest, priceHigh, priceLow, views)마다 미리 정렬된 순열(위치 배열)을 두어,
+ *   조회 시에는 순열을 앞에서부터 훑으며 조건에 맞는 위치만 골라 페이지를 채운다.
+ *
+ * 스냅샷은 만들어진 뒤 바뀌지 않으므로 여러 요청 스레드가 락 없이 동시에 읽는다.
+ * 상품 변경은 ItemCatalogIndex가 새 스냅샷을 만들어 통째로 교체하는 방식으로 반영한다.
+ * 정렬/필터 값이 그대로인 변경(재고 상태, 이름 등)은 withSummaries()로 요약 배열만 바꾸고 나머지는 공유한다.
+ *
+ */
+final class ItemCatalogSnapshot {
+
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+    private static final ItemStatus[] STATUSES = ItemStatus.values();
+
+    private final int size;
+    private final long[] ids;
+    private final int[] prices;
+    private final byte[] categoryOrdinals;
+    private final byte[] statusOrdinals;
+    private final int[] viewCounts;
+    private final long[] createdAtEpochSeconds;
+    private final ItemSummaryDTO[] summaries;
+
+    private final BitSet[] byCategory;
+    private final BitSet[] byStatus;
+    private final BitSet visible; // DELETED를 제외한 전체 (기존 search 쿼리의 status <> DELETED 조건과 동일)
+
+    private final int[] latestOrder;
+    private final int[] priceHighOrder;
+    private final int[] priceLowOrder;
+    private final int[] viewsOrder;
+
+    private ItemCatalogSnapshot(List<Row> rows) {
+        this.size = rows.size();
+        this.ids = new long[size];
+        this.prices = new int[size];
+        this.categoryOrdinals = new byte[size];
+        this.statusOrdinals = new byte[size];
+        this.viewCounts = new int[size];
+        this.createdAtEpochSeconds = new long[size];
+        this.summaries = new ItemSummaryDTO[size];
+
+        this.byCategory = newBitSets(CATEGORIES.length);
+        this.byStatus = newBitSets(STATUSES.length);
+
+        for (int i = 0; i < size; i++) {
+            Row row = rows.get(i);
+            ids[i] = row.id();
+            prices[i] = row.price();
+            categoryOrdinals[i] = (byte) row.category().ordinal();
+            statusOrdinals[i] = (byte) row.status().ordinal();
+            viewCounts[i] = row.viewCount();
+            createdAtEpochSeconds[i] = row.createdAtEpochSeconds();
+            summaries[i] = row.summary();
+
+            byCategory[categoryOrdinals[i]].set(i);
+            byStatus[statusOrdinals[i]].set(i);
+        }
+
+        this.visible = new BitSet(size);
+        visible.set(0, size);
+        visible.andNot(byStatus[ItemStatus.DELETED.ordinal()]);
+
+        // 동순위는 id 내림차순(최근 등록 우선)으로 고정해 페이지 간 중복/누락이 없게 한다.
+        Comparator<Integer> idDesc = (a, b) -> Long.compare(ids[b], ids[a]);
+        this.latestOrder = sortedOrder(Comparator.<Integer>comparingLong(i -> createdAtEpochSeconds[i]).reversed().thenComparing(idDesc));
+        this.priceHighOrder = sortedOrder(Comparator.<Integer>comparingInt(i -> prices[i]).reversed().thenComparing(idDesc));
+        this.priceLowOrder = sortedOrder(Comparator.<Integer>comparingInt(i -> prices[i]).thenComparing(idDesc));
+        this.viewsOrder = sortedOrder(Comparator.<Integer>comparingInt(i -> viewCounts[i]).reversed().thenComparing(idDesc));
+    }
+
+    // 요약만 바꾼 스냅샷. 정렬/필터 값이 같으므로 배열, 비트맵, 순열은 원본 것을 그대로 쓴다.
+    private ItemCatalogSnapshot(ItemCatalogSnapshot source, ItemSummaryDTO[] summaries) {
+        this.size = source.size;
+        this.ids = source.ids;
+        this.prices = source.prices;
+        this.categoryOrdinals = source.categoryOrdinals;
+        this.statusOrdinals = source.statusOrdinals;
+        this.viewCounts = source.viewCounts;
+        this.createdAtEpochSeconds = source.createdAtEpochSeconds;
+        this.summaries = summaries;
+        this.byCategory = source.byCategory;
+        this.byStatus = source.byStatus;
+        this.visible = source.visible;
+        this.latestOrder = source.latestOrder;
+        this.priceHighOrder = source.priceHighOrder;
+        this.priceLowOrder = source.priceLowOrder;
+        this.viewsOrder = source.viewsOrder;
+    }
+
+    static ItemCatalogSnapshot of(Collection<Row> rows) {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(Row::id));
+        return new ItemCatalogSnapshot(sorted);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 목록 요약만 바꾼 새 스냅샷을 만든다. 다시 정렬하지 않으므로, 정렬/필터 값이 바뀐 상품은 넘기면 안 된다.
+     * 스냅샷에 없는 상품이 섞여 있으면 IllegalArgumentException을 던진다.
+     */
+    ItemCatalogSnapshot withSummaries(Collection<ItemSummaryDTO> changed) {
+        ItemSummaryDTO[] next = summaries.clone();
+        for (ItemSummaryDTO summary : changed) {
+            int position = Arrays.binarySearch(ids, summary.getId()); // of()가 id 순으로 배치한다.
+            if (position < 0) {
+                throw new IllegalArgumentException("스냅샷에 없는 상품입니다. itemId=" + summary.getId());
+            }
+            next[position] = summary;
+        }
+        return new ItemCatalogSnapshot(this, next);
+    }
+
+    /**
+     * 키워드가 없는 ItemSearchCondition을 처리한다. (키워드 검색은 DB/ES가 담당)
+     */
+    Page<ItemSummaryDTO> search(ItemSearchCondition condition, Pageable pageable) {
+        BitSet candidates = (BitSet) visible.clone();
+
+        ItemCategory category = parseCategory(condition.getCategory());
+        if (category != null) {
+            candidates.and(byCategory[category.ordinal()]);
+        }
+
+        Integer minPrice = condition.getMinPrice();
+        Integer maxPrice = condition.getMaxPrice();
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+
+        long total = priceFiltered
+                ? candidates.stream().filter(i -> priceMatches(i, minPrice, maxPrice)).count()
+                : candidates.cardinality();
+
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+        List<ItemSummaryDTO> content = new ArrayList<>(Math.min(pageSize, size));
+
+        if (offset < total) {
+            long skipped = 0;
+            for (int position : orderFor(condition.getSort())) {
+                if (!candidates.get(position) || (priceFiltered && !priceMatches(position, minPrice, maxPrice))) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                content.add(summaries[position]);
+                if (content.size() >= pageSize) {
+                    break;
+                }
+            }
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private boolean priceMatches(int position, Integer minPrice, Integer maxPrice) {
+        int price = prices[position];
+        return (minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice);
+    }
+
+    private int[] orderFor(String sort) {
+        if (!StringUtils.hasText(sort)) return latestOrder;
+        switch (sort) {
+            case "priceHigh": return priceHighOrder;
+            case "priceLow": return priceLowOrder;
+            case "views": return viewsOrder;
+            case "latest": default: return latestOrder;
+        }
+    }
+
+    // ItemRepositoryImpl.categoryEq와 같은 규칙: 잘못된 카테고리 값은 필터 없이 처리한다.
+    private ItemCategory parseCategory(String category) {
+        if (!StringUtils.hasText(category)) return null;
+        try {
+            return ItemCategory.valueOf(category.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private int[] sortedOrder(Comparator<Integer> comparator) {
+        return IntStream.range(0, size)
+                .boxed()
+                .sorted(comparator)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] bitSets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+
+    /**
+     * 스냅샷 한 행. 목록 응답에 필요한 ItemSummaryDTO를 미리 만들어 들고 있어 조회 시 변환 비용이 없다.
+     */
+    record Row(long id, int price, ItemCategory category, ItemStatus status, int viewCount,
+               long createdAtEpochSeconds, ItemSummaryDTO summary) {
+
+        static Row from(ItemCatalogRow row) {
+            long createdAt = row.createdAt() != null ? row.createdAt().toEpochSecond(ZoneOffset.UTC) : 0L;
+            return new Row(
+                    row.id(),
+                    row.price(),
+                    row.itemCategory(),
+                    row.status(),
+                    row.viewCount(),
+                    createdAt,
+                    ItemSummaryDTO.from(row)
+            );
+        }
+
+        /**
+         * 필터/정렬 위치를 바꾸는 값(가격, 카테고리, 상태, 등록일)이 같은지. 조회수는 전체 재적재 때만 맞춘다.
+         */
+        boolean sameOrdering(Row other) {
+            return price == other.price && category == other.category && status == other.status
+                    && createdAtEpochSeconds == other.createdAtEpochSeconds;
+        }
+
+        Row withSummary(ItemSummaryDTO summary) {
+            return new Row(id, price, category, status, viewCount, createdAtEpochSeconds, summary);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.item.dto.ItemListingRow;
+import com.kkh.shop_1.domain.item.dto.ItemSummaryDTO;
+import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.event.ItemChangedEvent;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * 카테고리별 목록 페이지용 Redis 정렬 인덱스.
+ *
+ * - (카테고리, 정렬 기준)마다 ZSET을 하나씩 둔다. member는 상품 id, score는 정렬 값(등록 시각/가격/조회수).
+ * - 목록에 내려줄 ItemSummaryDTO는 상품별 문자열 키에 JSON으로 캐싱한다.
+ * - 페이지 조회는 ZRANGE(O(log n + 페이지 크기)) + ZCARD + MGET 한 번으로 끝나고, 요약 캐시가 비어 있는 상품만 DB에서 읽어 채운다.
+ *
+ * 인덱스는 ItemChangedEvent(등록/수정/삭제)를 받아 커밋 이후 해당 상품만 갱신하며,
+ * 아직 인덱스가 만들어지지 않았거나 Redis를 쓸 수 없으면 호출부가 DB 조회로 처리할 수 있도록 null을 반환한다.
+ *
+ * - 삭제된 상품은 ZSET에 넣지 않고, 삭제 즉시 뺀다. (페이지를 읽은 뒤 걸러내면 페이지 크기보다 적게 내려간다)
+ * - 재고 변경(주문/취소)은 정렬 값과 목록 요약에 영향이 없어 아무것도 하지 않는다. 수정도 카테고리가 바뀐 경우에만
+ *   이전 카테고리 ZSET을 건드린다.
+ * - 전체 적재는 정렬 값만 담은 프로젝션을 id 순 페이지로 읽어 페이지마다 파이프라인으로 쓴다. 목록 요약은 쓰지 않고
+ *   조회 시 비어 있는 것만 채운다.
+ * - 완료 표시(listing:built)는 TTL이 있어, 만료되면 한 노드가 주기 작업에서 전체를 다시 적재한다. (놓친 갱신 보정)
+ * - 전체 적재 중에 들어온 변경은 상품 id를 따로 모아 두었다가, 적재를 마친 뒤 DB에서 다시 읽어 덮어쓴다.
+ *   (적재가 읽은 스냅샷이 그 사이의 변경을 되돌리지 않도록)
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemListingIndex {
+
+    private static final String INDEX_KEY_PREFIX = "listing:category:";
+    private static final String SUMMARY_KEY_PREFIX = "listing:summary:";
+    private static final String BUILT_MARKER_KEY = "listing:built";
+    private static final String DIRTY_KEY = "listing:dirty";
+    private static final String BUILDING = "building";
+    // 적재 중 노드가 죽어도 영원히 "적재 중"으로 남지 않도록 둔 TTL
+    private static final Duration BUILDING_TTL = Duration.ofMinutes(10);
+    // 이 주기로 전체를 다시 적재해 이벤트 유실 등으로 어긋난 인덱스를 맞춘다.
+    private static final Duration BUILT_TTL = Duration.ofHours(6);
+    // 요약 캐시는 조회 시 DB에서 채우는 값과 경합할 수 있어 짧게 둔다.
+    private static final Duration SUMMARY_TTL = Duration.ofMinutes(10);
+    private static final long DIRTY_DRAIN_BATCH = 100L;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 정렬 기준별 ZSET. priceHigh/priceLow는 같은 가격 ZSET을 방향만 바꿔 읽는다.
+     */
+    enum SortKey {
+        LATEST("latest", true),
+        PRICE_HIGH("price", true),
+        PRICE_LOW("price", false),
+        VIEWS("views", true);
+
+        private final String indexName;
+        private final boolean descending;
+
+        SortKey(String indexName, boolean descending) {
+            this.indexName = indexName;
+            this.descending = descending;
+        }
+
+        static SortKey from(String sort) {
+            if (!StringUtils.hasText(sort)) return LATEST;
+            switch (sort) {
+                case "priceHigh": return PRICE_HIGH;
+                case "priceLow": return PRICE_LOW;
+                case "views": return VIEWS;
+                case "latest": default: return LATEST;
+            }
+        }
+    }
+
+    private static final List<String> INDEX_NAMES = List.of("latest", "price", "views");
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        buildIfAbsent();
+    }
+
+    /**
+     * 완료 표시가 만료됐으면 다시 적재한다.
+     */
+    @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+    public void refreshIfExpired() {
+        buildIfAbsent();
+    }
+
+    private void buildIfAbsent() {
+        try {
+            // 여러 노드가 동시에 떠도 전체 적재는 한 노드만 수행한다.
+            Boolean first = stringRedisTemplate.opsForValue().setIfAbsent(BUILT_MARKER_KEY, BUILDING, BUILDING_TTL);
+            if (Boolean.TRUE.equals(first)) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("카테고리 목록 인덱스 적재 실패. 목록 조회는 DB로 처리됩니다.", e);
+        }
+    }
+
+    /**
+     * 카테고리 목록 페이지 조회. 인덱스를 쓸 수 없으면 null을 반환한다.
+     */
+    public Page<ItemSummaryDTO> findPage(ItemCategory category, String sort, Pageable pageable) {
+        SortKey sortKey = SortKey.from(sort);
+        String indexKey = indexKey(category, sortKey.indexName);
+        long start = pageable.getOffset();
+        long end = start + pageable.getPageSize() - 1;
+
+        try {
+            String marker = stringRedisTemplate.opsForValue().get(BUILT_MARKER_KEY);
+            if (marker == null || BUILDING.equals(marker)) {
+                return null;
+            }
+
+            Set<String> ids = sortKey.descending
+                    ? stringRedisTemplate.opsForZSet().reverseRange(indexKey, start, end)
+                    : stringRedisTemplate.opsForZSet().range(indexKey, start, end);
+            Long total = stringRedisTemplate.opsForZSet().zCard(indexKey);
+
+            if (ids == null || ids.isEmpty()) {
+                return new PageImpl<>(Collections.emptyList(), pageable, total != null ? total : 0L);
+            }
+
+            return new PageImpl<>(loadSummaries(new ArrayList<>(ids)), pageable, total != null ? total : ids.size());
+        } catch (DataAccessException e) {
+            log.warn("카테고리 목록 인덱스 조회 실패. DB 조회로 대체합니다. category={}", category, e);
+            return null;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.isStockOnly()) {
+            // 재고 수량은 정렬 값에도 목록 요약에도 없다. (주문 경로에서 Redis/DB를 건드리지 않는다)
+            return;
+        }
+        try {
+            // 적재 중이면 먼저 id를 남긴다. 적재가 읽은 스냅샷이 아래 반영을 덮어써도, 적재 후 다시 반영된다.
+            if (BUILDING.equals(stringRedisTemplate.opsForValue().get(BUILT_MARKER_KEY))) {
+                stringRedisTemplate.opsForSet().add(DIRTY_KEY, String.valueOf(event.getItemId()));
+            }
+            apply(event.getItemId(), event.getPreviousCategory(), false);
+        } catch (Exception e) {
+            // 인덱스 갱신 실패가 상품 변경 자체를 실패시키지 않도록 여기서 잡는다. (다음 전체 재적재 때 맞춰짐)
+            log.error("카테고리 목록 인덱스 갱신 실패. itemId={}", event.getItemId(), e);
+        }
+    }
+
+    /**
+     * 상세 조회로 조회수가 올라갈 때 views 인덱스 점수도 함께 올린다.
+     */
+    public void incrementViews(Item item) {
+        if (item.getStatus() == ItemStatus.DELETED) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForZSet().incrementScore(
+                    indexKey(item.getItemCategory(), "views"), String.valueOf(item.getId()), 1.0);
+        } catch (Exception e) {
+            log.warn("조회수 인덱스 갱신 실패. itemId={}", item.getId(), e);
+        }
+    }
+
+    /**
+     * 전체 상품으로 인덱스를 다시 만든다. (페이지마다 파이프라인으로 한 번에 전송)
+     * 적재 중 표시를 먼저 남겨, 그 뒤에 커밋된 변경이 적재 후 다시 반영되게 한다.
+     */
+    public void rebuild() {
+        try {
+            stringRedisTemplate.opsForValue().set(BUILT_MARKER_KEY, BUILDING, BUILDING_TTL);
+            stringRedisTemplate.delete(DIRTY_KEY);
+
+            pipelined(ops -> {
+                for (ItemCategory category : ItemCategory.values()) {
+                    INDEX_NAMES.forEach(name -> ops.delete(indexKey(category, name)));
+                }
+            });
+            int loaded = 0;
+            long afterId = 0L;
+            while (true) {
+                List<ItemListingRow> page = itemRepository.findListingRowsAfter(
+                        ItemStatus.DELETED, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                if (!page.isEmpty()) {
+                    pipelined(ops -> page.forEach(row -> writeScores(ops, row)));
+                    loaded += page.size();
+                }
+                if (page.size() < REBUILD_PAGE_SIZE) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).id();
+            }
+            stringRedisTemplate.opsForValue().set(BUILT_MARKER_KEY, String.valueOf(System.currentTimeMillis()), BUILT_TTL);
+            int replayed = replayDirty();
+            log.info("카테고리 목록 인덱스 전체 적재 완료. {}건 (적재 중 변경 {}건 재반영)", loaded, replayed);
+        } catch (Exception e) {
+            stringRedisTemplate.delete(BUILT_MARKER_KEY);
+            throw e;
+        }
+    }
+
+    /**
+     * 적재 중에 바뀐 상품을 DB에서 다시 읽어 반영한다. SPOP으로 꺼내므로 꺼내는 동안 추가된 id도 놓치지 않는다.
+     */
+    private int replayDirty() {
+        int replayed = 0;
+        while (true) {
+            List<String> ids = stringRedisTemplate.opsForSet().pop(DIRTY_KEY, DIRTY_DRAIN_BATCH);
+            if (ids == null || ids.isEmpty()) {
+                return replayed;
+            }
+            for (String id : ids) {
+                // 적재 중에 카테고리가 바뀌었을 수 있어 모든 카테고리에서 정리한다.
+                apply(Long.valueOf(id), null, true);
+                replayed++;
+            }
+        }
+    }
+
+    /**
+     * 상품 하나를 DB의 현재 상태대로 반영한다.
+     *
+     * @param previousCategory 수정 전 카테고리 (바뀌지 않았으면 null)
+     * @param anyCategory      어느 카테고리에 남아 있는지 모를 때 true. 모든 카테고리에서 정리한다.
+     */
+    private void apply(Long itemId, ItemCategory previousCategory, boolean anyCategory) {
+        Item item = itemRepository.findById(itemId).orElse(null);
+        boolean listed = item != null && item.getStatus() != ItemStatus.DELETED;
+        pipelined(ops -> {
+            if (anyCategory || item == null) {
+                for (ItemCategory category : ItemCategory.values()) {
+                    if (!listed || category != item.getItemCategory()) {
+                        removeMember(ops, category, itemId);
+                    }
+                }
+            } else {
+                if (previousCategory != null && previousCategory != item.getItemCategory()) {
+                    removeMember(ops, previousCategory, itemId);
+                }
+                if (!listed) {
+                    removeMember(ops, item.getItemCategory(), itemId);
+                }
+            }
+            if (listed) {
+                writeEntry(ops, item);
+            } else {
+                ops.delete(SUMMARY_KEY_PREFIX + itemId);
+            }
+        });
+    }
+
+    private static void removeMember(RedisOperations<String, String> ops, ItemCategory category, Long itemId) {
+        INDEX_NAMES.forEach(name -> ops.opsForZSet().remove(indexKey(category, name), String.valueOf(itemId)));
+    }
+
+    private void writeEntry(RedisOperations<String, String> ops, Item item) {
+        writeScores(ops, ItemListingRow.from(item));
+
+        String json = toJson(ItemSummaryDTO.from(item));
+        if (json != null) {
+            ops.opsForValue().set(SUMMARY_KEY_PREFIX + item.getId(), json, SUMMARY_TTL);
+        }
+    }
+
+    private static void writeScores(RedisOperations<String, String> ops, ItemListingRow row) {
+        String member = String.valueOf(row.id());
+        long createdAt = row.createdAt() != null ? row.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+
+        ops.opsForZSet().add(indexKey(row.itemCategory(), "latest"), member, createdAt);
+        ops.opsForZSet().add(indexKey(row.itemCategory(), "price"), member, row.price());
+        ops.opsForZSet().add(indexKey(row.itemCategory(), "views"), member, row.viewCount());
+    }
+
+    /**
+     * MGET으로 요약 캐시를 한 번에 읽고, 비어 있는 상품만 DB에서 IN 쿼리로 읽어 캐시를 채운다.
+     */
+    private List<ItemSummaryDTO> loadSummaries(List<String> ids) {
+        List<String> keys = ids.stream().map(SUMMARY_KEY_PREFIX::concat).toList();
+        List<String> cached = stringRedisTemplate.opsForValue().multiGet(keys);
+
+        Map<String, ItemSummaryDTO> summaries = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            ItemSummaryDTO summary = (cached != null) ? fromJson(cached.get(i)) : null;
+            if (summary != null) {
+                summaries.put(ids.get(i), summary);
+            } else {
+                missingIds.add(Long.valueOf(ids.get(i)));
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            Map<String, String> backfill = new HashMap<>();
+            List<Item> deleted = new ArrayList<>();
+            for (Item item : itemRepository.findAllById(missingIds)) {
+                if (item.getStatus() == ItemStatus.DELETED) {
+                    // 삭제 반영이 유실돼 남은 항목. 다음 페이지부터는 나오지 않도록 인덱스에서 뺀다.
+                    deleted.add(item);
+                    continue;
+                }
+                ItemSummaryDTO summary = ItemSummaryDTO.from(item);
+                summaries.put(String.valueOf(item.getId()), summary);
+                String json = toJson(summary);
+                if (json != null) {
+                    backfill.put(SUMMARY_KEY_PREFIX + item.getId(), json);
+                }
+            }
+            if (!backfill.isEmpty() || !deleted.isEmpty()) {
+                pipelined(ops -> {
+                    backfill.forEach((key, json) -> ops.opsForValue().set(key, json, SUMMARY_TTL));
+                    deleted.forEach(item -> removeMember(ops, item.getItemCategory(), item.getId()));
+                });
+            }
+        }
+
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pipelined(Consumer<RedisOperations<String, String>> commands) {
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    private String toJson(ItemSummaryDTO summary) {
+        try {
+            return objectMapper.writeValueAsString(summary);
+        } catch (Exception e) {
+            log.warn("상품 요약 직렬화 실패. itemId={}", summary.getId(), e);
+            return null;
+        }
+    }
+
+    private ItemSummaryDTO fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, ItemSummaryDTO.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String indexKey(ItemCategory category, String indexName) {
+        return INDEX_KEY_PREFIX + category.name() + ":" + indexName;
+    }
+}
@@ -1,5 +1,7 @@
 package com.kkh.shop_1.domain.item.service;
 
+import com.kkh.shop_1.common.annotation.SchedulerLock;
+import com.kkh.shop_1.common.etag.ETagVersionStore;
 import com.kkh.shop_1.common.s3.S3Service;
 import com.kkh.shop_1.common.util.ChosungUtils;
 import com.kkh.shop_1.domain.item.document.ItemDocument;
@@ -8,6 +10,7 @@ import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.entity.ItemCategory;
 import com.kkh.shop_1.domain.item.entity.ItemImage;
 import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.event.ItemChangedEvent;
 import com.kkh.shop_1.domain.item.repository.ItemRepository;
 import com.kkh.shop_1.domain.item.repository.ItemSearchRepository;
 import com.kkh.shop_1.domain.user.entity.User;
@@ -18,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -33,11 +37,13 @@ import org.springframework.scheduling.annotation.Scheduled;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -50,7 +56,12 @@ public class ItemService {
     private final UserService userService;
     private final S3Service s3Service;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ETagVersionStore eTagVersionStore;
+    private final ItemCatalogIndex itemCatalogIndex;
+    private final ItemListingIndex itemListingIndex;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private static final String DEFAULT_IMAGE = "/no_image.jpg";
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     /**
      *
@@ -71,6 +82,8 @@ public class ItemService {
         itemRepository.save(item);
         processItemImages(item, images);
         syncToSearchIndexAfterCommit(item);
+        eTagVersionStore.bumpAfterCommit(ETagVersionStore.ITEM_LIST);
+        applicationEventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
 
         return item.getId();
     }
@@ -96,6 +109,7 @@ public class ItemService {
             throw new AccessDeniedException("수정 권한이 없습니다.");
         }
 
+        ItemCategory previousCategory = item.getItemCategory();
         item.update(
                 request.getName(),
                 request.getPrice(),
@@ -115,6 +129,8 @@ public class ItemService {
         }
 
         syncToSearchIndexAfterCommit(item);
+        eTagVersionStore.bumpAfterCommit(ETagVersionStore.ITEM_LIST, ETagVersionStore.itemDetail(itemId));
+        applicationEventPublisher.publishEvent(new ItemChangedEvent(itemId, previousCategory));
         return item.getId();
     }
 
@@ -139,6 +155,8 @@ public class ItemService {
         item.setStatus(ItemStatus.DELETED);
         log.info("상품 논리 삭제 완료 (ID: {})", itemId);
         removeFromSearchIndexAfterCommit(itemId);
+        eTagVersionStore.bumpAfterCommit(ETagVersionStore.ITEM_LIST, ETagVersionStore.itemDetail(itemId));
+        applicationEventPublisher.publishEvent(new ItemChangedEvent(itemId));
     }
 
     /**
@@ -161,6 +179,7 @@ public class ItemService {
             throw new EntityNotFoundException("삭제된 상품입니다.");
         }
 
+        itemListingIndex.incrementViews(item);
         return ItemDetailDTO.from(item);
     }
 
@@ -175,6 +194,8 @@ public class ItemService {
         if (updatedRows == 0) {
             throw new IllegalStateException("재고가 부족합니다. ItemID: " + itemId);
         }
+        bumpStockVersions(itemId, itemRepository.markOutOfStock(itemId) > 0);
+        applicationEventPublisher.publishEvent(ItemChangedEvent.stockChanged(itemId));
     }
 
     /**
@@ -185,21 +206,49 @@ public class ItemService {
     @CacheEvict(value = "item:detail", key = "#itemId")
     public void increaseStock(Long itemId, int quantity) {
         itemRepository.increaseStock(itemId, quantity);
+        bumpStockVersions(itemId, itemRepository.markInStock(itemId) > 0);
+        applicationEventPublisher.publishEvent(ItemChangedEvent.stockChanged(itemId));
+    }
+
+    /**
+     *
+     * 목록 응답에는 수량이 없고 품절 여부만 있으므로, 목록 ETag는 품절 여부가 바뀐 경우에만 올린다.
+     *
+     */
+    private void bumpStockVersions(Long itemId, boolean stockStatusFlipped) {
+        if (stockStatusFlipped) {
+            eTagVersionStore.bumpAfterCommit(ETagVersionStore.ITEM_LIST, ETagVersionStore.itemDetail(itemId));
+        } else {
+            eTagVersionStore.bumpAfterCommit(ETagVersionStore.itemDetail(itemId));
+        }
     }
 
     // --- 조회용 (ReadOnly) ---
 
     @Transactional(readOnly = true)
     public List<ItemSummaryDTO> getMyItems(Long sellerId) {
-        return itemRepository.findBySellerIdOrderByCreatedAtDesc(sellerId).stream()
-                .filter(item -> item.getStatus() != ItemStatus.DELETED)
+        return itemRepository.findBySellerIdAndStatusNotOrderByCreatedAtDesc(sellerId, ItemStatus.DELETED).stream()
                 .map(ItemSummaryDTO::from)
                 .toList();
     }
 
-    // 전체 목록 조회
+    @Transactional(readOnly = true)
+    public Page<ItemSummaryDTO> getMyItemsPage(Long sellerId, Pageable pageable) {
+        return itemRepository.findBySellerIdAndStatusNot(sellerId, ItemStatus.DELETED, pageable)
+                .map(ItemSummaryDTO::from);
+    }
+
+    @Transactional(readOnly = true)
+    public ItemCursorPageDTO getMyItemsByCursor(Long sellerId, String cursor, int size) {
+        return findByCursor(sellerId, null, cursor, size);
+    }
+
+    // 전체 목록 조회 (키워드가 없으면 JVM 내 카탈로그 인덱스로 처리, 인덱스 준비 전이거나 키워드 검색이면 DB)
     @Transactional(readOnly = true)
     public Page<ItemSummaryDTO> searchItems(ItemSearchCondition condition, Pageable pageable) {
+        if (itemCatalogIndex.supports(condition)) {
+            return itemCatalogIndex.search(condition, pageable);
+        }
         return itemRepository.search(condition, pageable)
                 .map(ItemSummaryDTO::from);
     }
@@ -209,7 +258,6 @@ public class ItemService {
     @Cacheable(value = "items", key = "'all'")
     public List<ItemSummaryDTO> getAllItems() {
         return itemRepository.findAllWithImages().stream()
-                .filter(item -> item.getStatus() != ItemStatus.DELETED)
                 .map(ItemSummaryDTO::from)
                 .toList();
     }
@@ -217,17 +265,62 @@ public class ItemService {
     @Transactional(readOnly = true)
     public List<ItemSummaryDTO> getItemsByCategory(String categoryName) {
         ItemCategory category = parseCategory(categoryName);
-        return itemRepository.findByItemCategory(category).stream()
-                .filter(item -> item.getStatus() != ItemStatus.DELETED)
+        return itemRepository.findByItemCategoryAndStatusNot(category, ItemStatus.DELETED).stream()
                 .map(ItemSummaryDTO::from)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public ItemCursorPageDTO getItemsByCategoryCursor(String categoryName, String cursor, int size) {
+        return findByCursor(null, parseCategory(categoryName), cursor, size);
+    }
+
+    /**
+     *
+     * 카테고리별 목록 페이지 조회 (Redis 정렬 인덱스 우선, 인덱스를 쓸 수 없으면 DB)
+     *
+     */
+    @Transactional(readOnly = true)
+    public Page<ItemSummaryDTO> getItemsByCategoryPage(String categoryName, String sort, Pageable pageable) {
+        ItemCategory category = parseCategory(categoryName);
+
+        Page<ItemSummaryDTO> indexed = itemListingIndex.findPage(category, sort, pageable);
+        if (indexed != null) {
+            return indexed;
+        }
+
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setCategory(category.name());
+        condition.setSort(sort);
+        return itemRepository.search(condition, pageable)
+                .map(ItemSummaryDTO::from);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Item> findById(Long itemId) {
         return itemRepository.findById(itemId);
     }
 
+    /**
+     *
+     * 여러 상품 엔티티를 IN 쿼리 한 번으로 조회 (id -> 상품)
+     *
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Item> findAllByIds(Collection<Long> itemIds) {
+        return itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
+    /**
+     *
+     * 연관관계 설정용 상품 참조 (조회 쿼리 없이 프록시만 반환)
+     *
+     */
+    public Item getReference(Long itemId) {
+        return itemRepository.getReferenceById(itemId);
+    }
+
     // --- Private Helper Methods ---
 
     private void processItemImages(Item item, List<MultipartFile> images) {
@@ -319,6 +412,26 @@ public class ItemService {
                 .build();
     }
 
+    /**
+     *
+     * 커서 기반 목록 조회 공통 처리 (한 건 더 읽어 다음 페이지 존재 여부를 판단)
+     *
+     */
+    private ItemCursorPageDTO findByCursor(Long sellerId, ItemCategory category, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        List<Item> items = itemRepository.findVisibleByCursor(sellerId, category, ItemCursor.decode(cursor), pageSize + 1);
+
+        boolean hasNext = items.size() > pageSize;
+        List<Item> content = hasNext ? items.subList(0, pageSize) : items;
+        String nextCursor = hasNext ? ItemCursor.from(content.get(content.size() - 1)).encode() : null;
+
+        return new ItemCursorPageDTO(
+                content.stream().map(ItemSummaryDTO::from).toList(),
+                nextCursor,
+                hasNext
+        );
+    }
+
     private ItemCategory parseCategory(String categoryName) {
         try {
             return ItemCategory.valueOf(categoryName.toUpperCase());
@@ -352,6 +465,7 @@ public class ItemService {
     }
 
     @Scheduled(cron = "0 0 0 * * *")
+    @SchedulerLock(name = "item-ranking-reset", lockAtMostFor = "PT10M", lockAtLeastFor = "PT5M")
     public void resetItemRanking() {
         redisTemplate.delete("ranking:items:views");
         log.info("실시간 인기 상품 Redis 랭킹 데이터가 초기화되었습니다.");
@@ -0,0 +1,218 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.item.dto.ItemSnapshot;
+import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.event.ItemChangedEvent;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ *
+ * 상품 스냅샷 일괄 조회 서비스
+ *
+ * 1. 같은 HTTP 요청 안에서 이미 읽은 상품은 요청 범위 맵에서 같은 인스턴스를 그대로 돌려준다.
+ * 2. 나머지는 Redis MGET 한 번으로 읽는다.
+ * 3. 캐시에 없는 상품만 DB에서 IN 쿼리 한 번으로 읽고, 파이프라인으로 캐시를 채운다.
+ *
+ * 캐시는 ItemChangedEvent(등록/수정/삭제/재고 변경) 커밋 이후 해당 상품만 지운다.
+ * Redis 장애 시에는 DB 조회로 처리한다.
+ *
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemSnapshotService {
+
+    private static final String KEY_PREFIX = "item:snapshot:";
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final String REQUEST_CACHE_ATTRIBUTE = ItemSnapshotService.class.getName() + ".REQUEST_CACHE";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    public Optional<ItemSnapshot> get(Long itemId) {
+        return Optional.ofNullable(getAll(List.of(itemId)).get(itemId));
+    }
+
+    /**
+     * 일괄 조회 API용. 삭제된 상품은 제외하고 요청한 순서대로 반환한다.
+     */
+    public List<ItemSnapshot> getVisible(List<Long> itemIds) {
+        if (itemIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 상품은 최대 " + MAX_BATCH_SIZE + "개입니다.");
+        }
+        return getAll(itemIds).values().stream()
+                .filter(snapshot -> !ItemStatus.DELETED.name().equals(snapshot.getStatus()))
+                .toList();
+    }
+
+    /**
+     * 요청한 id 순서를 유지한 맵을 반환한다. 존재하지 않는 상품은 결과에서 빠진다.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ItemSnapshot> getAll(Collection<Long> itemIds) {
+        if (itemIds == null || itemIds.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        Map<Long, ItemSnapshot> requestCache = requestCache();
+        Map<Long, ItemSnapshot> found = new HashMap<>();
+        List<Long> remaining = new ArrayList<>();
+        for (Long itemId : new LinkedHashSet<>(itemIds)) {
+            ItemSnapshot cached = requestCache != null ? requestCache.get(itemId) : null;
+            if (cached != null) {
+                found.put(itemId, cached);
+            } else {
+                remaining.add(itemId);
+            }
+        }
+
+        if (!remaining.isEmpty()) {
+            Map<Long, ItemSnapshot> loaded = load(remaining);
+            if (requestCache != null) {
+                requestCache.putAll(loaded);
+            }
+            found.putAll(loaded);
+        }
+
+        Map<Long, ItemSnapshot> ordered = new LinkedHashMap<>();
+        for (Long itemId : itemIds) {
+            ItemSnapshot snapshot = found.get(itemId);
+            if (snapshot != null) {
+                ordered.putIfAbsent(itemId, snapshot);
+            }
+        }
+        return ordered;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Map<Long, ItemSnapshot> requestCache = requestCache();
+        if (requestCache != null) {
+            requestCache.remove(event.getItemId());
+        }
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + event.getItemId());
+        } catch (Exception e) {
+            // TTL이 지나면 새 값으로 채워진다.
+            log.warn("상품 스냅샷 캐시 삭제 실패. itemId={}", event.getItemId(), e);
+        }
+    }
+
+    private Map<Long, ItemSnapshot> load(List<Long> itemIds) {
+        Map<Long, ItemSnapshot> loaded = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+
+        List<String> cached = multiGet(itemIds);
+        for (int i = 0; i < itemIds.size(); i++) {
+            ItemSnapshot snapshot = (cached != null) ? fromJson(cached.get(i)) : null;
+            if (snapshot != null) {
+                loaded.put(itemIds.get(i), snapshot);
+            } else {
+                missingIds.add(itemIds.get(i));
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            Map<String, String> backfill = new HashMap<>();
+            for (Item item : itemRepository.findAllById(missingIds)) {
+                ItemSnapshot snapshot = ItemSnapshot.from(item);
+                loaded.put(item.getId(), snapshot);
+                String json = toJson(snapshot);
+                if (json != null) {
+                    backfill.put(KEY_PREFIX + item.getId(), json);
+                }
+            }
+            backfill(backfill);
+        }
+
+        return loaded;
+    }
+
+    private List<String> multiGet(List<Long> itemIds) {
+        try {
+            return stringRedisTemplate.opsForValue().multiGet(itemIds.stream().map(id -> KEY_PREFIX + id).toList());
+        } catch (Exception e) {
+            log.warn("상품 스냅샷 캐시 조회 실패. DB에서 조회합니다.", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void backfill(Map<String, String> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            // MSET은 TTL을 줄 수 없어 SET EX를 파이프라인으로 묶어 한 번에 보낸다.
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    entries.forEach((key, value) -> ops.opsForValue().set(key, value, TTL));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("상품 스냅샷 캐시 저장 실패. count={}", entries.size(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ItemSnapshot> requestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null; // 스케줄러/비동기 스레드 등 HTTP 요청 밖에서는 요청 캐시를 쓰지 않는다.
+        }
+        Map<Long, ItemSnapshot> cache = (Map<Long, ItemSnapshot>) attributes.getAttribute(REQUEST_CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<>();
+            attributes.setAttribute(REQUEST_CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+
+    private String toJson(ItemSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (Exception e) {
+            log.warn("상품 스냅샷 직렬화 실패. itemId={}", snapshot.getId(), e);
+            return null;
+        }
+    }
+
+    private ItemSnapshot fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, ItemSnapshot.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
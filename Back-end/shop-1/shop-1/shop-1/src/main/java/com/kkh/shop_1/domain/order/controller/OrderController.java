@@ -3,14 +3,21 @@ package com.kkh.shop_1.domain.order.controller;
 import com.kkh.shop_1.common.ApiResponse;
 import com.kkh.shop_1.domain.order.dto.OrderApproveDTO;
 import com.kkh.shop_1.domain.order.dto.OrderDetailDTO;
+import com.kkh.shop_1.domain.order.dto.OrderHistoryPageDTO;
 import com.kkh.shop_1.domain.order.dto.OrderRequestDTO;
 import com.kkh.shop_1.domain.order.dto.OrderResponseDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentApprovalDTO;
 import com.kkh.shop_1.domain.order.service.OrderService;
+import com.kkh.shop_1.domain.order.service.PaymentApprovalNotifier;
+import com.kkh.shop_1.domain.order.service.PaymentApprovalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -21,6 +28,8 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final PaymentApprovalService paymentApprovalService;
+    private final PaymentApprovalNotifier paymentApprovalNotifier;
 
     /**
      *
@@ -52,6 +61,48 @@ public class OrderController {
         ));
     }
 
+    /**
+     *
+     * 결제 승인 요청 (비동기). 요청을 저장하고 바로 응답한다. 처리 중이면 202, 이미 결과가 나왔으면 200.
+     * 결과는 /payment/approvals/{orderId} 폴링 또는 /payment/approvals/{orderId}/events 구독(SSE)으로 확인한다.
+     *
+     */
+    @GetMapping("/payment/approve-async")
+    public ResponseEntity<ApiResponse<PaymentApprovalDTO>> approveAsync(
+            @ModelAttribute OrderApproveDTO request,
+            @AuthenticationPrincipal Long userId
+    ) {
+        PaymentApprovalDTO approval = paymentApprovalService.enqueue(request, userId);
+        HttpStatus status = approval.isCompleted() ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(ApiResponse.success(approval));
+    }
+
+    /**
+     *
+     * 비동기 결제 승인 상태 조회 (폴링)
+     *
+     */
+    @GetMapping("/payment/approvals/{orderId}")
+    public ResponseEntity<ApiResponse<PaymentApprovalDTO>> getApproval(
+            @PathVariable("orderId") Long orderId,
+            @AuthenticationPrincipal Long userId
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(paymentApprovalService.getApproval(orderId, userId)));
+    }
+
+    /**
+     *
+     * 비동기 결제 승인 완료 구독 (SSE). 현재 상태를 먼저 보내고, 결과가 확정되면 한 번 더 보낸 뒤 스트림을 닫는다.
+     *
+     */
+    @GetMapping(value = "/payment/approvals/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeApproval(
+            @PathVariable("orderId") Long orderId,
+            @AuthenticationPrincipal Long userId
+    ) {
+        return paymentApprovalNotifier.subscribe(orderId, userId);
+    }
+
     /**
      *
      * 단건 상세 조회
@@ -87,4 +138,18 @@ public class OrderController {
         List<OrderDetailDTO> orders = orderService.getOrders(userId);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
+
+    /**
+     *
+     * 목록 조회 (커서 기반). 응답의 nextCursor를 다음 요청의 cursor로 넘긴다.
+     *
+     */
+    @GetMapping("/history")
+    public ResponseEntity<ApiResponse<OrderHistoryPageDTO>> getOrderHistory(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @AuthenticationPrincipal Long userId
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(orderService.getOrderHistory(userId, cursor, size)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.kkh.shop_1.domain.order.controller;
+
+import com.kkh.shop_1.common.ApiResponse;
+import com.kkh.shop_1.domain.order.service.PaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/payments/webhooks")
+@RequiredArgsConstructor
+public class PaymentWebhookController {
+
+    static final String TIMESTAMP_HEADER = "X-Webhook-Timestamp";
+    static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    private final PaymentWebhookService paymentWebhookService;
+
+    /**
+     *
+     * PG 결제 상태 알림 수신 (인증 없이 호출되며 서명으로 검증한다). provider: kakaopay, naverpay, tosspay
+     * 2xx가 아니면 PG가 다시 보낸다. 서명 오류는 401, 본문 오류는 400, 반영 실패는 500.
+     *
+     */
+    @PostMapping("/{provider}")
+    public ResponseEntity<ApiResponse<String>> receive(
+            @PathVariable("provider") String provider,
+            @RequestHeader(value = TIMESTAMP_HEADER, required = false) String timestamp,
+            @RequestHeader(value = SIGNATURE_HEADER, required = false) String signature,
+            @RequestBody byte[] body
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(paymentWebhookService.receive(provider, timestamp, signature, body)));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBadRequest(IllegalArgumentException e) {
+        log.warn("잘못된 PG 웹훅 요청: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(ApiResponse.fail("INVALID_WEBHOOK", e.getMessage()));
+    }
+}
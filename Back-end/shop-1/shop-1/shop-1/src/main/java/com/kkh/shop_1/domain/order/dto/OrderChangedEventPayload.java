@@ -0,0 +1,17 @@
+package com.kkh.shop_1.domain.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ *
+ * 주문 변경 outbox 이벤트(ORDER_CREATED, ORDER_UPDATED, ORDER_CANCELLED)의 payload.
+ * 조회 모델은 이벤트 내용이 아니라 주문 테이블의 현재 상태로 다시 만들므로 id만 담는다.
+ *
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class OrderChangedEventPayload {
+    private Long orderId;
+    private Long userId;
+}
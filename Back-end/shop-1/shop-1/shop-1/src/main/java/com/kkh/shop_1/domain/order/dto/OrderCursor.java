@@ -0,0 +1,24 @@
+package com.kkh.shop_1.domain.order.dto;
+
+import com.kkh.shop_1.common.util.KeysetCursorCodec;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 주문 목록 커서 조회의 위치 (마지막으로 내려준 주문의 주문 시각 + id, 형식은 KeysetCursorCodec)
+ *
+ */
+public record OrderCursor(LocalDateTime orderDate, Long orderId) {
+
+    /**
+     * 커서 문자열을 해석한다. 비어 있으면 첫 페이지(null)로 본다.
+     */
+    public static OrderCursor decode(String cursor) {
+        return KeysetCursorCodec.decode(cursor, OrderCursor::new);
+    }
+
+    public String encode() {
+        return KeysetCursorCodec.encode(orderDate, orderId);
+    }
+}
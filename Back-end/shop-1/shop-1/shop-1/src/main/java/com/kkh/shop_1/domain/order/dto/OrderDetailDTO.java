@@ -40,6 +40,31 @@ public class OrderDetailDTO {
                 .build();
     }
 
+    /**
+     * 주문 목록 프로젝션(헤더 + 주문 상품 행) -> DTO
+     */
+    public static OrderDetailDTO of(OrderHeaderRow header, List<OrderItemRow> itemRows) {
+        List<OrderItemDTO> items = itemRows.stream()
+                .map(OrderItemDTO::of)
+                .toList();
+
+        return OrderDetailDTO.builder()
+                .orderId(header.orderId())
+                .tid(header.tid())
+                .status(header.status().name())
+                .orderDate(header.orderDate())
+                .totalPrice(items.stream().mapToInt(OrderItemDTO::getTotalPrice).sum())
+                .items(items)
+                .address(AddressDTO.builder()
+                        .zipCode(header.zipCode())
+                        .roadAddress(header.roadAddress())
+                        .detailAddress(header.detailAddress())
+                        .recipientName(header.recipientName())
+                        .recipientPhone(header.recipientPhone())
+                        .build())
+                .build();
+    }
+
     /**
      * 주문 상품 상세 정보 DTO
      */
@@ -73,6 +98,20 @@ public class OrderDetailDTO {
                     .isReviewWritten(orderItem.isReviewWritten())
                     .build();
         }
+
+        public static OrderItemDTO of(OrderItemRow row) {
+            return OrderItemDTO.builder()
+                    .orderItemId(row.orderItemId())
+                    .itemId(row.itemId())
+                    .itemName(row.itemName())
+                    .quantity(row.quantity())
+                    .price(row.originalPrice())
+                    .couponDiscount(row.couponDiscount())
+                    .finalPrice(row.finalPrice())
+                    .totalPrice(row.finalPrice() * row.quantity())
+                    .isReviewWritten(row.reviewWritten())
+                    .build();
+        }
     }
 
     /**
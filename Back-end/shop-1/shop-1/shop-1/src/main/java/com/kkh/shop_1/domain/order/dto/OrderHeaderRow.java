@@ -0,0 +1,24 @@
+package com.kkh.shop_1.domain.order.dto;
+
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 주문 조회 모델(order_view) 생성용 주문 헤더 프로젝션 (주문 + 배송지, 엔티티 로딩 없이 필요한 컬럼만 조회)
+ *
+ */
+public record OrderHeaderRow(
+        Long orderId,
+        Long userId,
+        String tid,
+        OrderStatus status,
+        LocalDateTime orderDate,
+        String zipCode,
+        String roadAddress,
+        String detailAddress,
+        String recipientName,
+        String recipientPhone
+) {
+}
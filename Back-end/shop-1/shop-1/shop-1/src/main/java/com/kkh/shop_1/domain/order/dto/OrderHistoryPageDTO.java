@@ -0,0 +1,23 @@
+package com.kkh.shop_1.domain.order.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ *
+ * 커서 기반 주문 목록 응답 (nextCursor를 다음 요청의 cursor 파라미터로 그대로 넘긴다)
+ *
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderHistoryPageDTO {
+
+    private List<OrderDetailDTO> orders;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,19 @@
+package com.kkh.shop_1.domain.order.dto;
+
+/**
+ *
+ * 주문 조회 모델(order_view) 생성용 주문 상품 프로젝션 (Item 엔티티 대신 상품 id/이름만 조회)
+ *
+ */
+public record OrderItemRow(
+        Long orderId,
+        Long orderItemId,
+        Long itemId,
+        String itemName,
+        int quantity,
+        int originalPrice,
+        int couponDiscount,
+        int finalPrice,
+        boolean reviewWritten
+) {
+}
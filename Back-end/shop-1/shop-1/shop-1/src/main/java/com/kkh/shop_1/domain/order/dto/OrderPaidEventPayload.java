@@ -1,17 +1,26 @@
 package com.kkh.shop_1.domain.order.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 /**
  *
  * 결제 완료 outbox 이벤트의 payload. (알림 발송 등 트랜잭션 밖 부수 작업에 필요한 최소 정보)
+ * outbox/보관/스트림 테이블에 개인정보가 남지 않도록 수신자 이메일/이름은 담지 않고, 발송 시점에 userId로 조회한다.
+ * (이전에 기록된 payload의 recipientEmail/recipientName 필드는 읽을 때 무시한다)
  *
  */
 @Getter
 @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class OrderPaidEventPayload {
     private Long orderId;
     private Long userId;
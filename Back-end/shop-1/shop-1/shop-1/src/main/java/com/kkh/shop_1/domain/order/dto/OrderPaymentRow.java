@@ -0,0 +1,15 @@
+package com.kkh.shop_1.domain.order.dto;
+
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+
+/**
+ *
+ * 웹훅 반영용 주문 결제 상태 프로젝션. 엔티티를 영속성 컨텍스트에 올리지 않아, 락을 잡은 뒤 다시 읽으면 항상 DB의 최신 상태다.
+ *
+ */
+public record OrderPaymentRow(
+        Long orderId,
+        Long userId,
+        OrderStatus status
+) {
+}
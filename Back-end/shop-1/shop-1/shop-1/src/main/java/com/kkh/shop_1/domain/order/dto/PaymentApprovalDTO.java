@@ -0,0 +1,57 @@
+package com.kkh.shop_1.domain.order.dto;
+
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.PaymentApproval;
+import com.kkh.shop_1.domain.order.entity.PaymentApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 비동기 결제 승인 진행 상태. 접수 응답, 상태 조회, 완료 알림(SSE)에 같은 형식으로 내려간다.
+ *
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentApprovalDTO {
+
+    private Long orderId;
+    private PaymentApprovalStatus status;
+    private int attemptCount;
+    private String failureReason;
+    private LocalDateTime requestedAt;
+    private LocalDateTime completedAt;
+
+    public static PaymentApprovalDTO from(PaymentApproval approval) {
+        return PaymentApprovalDTO.builder()
+                .orderId(approval.getOrderId())
+                .status(approval.getStatus())
+                .attemptCount(approval.getAttemptCount())
+                .failureReason(approval.getStatus() == PaymentApprovalStatus.FAILED ? approval.getLastError() : null)
+                .requestedAt(approval.getRequestedAt())
+                .completedAt(approval.getCompletedAt())
+                .build();
+    }
+
+    /**
+     * 승인 요청은 FAILED지만 주문은 결제 완료인 경우(PG 승인 후 주문 반영 실패 -> 대사로 결제 완료) 승인 완료로 내려준다.
+     */
+    public static PaymentApprovalDTO from(PaymentApproval approval, OrderStatus orderStatus) {
+        PaymentApprovalDTO dto = from(approval);
+        if (approval.getStatus() == PaymentApprovalStatus.FAILED && orderStatus == OrderStatus.PAID) {
+            dto.status = PaymentApprovalStatus.APPROVED;
+            dto.failureReason = null;
+        }
+        return dto;
+    }
+
+    public boolean isCompleted() {
+        return status != null && status.isTerminal();
+    }
+}
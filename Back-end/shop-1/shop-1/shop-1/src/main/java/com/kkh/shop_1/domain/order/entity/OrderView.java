@@ -0,0 +1,66 @@
+package com.kkh.shop_1.domain.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 주문 조회 모델 (CQRS 읽기 전용 테이블)
+ *
+ * 주문 한 건당 한 행이며, 주문 상세 응답(OrderDetailDTO) 전체를 JSON 문서로 들고 있다.
+ * 주문 outbox 이벤트(ORDER_CREATED, ORDER_PAID 등)를 처리하는 OrderViewProjector만 갱신한다.
+ *
+ */
+@Entity
+@Table(name = "order_view", indexes = {
+        @Index(name = "idx_order_view_user_date", columnList = "user_id, order_date, order_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderView {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    private int totalPrice;
+
+    // 목록/검색용 상품명 요약 (예: "상품A 외 2건")
+    @Column(length = 300)
+    private String itemSummary;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String document;
+
+    private LocalDateTime updatedAt;
+
+    public static OrderView of(Long orderId, Long userId, LocalDateTime orderDate) {
+        OrderView view = new OrderView();
+        view.orderId = orderId;
+        view.userId = userId;
+        view.orderDate = orderDate;
+        return view;
+    }
+
+    public void refresh(String status, int totalPrice, String itemSummary, String document) {
+        this.status = status;
+        this.totalPrice = totalPrice;
+        this.itemSummary = itemSummary;
+        this.document = document;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
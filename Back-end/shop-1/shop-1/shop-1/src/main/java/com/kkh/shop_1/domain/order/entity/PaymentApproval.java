@@ -0,0 +1,172 @@
+package com.kkh.shop_1.domain.order.entity;
+
+import com.kkh.shop_1.domain.order.dto.OrderApproveDTO;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 비동기 결제 승인 요청. PG 콜백 요청에서는 이 행만 저장하고 바로 응답하며, 실제 승인은 PaymentApprovalWorker가 처리한다.
+ *
+ * 주문당 한 행(order_id unique)이라 같은 주문의 콜백이 여러 번 와도 승인은 한 번만 진행된다.
+ * 선점 방식은 outbox_event와 같다. (SKIP LOCKED 선점 + 선점 만료 시각을 next_attempt_at에 기록)
+ *
+ */
+@Entity
+@Table(name = "payment_approval", indexes = {
+        // 작업자의 배치 선점(status = PENDING AND next_attempt_at <= now)용
+        @Index(name = "idx_payment_approval_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PaymentApproval {
+
+    public static final int LAST_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_approval_id")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, unique = true)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(length = 200)
+    private String pgToken;
+
+    @Column(length = 200)
+    private String paymentKey;
+
+    private Integer amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PaymentApprovalStatus status;
+
+    @Column(nullable = false)
+    private int attemptCount;
+
+    // 이 요청을 선점한 작업자(노드 + 순번). 결과를 반영하면 비운다.
+    @Column(length = 100)
+    private String claimedBy;
+
+    // 작업자가 이 요청을 가져갈 수 있는 가장 이른 시각. 선점 중에는 선점 만료 시각, 재시도 대기 중에는 다음 시도 시각이다.
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime requestedAt;
+
+    private LocalDateTime completedAt;
+
+    @Builder(access = AccessLevel.PRIVATE)
+    private PaymentApproval(Long orderId, Long userId, String pgToken, String paymentKey, Integer amount) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.pgToken = pgToken;
+        this.paymentKey = paymentKey;
+        this.amount = amount;
+        this.status = PaymentApprovalStatus.PENDING;
+        this.attemptCount = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public static PaymentApproval create(Long orderId, Long userId, OrderApproveDTO dto) {
+        return PaymentApproval.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .pgToken(dto.getPg_token())
+                .paymentKey(dto.getPaymentKey())
+                .amount(dto.getAmount())
+                .build();
+    }
+
+    /**
+     * 실패로 끝난 요청에 대해 사용자가 결제를 다시 시도한 경우. 새 결제 토큰으로 처음부터 다시 처리한다.
+     */
+    public void resubmit(OrderApproveDTO dto) {
+        this.pgToken = dto.getPg_token();
+        this.paymentKey = dto.getPaymentKey();
+        this.amount = dto.getAmount();
+        this.status = PaymentApprovalStatus.PENDING;
+        this.attemptCount = 0;
+        this.claimedBy = null;
+        this.nextAttemptAt = LocalDateTime.now();
+        this.lastError = null;
+        this.completedAt = null;
+    }
+
+    public boolean isClaimedBy(String owner) {
+        return owner.equals(this.claimedBy);
+    }
+
+    public void markApproved() {
+        this.status = PaymentApprovalStatus.APPROVED;
+        this.attemptCount++;
+        this.claimedBy = null;
+        this.lastError = null;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public void markFailed(String error) {
+        this.status = PaymentApprovalStatus.FAILED;
+        this.attemptCount++;
+        this.claimedBy = null;
+        this.lastError = truncate(error);
+        this.completedAt = LocalDateTime.now();
+    }
+
+    /**
+     * PG 승인 후 주문 반영에 실패해 FAILED로 끝났지만, 이후 대사/웹훅으로 주문이 결제 완료된 경우. 시도 횟수는 늘리지 않는다.
+     */
+    public void markReconciled() {
+        this.status = PaymentApprovalStatus.APPROVED;
+        this.claimedBy = null;
+        this.lastError = null;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public void scheduleRetry(LocalDateTime nextAttemptAt, String error) {
+        this.attemptCount++;
+        this.claimedBy = null;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    /**
+     * 선점은 했지만 처리하지 못하고 돌려놓는 경우(작업 큐가 가득 참 등). 시도 횟수는 늘리지 않는다.
+     */
+    public void release() {
+        this.claimedBy = null;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public OrderApproveDTO toApproveDTO() {
+        OrderApproveDTO dto = new OrderApproveDTO();
+        dto.setOrderId(String.valueOf(orderId));
+        dto.setPg_token(pgToken);
+        dto.setPaymentKey(paymentKey);
+        dto.setAmount(amount);
+        return dto;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= LAST_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, LAST_ERROR_LENGTH);
+    }
+}
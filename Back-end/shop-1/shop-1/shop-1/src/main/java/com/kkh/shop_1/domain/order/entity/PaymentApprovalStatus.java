@@ -0,0 +1,19 @@
+package com.kkh.shop_1.domain.order.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PaymentApprovalStatus {
+
+    PENDING("승인 대기"),
+    APPROVED("승인 완료"),
+    FAILED("승인 실패");
+
+    private final String description;
+
+    public boolean isTerminal() {
+        return this != PENDING;
+    }
+}
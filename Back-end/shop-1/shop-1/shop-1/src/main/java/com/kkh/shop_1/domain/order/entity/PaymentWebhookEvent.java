@@ -0,0 +1,91 @@
+package com.kkh.shop_1.domain.order.entity;
+
+import com.kkh.shop_1.domain.order.service.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 수신한 PG 결제 상태 알림(웹훅). (PG, 거래 id, 상태)마다 한 행이라, PG가 같은 알림을 여러 번 보내도 한 번만 반영된다.
+ *
+ * 반영 전에 먼저 저장하고 반영이 끝나면 processedAt/result를 채운다.
+ * processedAt이 비어 있는 행은 반영 도중 실패한 알림이므로, PG가 다시 보내면 중복으로 버리지 않고 다시 반영한다.
+ *
+ */
+@Entity
+@Table(name = "payment_webhook_event", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_webhook_tid_status", columnNames = {"payment_type", "tid", "payment_status"})
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_webhook_event_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false, length = 20)
+    private PaymentType paymentType;
+
+    @Column(nullable = false, length = 100)
+    private String tid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 20)
+    private PaymentStatus paymentStatus;
+
+    // PG가 보낸 원래 상태 값 (DONE, CANCEL_PAYMENT 등)
+    @Column(length = 50)
+    private String pgStatus;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private PaymentWebhookResult result;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    private LocalDateTime processedAt;
+
+    @Builder(access = AccessLevel.PRIVATE)
+    private PaymentWebhookEvent(PaymentType paymentType, String tid, PaymentStatus paymentStatus, String pgStatus, String payload) {
+        this.paymentType = paymentType;
+        this.tid = tid;
+        this.paymentStatus = paymentStatus;
+        this.pgStatus = pgStatus;
+        this.payload = payload;
+    }
+
+    public static PaymentWebhookEvent create(PaymentType paymentType, String tid, PaymentStatus paymentStatus,
+                                             String pgStatus, String payload) {
+        return PaymentWebhookEvent.builder()
+                .paymentType(paymentType)
+                .tid(tid)
+                .paymentStatus(paymentStatus)
+                .pgStatus(pgStatus)
+                .payload(payload)
+                .build();
+    }
+
+    public boolean isProcessed() {
+        return processedAt != null;
+    }
+
+    public void markProcessed(PaymentWebhookResult result) {
+        this.result = result;
+        this.processedAt = LocalDateTime.now();
+    }
+}
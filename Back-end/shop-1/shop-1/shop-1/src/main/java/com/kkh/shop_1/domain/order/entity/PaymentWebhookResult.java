@@ -0,0 +1,12 @@
+package com.kkh.shop_1.domain.order.entity;
+
+public enum PaymentWebhookResult {
+    /** 알림 내용대로 주문 상태를 바꿨다 */
+    APPLIED,
+    /** 주문이 이미 알림과 같은 상태였다 (동기 승인/정합성 배치가 먼저 반영) */
+    ALREADY_APPLIED,
+    /** 알림 상태와 주문 상태가 맞지 않아 자동으로 바꾸지 않았다 (예: 결제 완료 주문에 대한 취소 알림) */
+    CONFLICT,
+    /** 해당 거래 id의 주문이 없다 */
+    ORDER_NOT_FOUND
+}
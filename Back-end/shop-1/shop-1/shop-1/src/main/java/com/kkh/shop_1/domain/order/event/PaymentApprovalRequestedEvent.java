@@ -0,0 +1,18 @@
+package com.kkh.shop_1.domain.order.event;
+
+import lombok.Getter;
+
+/**
+ *
+ * 비동기 결제 승인 요청이 저장된 직후(같은 트랜잭션 안에서) 발행된다. AFTER_COMMIT 시점에 받아 바로 작업자에게 넘긴다.
+ *
+ */
+@Getter
+public class PaymentApprovalRequestedEvent {
+
+    private final Long approvalId;
+
+    public PaymentApprovalRequestedEvent(Long approvalId) {
+        this.approvalId = approvalId;
+    }
+}
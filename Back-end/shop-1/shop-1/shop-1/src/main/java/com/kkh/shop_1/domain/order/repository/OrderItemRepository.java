@@ -1,7 +1,23 @@
 package com.kkh.shop_1.domain.order.repository;
 
+import com.kkh.shop_1.domain.order.dto.OrderItemRow;
 import com.kkh.shop_1.domain.order.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * 여러 주문의 주문 상품을 IN 쿼리 한 번으로 조회한다. (상품은 id/이름만)
+     */
+    @Query("SELECT new com.kkh.shop_1.domain.order.dto.OrderItemRow(" +
+            "oi.order.id, oi.id, i.id, i.name, oi.quantity, oi.originalPrice, oi.couponDiscount, oi.finalPrice, oi.reviewWritten) " +
+            "FROM OrderItem oi JOIN oi.item i " +
+            "WHERE oi.order.id IN :orderIds " +
+            "ORDER BY oi.id")
+    List<OrderItemRow> findRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
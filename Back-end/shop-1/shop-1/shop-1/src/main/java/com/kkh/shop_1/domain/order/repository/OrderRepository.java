@@ -1,27 +1,23 @@
 package com.kkh.shop_1.domain.order.repository;
 
+import com.kkh.shop_1.domain.order.dto.OrderHeaderRow;
+import com.kkh.shop_1.domain.order.dto.OrderPaymentRow;
 import com.kkh.shop_1.domain.order.entity.Order;
 import com.kkh.shop_1.domain.order.entity.OrderItem;
 import com.kkh.shop_1.domain.order.entity.OrderStatus;
 import com.kkh.shop_1.domain.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    @Query("SELECT DISTINCT o FROM Order o " +
-            "JOIN FETCH o.orderItems oi " +
-            "JOIN FETCH oi.item " +
-            "JOIN FETCH o.address " + // ★ 추가됨
-            "WHERE o.user = :user " +
-            "ORDER BY o.orderDate DESC")
-    List<Order> findByUserWithFetch(@Param("user") User user);
-
     @Query("SELECT DISTINCT o FROM Order o " +
             "JOIN FETCH o.orderItems oi " +
             "JOIN FETCH oi.item " +
@@ -31,11 +27,59 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByUser(User user);
 
+    /**
+     * PG 웹훅의 거래 id(tid)로 주문 결제 상태를 찾는다. (tid는 unique 컬럼)
+     */
+    @Query("SELECT new com.kkh.shop_1.domain.order.dto.OrderPaymentRow(o.id, o.user.id, o.status) FROM Order o WHERE o.tid = :tid")
+    Optional<OrderPaymentRow> findPaymentRowByTid(@Param("tid") String tid);
+
+    @Query("SELECT new com.kkh.shop_1.domain.order.dto.OrderPaymentRow(o.id, o.user.id, o.status) FROM Order o WHERE o.id = :orderId")
+    Optional<OrderPaymentRow> findPaymentRowById(@Param("orderId") Long orderId);
+
+    String HEADER_ROW = "SELECT new com.kkh.shop_1.domain.order.dto.OrderHeaderRow(" +
+            "o.id, o.user.id, o.tid, o.status, o.orderDate, " +
+            "a.zipCode, a.roadAddress, a.detailAddress, a.recipientName, a.recipientPhone) " +
+            "FROM Order o JOIN o.address a ";
+
+    @Query(HEADER_ROW + "WHERE o.id = :orderId")
+    Optional<OrderHeaderRow> findHeaderRowById(@Param("orderId") Long orderId);
+
+    @Query(HEADER_ROW + "WHERE o.id IN :orderIds")
+    List<OrderHeaderRow> findHeaderRowsByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 아직 조회 모델(order_view)이 만들어지지 않은 주문 id (기존 데이터 적재용)
+     */
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE NOT EXISTS (SELECT 1 FROM OrderView v WHERE v.orderId = o.id) " +
+            "ORDER BY o.id")
+    List<Long> findIdsWithoutView(Pageable limit);
+
     @Query("select oi from OrderItem oi where oi.id = :orderItemId")
     Optional<OrderItem> findOrderItemById(@Param("orderItemId") Long orderItemId);
 
     /**
-     * 정합성 배치용: 특정 상태로 일정 시간 이상 머물러 있는 주문 (예: PAYMENT_PENDING으로 오래 방치된 주문)
+     * 정합성 배치용: 특정 상태로 일정 시간 이상 머물러 있는 주문 중 afterId보다 큰 가장 작은 id (id 구간 단위 스캔의 시작점)
      */
-    List<Order> findByStatusAndOrderDateBefore(OrderStatus status, LocalDateTime threshold);
+    @Query("SELECT MIN(o.id) FROM Order o " +
+            "WHERE o.status = :status AND o.orderDate < :threshold AND o.id > :afterId")
+    Long findFirstIdByStatusAfter(@Param("status") OrderStatus status,
+                                  @Param("threshold") LocalDateTime threshold,
+                                  @Param("afterId") Long afterId);
+
+    /**
+     * [fromId, toId) 구간의 정합성 점검 대상 주문. 주문자까지 한 번에 읽는다.
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.user " +
+            "WHERE o.status = :status AND o.orderDate < :threshold " +
+            "AND o.id >= :fromId AND o.id < :toId " +
+            "ORDER BY o.id")
+    List<Order> findByStatusInIdRange(@Param("status") OrderStatus status,
+                                      @Param("threshold") LocalDateTime threshold,
+                                      @Param("fromId") Long fromId,
+                                      @Param("toId") Long toId);
+
+    @Query("SELECT MIN(o.orderDate) FROM Order o WHERE o.status = :status AND o.orderDate < :threshold")
+    LocalDateTime findOldestOrderDate(@Param("status") OrderStatus status,
+                                      @Param("threshold") LocalDateTime threshold);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.kkh.shop_1.domain.order.repository;
+
+import com.kkh.shop_1.domain.order.entity.OrderView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderViewRepository extends JpaRepository<OrderView, Long> {
+
+    @Query("SELECT v FROM OrderView v " +
+            "WHERE v.userId = :userId " +
+            "ORDER BY v.orderDate DESC, v.orderId DESC")
+    List<OrderView> findByUserId(@Param("userId") Long userId, Pageable limit);
+
+    /**
+     * 다음 페이지. offset 없이 (orderDate, orderId) 조건으로 이어 읽는다.
+     */
+    @Query("SELECT v FROM OrderView v " +
+            "WHERE v.userId = :userId " +
+            "AND (v.orderDate < :orderDate OR (v.orderDate = :orderDate AND v.orderId < :orderId)) " +
+            "ORDER BY v.orderDate DESC, v.orderId DESC")
+    List<OrderView> findByUserIdAfter(@Param("userId") Long userId,
+                                      @Param("orderDate") LocalDateTime orderDate,
+                                      @Param("orderId") Long orderId,
+                                      Pageable limit);
+
+    /**
+     * 같은 주문의 이벤트가 동시에 처리될 때, 먼저 읽은 쪽의 오래된 상태가 나중에 덮어쓰지 않도록 행을 잠근다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM OrderView v WHERE v.orderId = :orderId")
+    Optional<OrderView> findByIdForUpdate(@Param("orderId") Long orderId);
+}
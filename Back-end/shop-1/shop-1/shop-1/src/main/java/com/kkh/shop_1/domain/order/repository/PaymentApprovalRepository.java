@@ -0,0 +1,49 @@
+package com.kkh.shop_1.domain.order.repository;
+
+import com.kkh.shop_1.domain.order.entity.PaymentApproval;
+import com.kkh.shop_1.domain.order.entity.PaymentApprovalStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentApprovalRepository extends JpaRepository<PaymentApproval, Long> {
+
+    Optional<PaymentApproval> findByOrderId(Long orderId);
+
+    /**
+     * 작업자가 가져갈 PENDING 요청 id를 행 잠금과 함께 조회한다. SKIP LOCKED라 다른 작업자/노드가 잠근 행은 건너뛴다.
+     */
+    @Query(value = "SELECT payment_approval_id FROM payment_approval " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIdsForUpdate(@Param("now") LocalDateTime now,
+                                         @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentApproval a SET a.claimedBy = :owner, a.nextAttemptAt = :leaseUntil WHERE a.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 접수 직후 즉시 처리용 단건 선점. 이미 다른 작업자가 가져갔거나(선점 만료 전) 끝난 요청이면 0을 반환한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PaymentApproval a SET a.claimedBy = :owner, a.nextAttemptAt = :leaseUntil " +
+            "WHERE a.id = :id AND a.status = :status AND a.nextAttemptAt <= :now")
+    int claimById(@Param("id") Long id,
+                  @Param("status") PaymentApprovalStatus status,
+                  @Param("owner") String owner,
+                  @Param("now") LocalDateTime now,
+                  @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT MIN(a.requestedAt) FROM PaymentApproval a WHERE a.status = :status")
+    LocalDateTime findOldestRequestedAt(@Param("status") PaymentApprovalStatus status);
+}
@@ -0,0 +1,13 @@
+package com.kkh.shop_1.domain.order.repository;
+
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import com.kkh.shop_1.domain.order.entity.PaymentWebhookEvent;
+import com.kkh.shop_1.domain.order.service.PaymentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    Optional<PaymentWebhookEvent> findByPaymentTypeAndTidAndPaymentStatus(PaymentType paymentType, String tid, PaymentStatus paymentStatus);
+}
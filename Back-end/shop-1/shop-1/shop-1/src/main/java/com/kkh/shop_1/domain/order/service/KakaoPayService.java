@@ -1,11 +1,13 @@
 package com.kkh.shop_1.domain.order.service;
 
+import com.kkh.shop_1.common.config.RestTemplateConfig;
 import com.kkh.shop_1.domain.order.dto.*;
 import com.kkh.shop_1.domain.order.entity.Order;
 import com.kkh.shop_1.domain.order.entity.PaymentType;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -25,12 +27,19 @@ public class KakaoPayService implements PaymentService {
     @Value("${kakaopay.secret}")
     private String secretKey;
 
+    @Qualifier(RestTemplateConfig.KAKAO_PAY)
     private final RestTemplate restTemplate;
 
-    private static final String READY_URL = "https://open-api.kakaopay.com/online/v1/payment/ready";
-    private static final String APPROVE_URL = "https://open-api.kakaopay.com/online/v1/payment/approve";
-    private static final String CANCEL_URL = "https://open-api.kakaopay.com/online/v1/payment/cancel";
-    private static final String ORDER_URL = "https://open-api.kakaopay.com/online/v1/payment/order";
+    // RestTemplateConfig도 이 값으로 연결 풀 예열 주소와 operation 태그를 만든다.
+    public static final String DEFAULT_API_BASE_URL = "https://open-api.kakaopay.com";
+    public static final String READY_PATH = "/online/v1/payment/ready";
+    public static final String APPROVE_PATH = "/online/v1/payment/approve";
+    public static final String CANCEL_PATH = "/online/v1/payment/cancel";
+    public static final String ORDER_PATH = "/online/v1/payment/order";
+
+    // pg-simulator 프로필에서는 로컬 PG 시뮬레이터 주소로 바뀐다.
+    @Value("${kakaopay.api-base-url:" + DEFAULT_API_BASE_URL + "}")
+    private String apiBaseUrl = DEFAULT_API_BASE_URL;
 
     @Override
     public PaymentType getPaymentType() {
@@ -44,7 +53,7 @@ public class KakaoPayService implements PaymentService {
         HttpEntity<KakaoReadyRequest> entity = new HttpEntity<>(kakaoReq, headers);
 
         try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(READY_URL, entity, Map.class);
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiBaseUrl + READY_PATH, entity, Map.class);
             Map<String, Object> body = response.getBody();
             if (body == null) throw new RuntimeException("카카오페이 응답이 비어있습니다.");
 
@@ -72,7 +81,7 @@ public class KakaoPayService implements PaymentService {
         HttpEntity<Map<String, String>> entity = new HttpEntity<>(params, headers);
 
         try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(APPROVE_URL, entity, Map.class);
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiBaseUrl + APPROVE_PATH, entity, Map.class);
             Map<String, Object> body = response.getBody();
             if (body == null) throw new RuntimeException("승인 응답이 비어있습니다.");
 
@@ -102,7 +111,7 @@ public class KakaoPayService implements PaymentService {
         HttpEntity<Map<String, String>> entity = new HttpEntity<>(params, headers);
 
         try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(ORDER_URL, entity, Map.class);
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiBaseUrl + ORDER_PATH, entity, Map.class);
             Map<String, Object> body = response.getBody();
             String status = body != null ? (String) body.get("status") : null;
 
@@ -135,7 +144,7 @@ public class KakaoPayService implements PaymentService {
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(params, headers);
 
         try {
-            restTemplate.postForEntity(CANCEL_URL, entity, Map.class);
+            restTemplate.postForEntity(apiBaseUrl + CANCEL_PATH, entity, Map.class);
             log.info("카카오페이 결제 취소 완료 tid={}, reason={}", paymentKey, cancelReason);
         } catch (Exception e) {
             log.error("카카오페이 결제 취소 실패: {}", e.getMessage());
@@ -1,5 +1,6 @@
 package com.kkh.shop_1.domain.order.service;
 
+import com.kkh.shop_1.common.config.RestTemplateConfig;
 import com.kkh.shop_1.domain.order.dto.PaymentApproveRequestDTO;
 import com.kkh.shop_1.domain.order.dto.PaymentApproveResponseDTO;
 import com.kkh.shop_1.domain.order.dto.PaymentReadyRequestDTO;
@@ -10,6 +11,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class NaverPayService implements PaymentService {
 
+    @Qualifier(RestTemplateConfig.NAVER_PAY)
     private final RestTemplate restTemplate;
 
     @Value("${naverpay.client-id}")
@@ -38,7 +41,17 @@ public class NaverPayService implements PaymentService {
     @Value("${naverpay.partner-id}")
     private String partnerId;
 
-    private static final String API_URL = "https://dev-pay.paygate.naver.com";
+    // RestTemplateConfig도 이 값으로 연결 풀 예열 주소와 operation 태그를 만든다. (경로는 {apiBaseUrl}/{partnerId} 뒤에 붙는다)
+    public static final String DEFAULT_API_BASE_URL = "https://dev-pay.paygate.naver.com";
+    public static final String RESERVE_PATH = "/naverpay/payments/v2/reserve";
+    public static final String APPLY_PATH = "/naverpay/payments/v2/apply/payment";
+    public static final String CANCEL_PATH = "/naverpay/payments/v1/cancel";
+    public static final String HISTORY_PATH = "/naverpay/payments/v2/list/history";
+
+    // pg-simulator 프로필에서는 로컬 PG 시뮬레이터 주소로 바뀐다.
+    @Value("${naverpay.api-base-url:" + DEFAULT_API_BASE_URL + "}")
+    private String apiBaseUrl = DEFAULT_API_BASE_URL;
+
     private static final String REDIRECT_BASE_URL = "https://test-pay.naver.com/payments/";
 
     @Override
@@ -48,7 +61,7 @@ public class NaverPayService implements PaymentService {
 
     @Override
     public PaymentReadyResponseDTO ready(PaymentReadyRequestDTO req) {
-        String url = String.format("%s/%s/naverpay/payments/v2/reserve", API_URL, partnerId);
+        String url = apiBaseUrl + "/" + partnerId + RESERVE_PATH;
 
         HttpHeaders headers = createHeaders();
         NaverReadyRequest naverReq = NaverReadyRequest.of(req);
@@ -82,7 +95,7 @@ public class NaverPayService implements PaymentService {
 
     @Override
     public PaymentApproveResponseDTO approve(PaymentApproveRequestDTO req) {
-        String url = String.format("%s/%s/naverpay/payments/v2/apply/payment", API_URL, partnerId);
+        String url = apiBaseUrl + "/" + partnerId + APPLY_PATH;
 
         HttpHeaders headers = createHeaders();
         Map<String, String> params = new HashMap<>();
@@ -132,7 +145,7 @@ public class NaverPayService implements PaymentService {
      */
     @Override
     public PaymentStatus inquire(Order order) {
-        String url = String.format("%s/%s/naverpay/payments/v2/list/history", API_URL, partnerId);
+        String url = apiBaseUrl + "/" + partnerId + HISTORY_PATH;
 
         HttpHeaders headers = createHeaders();
         Map<String, String> params = new HashMap<>();
@@ -173,7 +186,7 @@ public class NaverPayService implements PaymentService {
 
     @Override
     public void cancel(String paymentKey, String cancelReason, Integer cancelAmount) {
-        String cancelUrl = String.format("%s/%s/naverpay/payments/v1/cancel", API_URL, partnerId);
+        String cancelUrl = apiBaseUrl + "/" + partnerId + CANCEL_PATH;
 
         HttpHeaders headers = createHeaders();
         Map<String, Object> params = new HashMap<>();
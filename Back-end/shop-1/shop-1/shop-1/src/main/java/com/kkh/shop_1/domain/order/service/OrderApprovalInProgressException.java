@@ -0,0 +1,14 @@
+package com.kkh.shop_1.domain.order.service;
+
+/**
+ *
+ * 같은 주문의 결제 승인이 다른 요청에서 진행 중이라 주문 단위 승인 락을 얻지 못했을 때 던진다.
+ * 비동기 승인 작업자는 이 경우를 실패로 확정하지 않고 잠시 뒤 다시 시도한다.
+ *
+ */
+public class OrderApprovalInProgressException extends IllegalStateException {
+
+    public OrderApprovalInProgressException() {
+        super("이미 해당 주문의 결제 승인이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+    }
+}
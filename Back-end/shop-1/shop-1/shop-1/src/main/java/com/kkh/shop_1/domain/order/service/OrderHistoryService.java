@@ -0,0 +1,177 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.order.dto.OrderCursor;
+import com.kkh.shop_1.domain.order.dto.OrderDetailDTO;
+import com.kkh.shop_1.domain.order.dto.OrderHistoryPageDTO;
+import com.kkh.shop_1.domain.order.entity.OrderView;
+import com.kkh.shop_1.domain.order.repository.OrderViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * 주문 내역 조회 서비스 (주문 조회 모델 order_view 기반)
+ *
+ * 주문 상세 문서는 OrderViewProjector가 주문 outbox 이벤트를 받아 미리 만들어 두므로,
+ * 단건/목록 조회 모두 order_view 인덱스 조회 한 번으로 끝나고 주문/상품/배송지 테이블은 읽지 않는다.
+ *
+ * "내 주문" 화면 진입 시 매번 읽히는 기본 크기 첫 페이지는 사용자별로 Redis에 캐싱하고,
+ * 주문이 바뀐 트랜잭션(OrderTxHandler)과 조회 모델이 갱신된 트랜잭션이 각각 커밋된 뒤 해당 사용자의 캐시를 지운다.
+ *
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
+    // /orders/list는 페이지가 없는 API라 전체를 돌려주되, 조회 모델은 이 건수씩 커서로 이어 읽는다.
+    static final int LIST_CHUNK_SIZE = 100;
+
+    private static final String FIRST_PAGE_KEY_PREFIX = "orders:first-page:";
+    private static final Duration FIRST_PAGE_TTL = Duration.ofMinutes(10);
+
+    private final OrderViewRepository orderViewRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public OrderHistoryPageDTO getPage(Long userId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("페이지 크기는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        OrderCursor orderCursor = OrderCursor.decode(cursor);
+        boolean cacheable = orderCursor == null && size == DEFAULT_PAGE_SIZE;
+        if (cacheable) {
+            OrderHistoryPageDTO cached = readFirstPage(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 읽는다.
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<OrderView> views = (orderCursor == null)
+                ? orderViewRepository.findByUserId(userId, limit)
+                : orderViewRepository.findByUserIdAfter(userId, orderCursor.orderDate(), orderCursor.orderId(), limit);
+
+        boolean hasNext = views.size() > size;
+        List<OrderView> pageViews = hasNext ? views.subList(0, size) : views;
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderView last = pageViews.get(pageViews.size() - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getOrderId()).encode();
+        }
+
+        OrderHistoryPageDTO page = new OrderHistoryPageDTO(toDetails(pageViews), nextCursor, hasNext);
+        if (cacheable) {
+            writeFirstPage(userId, page);
+        }
+        return page;
+    }
+
+    /**
+     * 기존 목록 API(/orders/list)용 전체 내역 (최신순). 한 번에 크게 읽지 않고 LIST_CHUNK_SIZE건씩 이어 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderDetailDTO> getAll(Long userId) {
+        PageRequest limit = PageRequest.of(0, LIST_CHUNK_SIZE);
+        List<OrderDetailDTO> orders = new ArrayList<>();
+        List<OrderView> chunk = orderViewRepository.findByUserId(userId, limit);
+        while (true) {
+            orders.addAll(toDetails(chunk));
+            if (chunk.size() < LIST_CHUNK_SIZE) {
+                return orders;
+            }
+            OrderView last = chunk.get(chunk.size() - 1);
+            chunk = orderViewRepository.findByUserIdAfter(userId, last.getOrderDate(), last.getOrderId(), limit);
+        }
+    }
+
+    /**
+     * 단건 조회. 조회 모델이 아직 없으면(이벤트 처리 전) 비어 있는 값을 반환해 호출부가 주문 테이블에서 읽게 한다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderDetailDTO> getOrder(Long userId, Long orderId) {
+        return orderViewRepository.findById(orderId)
+                .map(view -> {
+                    if (!view.getUserId().equals(userId)) {
+                        throw new SecurityException("해당 주문에 대한 열람 권한이 없습니다.");
+                    }
+                    return toDetail(view);
+                });
+    }
+
+    /**
+     * 주문 내역이 바뀐 트랜잭션이 커밋된 뒤 해당 사용자의 첫 페이지 캐시를 지운다.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private List<OrderDetailDTO> toDetails(List<OrderView> views) {
+        return views.stream()
+                .map(this::toDetail)
+                .collect(Collectors.toList());
+    }
+
+    private OrderDetailDTO toDetail(OrderView view) {
+        try {
+            return objectMapper.readValue(view.getDocument(), OrderDetailDTO.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("주문 조회 모델 해석 실패. orderId=" + view.getOrderId(), e);
+        }
+    }
+
+    private OrderHistoryPageDTO readFirstPage(Long userId) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(FIRST_PAGE_KEY_PREFIX + userId);
+            return (json != null) ? objectMapper.readValue(json, OrderHistoryPageDTO.class) : null;
+        } catch (Exception e) {
+            log.warn("주문 내역 첫 페이지 캐시 조회 실패. DB에서 조회합니다. userId={}", userId, e);
+            return null;
+        }
+    }
+
+    private void writeFirstPage(Long userId, OrderHistoryPageDTO page) {
+        try {
+            stringRedisTemplate.opsForValue().set(FIRST_PAGE_KEY_PREFIX + userId, objectMapper.writeValueAsString(page), FIRST_PAGE_TTL);
+        } catch (Exception e) {
+            log.warn("주문 내역 첫 페이지 캐시 저장 실패. userId={}", userId, e);
+        }
+    }
+
+    private void evict(Long userId) {
+        try {
+            stringRedisTemplate.delete(FIRST_PAGE_KEY_PREFIX + userId);
+        } catch (Exception e) {
+            // TTL이 지나면 새 값으로 채워진다.
+            log.warn("주문 내역 첫 페이지 캐시 삭제 실패. userId={}", userId, e);
+        }
+    }
+}
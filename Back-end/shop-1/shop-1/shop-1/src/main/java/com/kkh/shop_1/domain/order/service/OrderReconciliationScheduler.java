@@ -1,54 +1,190 @@
 package com.kkh.shop_1.domain.order.service;
 
+import com.kkh.shop_1.common.annotation.SchedulerLock;
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
 import com.kkh.shop_1.domain.order.entity.Order;
 import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
 import com.kkh.shop_1.domain.order.repository.OrderRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *
  * PG사 승인(approve)은 성공했지만, 그 직후 서버 장애 등으로 우리 DB에 결제 완료가 반영되지 못한 채
  * PAYMENT_PENDING 상태로 방치된 주문을 찾아 PG사 기준의 실제 상태로 맞춰주는 정합성 배치.
  *
+ * PG 결제 상태는 웹훅(PaymentWebhookService)으로 먼저 반영되므로, 이 배치는 알림이 유실되었거나 웹훅을 쓰지 않는 PG의 주문만 맡는다.
+ * (웹훅으로 확정된 주문은 STALE_THRESHOLD가 지나기 전에 PAYMENT_PENDING을 벗어나 조회 대상에 들어오지 않는다)
+ *
  * PG 상태 조회(외부 I/O)는 트랜잭션 밖에서 수행하고, DB 반영(완료 처리/취소 처리)만 각각 짧은
  * 트랜잭션으로 처리한다 — 동시성 문제 해결 때와 같은 이유로, 외부 호출을 트랜잭션 안에 두지 않는다.
  *
+ * 대상 주문은 주문 id를 CHUNK_SIZE 단위 구간(chunk)으로 나눠 처리한다.
+ * - 작업 전체는 @SchedulerLock으로 한 노드만 실행하고, 그와 별개로 구간마다 RedisLeaseLock을 잡은 동안만 처리한다.
+ *   작업 임대가 만료되어 다른 노드가 이어받더라도 지금 처리 중인 구간을 동시에 조회하지 않는다.
+ *   구간 처리가 끝나면 바로 풀어, 다음 주기(또는 곧바로 이어지는 실행)가 같은 구간을 다시 점검할 수 있게 한다.
+ * - 한 구간의 주문은 고정 크기 스레드 풀에서 병렬로 PG에 조회하되, PG사별 동시 조회 수(Semaphore)와
+ *   초당 조회 수(Redisson RRateLimiter, 전 노드 합산)를 넘지 않게 한다.
+ * - PG 조회는 PaymentInquiryHedger로 보낸다. 최근 p95보다 늦으면 같은 조회를 한 번 더 보내 먼저 온 결론을 쓴다. (헤지 예산 내에서만)
+ * - 처리 건수/결과, PG별 조회 지연, 가장 오래 방치된 주문의 경과 시간(lag)을 메트릭으로 남긴다.
+ *
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OrderReconciliationScheduler {
 
     // 정상적인 승인 처리가 이보다 오래 걸리진 않는다고 보고, 이 시간을 넘겨 PAYMENT_PENDING인 주문만 대상으로 한다.
     private static final Duration STALE_THRESHOLD = Duration.ofMinutes(10);
 
+    static final long CHUNK_SIZE = 500;
+    private static final String LEASE_KEY_PREFIX = "reconcile:lease:";
+    // 구간 처리가 끝나면 바로 푼다. TTL은 해제하지 못하고 죽은 노드의 임대가 남는 시간의 상한이다.
+    private static final Duration LEASE_TTL = Duration.ofMinutes(10);
+    private static final String RATE_LIMITER_KEY_PREFIX = "reconcile:rate:";
+    // 헤지 지연(p95)을 구할 PG별 최근 응답 시간 표본 수 / 이보다 적으면 p95 대신 최대 지연을 쓴다.
+    private static final int HEDGE_WINDOW_SIZE = 200;
+    private static final int HEDGE_MIN_SAMPLES = 20;
+
     private final OrderRepository orderRepository;
     private final OrderTxHandler orderTxHandler;
     private final PaymentServiceFactory paymentServiceFactory;
+    private final RedisLeaseLock redisLeaseLock;
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService inquiryExecutor;
+    private final ExecutorService attemptExecutor;
+    private final PaymentInquiryHedger inquiryHedger;
+    private final Map<PaymentType, Semaphore> pgConcurrency = new EnumMap<>(PaymentType.class);
+    private final Map<PaymentType, RRateLimiter> pgRateLimiters = new ConcurrentHashMap<>();
+    private final int pgRatePerSecond;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public OrderReconciliationScheduler(OrderRepository orderRepository,
+                                        OrderTxHandler orderTxHandler,
+                                        PaymentServiceFactory paymentServiceFactory,
+                                        RedisLeaseLock redisLeaseLock,
+                                        RedissonClient redissonClient,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${reconciliation.pool-size:16}") int poolSize,
+                                        @Value("${reconciliation.pg-concurrency:4}") int pgConcurrencyLimit,
+                                        @Value("${reconciliation.pg-rate-per-second:10}") int pgRatePerSecond,
+                                        @Value("${reconciliation.hedge.budget-percent:10}") int hedgeBudgetPercent,
+                                        @Value("${reconciliation.hedge.min-delay-ms:50}") long hedgeMinDelayMillis,
+                                        @Value("${reconciliation.hedge.max-delay-ms:2000}") long hedgeMaxDelayMillis) {
+        this.orderRepository = orderRepository;
+        this.orderTxHandler = orderTxHandler;
+        this.paymentServiceFactory = paymentServiceFactory;
+        this.redisLeaseLock = redisLeaseLock;
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.pgRatePerSecond = pgRatePerSecond;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.inquiryExecutor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "reconcile-inquiry-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 조회 시도(첫 요청 + 헤지)는 별도 풀에서 실행한다. 조회 스레드 하나가 시도를 최대 두 개까지 띄운다.
+        AtomicInteger attemptNumber = new AtomicInteger();
+        this.attemptExecutor = Executors.newFixedThreadPool(poolSize * 2, runnable -> {
+            Thread thread = new Thread(runnable, "reconcile-attempt-" + attemptNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inquiryHedger = new PaymentInquiryHedger(new PaymentInquiryHedger.Settings(
+                hedgeBudgetPercent, Duration.ofMillis(hedgeMinDelayMillis), Duration.ofMillis(hedgeMaxDelayMillis),
+                HEDGE_MIN_SAMPLES, HEDGE_WINDOW_SIZE), attemptExecutor, meterRegistry);
+        for (PaymentType type : PaymentType.values()) {
+            pgConcurrency.put(type, new Semaphore(pgConcurrencyLimit));
+        }
+        meterRegistry.gauge("reconciliation.lag.seconds", lagSeconds);
+    }
 
     @Scheduled(fixedDelay = 5 * 60 * 1000L) // 5분마다
+    @SchedulerLock(name = "order-reconciliation", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
     public void reconcileStuckOrders() {
         LocalDateTime threshold = LocalDateTime.now().minus(STALE_THRESHOLD);
-        List<Order> stuckOrders = orderRepository.findByStatusAndOrderDateBefore(OrderStatus.PAYMENT_PENDING, threshold);
+        updateLag(threshold);
+
+        long afterId = 0L;
+        int chunks = 0;
+        Long firstId;
+        while ((firstId = orderRepository.findFirstIdByStatusAfter(OrderStatus.PAYMENT_PENDING, threshold, afterId)) != null) {
+            long chunk = firstId / CHUNK_SIZE;
+            long fromId = chunk * CHUNK_SIZE;
+            long toId = fromId + CHUNK_SIZE;
+
+            String leaseKey = LEASE_KEY_PREFIX + chunk;
+            if (tryLease(leaseKey)) {
+                try {
+                    reconcileChunk(threshold, fromId, toId);
+                } finally {
+                    redisLeaseLock.unlock(leaseKey);
+                }
+                chunks++;
+                meterRegistry.counter("reconciliation.chunks", "result", "processed").increment();
+            } else {
+                meterRegistry.counter("reconciliation.chunks", "result", "skipped").increment();
+            }
+            afterId = toId - 1;
+        }
+
+        if (chunks > 0) {
+            log.info("결제 정합성 점검 완료. 처리한 구간 {}개", chunks);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        inquiryExecutor.shutdownNow();
+        attemptExecutor.shutdownNow();
+    }
 
+    private void reconcileChunk(LocalDateTime threshold, long fromId, long toId) {
+        List<Order> stuckOrders = orderRepository.findByStatusInIdRange(OrderStatus.PAYMENT_PENDING, threshold, fromId, toId);
         if (stuckOrders.isEmpty()) {
             return;
         }
 
-        log.warn("결제 정합성 점검: PAYMENT_PENDING으로 {}분 이상 방치된 주문 {}건 발견", STALE_THRESHOLD.toMinutes(), stuckOrders.size());
-        stuckOrders.forEach(this::reconcileOrder);
+        log.warn("결제 정합성 점검: PAYMENT_PENDING으로 {}분 이상 방치된 주문 {}건 발견 (id {}~{})",
+                STALE_THRESHOLD.toMinutes(), stuckOrders.size(), fromId, toId - 1);
+
+        // 다음 구간으로 넘어가기 전에 이 구간의 조회/반영을 모두 끝낸다. (한 번에 메모리에 올리는 주문은 한 구간뿐)
+        CompletableFuture.allOf(stuckOrders.stream()
+                        .map(order -> CompletableFuture.runAsync(() -> reconcileOrder(order), inquiryExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
     }
 
     private void reconcileOrder(Order order) {
+        PaymentType paymentType = order.getPaymentType();
         try {
-            PaymentStatus pgStatus = paymentServiceFactory.getService(order.getPaymentType()).inquire(order);
+            PaymentStatus pgStatus = inquire(order);
 
             switch (pgStatus) {
                 case PAID -> {
@@ -61,9 +197,70 @@ public class OrderReconciliationScheduler {
                 }
                 case UNKNOWN -> log.error("PG 결제 상태를 확정할 수 없습니다. 다음 주기에 재시도합니다. orderId={}", order.getId());
             }
+            countOrder(paymentType, pgStatus.name());
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             // 한 건 처리 중 오류가 나도 나머지 주문 처리에 영향이 없도록 여기서 잡는다.
             log.error("주문 정합성 점검 중 오류가 발생했습니다. orderId={}", order.getId(), e);
+            countOrder(paymentType, "ERROR");
+        }
+    }
+
+    private PaymentStatus inquire(Order order) throws InterruptedException {
+        PaymentType paymentType = order.getPaymentType();
+        Semaphore semaphore = pgConcurrency.get(paymentType);
+        semaphore.acquire();
+        try {
+            PaymentService paymentService = paymentServiceFactory.getService(paymentType);
+            RRateLimiter rateLimiter = rateLimiter(paymentType);
+            rateLimiter.acquire();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                // 헤지 요청도 초당 조회 수 한도 안에서만 보낸다. (한도가 찼으면 기다리지 않고 첫 요청 결과를 기다린다)
+                return inquiryHedger.inquire(paymentType, () -> paymentService.inquire(order), rateLimiter::tryAcquire);
+            } finally {
+                sample.stop(Timer.builder("reconciliation.inquiry")
+                        .tag("pg", paymentType.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private RRateLimiter rateLimiter(PaymentType paymentType) {
+        return pgRateLimiters.computeIfAbsent(paymentType, type -> {
+            RRateLimiter rateLimiter = redissonClient.getRateLimiter(RATE_LIMITER_KEY_PREFIX + type.name());
+            rateLimiter.trySetRate(RateType.OVERALL, pgRatePerSecond, 1, RateIntervalUnit.SECONDS); // 이미 설정돼 있으면 무시된다.
+            return rateLimiter;
+        });
+    }
+
+    private boolean tryLease(String leaseKey) {
+        try {
+            // 다른 노드가 처리 중인 구간은 기다리지 않고 건너뛴다.
+            return redisLeaseLock.tryLock(leaseKey, Duration.ZERO, LEASE_TTL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            // Redis 장애 시에는 구간을 건너뛴다. (PG 상태 반영은 멱등이지만, 전 노드가 같은 구간을 중복 조회하는 것을 막기 위함)
+            log.warn("정합성 점검 구간 임대 실패. key={}", leaseKey, e);
+            return false;
         }
     }
+
+    private void updateLag(LocalDateTime threshold) {
+        LocalDateTime oldest = orderRepository.findOldestOrderDate(OrderStatus.PAYMENT_PENDING, threshold);
+        lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0L);
+    }
+
+    private void countOrder(PaymentType paymentType, String result) {
+        meterRegistry.counter("reconciliation.orders",
+                "pg", paymentType != null ? paymentType.name() : "NONE",
+                "result", result).increment();
+    }
 }
@@ -1,6 +1,7 @@
 package com.kkh.shop_1.domain.order.service;
 
 import com.kkh.shop_1.common.annotation.Idempotent;
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
 import com.kkh.shop_1.domain.order.dto.*;
 import com.kkh.shop_1.domain.order.entity.Order;
 import com.kkh.shop_1.domain.order.entity.OrderItem;
@@ -16,6 +17,7 @@ import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -25,12 +27,19 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class OrderService {
 
+    static final String APPROVE_LOCK_PREFIX = "lock:order-approve:";
+    static final Duration APPROVE_LOCK_WAIT = Duration.ofSeconds(10);
+    // PG 승인 호출의 타임아웃보다 충분히 길게 잡는다. (임대 락이라 watchdog 연장이 없음)
+    static final Duration APPROVE_LOCK_LEASE = Duration.ofSeconds(60);
+
     private final UserService userService;
     private final OrderRepository orderRepository;
     private final PaymentServiceFactory paymentServiceFactory;
     private final OrderTxHandler orderTxHandler;
+    private final OrderHistoryService orderHistoryService;
 
     private final RedissonClient redissonClient;
+    private final RedisLeaseLock redisLeaseLock;
 
     public OrderResponseDTO orderItems(Long userId, OrderRequestDTO dto) {
         
@@ -76,36 +85,35 @@ public class OrderService {
         } catch (Exception e) {
             log.error("결제 준비 실패. 주문을 취소하고 재고를 복구합니다. orderId: {}", order.getId(), e);
             orderTxHandler.cancelOrderPayment(order.getId());
+            if (e instanceof PaymentGatewayUnavailableException) {
+                throw e; // PG 장애로 바로 거절된 경우 503 그대로 응답
+            }
             throw new IllegalStateException("결제 준비 중 오류가 발생하여 주문이 취소되었습니다.", e);
         }
         orderTxHandler.updateTid(order.getId(), paymentResponse.getTid());
         return OrderResponseDTO.of(order, address, paymentResponse);
     }
 
-    @Idempotent(ttlHours = 24)
+    // 멱등 선점과 주문 승인 락을 같은 Redis 호출에서 잡는다. 안쪽 approveLocked()는 이미 잡힌 락을 재진입으로 통과한다.
+    @Idempotent(ttlHours = 24, lockKey = "T(com.kkh.shop_1.domain.order.service.OrderService).approveLockKeyOf(#dto.orderId)")
     public OrderDetailDTO approveOrder(OrderApproveDTO dto, Long userId) {
-        Long realOrderId;
-        try {
-            String rawId = dto.getOrderId();
-            if (rawId.startsWith("ORDER_")) {
-                String[] parts = rawId.split("_");
-                realOrderId = Long.parseLong(parts[1]);
-            } else {
-                realOrderId = Long.parseLong(rawId);
-            }
-        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-            throw new IllegalArgumentException("잘못된 주문 ID 형식입니다: " + dto.getOrderId());
-        }
+        return approveLocked(parseOrderId(dto.getOrderId()), dto, userId);
+    }
 
+    /**
+     *
+     * 주문 단위 락을 잡고 결제를 승인한다. 동기 승인(approveOrder)과 비동기 승인 작업자(PaymentApprovalWorker)가 함께 쓴다.
+     *
+     */
+    public OrderDetailDTO approveLocked(Long realOrderId, OrderApproveDTO dto, Long userId) {
         // 동일 주문에 대한 결제 승인 요청이 동시에 들어와도(더블클릭, PG 콜백 재시도 등)
-        // 하나씩 순차 처리되도록 주문 단위 락을 건다. leaseTime을 지정하지 않아
-        // PG 승인 호출이 오래 걸려도 Redisson watchdog이 락을 자동 연장한다.
-        RLock approveLock = redissonClient.getLock("ORDER_APPROVE:" + realOrderId);
+        // 하나씩 순차 처리되도록 주문 단위 락을 건다. 웹훅 반영(PaymentWebhookService)도 같은 락을 쓴다.
+        String lockKey = approveLockKey(realOrderId);
         boolean isLocked = false;
         try {
-            isLocked = approveLock.tryLock(10, TimeUnit.SECONDS);
+            isLocked = redisLeaseLock.tryLock(lockKey, APPROVE_LOCK_WAIT, APPROVE_LOCK_LEASE);
             if (!isLocked) {
-                throw new IllegalStateException("이미 해당 주문의 결제 승인이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+                throw new OrderApprovalInProgressException();
             }
             return doApprove(realOrderId, dto, userId);
         } catch (InterruptedException e) {
@@ -113,8 +121,41 @@ public class OrderService {
             throw new IllegalStateException("결제 승인 처리 중 오류가 발생했습니다.");
         } finally {
             if (isLocked) {
-                approveLock.unlock();
+                redisLeaseLock.unlock(lockKey);
+            }
+        }
+    }
+
+    static String approveLockKey(Long orderId) {
+        return APPROVE_LOCK_PREFIX + orderId;
+    }
+
+    /**
+     * @Idempotent(lockKey)에서 쓰는 주문 승인 락 키. 주문 id 형식이 잘못됐으면 null (검증은 approveOrder가 한다)
+     */
+    public static String approveLockKeyOf(String rawOrderId) {
+        try {
+            return approveLockKey(parseOrderId(rawOrderId));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * PG 콜백의 주문 id("ORDER_{id}_{timestamp}" 또는 숫자)를 실제 주문 id로 바꾼다.
+     */
+    static Long parseOrderId(String rawId) {
+        if (rawId == null) {
+            throw new IllegalArgumentException("주문 ID가 없습니다.");
+        }
+        try {
+            if (rawId.startsWith("ORDER_")) {
+                String[] parts = rawId.split("_");
+                return Long.parseLong(parts[1]);
             }
+            return Long.parseLong(rawId);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 주문 ID 형식입니다: " + rawId);
         }
     }
 
@@ -164,19 +205,25 @@ public class OrderService {
         return orderRepository.findOrderItemById(orderItemId);
     }
 
+    /**
+     * 주문 조회 모델에서 읽고, 아직 만들어지지 않은 주문(이벤트 처리 전)만 주문 테이블에서 읽는다.
+     */
     @Transactional(readOnly = true)
     public OrderDetailDTO getOrder(Long userId, Long orderId) {
-        Order order = fetchOrder(orderId);
-        validateOrderOwner(order, userId);
-        return OrderDetailDTO.from(order);
+        return orderHistoryService.getOrder(userId, orderId)
+                .orElseGet(() -> {
+                    Order order = fetchOrder(orderId);
+                    validateOrderOwner(order, userId);
+                    return OrderDetailDTO.from(order);
+                });
     }
 
-    @Transactional(readOnly = true)
     public List<OrderDetailDTO> getOrders(Long userId) {
-        User user = userService.findById(userId);
-        return orderRepository.findByUserWithFetch(user).stream()
-                .map(OrderDetailDTO::from)
-                .toList();
+        return orderHistoryService.getAll(userId);
+    }
+
+    public OrderHistoryPageDTO getOrderHistory(Long userId, String cursor, int size) {
+        return orderHistoryService.getPage(userId, cursor, size);
     }
 
     private PaymentReadyResponseDTO preparePayment(User user, Order order, OrderRequestDTO dto) {
@@ -5,6 +5,7 @@ import com.kkh.shop_1.domain.coupon.entity.UserCoupon;
 import com.kkh.shop_1.domain.coupon.service.CouponService;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.service.ItemService;
+import com.kkh.shop_1.domain.order.dto.OrderChangedEventPayload;
 import com.kkh.shop_1.domain.order.dto.OrderPaidEventPayload;
 import com.kkh.shop_1.domain.order.dto.OrderRequestDTO;
 import com.kkh.shop_1.domain.order.entity.Order;
@@ -21,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
@@ -33,6 +35,7 @@ public class OrderTxHandler {
     private final OrderRepository orderRepository;
     private final CartItemService cartItemService;
     private final OutboxEventService outboxEventService;
+    private final OrderHistoryService orderHistoryService;
 
     @Transactional
     public Address getOrCreateAddress(User user, OrderRequestDTO dto) {
@@ -58,11 +61,22 @@ public class OrderTxHandler {
         Order order = Order.create(user, address);
         order.setPaymentType(dto.getPaymentType());
 
+        // 재고 차감 UPDATE는 영속성 컨텍스트를 비우므로(clearAutomatically) 차감을 모두 끝낸 뒤 상품을 한 번에 읽는다.
         for (OrderRequestDTO.ItemOrder io : dto.getItemOrders()) {
             itemService.decreaseStock(io.getItemId(), io.getQuantity());
+        }
+
+        List<Long> itemIds = dto.getItemOrders().stream()
+                .map(OrderRequestDTO.ItemOrder::getItemId)
+                .distinct()
+                .toList();
+        Map<Long, Item> items = itemService.findAllByIds(itemIds);
 
-            Item item = itemService.findById(io.getItemId())
-                    .orElseThrow(() -> new IllegalArgumentException("상품 없음 ID: " + io.getItemId()));
+        for (OrderRequestDTO.ItemOrder io : dto.getItemOrders()) {
+            Item item = items.get(io.getItemId());
+            if (item == null) {
+                throw new IllegalArgumentException("상품 없음 ID: " + io.getItemId());
+            }
 
             OrderItem orderItem = OrderItem.create(item, io.getQuantity());
 
@@ -72,7 +86,9 @@ public class OrderTxHandler {
             }
             order.addOrderItem(orderItem);
         }
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        recordChanged("ORDER_CREATED", saved.getId(), user.getId());
+        return saved;
     }
 
     @Transactional
@@ -80,6 +96,7 @@ public class OrderTxHandler {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 주문이 존재하지 않습니다. ID: " + orderId));
         order.updateTid(tid);
+        recordChanged("ORDER_UPDATED", orderId, order.getUser().getId());
     }
 
     @Transactional
@@ -96,6 +113,7 @@ public class OrderTxHandler {
                 .totalAmount(order.getTotalAmount())
                 .paidAt(LocalDateTime.now())
                 .build());
+        orderHistoryService.evictAfterCommit(userId);
 
         for (OrderItem orderItem : order.getOrderItems()) {
             if (orderItem.getUserCouponId() != null) {
@@ -128,6 +146,16 @@ public class OrderTxHandler {
         }
 
         orderRepository.save(order);
+        recordChanged("ORDER_CANCELLED", orderId, order.getUser().getId());
         log.info("▶ [내부 DB 취소 처리] 주문 번호 {}에 대한 상태 변경 및 재고 복구 완료", orderId);
     }
-}
\ No newline at end of file
+
+    /**
+     * 주문 변경 이벤트를 남기고, 커밋 후 사용자의 주문 내역 첫 페이지 캐시를 지운다.
+     * (조회 모델 갱신은 비동기라, 그 전까지 캐시된 첫 페이지가 변경 전 상태로 남지 않도록)
+     */
+    private void recordChanged(String eventType, Long orderId, Long userId) {
+        outboxEventService.record(eventType, OrderChangedEventPayload.of(orderId, userId));
+        orderHistoryService.evictAfterCommit(userId);
+    }
+}
@@ -0,0 +1,203 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.order.dto.OrderDetailDTO;
+import com.kkh.shop_1.domain.order.dto.OrderHeaderRow;
+import com.kkh.shop_1.domain.order.dto.OrderItemRow;
+import com.kkh.shop_1.domain.order.entity.OrderView;
+import com.kkh.shop_1.domain.order.repository.OrderItemRepository;
+import com.kkh.shop_1.domain.order.repository.OrderRepository;
+import com.kkh.shop_1.domain.order.repository.OrderViewRepository;
+import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
+import com.kkh.shop_1.domain.outbox.service.OutboxEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * 주문 조회 모델(order_view) 갱신기. 주문 outbox 이벤트의 소비자로 동작한다.
+ *
+ * 이벤트 payload의 값을 누적 반영하지 않고, 이벤트를 받을 때마다 주문 테이블의 현재 상태로 문서를 다시 만든다.
+ * 그래서 같은 이벤트가 재시도로 여러 번 오거나 순서가 바뀌어 와도 결과가 같다.
+ * 같은 주문을 동시에 갱신할 때는 조회 모델 행을 잠가, 늦게 읽은 쪽이 항상 마지막에 쓰도록 한다.
+ *
+ * 이메일 발송보다 먼저 실행되도록 가장 높은 우선순위를 둔다. (발송 실패로 재시도되어도 갱신은 멱등)
+ *
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OrderViewProjector implements OutboxEventPublisher {
+
+    static final Set<String> ORDER_EVENT_TYPES = Set.of("ORDER_CREATED", "ORDER_UPDATED", "ORDER_PAID", "ORDER_CANCELLED");
+
+    private static final int BACKFILL_CHUNK_SIZE = 200;
+    private static final int ITEM_SUMMARY_MAX_LENGTH = 300;
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderHistoryService orderHistoryService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderViewProjector(OrderRepository orderRepository,
+                              OrderItemRepository orderItemRepository,
+                              OrderViewRepository orderViewRepository,
+                              OrderHistoryService orderHistoryService,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderViewRepository = orderViewRepository;
+        this.orderHistoryService = orderHistoryService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Map<Long, Exception> publishBatch(List<OutboxEvent> events) {
+        Map<Long, Exception> failures = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            try {
+                publish(event.getEventType(), event.getPayload());
+            } catch (Exception e) {
+                failures.put(event.getId(), e);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 주문 이벤트 한 건을 조회 모델에 반영한다. 주문 이벤트가 아니면 무시한다.
+     */
+    public void publish(String eventType, String payload) {
+        if (!ORDER_EVENT_TYPES.contains(eventType)) {
+            return;
+        }
+
+        Long orderId;
+        try {
+            orderId = objectMapper.readTree(payload).get("orderId").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException("주문 이벤트 payload 해석 실패. payload=" + payload, e);
+        }
+        refresh(orderId);
+    }
+
+    /**
+     * 주문 한 건의 조회 모델을 현재 상태로 다시 만든다.
+     */
+    public void refresh(Long orderId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(orderId));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 스레드/노드가 같은 주문의 행을 먼저 만든 경우. 이제 잠글 행이 있으므로 한 번 더 시도한다.
+            transactionTemplate.executeWithoutResult(status -> upsert(orderId));
+        }
+    }
+
+    /**
+     * 조회 모델이 없는 기존 주문을 기동 시 채운다. 여러 노드가 동시에 돌아도 결과는 같다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int total = 0;
+        List<Long> previous = List.of();
+        try {
+            while (true) {
+                List<Long> orderIds = orderRepository.findIdsWithoutView(PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+                if (orderIds.isEmpty()) {
+                    break;
+                }
+                if (orderIds.equals(previous)) {
+                    log.warn("주문 조회 모델 적재가 진행되지 않아 중단합니다. orderIds={}", orderIds);
+                    break;
+                }
+                previous = orderIds;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertAll(orderIds));
+                } catch (DataIntegrityViolationException e) {
+                    // 실시간 이벤트 처리와 겹친 경우 건별로 다시 맞춘다.
+                    orderIds.forEach(this::refresh);
+                }
+                total += orderIds.size();
+            }
+            if (total > 0) {
+                log.info("주문 조회 모델 적재 완료. {}건", total);
+            }
+        } catch (Exception e) {
+            log.error("주문 조회 모델 적재 실패. 조회 모델이 없는 주문은 주문 테이블에서 조회됩니다.", e);
+        }
+    }
+
+    private void upsert(Long orderId) {
+        Optional<OrderView> existing = orderViewRepository.findByIdForUpdate(orderId);
+        Optional<OrderHeaderRow> header = orderRepository.findHeaderRowById(orderId);
+        if (header.isEmpty()) {
+            existing.ifPresent(orderViewRepository::delete);
+            return;
+        }
+
+        OrderDetailDTO detail = OrderDetailDTO.of(header.get(), orderItemRepository.findRowsByOrderIds(List.of(orderId)));
+        OrderView view = existing.orElseGet(() ->
+                OrderView.of(orderId, header.get().userId(), header.get().orderDate()));
+        apply(view, detail);
+        orderViewRepository.saveAndFlush(view);
+        orderHistoryService.evictAfterCommit(header.get().userId());
+    }
+
+    private void insertAll(List<Long> orderIds) {
+        Map<Long, List<OrderItemRow>> itemsByOrder = orderItemRepository.findRowsByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemRow::orderId));
+
+        List<OrderView> views = orderRepository.findHeaderRowsByIdIn(orderIds).stream()
+                .map(header -> {
+                    OrderView view = OrderView.of(header.orderId(), header.userId(), header.orderDate());
+                    apply(view, OrderDetailDTO.of(header, itemsByOrder.getOrDefault(header.orderId(), Collections.emptyList())));
+                    return view;
+                })
+                .toList();
+        orderViewRepository.saveAllAndFlush(views);
+    }
+
+    private void apply(OrderView view, OrderDetailDTO detail) {
+        view.refresh(detail.getStatus(), detail.getTotalPrice(), itemSummary(detail), toJson(detail));
+    }
+
+    private String itemSummary(OrderDetailDTO detail) {
+        List<OrderDetailDTO.OrderItemDTO> items = detail.getItems();
+        if (items.isEmpty()) {
+            return null;
+        }
+        String summary = items.size() == 1
+                ? items.get(0).getItemName()
+                : items.get(0).getItemName() + " 외 " + (items.size() - 1) + "건";
+        return summary.length() > ITEM_SUMMARY_MAX_LENGTH ? summary.substring(0, ITEM_SUMMARY_MAX_LENGTH) : summary;
+    }
+
+    private String toJson(OrderDetailDTO detail) {
+        try {
+            return objectMapper.writeValueAsString(detail);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 조회 모델 직렬화 실패. orderId=" + detail.getOrderId(), e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.dto.PaymentApprovalDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * 비동기 결제 승인 완료 알림(SSE).
+ *
+ * 구독은 요청을 받은 노드에만 있고 승인은 어느 노드의 작업자든 처리할 수 있으므로,
+ * 완료 시 Redis 토픽으로 주문 id를 알리고 각 노드가 자기에게 붙은 구독자에게만 최신 상태를 보낸다.
+ * 토픽을 놓쳐도 클라이언트는 상태 조회(폴링)로 결과를 확인할 수 있다.
+ *
+ */
+@Slf4j
+@Component
+public class PaymentApprovalNotifier {
+
+    private static final String COMPLETED_TOPIC = "payment:approval-completed";
+    static final String EVENT_NAME = "payment-approval";
+
+    private final PaymentApprovalService paymentApprovalService;
+    private final RedissonClient redissonClient;
+    private final long emitterTimeoutMs;
+
+    // orderId -> (구독자 -> userId)
+    private final Map<Long, Map<SseEmitter, Long>> subscribers = new ConcurrentHashMap<>();
+
+    public PaymentApprovalNotifier(PaymentApprovalService paymentApprovalService,
+                                   RedissonClient redissonClient,
+                                   @Value("${payment.approval.sse-timeout-ms:60000}") long emitterTimeoutMs) {
+        this.paymentApprovalService = paymentApprovalService;
+        this.redissonClient = redissonClient;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            completedTopic().addListener(String.class, (channel, orderId) -> deliver(Long.valueOf(orderId)));
+        } catch (Exception e) {
+            log.error("결제 승인 완료 토픽 구독 실패. 다른 노드에서 처리된 승인은 폴링으로만 확인할 수 있습니다.", e);
+        }
+    }
+
+    /**
+     * 구독을 먼저 등록한 뒤 현재 상태를 읽는다. 그 사이에 승인이 끝나도 둘 중 한쪽에서 결과를 받는다.
+     */
+    public SseEmitter subscribe(Long orderId, Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        subscribers.computeIfAbsent(orderId, id -> new ConcurrentHashMap<>()).put(emitter, userId);
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(() -> unsubscribe(orderId, emitter));
+        emitter.onError(e -> unsubscribe(orderId, emitter));
+
+        try {
+            PaymentApprovalDTO current = paymentApprovalService.getApproval(orderId, userId);
+            send(orderId, emitter, current);
+        } catch (RuntimeException e) {
+            unsubscribe(orderId, emitter);
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * 승인 결과가 확정되면 작업자가 호출한다.
+     */
+    public void publishCompleted(Long orderId) {
+        try {
+            completedTopic().publish(String.valueOf(orderId));
+        } catch (Exception e) {
+            log.warn("결제 승인 완료 알림 발행 실패. 이 노드의 구독자에게만 알립니다. orderId={}", orderId, e);
+            deliver(orderId);
+        }
+    }
+
+    void deliver(Long orderId) {
+        Map<SseEmitter, Long> emitters = subscribers.get(orderId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<SseEmitter, Long> entry : Set.copyOf(emitters.entrySet())) {
+            try {
+                send(orderId, entry.getKey(), paymentApprovalService.getApproval(orderId, entry.getValue()));
+            } catch (Exception e) {
+                log.warn("결제 승인 완료 알림 전송 실패. orderId={}", orderId, e);
+                unsubscribe(orderId, entry.getKey());
+                entry.getKey().completeWithError(e);
+            }
+        }
+    }
+
+    int subscriberCount(Long orderId) {
+        Map<SseEmitter, Long> emitters = subscribers.get(orderId);
+        return emitters != null ? emitters.size() : 0;
+    }
+
+    // 결과가 확정된 상태면 보내고 스트림을 닫는다. 아직 PENDING이면 현재 상태만 보내고 연결을 유지한다.
+    private void send(Long orderId, SseEmitter emitter, PaymentApprovalDTO approval) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(approval));
+            if (approval.isCompleted()) {
+                unsubscribe(orderId, emitter);
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            unsubscribe(orderId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(Long orderId, SseEmitter emitter) {
+        subscribers.computeIfPresent(orderId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private RTopic completedTopic() {
+        return redissonClient.getTopic(COMPLETED_TOPIC, StringCodec.INSTANCE);
+    }
+}
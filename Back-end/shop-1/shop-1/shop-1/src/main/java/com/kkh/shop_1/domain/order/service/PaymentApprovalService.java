@@ -0,0 +1,197 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.common.util.NodeIdentity;
+import com.kkh.shop_1.domain.order.dto.OrderApproveDTO;
+import com.kkh.shop_1.domain.order.dto.OrderPaymentRow;
+import com.kkh.shop_1.domain.order.dto.PaymentApprovalDTO;
+import com.kkh.shop_1.domain.order.entity.Order;
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.PaymentApproval;
+import com.kkh.shop_1.domain.order.entity.PaymentApprovalStatus;
+import com.kkh.shop_1.domain.order.event.PaymentApprovalRequestedEvent;
+import com.kkh.shop_1.domain.order.repository.OrderRepository;
+import com.kkh.shop_1.domain.order.repository.PaymentApprovalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ *
+ * 비동기 결제 승인 요청의 접수/선점/결과 반영.
+ *
+ * - 접수(enqueue)는 주문 확인 + payment_approval 한 행 저장만 하고 끝난다. PG 호출도, Redisson 락도 잡지 않는다.
+ * - 같은 주문의 요청은 한 행으로 합쳐지므로, 콜백이 여러 번 와도 이미 접수된 요청의 상태를 그대로 돌려준다.
+ * - 선점은 outbox와 같은 방식(SKIP LOCKED + 선점 만료 시각)이라 노드가 죽어도 선점이 만료되면 다른 노드가 이어받는다.
+ * - PG 승인 후 주문 반영에 실패해 FAILED로 끝난 요청도, 이후 대사(OrderReconciliationScheduler)나 웹훅으로 주문이 결제 완료되면
+ *   상태 조회는 주문 상태를 다시 읽어 승인 완료로 돌려준다.
+ *
+ */
+@Slf4j
+@Service
+public class PaymentApprovalService {
+
+    // 선점 후 이 시간 안에 결과를 반영하지 못하면(노드 종료 등) 다른 작업자가 다시 가져간다. PG 승인 타임아웃보다 충분히 길게 둔다.
+    static final Duration CLAIM_LEASE = Duration.ofMinutes(2);
+
+    private final PaymentApprovalRepository paymentApprovalRepository;
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate requiresNewTx;
+
+    public PaymentApprovalService(PaymentApprovalRepository paymentApprovalRepository,
+                                  OrderRepository orderRepository,
+                                  ApplicationEventPublisher applicationEventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+        this.paymentApprovalRepository = paymentApprovalRepository;
+        this.orderRepository = orderRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     *
+     * 결제 승인 요청 접수. 주문 소유자와 금액만 확인하고 저장한 뒤 바로 현재 상태를 돌려준다.
+     * 실패로 끝났던 주문이면 새 결제 정보로 다시 접수한다.
+     *
+     */
+    public PaymentApprovalDTO enqueue(OrderApproveDTO dto, Long userId) {
+        Long orderId = OrderService.parseOrderId(dto.getOrderId());
+        try {
+            return requiresNewTx.execute(status -> enqueueInTx(orderId, dto, userId));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 주문의 콜백이 동시에 들어와 다른 요청이 먼저 저장한 경우. 먼저 저장된 요청을 그대로 돌려준다.
+            return getApproval(orderId, userId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentApprovalDTO getApproval(Long orderId, Long userId) {
+        PaymentApproval approval = paymentApprovalRepository.findByOrderId(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("결제 승인 요청이 존재하지 않습니다. orderId: " + orderId));
+        validateOwner(approval.getUserId(), userId);
+        return toDTO(approval);
+    }
+
+    /**
+     * 접수 직후 즉시 처리용 단건 선점. 이미 다른 작업자가 가져갔거나 끝난 요청이면 null을 반환한다.
+     */
+    public ClaimedApproval claim(Long approvalId) {
+        String owner = NodeIdentity.nextClaimToken();
+        PaymentApproval claimed = requiresNewTx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = paymentApprovalRepository.claimById(
+                    approvalId, PaymentApprovalStatus.PENDING, owner, now, now.plus(CLAIM_LEASE));
+            return updated > 0 ? paymentApprovalRepository.findById(approvalId).orElse(null) : null;
+        });
+        return claimed != null ? new ClaimedApproval(claimed, owner) : null;
+    }
+
+    /**
+     * 처리 시각이 된 PENDING 요청을 최대 limit건 선점한다. 여러 작업자/노드가 동시에 호출해도 서로 다른 요청을 가져간다.
+     */
+    public List<ClaimedApproval> claimDue(int limit) {
+        String owner = NodeIdentity.nextClaimToken();
+        List<PaymentApproval> claimed = requiresNewTx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = paymentApprovalRepository.findClaimableIdsForUpdate(now, limit);
+            if (ids.isEmpty()) {
+                return List.<PaymentApproval>of();
+            }
+            paymentApprovalRepository.claim(ids, owner, now.plus(CLAIM_LEASE));
+            return paymentApprovalRepository.findAllById(ids);
+        });
+        if (claimed == null) {
+            return List.of();
+        }
+        return claimed.stream().map(approval -> new ClaimedApproval(approval, owner)).toList();
+    }
+
+    public void markApproved(ClaimedApproval claimed) {
+        updateClaimed(claimed, PaymentApproval::markApproved);
+    }
+
+    public void markFailed(ClaimedApproval claimed, String error) {
+        updateClaimed(claimed, approval -> approval.markFailed(error));
+    }
+
+    public void scheduleRetry(ClaimedApproval claimed, LocalDateTime nextAttemptAt, String error) {
+        updateClaimed(claimed, approval -> approval.scheduleRetry(nextAttemptAt, error));
+    }
+
+    public void release(ClaimedApproval claimed) {
+        updateClaimed(claimed, PaymentApproval::release);
+    }
+
+    /**
+     * 아직 처리되지 않은 가장 오래된 요청의 접수 시각 (없으면 null). 적체 메트릭용.
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime findOldestPendingRequestedAt() {
+        return paymentApprovalRepository.findOldestRequestedAt(PaymentApprovalStatus.PENDING);
+    }
+
+    private PaymentApprovalDTO enqueueInTx(Long orderId, OrderApproveDTO dto, Long userId) {
+        Order order = orderRepository.findByIdWithFetch(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 주문이 존재하지 않습니다. ID: " + orderId));
+        validateOwner(order.getUser().getId(), userId);
+        if (dto.getAmount() != null && dto.getAmount() != order.getTotalAmount()) {
+            throw new IllegalArgumentException("결제 금액이 주문 금액과 일치하지 않습니다.");
+        }
+
+        PaymentApproval approval = paymentApprovalRepository.findByOrderId(orderId).orElse(null);
+        if (approval == null) {
+            approval = paymentApprovalRepository.saveAndFlush(PaymentApproval.create(orderId, userId, dto));
+        } else if (approval.getStatus() == PaymentApprovalStatus.FAILED && order.getStatus() == OrderStatus.PAID) {
+            // 이전 시도가 PG 승인 후 주문 반영에 실패했고, 그 뒤 대사/웹훅으로 결제가 완료된 경우. 다시 승인하지 않는다.
+            approval.markReconciled();
+            return PaymentApprovalDTO.from(approval);
+        } else if (approval.getStatus() == PaymentApprovalStatus.FAILED) {
+            approval.resubmit(dto);
+        } else {
+            return PaymentApprovalDTO.from(approval);
+        }
+
+        applicationEventPublisher.publishEvent(new PaymentApprovalRequestedEvent(approval.getId()));
+        return PaymentApprovalDTO.from(approval);
+    }
+
+    // 내가 선점한 요청만 바꾼다. (선점이 만료돼 다른 작업자가 가져간 요청은 그 작업자가 결과를 반영한다)
+    private void updateClaimed(ClaimedApproval claimed, Consumer<PaymentApproval> change) {
+        requiresNewTx.executeWithoutResult(status -> paymentApprovalRepository.findById(claimed.approval().getId())
+                .filter(approval -> approval.isClaimedBy(claimed.owner()))
+                .ifPresentOrElse(change, () -> log.warn("선점이 만료된 결제 승인 요청입니다. 결과를 반영하지 않습니다. orderId={}",
+                        claimed.approval().getOrderId())));
+    }
+
+    private PaymentApprovalDTO toDTO(PaymentApproval approval) {
+        if (approval.getStatus() != PaymentApprovalStatus.FAILED) {
+            return PaymentApprovalDTO.from(approval);
+        }
+        OrderStatus orderStatus = orderRepository.findPaymentRowById(approval.getOrderId())
+                .map(OrderPaymentRow::status)
+                .orElse(null);
+        return PaymentApprovalDTO.from(approval, orderStatus);
+    }
+
+    private void validateOwner(Long ownerId, Long userId) {
+        if (!ownerId.equals(userId)) {
+            throw new SecurityException("해당 주문에 대한 열람 권한이 없습니다.");
+        }
+    }
+
+    /**
+     * 선점한 요청과 선점 토큰. 결과 반영 시 토큰이 같을 때만 반영한다.
+     */
+    public record ClaimedApproval(PaymentApproval approval, String owner) {
+    }
+}
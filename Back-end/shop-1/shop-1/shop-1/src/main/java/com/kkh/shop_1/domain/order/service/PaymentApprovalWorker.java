@@ -0,0 +1,213 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.common.util.RetryBackoff;
+import com.kkh.shop_1.domain.order.entity.PaymentApproval;
+import com.kkh.shop_1.domain.order.event.PaymentApprovalRequestedEvent;
+import com.kkh.shop_1.domain.order.service.PaymentApprovalService.ClaimedApproval;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * 비동기 결제 승인 작업자.
+ *
+ * - 접수 트랜잭션이 커밋되면 바로 선점해 처리하고, 놓친 요청(큐 포화, 노드 종료, 재시도 대기)은 주기 폴링(기본 5초)으로 가져간다.
+ *   폴링은 안전망이라 간격을 길게 두고, 적체 게이지는 30초마다 따로 계산해 노드당 DB 조회를 줄인다.
+ * - 작업은 주문 id로 정한 레인(단일 스레드 + 유한 큐)에서 돈다. 한 노드 안에서 같은 주문의 작업은 항상 같은 레인에서 순서대로 처리되고,
+ *   노드 사이에서는 선점 만료 시각과 주문 승인 락(OrderService.approveLocked)이 같은 주문의 동시 승인을 막는다.
+ * - PG 장애로 호출 전에 거절됐거나(서킷/벌크헤드) 동기 승인이 같은 주문을 처리 중이면 백오프 후 다시 시도한다.
+ *   PG를 호출한 뒤의 실패는 재시도하지 않고 FAILED로 확정한다. (승인 여부가 불확실한 건은 OrderReconciliationScheduler가 맞춘다)
+ *
+ */
+@Slf4j
+@Component
+public class PaymentApprovalWorker {
+
+    // 재시도 간격: 1초, 2초, 4초, ... 최대 30초 (지터 포함). 아웃박스 재시도와 같은 방식이고 간격만 짧다.
+    static final RetryBackoff RETRY_BACKOFF = new RetryBackoff(Duration.ofSeconds(1), Duration.ofSeconds(30));
+
+    private final PaymentApprovalService paymentApprovalService;
+    private final OrderService orderService;
+    private final PaymentApprovalNotifier notifier;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final ThreadPoolExecutor[] lanes;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public PaymentApprovalWorker(PaymentApprovalService paymentApprovalService,
+                                 OrderService orderService,
+                                 PaymentApprovalNotifier notifier,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.approval.lanes:8}") int laneCount,
+                                 @Value("${payment.approval.lane-queue-capacity:100}") int laneQueueCapacity,
+                                 @Value("${payment.approval.batch-size:50}") int batchSize,
+                                 @Value("${payment.approval.max-attempts:5}") int maxAttempts) {
+        this.paymentApprovalService = paymentApprovalService;
+        this.orderService = orderService;
+        this.notifier = notifier;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "payment-approval-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneQueueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        meterRegistry.gauge("payment.approval.lag.seconds", lagSeconds);
+        meterRegistry.gauge("payment.approval.queued", this, PaymentApprovalWorker::queuedCount);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRequested(PaymentApprovalRequestedEvent event) {
+        try {
+            ClaimedApproval claimed = paymentApprovalService.claim(event.getApprovalId());
+            if (claimed != null) {
+                dispatch(claimed);
+            }
+        } catch (Exception e) {
+            // 접수는 이미 커밋됐으므로 폴링이 가져간다.
+            log.warn("결제 승인 요청 즉시 처리 실패. 폴링으로 처리합니다. approvalId={}", event.getApprovalId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.approval.poll-interval-ms:5000}")
+    public void pollDue() {
+        // 레인 큐에 들어갈 수 있는 만큼만 선점한다. 넘치게 가져가면 선점 만료까지 다른 노드도 처리하지 못한다.
+        int limit = Math.min(batchSize, freeCapacity());
+        if (limit > 0) {
+            try {
+                paymentApprovalService.claimDue(limit).forEach(this::dispatch);
+            } catch (Exception e) {
+                log.error("결제 승인 요청 폴링 실패", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중이던 요청은 선점 만료 후 다른 노드가 이어받는다.
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                lane.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void dispatch(ClaimedApproval claimed) {
+        try {
+            lanes[laneFor(claimed.approval().getOrderId())].execute(() -> process(claimed));
+        } catch (RejectedExecutionException e) {
+            log.warn("결제 승인 레인이 가득 찼습니다. 폴링으로 다시 처리합니다. orderId={}", claimed.approval().getOrderId());
+            paymentApprovalService.release(claimed);
+        }
+    }
+
+    int laneFor(Long orderId) {
+        return Math.floorMod(orderId.hashCode(), lanes.length);
+    }
+
+    void process(ClaimedApproval claimed) {
+        PaymentApproval approval = claimed.approval();
+        RuntimeException failure = null;
+        try {
+            orderService.approveLocked(approval.getOrderId(), approval.toApproveDTO(), approval.getUserId());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        String result;
+        try {
+            if (failure == null) {
+                paymentApprovalService.markApproved(claimed);
+                result = "approved";
+            } else if (failure instanceof PaymentGatewayUnavailableException
+                    || failure instanceof OrderApprovalInProgressException) {
+                result = retryOrFail(claimed, failure);
+            } else {
+                log.error("결제 승인 실패. orderId={}", approval.getOrderId(), failure);
+                paymentApprovalService.markFailed(claimed, failure.getMessage());
+                result = "failed";
+            }
+        } catch (Exception e) {
+            // 결과 반영(DB) 자체가 실패한 경우. 선점이 만료되면 다시 처리되며, 이미 결제된 주문은 PG 호출 없이 APPROVED로 끝난다.
+            log.error("결제 승인 결과 반영 실패. 선점 만료 후 다시 처리합니다. orderId={}", approval.getOrderId(), e);
+            meterRegistry.counter("payment.approval.processed", "result", "error").increment();
+            return;
+        }
+
+        meterRegistry.counter("payment.approval.processed", "result", result).increment();
+        if (!"retry".equals(result)) {
+            meterRegistry.timer("payment.approval.latency", "result", result)
+                    .record(Duration.between(approval.getRequestedAt(), LocalDateTime.now()));
+            notifier.publishCompleted(approval.getOrderId());
+        }
+    }
+
+    private String retryOrFail(ClaimedApproval claimed, RuntimeException cause) {
+        PaymentApproval approval = claimed.approval();
+        int attempts = approval.getAttemptCount() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("결제 승인 재시도 한도 초과. orderId={}, attempts={}", approval.getOrderId(), attempts, cause);
+            paymentApprovalService.markFailed(claimed, cause.getMessage());
+            return "failed";
+        }
+        LocalDateTime nextAttemptAt = RETRY_BACKOFF.nextAttemptAt(approval.getAttemptCount(), LocalDateTime.now());
+        log.warn("결제 승인을 잠시 뒤 다시 시도합니다. orderId={}, attempts={}, nextAttemptAt={}, reason={}",
+                approval.getOrderId(), attempts, nextAttemptAt, cause.getMessage());
+        paymentApprovalService.scheduleRetry(claimed, nextAttemptAt, cause.getMessage());
+        return "retry";
+    }
+
+    private int freeCapacity() {
+        int free = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            free += lane.getQueue().remainingCapacity();
+        }
+        return free;
+    }
+
+    private double queuedCount() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size() + lane.getActiveCount();
+        }
+        return queued;
+    }
+
+    @Scheduled(fixedDelay = 30_000L)
+    public void updateLag() {
+        try {
+            LocalDateTime oldest = paymentApprovalService.findOldestPendingRequestedAt();
+            lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0L);
+        } catch (Exception e) {
+            log.warn("결제 승인 적체 메트릭 계산 실패", e);
+        }
+    }
+}
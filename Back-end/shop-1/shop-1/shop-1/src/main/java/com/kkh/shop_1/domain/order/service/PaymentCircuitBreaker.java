@@ -0,0 +1,138 @@
+package com.kkh.shop_1.domain.order.service;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ *
+ * PG사 하나에 대한 서킷 브레이커. (PaymentType마다 하나씩 둔다)
+ *
+ * - CLOSED: 최근 windowSize건의 호출 결과를 링 버퍼에 기록한다. minimumCalls건 이상 쌓였을 때 실패율이
+ *   failureRatePercent 이상이면 OPEN으로 바뀐다. 응답이 slowCallThreshold보다 늦은 호출도 실패로 센다.
+ * - OPEN: openDuration 동안 모든 호출을 PG에 보내지 않고 바로 거절한다.
+ * - HALF_OPEN: openDuration이 지나면 halfOpenProbes건만 시험 삼아 보낸다. 모두 성공하면 CLOSED,
+ *   하나라도 실패하면 다시 OPEN.
+ *
+ * 상태 변경은 드물고 PG 호출 자체가 훨씬 느리므로 모든 메서드를 synchronized로 단순하게 둔다.
+ *
+ */
+final class PaymentCircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN // 게이지 값으로 ordinal(0, 1, 2)을 쓴다.
+    }
+
+    record Settings(int windowSize, int minimumCalls, int failureRatePercent,
+                    Duration slowCallThreshold, Duration openDuration, int halfOpenProbes) {
+    }
+
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final Consumer<State> onTransition;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    PaymentCircuitBreaker(Settings settings, LongSupplier nanoClock, Consumer<State> onTransition) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.onTransition = onTransition;
+        this.window = new boolean[settings.windowSize()];
+    }
+
+    /**
+     * 호출해도 되는지 확인한다. true를 받은 호출은 반드시 onResult()로 결과를 알려야 한다.
+     */
+    synchronized boolean tryAcquirePermission() {
+        switch (currentState()) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probesIssued < settings.halfOpenProbes()) {
+                    probesIssued++;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param failed PG 장애로 볼 수 있는 실패인지 (연결/타임아웃/5xx). 카드 거절 같은 업무 오류는 성공으로 넘긴다.
+     */
+    synchronized void onResult(long elapsedNanos, boolean failed) {
+        boolean failure = failed || elapsedNanos >= settings.slowCallThreshold().toNanos();
+
+        switch (state) {
+            case CLOSED -> {
+                record(failure);
+                if (recordedCalls >= settings.minimumCalls()
+                        && failedCalls * 100 >= settings.failureRatePercent() * recordedCalls) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (failure) {
+                    transitionTo(State.OPEN);
+                } else if (++probesSucceeded >= settings.halfOpenProbes()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // OPEN 되기 전에 출발한 호출의 결과. 이미 열려 있으므로 무시한다.
+            }
+        }
+    }
+
+    synchronized State state() {
+        return currentState();
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= settings.openDuration().toNanos()) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == window.length) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        switch (next) {
+            case OPEN -> openedAtNanos = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                probesIssued = 0;
+                probesSucceeded = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                recordedCalls = 0;
+                failedCalls = 0;
+            }
+        }
+        onTransition.accept(next);
+    }
+}
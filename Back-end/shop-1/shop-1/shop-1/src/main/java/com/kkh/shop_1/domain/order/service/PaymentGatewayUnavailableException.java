@@ -0,0 +1,19 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ *
+ * PG사 장애로 서킷이 열려 있거나 동시 호출 한도(벌크헤드)가 찼을 때, PG를 호출하지 않고 바로 던지는 예외.
+ * 타임아웃까지 기다리지 않고 503으로 응답한다.
+ *
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PaymentGatewayUnavailableException extends IllegalStateException {
+
+    public PaymentGatewayUnavailableException(PaymentType paymentType) {
+        super("현재 " + paymentType + " 결제가 원활하지 않습니다. 잠시 후 다시 시도하거나 다른 결제 수단을 이용해주세요.");
+    }
+}
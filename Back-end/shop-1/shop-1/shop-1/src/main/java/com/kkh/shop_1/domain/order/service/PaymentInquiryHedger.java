@@ -0,0 +1,211 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ *
+ * PG 결제 상태 조회(inquire)를 헤징(hedged request)으로 보낸다.
+ *
+ * 조회는 읽기 전용이고 같은 요청을 두 번 보내도 결과가 같다. 그래서 첫 요청이 최근 p95 응답 시간 안에 오지 않으면
+ * 같은 조회를 한 번 더 보내고, 먼저 결론(PAID/NOT_PAID)을 준 쪽을 쓰고 나머지는 취소한다.
+ * 한 번 느린 응답 때문에 정합성 배치가 읽기 타임아웃까지 멈춰 있는 일을 줄인다.
+ *
+ * - 헤지 지연: PG사별 최근 windowSize건 응답 시간의 p95 (minDelay~maxDelay로 제한, 표본이 적으면 maxDelay)
+ * - 예산: 첫 요청 100건마다 budgetPercent건만큼 헤지 토큰이 쌓이고, 헤지 1건에 토큰 1개를 쓴다. PG가 전반적으로 느려져도
+ *   추가 부하는 budgetPercent%를 넘지 않는다.
+ * - 취소는 스레드 인터럽트라 이미 보낸 HTTP 요청을 되돌리지는 못하고, 진 쪽의 결과를 버리는 것까지 보장한다.
+ *
+ */
+@Slf4j
+final class PaymentInquiryHedger {
+
+    record Settings(int budgetPercent, Duration minDelay, Duration maxDelay, int minSamples, int windowSize) {
+    }
+
+    private static final double MAX_BUDGET_TOKENS = 10.0;
+
+    private final Settings settings;
+    private final ExecutorService attemptExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<PaymentType, LatencyWindow> latencies = new EnumMap<>(PaymentType.class);
+    private final Map<PaymentType, double[]> budgets = new EnumMap<>(PaymentType.class);
+
+    PaymentInquiryHedger(Settings settings, ExecutorService attemptExecutor, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.attemptExecutor = attemptExecutor;
+        this.meterRegistry = meterRegistry;
+        for (PaymentType type : PaymentType.values()) {
+            latencies.put(type, new LatencyWindow(settings.windowSize()));
+            budgets.put(type, new double[1]);
+        }
+    }
+
+    /**
+     * @param attempt     실제 조회 한 번
+     * @param hedgePermit 헤지 요청을 보내기 직전에 호출한다. false면(예: 초당 조회 수 초과) 헤지하지 않는다.
+     */
+    PaymentStatus inquire(PaymentType paymentType, Supplier<PaymentStatus> attempt, BooleanSupplier hedgePermit) throws InterruptedException {
+        earnBudget(paymentType);
+
+        CompletableFuture<PaymentStatus> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        Future<?> primary = submit(paymentType, "primary", attempt, winner, pending);
+
+        Duration delay = hedgeDelay(paymentType);
+        try {
+            return winner.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 아래에서 헤지 여부를 정한다.
+        } catch (InterruptedException e) {
+            // 호출 스레드가 중단되면 결과를 기다리지 않으므로, 남은 첫 요청도 함께 멈춘다.
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            // winner는 complete()로만 채우므로 예외로 끝나지 않는다. 혹시 그렇다면 결론 없음으로 본다.
+            primary.cancel(true);
+            return PaymentStatus.UNKNOWN;
+        }
+
+        Future<?> hedge = null;
+        if (!spendBudget(paymentType)) {
+            countHedge(paymentType, "budget-exhausted");
+        } else if (!hedgePermit.getAsBoolean()) {
+            refundBudget(paymentType);
+            countHedge(paymentType, "rate-limited");
+        } else {
+            pending.incrementAndGet();
+            hedge = submit(paymentType, "hedge", attempt, winner, pending);
+            countHedge(paymentType, "sent");
+        }
+
+        try {
+            return winner.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            return PaymentStatus.UNKNOWN;
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    Duration hedgeDelay(PaymentType paymentType) {
+        LatencyWindow window = latencies.get(paymentType);
+        long p95 = window.percentile(0.95, settings.minSamples());
+        if (p95 < 0) {
+            return settings.maxDelay();
+        }
+        long clamped = Math.max(settings.minDelay().toNanos(), Math.min(settings.maxDelay().toNanos(), p95));
+        return Duration.ofNanos(clamped);
+    }
+
+    private Future<?> submit(PaymentType paymentType, String attemptName, Supplier<PaymentStatus> attempt,
+                             CompletableFuture<PaymentStatus> winner, AtomicInteger pending) {
+        return attemptExecutor.submit(() -> {
+            long start = System.nanoTime();
+            PaymentStatus status = PaymentStatus.UNKNOWN;
+            try {
+                status = attempt.get();
+            } catch (Exception e) {
+                log.warn("PG 결제 상태 조회 실패. pg={}, attempt={}", paymentType, attemptName, e);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                latencies.get(paymentType).record(elapsed);
+                Timer.builder("reconciliation.inquiry.attempt")
+                        .tag("pg", paymentType.name())
+                        .tag("attempt", attemptName)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(elapsed, TimeUnit.NANOSECONDS);
+            }
+
+            // 결론(PAID/NOT_PAID)이 나면 바로 채택하고, 모든 시도가 UNKNOWN으로 끝났을 때만 UNKNOWN을 돌려준다.
+            if (status != PaymentStatus.UNKNOWN && winner.complete(status) && "hedge".equals(attemptName)) {
+                countHedge(paymentType, "won");
+            }
+            if (pending.decrementAndGet() == 0) {
+                winner.complete(PaymentStatus.UNKNOWN);
+            }
+        });
+    }
+
+    private void earnBudget(PaymentType paymentType) {
+        double[] budget = budgets.get(paymentType);
+        synchronized (budget) {
+            budget[0] = Math.min(MAX_BUDGET_TOKENS, budget[0] + settings.budgetPercent() / 100.0);
+        }
+    }
+
+    private boolean spendBudget(PaymentType paymentType) {
+        double[] budget = budgets.get(paymentType);
+        synchronized (budget) {
+            if (budget[0] < 1.0) {
+                return false;
+            }
+            budget[0] -= 1.0;
+            return true;
+        }
+    }
+
+    private void refundBudget(PaymentType paymentType) {
+        double[] budget = budgets.get(paymentType);
+        synchronized (budget) {
+            budget[0] += 1.0;
+        }
+    }
+
+    private void countHedge(PaymentType paymentType, String result) {
+        meterRegistry.counter("reconciliation.inquiry.hedged", "pg", paymentType.name(), "result", result).increment();
+    }
+
+    /**
+     * 최근 n건의 응답 시간(ns) 링 버퍼. p95는 조회 때마다 복사해 정렬한다. (수백 건이라 HTTP 호출에 비하면 무시할 만함)
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        synchronized long percentile(double quantile, int minSamples) {
+            if (size < minSamples || size == 0) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
@@ -1,25 +1,71 @@
 package com.kkh.shop_1.domain.order.service;
 
 import com.kkh.shop_1.domain.order.entity.PaymentType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
 
+/**
+ *
+ * PaymentType별 PaymentService를 찾아 준다.
+ *
+ * 한 PG사가 느려지면 승인/준비 호출이 읽기 타임아웃까지 톰캣 스레드와 주문 승인 락을 붙잡아 다른 결제 수단까지 느려진다.
+ * 그래서 구현체마다 서킷 브레이커와 벌크헤드(동시 호출 수 제한)를 따로 씌워 돌려준다. (ResilientPaymentService 참고)
+ *
+ * 상태는 payment.circuit.state{pg} 게이지(0=CLOSED, 1=HALF_OPEN, 2=OPEN)와 payment.circuit.transitions,
+ * payment.calls.rejected, payment.bulkhead.available 메트릭으로 본다.
+ *
+ */
+@Slf4j
 @Component
 public class PaymentServiceFactory {
 
-    private final Map<PaymentType, PaymentService> services;
+    private final Map<PaymentType, ResilientPaymentService> services = new EnumMap<>(PaymentType.class);
+
+    public PaymentServiceFactory(List<PaymentService> paymentServices,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.circuit.window-size:20}") int windowSize,
+                                 @Value("${payment.circuit.minimum-calls:10}") int minimumCalls,
+                                 @Value("${payment.circuit.failure-rate-percent:50}") int failureRatePercent,
+                                 @Value("${payment.circuit.slow-call-ms:3000}") long slowCallMillis,
+                                 @Value("${payment.circuit.open-seconds:30}") long openSeconds,
+                                 @Value("${payment.circuit.half-open-probes:3}") int halfOpenProbes,
+                                 @Value("${payment.bulkhead.max-concurrent:20}") int maxConcurrent,
+                                 @Value("${payment.bulkhead.max-wait-ms:100}") long maxWaitMillis) {
+        PaymentCircuitBreaker.Settings settings = new PaymentCircuitBreaker.Settings(
+                windowSize, minimumCalls, failureRatePercent,
+                Duration.ofMillis(slowCallMillis), Duration.ofSeconds(openSeconds), halfOpenProbes);
 
+        for (PaymentService paymentService : paymentServices) {
+            PaymentType type = paymentService.getPaymentType();
+            if (services.containsKey(type)) {
+                throw new IllegalStateException("같은 결제 수단의 PaymentService가 둘 이상입니다: " + type);
+            }
 
-    public PaymentServiceFactory(List<PaymentService> paymentServices) {
-        this.services = paymentServices.stream()
-                .collect(Collectors.toMap(
-                        PaymentService::getPaymentType,
-                        Function.identity()
-                ));
+            PaymentCircuitBreaker circuitBreaker = new PaymentCircuitBreaker(settings, System::nanoTime, state -> {
+                log.warn("PG 서킷 상태 변경. pg={}, state={}", type, state);
+                meterRegistry.counter("payment.circuit.transitions", "pg", type.name(), "state", state.name()).increment();
+            });
+            Semaphore bulkhead = new Semaphore(maxConcurrent);
+            ResilientPaymentService service = new ResilientPaymentService(
+                    paymentService, circuitBreaker, bulkhead, maxWaitMillis, meterRegistry);
+            services.put(type, service);
+
+            Gauge.builder("payment.circuit.state", service, s -> s.circuitState().ordinal())
+                    .tag("pg", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("payment.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                    .tag("pg", type.name())
+                    .register(meterRegistry);
+        }
     }
 
     public PaymentService getService(PaymentType type) {
@@ -29,4 +75,4 @@ public class PaymentServiceFactory {
         }
         return service;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+
+import java.util.Set;
+
+/**
+ *
+ * PG별 웹훅 본문을 (거래 id, 결제 상태)로 정규화한 결과.
+ * 웹훅은 받는 즉시 주문을 바꾸므로, 되돌릴 수 없는 종료 상태(취소/만료/중단)만 NOT_PAID로 본다.
+ * 비밀번호 오류, 사용자 이탈 같은 중간 상태는 이후 같은 거래가 승인될 수 있어 UNKNOWN으로 두고 무시한다.
+ * (그런 주문은 정합성 배치가 충분히 오래된 뒤 inquire()로 다시 판단한다)
+ *
+ * - tosspay : {"eventType": "PAYMENT_STATUS_CHANGED", "data": {"orderId": ..., "status": "DONE" | "CANCELED" | ...}}
+ * - kakaopay: {"tid": ..., "status": "SUCCESS_PAYMENT" | "CANCEL_PAYMENT" | ...}
+ * - naverpay: {"reserveId" 또는 "paymentId": ..., "admissionState": "SUCCESS" | "FAIL" | ...}
+ *
+ */
+record PaymentWebhookNotification(PaymentType paymentType, String tid, String pgStatus, PaymentStatus status) {
+
+    private static final Set<String> TOSS_NOT_PAID = Set.of("CANCELED", "ABORTED", "EXPIRED", "PARTIAL_CANCELED");
+    // QUIT_PAYMENT(사용자 이탈), FAIL_AUTH_PASSWORD(비밀번호 오류)는 같은 tid로 다시 결제할 수 있어 제외한다.
+    private static final Set<String> KAKAO_NOT_PAID = Set.of("CANCEL_PAYMENT", "PART_CANCEL_PAYMENT", "FAIL_PAYMENT");
+
+    static PaymentWebhookNotification parse(PaymentType paymentType, JsonNode body) {
+        return switch (paymentType) {
+            case TOSS_PAY -> {
+                JsonNode data = body.path("data");
+                String status = text(data, "status");
+                yield of(paymentType, text(data, "orderId"), status,
+                        "DONE".equals(status) ? PaymentStatus.PAID
+                                : TOSS_NOT_PAID.contains(status) ? PaymentStatus.NOT_PAID : PaymentStatus.UNKNOWN);
+            }
+            case KAKAO_PAY -> {
+                String status = text(body, "status");
+                yield of(paymentType, text(body, "tid"), status,
+                        "SUCCESS_PAYMENT".equals(status) ? PaymentStatus.PAID
+                                : KAKAO_NOT_PAID.contains(status) ? PaymentStatus.NOT_PAID : PaymentStatus.UNKNOWN);
+            }
+            case NAVER_PAY -> {
+                String status = text(body, "admissionState");
+                String tid = text(body, "reserveId") != null ? text(body, "reserveId") : text(body, "paymentId");
+                // 네이버 admissionState는 승인 시도마다 오므로, 실패 알림만으로 결제창이 끝났다고 볼 수 없다.
+                yield of(paymentType, tid, status,
+                        "SUCCESS".equals(status) ? PaymentStatus.PAID : PaymentStatus.UNKNOWN);
+            }
+        };
+    }
+
+    private static PaymentWebhookNotification of(PaymentType paymentType, String tid, String pgStatus, PaymentStatus status) {
+        if (tid == null || tid.isBlank()) {
+            throw new IllegalArgumentException("웹훅 본문에 거래 id가 없습니다. pg=" + paymentType);
+        }
+        return new PaymentWebhookNotification(paymentType, tid, pgStatus, status);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.order.dto.OrderPaymentRow;
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import com.kkh.shop_1.domain.order.entity.PaymentWebhookEvent;
+import com.kkh.shop_1.domain.order.entity.PaymentWebhookResult;
+import com.kkh.shop_1.domain.order.repository.OrderRepository;
+import com.kkh.shop_1.domain.order.repository.PaymentWebhookEventRepository;
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ *
+ * PG 결제 상태 알림(웹훅) 수신/반영.
+ *
+ * 1. 서명 검증 (PaymentWebhookVerifier)
+ * 2. 본문을 (거래 id, 결제 상태)로 정규화. 결론이 나지 않은 상태(READY 등)는 기록하지 않고 무시한다.
+ * 3. payment_webhook_event에 먼저 저장한다. (PG, tid, 상태) unique라 같은 알림이 다시 오면 여기서 걸러진다.
+ * 4. 주문 승인 락(동기/비동기 승인과 같은 락)을 잡고 주문의 최신 상태를 읽어, 결제 대기 중일 때만
+ *    OrderTxHandler.completeOrderPayment / cancelOrderPayment로 반영한다. 이미 같은 상태면 아무것도 하지 않는다.
+ * 5. 반영 결과를 기록한다. 반영 중 실패하면 예외를 그대로 던져 PG가 다시 보내게 하고, 다시 온 알림은 미처리 행으로 보고 재반영한다.
+ *
+ * 웹훅으로 대부분의 주문이 몇 초 안에 확정되므로, OrderReconciliationScheduler의 PG 조회는 알림이 오지 않은 주문에만 남는다.
+ *
+ */
+@Slf4j
+@Service
+public class PaymentWebhookService {
+
+    public static final String IGNORED = "IGNORED";
+    public static final String DUPLICATE = "DUPLICATE";
+
+    private static final Set<OrderStatus> PAID_STATES = EnumSet.of(OrderStatus.PAID, OrderStatus.SHIPPING, OrderStatus.DELIVERED);
+    private static final Set<OrderStatus> CANCELLED_STATES = EnumSet.of(OrderStatus.CANCELLED, OrderStatus.CANCELED);
+
+    private final PaymentWebhookVerifier verifier;
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final OrderRepository orderRepository;
+    private final OrderTxHandler orderTxHandler;
+    private final RedisLeaseLock redisLeaseLock;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate requiresNewTx;
+
+    public PaymentWebhookService(PaymentWebhookVerifier verifier,
+                                 PaymentWebhookEventRepository webhookEventRepository,
+                                 OrderRepository orderRepository,
+                                 OrderTxHandler orderTxHandler,
+                                 RedisLeaseLock redisLeaseLock,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 PlatformTransactionManager transactionManager) {
+        this.verifier = verifier;
+        this.webhookEventRepository = webhookEventRepository;
+        this.orderRepository = orderRepository;
+        this.orderTxHandler = orderTxHandler;
+        this.redisLeaseLock = redisLeaseLock;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @return 처리 결과 (PaymentWebhookResult 이름, 또는 IGNORED / DUPLICATE)
+     */
+    public String receive(String provider, String timestamp, String signature, byte[] body) {
+        PaymentType paymentType = paymentTypeOf(provider);
+        verifier.verify(paymentType, timestamp, signature, body);
+
+        PaymentWebhookNotification notification = PaymentWebhookNotification.parse(paymentType, readBody(body));
+        if (notification.status() == PaymentStatus.UNKNOWN) {
+            log.info("확정되지 않은 결제 상태 알림은 무시합니다. pg={}, tid={}, status={}",
+                    paymentType, notification.tid(), notification.pgStatus());
+            return count(paymentType, IGNORED);
+        }
+
+        PaymentWebhookEvent event = store(notification, new String(body, StandardCharsets.UTF_8));
+        if (event == null) {
+            return count(paymentType, DUPLICATE);
+        }
+
+        PaymentWebhookResult result = apply(notification);
+        requiresNewTx.executeWithoutResult(status -> webhookEventRepository.findById(event.getId())
+                .ifPresent(saved -> saved.markProcessed(result)));
+        return count(paymentType, result.name());
+    }
+
+    /**
+     * 알림을 저장한다. 이미 반영이 끝난 같은 알림이 있으면 null, 반영 도중 실패했던 알림이면 그 행을 돌려준다.
+     */
+    private PaymentWebhookEvent store(PaymentWebhookNotification notification, String payload) {
+        try {
+            return requiresNewTx.execute(status -> webhookEventRepository.saveAndFlush(PaymentWebhookEvent.create(
+                    notification.paymentType(), notification.tid(), notification.status(), notification.pgStatus(), payload)));
+        } catch (DataIntegrityViolationException e) {
+            PaymentWebhookEvent existing = webhookEventRepository.findByPaymentTypeAndTidAndPaymentStatus(
+                            notification.paymentType(), notification.tid(), notification.status())
+                    .orElseThrow(() -> e);
+            return existing.isProcessed() ? null : existing;
+        }
+    }
+
+    PaymentWebhookResult apply(PaymentWebhookNotification notification) {
+        OrderPaymentRow found = orderRepository.findPaymentRowByTid(notification.tid()).orElse(null);
+        if (found == null) {
+            log.warn("웹훅 거래 id에 해당하는 주문이 없습니다. pg={}, tid={}", notification.paymentType(), notification.tid());
+            return PaymentWebhookResult.ORDER_NOT_FOUND;
+        }
+
+        // 동기/비동기 승인과 같은 주문 단위 락. 승인이 진행 중이면 끝날 때까지 기다렸다가 최신 상태로 판단한다.
+        String lockKey = OrderService.approveLockKey(found.orderId());
+        boolean isLocked = false;
+        try {
+            isLocked = redisLeaseLock.tryLock(lockKey, OrderService.APPROVE_LOCK_WAIT, OrderService.APPROVE_LOCK_LEASE);
+            if (!isLocked) {
+                throw new OrderApprovalInProgressException(); // PG가 다시 보내면 그때 반영한다.
+            }
+            OrderPaymentRow order = orderRepository.findPaymentRowById(found.orderId()).orElse(found);
+            return applyTo(order, notification);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("웹훅 처리 중 오류가 발생했습니다.");
+        } finally {
+            if (isLocked) {
+                redisLeaseLock.unlock(lockKey);
+            }
+        }
+    }
+
+    private PaymentWebhookResult applyTo(OrderPaymentRow order, PaymentWebhookNotification notification) {
+        boolean paid = notification.status() == PaymentStatus.PAID;
+
+        if (order.status() == OrderStatus.PAYMENT_PENDING) {
+            if (paid) {
+                log.info("웹훅으로 결제 완료를 반영합니다. orderId={}, tid={}", order.orderId(), notification.tid());
+                orderTxHandler.completeOrderPayment(order.orderId(), order.userId());
+            } else {
+                log.info("웹훅으로 결제 취소를 반영합니다. orderId={}, tid={}, pgStatus={}",
+                        order.orderId(), notification.tid(), notification.pgStatus());
+                orderTxHandler.cancelOrderPayment(order.orderId());
+            }
+            return PaymentWebhookResult.APPLIED;
+        }
+
+        if (paid ? PAID_STATES.contains(order.status()) : CANCELLED_STATES.contains(order.status())) {
+            return PaymentWebhookResult.ALREADY_APPLIED;
+        }
+
+        // 예: 결제 완료 주문에 대한 PG 측 취소, 이미 취소한 주문에 대한 승인 알림. 자동으로 되돌리지 않고 운영자가 확인한다.
+        log.error("PG 알림과 주문 상태가 맞지 않습니다. orderId={}, orderStatus={}, pg={}, pgStatus={}",
+                order.orderId(), order.status(), notification.paymentType(), notification.pgStatus());
+        return PaymentWebhookResult.CONFLICT;
+    }
+
+    private JsonNode readBody(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("웹훅 본문을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private String count(PaymentType paymentType, String result) {
+        meterRegistry.counter("payment.webhook.received", "pg", paymentType.name(), "result", result).increment();
+        return result;
+    }
+
+    /**
+     * 웹훅 경로/설정 키에 쓰는 PG 이름. HTTP 연결 풀 이름과 같다.
+     */
+    static String providerOf(PaymentType paymentType) {
+        return switch (paymentType) {
+            case KAKAO_PAY -> "kakaopay";
+            case NAVER_PAY -> "naverpay";
+            case TOSS_PAY -> "tosspay";
+        };
+    }
+
+    static PaymentType paymentTypeOf(String provider) {
+        for (PaymentType type : PaymentType.values()) {
+            if (providerOf(type).equals(provider)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 PG입니다: " + provider);
+    }
+}
@@ -0,0 +1,17 @@
+package com.kkh.shop_1.domain.order.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ *
+ * 웹훅 서명이 없거나 맞지 않을 때, 또는 서명 시각이 허용 범위를 벗어났을 때(재전송 공격) 던진다. 401로 응답한다.
+ *
+ */
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class PaymentWebhookSignatureException extends SecurityException {
+
+    public PaymentWebhookSignatureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,96 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ *
+ * PG 웹훅 서명 검증.
+ *
+ * 서명 = Base64(HMAC-SHA256(PG별 비밀키, "{타임스탬프}.{원본 본문}")), 타임스탬프는 epoch 초.
+ * 본문을 다시 직렬화하지 않고 받은 바이트 그대로 검증하며, 비교는 상수 시간(MessageDigest.isEqual)으로 한다.
+ * 타임스탬프가 허용 범위(기본 5분)를 벗어나면 재전송으로 보고 거부한다.
+ * 비밀키(payment.webhook.{provider}.secret)가 없는 PG는 웹훅을 받지 않는다.
+ *
+ */
+@Component
+public class PaymentWebhookVerifier {
+
+    static final String ALGORITHM = "HmacSHA256";
+
+    private final Map<PaymentType, byte[]> secrets = new EnumMap<>(PaymentType.class);
+    private final Duration tolerance;
+    private final Clock clock;
+
+    public PaymentWebhookVerifier(Environment environment,
+                                  @Value("${payment.webhook.tolerance-seconds:300}") long toleranceSeconds) {
+        this(environment, Duration.ofSeconds(toleranceSeconds), Clock.systemUTC());
+    }
+
+    PaymentWebhookVerifier(Environment environment, Duration tolerance, Clock clock) {
+        for (PaymentType type : PaymentType.values()) {
+            String secret = environment.getProperty("payment.webhook." + PaymentWebhookService.providerOf(type) + ".secret");
+            if (secret != null && !secret.isBlank()) {
+                secrets.put(type, secret.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        this.tolerance = tolerance;
+        this.clock = clock;
+    }
+
+    public void verify(PaymentType paymentType, String timestamp, String signature, byte[] body) {
+        byte[] secret = secrets.get(paymentType);
+        if (secret == null) {
+            throw new PaymentWebhookSignatureException("웹훅이 설정되지 않은 PG입니다. pg=" + paymentType);
+        }
+        if (timestamp == null || signature == null) {
+            throw new PaymentWebhookSignatureException("웹훅 서명 헤더가 없습니다.");
+        }
+
+        long signedAt;
+        try {
+            signedAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            throw new PaymentWebhookSignatureException("웹훅 타임스탬프 형식이 잘못되었습니다.");
+        }
+        if (Math.abs(clock.instant().getEpochSecond() - signedAt) > tolerance.toSeconds()) {
+            throw new PaymentWebhookSignatureException("웹훅 타임스탬프가 허용 범위를 벗어났습니다.");
+        }
+
+        byte[] expected = sign(secret, timestamp, body);
+        byte[] actual;
+        try {
+            actual = Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            throw new PaymentWebhookSignatureException("웹훅 서명 형식이 잘못되었습니다.");
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new PaymentWebhookSignatureException("웹훅 서명이 일치하지 않습니다.");
+        }
+    }
+
+    static byte[] sign(byte[] secret, String timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '.');
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("웹훅 서명 계산 실패", e);
+        }
+    }
+}
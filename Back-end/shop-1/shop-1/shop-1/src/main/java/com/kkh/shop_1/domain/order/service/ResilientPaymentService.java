@@ -0,0 +1,140 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.dto.PaymentApproveRequestDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentApproveResponseDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentReadyRequestDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentReadyResponseDTO;
+import com.kkh.shop_1.domain.order.entity.Order;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ *
+ * PaymentService 구현체를 서킷 브레이커 + 벌크헤드(동시 호출 수 제한)로 감싼다. PaymentServiceFactory가 PG사마다 하나씩 만든다.
+ *
+ * - ready/approve: 서킷이 열려 있거나 동시 호출이 한도를 넘으면 PG를 호출하지 않고 PaymentGatewayUnavailableException을 던진다.
+ * - inquire: 같은 경우 UNKNOWN을 반환한다. (정합성 배치가 다음 주기에 다시 조회)
+ * - cancel: 보상 트랜잭션이므로 서킷/벌크헤드로 막지 않고 그대로 보낸다.
+ *
+ * 실패로 세는 것은 연결/타임아웃 오류와 5xx뿐이다. 카드 거절, 금액 불일치 같은 4xx 업무 오류는 PG가 정상 응답한 것이므로 성공으로 본다.
+ * 각 구현체의 inquire()는 오류를 UNKNOWN으로 삼키므로, 조회는 느린 호출만 실패로 잡힌다.
+ * Error 등 예상 못 한 이유로 끝난 호출도 실패로 알려, HALF_OPEN 시험 호출 자리가 돌아오지 않는 일이 없게 한다.
+ * 벌크헤드 대기 중 인터럽트되면 인터럽트 상태를 되살리고, 벌크헤드 포화와 구분해 "interrupted"로 센다.
+ *
+ */
+@Slf4j
+class ResilientPaymentService implements PaymentService {
+
+    private final PaymentService delegate;
+    private final PaymentCircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long bulkheadMaxWaitMillis;
+    private final MeterRegistry meterRegistry;
+
+    ResilientPaymentService(PaymentService delegate,
+                            PaymentCircuitBreaker circuitBreaker,
+                            Semaphore bulkhead,
+                            long bulkheadMaxWaitMillis,
+                            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.bulkheadMaxWaitMillis = bulkheadMaxWaitMillis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public PaymentType getPaymentType() {
+        return delegate.getPaymentType();
+    }
+
+    @Override
+    public PaymentReadyResponseDTO ready(PaymentReadyRequestDTO request) {
+        return guarded("ready", () -> delegate.ready(request), this::unavailable);
+    }
+
+    @Override
+    public PaymentApproveResponseDTO approve(PaymentApproveRequestDTO request) {
+        return guarded("approve", () -> delegate.approve(request), this::unavailable);
+    }
+
+    @Override
+    public PaymentStatus inquire(Order order) {
+        return guarded("inquire", () -> delegate.inquire(order), () -> PaymentStatus.UNKNOWN);
+    }
+
+    @Override
+    public void cancel(String paymentKey, String cancelReason, Integer cancelAmount) {
+        delegate.cancel(paymentKey, cancelReason, cancelAmount);
+    }
+
+    PaymentCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private <T> T guarded(String operation, Supplier<T> call, Supplier<T> fallback) {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadMaxWaitMillis, TimeUnit.MILLISECONDS)) {
+                return reject(operation, "bulkhead", fallback);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return reject(operation, "interrupted", fallback);
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return reject(operation, "open", fallback);
+            }
+
+            long start = System.nanoTime();
+            // 결과를 알리기 전에 빠져나가는 경로(Error 등)가 없도록 finally에서 한 번만 알린다.
+            boolean gatewayFailure = true;
+            try {
+                T result = call.get();
+                gatewayFailure = false;
+                return result;
+            } catch (RuntimeException e) {
+                gatewayFailure = isGatewayFailure(e);
+                throw e;
+            } finally {
+                circuitBreaker.onResult(System.nanoTime() - start, gatewayFailure);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> T reject(String operation, String reason, Supplier<T> fallback) {
+        meterRegistry.counter("payment.calls.rejected",
+                "pg", getPaymentType().name(), "operation", operation, "reason", reason).increment();
+        log.warn("PG 호출 차단({}). pg={}, operation={}", reason, getPaymentType(), operation);
+        return fallback.get();
+    }
+
+    private <T> T unavailable() {
+        throw new PaymentGatewayUnavailableException(getPaymentType());
+    }
+
+    // 구현체가 RuntimeException으로 한 번 감싸 던지므로 원인을 따라 내려가며 확인한다.
+    static boolean isGatewayFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResourceAccessException
+                    || cause instanceof HttpServerErrorException
+                    || cause instanceof IOException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
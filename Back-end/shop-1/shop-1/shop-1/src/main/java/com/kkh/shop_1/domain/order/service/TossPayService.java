@@ -1,10 +1,12 @@
 package com.kkh.shop_1.domain.order.service;
 
+import com.kkh.shop_1.common.config.RestTemplateConfig;
 import com.kkh.shop_1.domain.order.dto.*;
 import com.kkh.shop_1.domain.order.entity.Order;
 import com.kkh.shop_1.domain.order.entity.PaymentType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -24,8 +26,19 @@ public class TossPayService implements PaymentService {
     @Value("${toss.secret}")
     private String secretKey;
 
+    @Qualifier(RestTemplateConfig.TOSS_PAY)
     private final RestTemplate restTemplate;
-    private static final String CONFIRM_URL = "https://api.tosspayments.com/v1/payments/confirm";
+
+    // RestTemplateConfig도 이 값으로 연결 풀 예열 주소와 operation 태그를 만든다.
+    public static final String DEFAULT_API_BASE_URL = "https://api.tosspayments.com";
+    public static final String CONFIRM_PATH = "/v1/payments/confirm";
+    public static final String ORDERS_PATH = "/v1/payments/orders/";
+    public static final String PAYMENTS_PATH = "/v1/payments/";
+    public static final String CANCEL_SUFFIX = "/cancel";
+
+    // pg-simulator 프로필에서는 로컬 PG 시뮬레이터 주소로 바뀐다.
+    @Value("${toss.api-base-url:" + DEFAULT_API_BASE_URL + "}")
+    private String apiBaseUrl = DEFAULT_API_BASE_URL;
 
     @Override
     public PaymentType getPaymentType() {
@@ -57,7 +70,7 @@ public class TossPayService implements PaymentService {
         log.info("[토스 승인 요청] orderId={}, amount={}, paymentKey={}", req.getTid(), req.getAmount(), req.getPaymentKey());
 
         try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(CONFIRM_URL, new HttpEntity<>(params, headers), Map.class);
+            ResponseEntity<Map> response = restTemplate.postForEntity(apiBaseUrl + CONFIRM_PATH, new HttpEntity<>(params, headers), Map.class);
             return PaymentApproveResponseDTO.builder().success(true).build();
 
         } catch (HttpClientErrorException e) {
@@ -84,7 +97,7 @@ public class TossPayService implements PaymentService {
      */
     @Override
     public PaymentStatus inquire(Order order) {
-        String url = "https://api.tosspayments.com/v1/payments/orders/" + order.getTid();
+        String url = apiBaseUrl + ORDERS_PATH + order.getTid();
 
         HttpHeaders headers = new HttpHeaders();
         String encodedAuth = Base64.getEncoder().encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
@@ -127,7 +140,7 @@ public class TossPayService implements PaymentService {
             params.put("cancelAmount", cancelAmount);
         }
 
-        String cancelUrl = "https://api.tosspayments.com/v1/payments/" + paymentKey + "/cancel";
+        String cancelUrl = apiBaseUrl + PAYMENTS_PATH + paymentKey + CANCEL_SUFFIX;
 
         try {
             restTemplate.postForEntity(cancelUrl, new HttpEntity<>(params, headers), Map.class);
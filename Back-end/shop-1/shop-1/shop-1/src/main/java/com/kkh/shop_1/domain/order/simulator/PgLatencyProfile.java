@@ -0,0 +1,34 @@
+package com.kkh.shop_1.domain.order.simulator;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *
+ * 시뮬레이터 PG 한 곳의 응답 특성.
+ *
+ * 응답 시간은 로그정규분포로 뽑는다. 중앙값(medianMs)과 p99(p99Ms)를 주면 그에 맞는 분포가 정해지며,
+ * 실제 PG처럼 대부분은 빠르고 가끔 길게 늘어지는 꼬리가 생긴다.
+ * errorRate 비율만큼은 500을, timeoutRate 비율만큼은 timeoutMs만큼 기다린 뒤 읽기 타임아웃을 낸다.
+ *
+ */
+public record PgLatencyProfile(long medianMs, long p99Ms, double errorRate, double timeoutRate, long timeoutMs) {
+
+    private static final double Z_99 = 2.326;
+
+    public long sampleLatencyMs() {
+        if (medianMs <= 0) {
+            return 0L;
+        }
+        double mu = Math.log(medianMs);
+        double sigma = p99Ms > medianMs ? (Math.log(p99Ms) - mu) / Z_99 : 0.0;
+        return Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    public boolean shouldTimeout() {
+        return timeoutRate > 0 && ThreadLocalRandom.current().nextDouble() < timeoutRate;
+    }
+
+    public boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+}
@@ -0,0 +1,319 @@
+package com.kkh.shop_1.domain.order.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * 카카오페이/네이버페이/토스 API를 흉내 내는 로컬 PG 시뮬레이터. (pg-simulator 프로필에서만 뜬다)
+ *
+ * 기동 시 localhost의 pg.simulator.port(기본 18080)에 HTTP 서버를 띄우고, 같은 프로필의 설정
+ * (application-pg-simulator.properties)이 각 PaymentService의 API 주소를 http://localhost:{port}/{provider}로 바꾼다.
+ * 그래서 요청은 실제와 똑같이 provider별 연결 풀(PooledRestTemplateFactory)을 거쳐 소켓으로 나가고,
+ * URL/요청 형식/응답 해석, 서킷 브레이커, 메트릭 인터셉터, 연결 재사용/풀 대기까지 부하 테스트에 그대로 드러난다.
+ *
+ * - 구현한 엔드포인트: 우리 PaymentService들이 실제로 호출하는 ready(reserve)/approve(confirm)/inquire/cancel
+ * - 결제 상태(READY -> PAID -> CANCELED)를 tid별로 기억하므로 승인 후 조회/취소 결과가 일관된다.
+ * - 응답 시간/오류율/타임아웃은 pg.simulator.{provider}.* (없으면 pg.simulator.*)로 조절한다. (PgLatencyProfile 참고)
+ *   타임아웃은 timeout-ms만큼 붙잡고 있다가 504로 응답하므로, 클라이언트 읽기 타임아웃이 더 짧으면 실제처럼 타임아웃이 난다.
+ * - 소셜 로그인(kakao-auth, naver-auth)은 흉내 내지 않는다.
+ *
+ */
+@Slf4j
+@Component
+@Profile("pg-simulator")
+public class PgSimulator {
+
+    static final List<String> PROVIDERS = List.of("kakaopay", "naverpay", "tosspay");
+
+    enum PaymentState {
+        READY, PAID, CANCELED
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final int port;
+    private final int threads;
+    private final Map<String, PgLatencyProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<String, PaymentState> payments = new ConcurrentHashMap<>();
+    private final Map<String, String> tossOrderIdByPaymentKey = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @Autowired
+    public PgSimulator(ObjectMapper objectMapper,
+                       Environment environment,
+                       @Value("${pg.simulator.port:18080}") int port,
+                       @Value("${pg.simulator.threads:64}") int threads) {
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.port = port;
+        this.threads = threads;
+    }
+
+    /**
+     * 테스트용. 빈 포트를 잡아 띄운다. (baseUrl()로 주소를 얻는다)
+     */
+    PgSimulator(ObjectMapper objectMapper, Environment environment) {
+        this(objectMapper, environment, 0, 8);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        AtomicInteger threadSeq = new AtomicInteger();
+        serverExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pg-simulator-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), threads);
+        for (String provider : PROVIDERS) {
+            server.createContext("/" + provider, exchange -> serve(provider, exchange));
+        }
+        server.setExecutor(serverExecutor);
+        server.start();
+        log.warn("로컬 PG 시뮬레이터가 응답합니다. address={}", server.getAddress());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (serverExecutor != null) {
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * provider의 API 주소. PaymentService의 {provider}.api-base-url 자리에 들어간다.
+     */
+    public String baseUrl(String provider) {
+        return "http://localhost:" + server.getAddress().getPort() + "/" + provider;
+    }
+
+    public PgLatencyProfile profile(String provider) {
+        return profiles.computeIfAbsent(provider, p -> new PgLatencyProfile(
+                property(p, "median-ms", Long.class, 80L),
+                property(p, "p99-ms", Long.class, 400L),
+                property(p, "error-rate", Double.class, 0.0),
+                property(p, "timeout-rate", Double.class, 0.0),
+                property(p, "timeout-ms", Long.class, 5000L)));
+    }
+
+    /**
+     * 부하 테스트 중 응답 특성을 바꿀 때 쓴다. (예: 특정 PG 장애 주입)
+     */
+    public void setProfile(String provider, PgLatencyProfile profile) {
+        profiles.put(provider, profile);
+    }
+
+    public void reset() {
+        payments.clear();
+        tossOrderIdByPaymentKey.clear();
+    }
+
+    private <T> T property(String provider, String name, Class<T> type, T defaultValue) {
+        T common = environment.getProperty("pg.simulator." + name, type, defaultValue);
+        return environment.getProperty("pg.simulator." + provider + "." + name, type, common);
+    }
+
+    private void serve(String provider, HttpExchange exchange) throws IOException {
+        try {
+            // 연결 풀 예열(HEAD)은 본문 없이 응답만 한다.
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(HttpStatus.OK.value(), -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath().substring(provider.length() + 1);
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            Response response = handle(provider, HttpMethod.valueOf(exchange.getRequestMethod()), path, body);
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(response.status().value(), response.body().length);
+            exchange.getResponseBody().write(response.body());
+        } catch (Exception e) {
+            log.warn("PG 시뮬레이터 응답 실패. provider={}, uri={}", provider, exchange.getRequestURI(), e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    Response handle(String provider, HttpMethod method, String path, byte[] body) throws IOException {
+        PgLatencyProfile profile = profile(provider);
+        if (profile.shouldTimeout()) {
+            sleep(profile.timeoutMs());
+            return Response.json(HttpStatus.GATEWAY_TIMEOUT, Map.of("code", "SIMULATED_TIMEOUT", "message", "simulated timeout"));
+        }
+        sleep(profile.sampleLatencyMs());
+        if (profile.shouldFail()) {
+            return Response.json(HttpStatus.INTERNAL_SERVER_ERROR, Map.of("code", "SIMULATED_ERROR", "message", "simulated failure"));
+        }
+
+        JsonNode request = body.length > 0 ? objectMapper.readTree(body) : objectMapper.createObjectNode();
+        return switch (provider) {
+            case "kakaopay" -> kakaoPay(path, request);
+            case "naverpay" -> naverPay(path, request);
+            case "tosspay" -> tossPay(method, path, request);
+            default -> Response.json(HttpStatus.NOT_FOUND, Map.of("message", "not simulated: " + provider));
+        };
+    }
+
+    private Response kakaoPay(String path, JsonNode request) {
+        String tid = request.path("tid").asText(null);
+        if (path.endsWith("/payment/ready")) {
+            String newTid = "T" + sequence.incrementAndGet();
+            payments.put(key("kakaopay", newTid), PaymentState.READY);
+            return Response.json(HttpStatus.OK, Map.of(
+                    "tid", newTid,
+                    "next_redirect_pc_url", "http://pg-simulator/kakaopay/" + newTid,
+                    "next_redirect_mobile_url", "http://pg-simulator/kakaopay/m/" + newTid));
+        }
+
+        PaymentState state = tid != null ? payments.get(key("kakaopay", tid)) : null;
+        if (state == null) {
+            return Response.json(HttpStatus.BAD_REQUEST, Map.of("error_code", -780, "error_message", "invalid tid"));
+        }
+        if (path.endsWith("/payment/approve")) {
+            if (state == PaymentState.CANCELED) {
+                return Response.json(HttpStatus.BAD_REQUEST, Map.of("error_code", -702, "error_message", "already canceled"));
+            }
+            payments.put(key("kakaopay", tid), PaymentState.PAID);
+            return Response.json(HttpStatus.OK, Map.of("tid", tid, "aid", "A" + sequence.incrementAndGet()));
+        }
+        if (path.endsWith("/payment/order")) {
+            String status = switch (state) {
+                case READY -> "READY";
+                case PAID -> "SUCCESS_PAYMENT";
+                case CANCELED -> "CANCEL_PAYMENT";
+            };
+            return Response.json(HttpStatus.OK, Map.of("tid", tid, "status", status));
+        }
+        if (path.endsWith("/payment/cancel")) {
+            payments.put(key("kakaopay", tid), PaymentState.CANCELED);
+            return Response.json(HttpStatus.OK, Map.of("tid", tid, "status", "CANCEL_PAYMENT"));
+        }
+        return Response.json(HttpStatus.NOT_FOUND, Map.of("error_message", "not simulated: " + path));
+    }
+
+    private Response naverPay(String path, JsonNode request) {
+        if (path.endsWith("/payments/v2/reserve")) {
+            String reserveId = "R" + sequence.incrementAndGet();
+            payments.put(key("naverpay", reserveId), PaymentState.READY);
+            return Response.json(HttpStatus.OK, Map.of("code", "Success", "body", Map.of("reserveId", reserveId)));
+        }
+
+        String paymentId = request.path("paymentId").asText(null);
+        PaymentState state = paymentId != null ? payments.get(key("naverpay", paymentId)) : null;
+        if (state == null) {
+            return Response.json(HttpStatus.OK, Map.of("code", "InvalidPaymentId", "message", "invalid paymentId",
+                    "body", Map.of("list", List.of())));
+        }
+        if (path.endsWith("/payments/v2/apply/payment")) {
+            payments.put(key("naverpay", paymentId), PaymentState.PAID);
+            return Response.json(HttpStatus.OK, Map.of("code", "Success", "body", Map.of(
+                    "paymentId", paymentId, "detail", Map.of("admissionState", "SUCCESS"))));
+        }
+        if (path.endsWith("/payments/v2/list/history")) {
+            String admissionState = switch (state) {
+                case READY -> "FAIL";
+                case PAID -> "SUCCESS";
+                case CANCELED -> "CANCEL";
+            };
+            return Response.json(HttpStatus.OK, Map.of("code", "Success", "body", Map.of(
+                    "list", List.of(Map.of("paymentId", paymentId, "admissionState", admissionState)))));
+        }
+        if (path.endsWith("/payments/v1/cancel")) {
+            payments.put(key("naverpay", paymentId), PaymentState.CANCELED);
+            return Response.json(HttpStatus.OK, Map.of("code", "Success", "body", Map.of("paymentId", paymentId)));
+        }
+        return Response.json(HttpStatus.NOT_FOUND, Map.of("code", "NotFound", "message", "not simulated: " + path));
+    }
+
+    private Response tossPay(HttpMethod method, String path, JsonNode request) {
+        if (path.endsWith("/payments/confirm")) {
+            String orderId = request.path("orderId").asText();
+            String paymentKey = request.path("paymentKey").asText();
+            PaymentState previous = payments.putIfAbsent(key("tosspay", orderId), PaymentState.PAID);
+            if (previous != null) {
+                return Response.json(HttpStatus.BAD_REQUEST, Map.of("code", "DUPLICATED_ORDER_ID", "message", "이미 승인된 주문입니다."));
+            }
+            tossOrderIdByPaymentKey.put(paymentKey, orderId);
+            return Response.json(HttpStatus.OK, Map.of("orderId", orderId, "paymentKey", paymentKey, "status", "DONE"));
+        }
+        if (method == HttpMethod.GET && path.contains("/payments/orders/")) {
+            String orderId = path.substring(path.lastIndexOf('/') + 1);
+            PaymentState state = payments.get(key("tosspay", orderId));
+            if (state == null) {
+                return Response.json(HttpStatus.NOT_FOUND, Map.of("code", "NOT_FOUND_PAYMENT", "message", "존재하지 않는 결제입니다."));
+            }
+            return Response.json(HttpStatus.OK, Map.of("orderId", orderId, "status", state == PaymentState.PAID ? "DONE" : "CANCELED"));
+        }
+        if (path.endsWith("/cancel")) {
+            String paymentKey = path.substring("/v1/payments/".length(), path.length() - "/cancel".length());
+            String orderId = tossOrderIdByPaymentKey.get(paymentKey);
+            if (orderId == null || payments.replace(key("tosspay", orderId), PaymentState.CANCELED) != PaymentState.PAID) {
+                return Response.json(HttpStatus.BAD_REQUEST, Map.of("code", "NOT_CANCELABLE_PAYMENT", "message", "취소할 수 없는 결제입니다."));
+            }
+            return Response.json(HttpStatus.OK, Map.of("paymentKey", paymentKey, "status", "CANCELED"));
+        }
+        return Response.json(HttpStatus.NOT_FOUND, Map.of("code", "NOT_FOUND", "message", "not simulated: " + path));
+    }
+
+    private static String key(String provider, String id) {
+        return provider + ":" + id;
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("simulated request interrupted");
+        }
+    }
+
+    record Response(HttpStatus status, byte[] body) {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        static Response json(HttpStatus status, Map<String, ?> body) {
+            try {
+                return new Response(status, MAPPER.writeValueAsBytes(new LinkedHashMap<>(body)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -14,14 +15,23 @@ import java.time.LocalDateTime;
  * 트랜잭션 밖에서 처리해야 하는 부수 작업(알림 발송 등)을,
  * 상태 변경과 같은 트랜잭션으로 안전하게 기록해두기 위한 아웃박스 이벤트.
  *
+ * 발행 결과(PUBLISHED, 재시도 예약, FAILED 확정)는 엔티티를 읽지 않고 OutboxEventRepository의 일괄 UPDATE
+ * (markPublished / markPublishFailed)로만 반영한다. 선점 토큰(claimed_by)이 같은 행만 바뀐다.
+ *
  */
 @Entity
-@Table(name = "outbox_event")
+@Table(name = "outbox_event", indexes = {
+        // 릴레이의 배치 선점(status = PENDING AND next_attempt_at <= now)용. 재시도 대기 중인 행은 범위 밖이라 읽지도 않는다.
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OutboxEvent {
 
-    private static final int MAX_RETRY_COUNT = 5;
+    public static final int MAX_RETRY_COUNT = 5;
+    // 커밋 직후 즉시 발행(AFTER_COMMIT)이 처리할 시간. 이 시간이 지나도 PENDING이면 폴링 릴레이가 가져간다.
+    public static final Duration FIRST_RELAY_DELAY = Duration.ofMinutes(3);
+    public static final int LAST_ERROR_LENGTH = 500;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -48,12 +58,26 @@ public class OutboxEvent {
 
     private LocalDateTime publishedAt;
 
+    // 이 이벤트를 선점한 릴레이 작업자(노드 + 배치). 결과를 반영하면 비운다.
+    @Column(length = 100)
+    private String claimedBy;
+
+    // 릴레이가 이 이벤트를 가져갈 수 있는 가장 이른 시각.
+    // 생성 시에는 즉시 발행 유예 시간, 선점 중에는 선점 만료 시각, 실패 후에는 백오프가 적용된 다음 재시도 시각이다.
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 마지막 발행 실패 원인. FAILED(dead letter)로 확정된 이벤트를 확인할 때 쓴다.
+    @Column(length = LAST_ERROR_LENGTH)
+    private String lastError;
+
     @Builder(access = AccessLevel.PRIVATE)
     private OutboxEvent(String eventType, String payload) {
         this.eventType = eventType;
         this.payload = payload;
         this.status = OutboxStatus.PENDING;
         this.retryCount = 0;
+        this.nextAttemptAt = LocalDateTime.now().plus(FIRST_RELAY_DELAY);
     }
 
     public static OutboxEvent create(String eventType, String payload) {
@@ -66,19 +90,4 @@ public class OutboxEvent {
     public boolean isPublished() {
         return this.status == OutboxStatus.PUBLISHED;
     }
-
-    public void markPublished() {
-        this.status = OutboxStatus.PUBLISHED;
-        this.publishedAt = LocalDateTime.now();
-    }
-
-    /**
-     * 발행 실패 처리. 최대 재시도 횟수를 넘기면 더 이상 재처리 대상이 되지 않도록 FAILED로 확정한다.
-     */
-    public void markPublishFailed() {
-        this.retryCount++;
-        if (this.retryCount >= MAX_RETRY_COUNT) {
-            this.status = OutboxStatus.FAILED;
-        }
-    }
 }
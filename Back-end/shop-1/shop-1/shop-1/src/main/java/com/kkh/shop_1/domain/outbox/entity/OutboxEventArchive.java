@@ -0,0 +1,49 @@
+package com.kkh.shop_1.domain.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 보존 기간이 지나 outbox_event에서 옮겨진 발행 완료 이벤트 보관 테이블. (outbox.retention.archive=true일 때만 쌓인다)
+ * 행은 OutboxRetentionScheduler가 INSERT ... SELECT로 그대로 복사하므로 애플리케이션에서 직접 만들지 않는다.
+ *
+ */
+@Entity
+@Table(name = "outbox_event_archive", indexes = {
+        @Index(name = "idx_outbox_archive_created", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEventArchive {
+
+    @Id
+    @Column(name = "outbox_event_id")
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int retryCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
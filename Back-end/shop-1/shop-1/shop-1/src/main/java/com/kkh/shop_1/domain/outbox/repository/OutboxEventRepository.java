@@ -3,11 +3,105 @@ package com.kkh.shop_1.domain.outbox.repository;
 import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
 import com.kkh.shop_1.domain.outbox.entity.OutboxStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
 
-    List<OutboxEvent> findByStatusAndCreatedAtBefore(OutboxStatus status, LocalDateTime threshold);
+    /**
+     * 릴레이가 가져갈 PENDING 이벤트 id를 행 잠금과 함께 조회한다. (status, next_attempt_at) 인덱스 범위만 읽는다.
+     * SKIP LOCKED라 다른 작업자(다른 노드 포함)가 잠근 행은 기다리지 않고 건너뛰므로, 여러 작업자가 서로 다른 배치를 나눠 가진다.
+     * 잠금은 선점(claim) 트랜잭션이 끝나면 풀리고, 그 뒤로는 선점 만료 시각으로 미룬 next_attempt_at이 중복 선점을 막는다.
+     */
+    @Query(value = "SELECT outbox_event_id FROM outbox_event " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIdsForUpdate(@Param("now") LocalDateTime now,
+                                         @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = :owner, e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 커밋 직후 즉시 발행용 단건 선점. 아직 한 번도 시도되지 않은 이벤트만 가져가므로,
+     * 이미 발행됐거나 릴레이가 선점/재시도 중인 이벤트면 0을 반환한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = :owner, e.nextAttemptAt = :leaseUntil " +
+            "WHERE e.id = :id AND e.status = :status AND e.claimedBy IS NULL AND e.retryCount = 0")
+    int claimById(@Param("id") Long id,
+                  @Param("status") OutboxStatus status,
+                  @Param("owner") String owner,
+                  @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 배치 발행 성공분을 한 번의 UPDATE로 반영한다. 내가 선점한 행만 바꾼다. (선점이 만료돼 다른 작업자가 가져간 행은 제외)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.publishedAt = :now, e.claimedBy = null " +
+            "WHERE e.id IN :ids AND e.claimedBy = :owner")
+    int markPublished(@Param("ids") Collection<Long> ids,
+                      @Param("owner") String owner,
+                      @Param("status") OutboxStatus status,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * 발행 실패분을 반영한다. 재시도 횟수를 올리고 다음 재시도 시각을 미루며, 최대 횟수에 도달하면 FAILED(dead letter)로 확정한다.
+     * 같은 재시도 횟수/원인으로 실패한 이벤트는 한 번의 UPDATE로 묶는다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET " +
+            "e.status = CASE WHEN e.retryCount + 1 >= :maxRetry THEN :failed ELSE e.status END, " +
+            "e.retryCount = e.retryCount + 1, e.claimedBy = null, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError " +
+            "WHERE e.id IN :ids AND e.claimedBy = :owner")
+    int markPublishFailed(@Param("ids") Collection<Long> ids,
+                          @Param("owner") String owner,
+                          @Param("maxRetry") int maxRetry,
+                          @Param("failed") OutboxStatus failed,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    // ---- 보존 기간 정리(OutboxRetentionScheduler)용. 모두 PK 범위로만 읽어 보조 인덱스 없이도 오래된 앞부분만 훑는다. ----
+
+    /**
+     * cutoff 이후에 만들어진 첫 이벤트 id. id는 생성 순서대로 증가하므로, 이보다 작은 id가 정리 후보 범위다.
+     */
+    @Query(value = "SELECT outbox_event_id FROM outbox_event WHERE created_at >= :cutoff " +
+            "ORDER BY outbox_event_id LIMIT 1", nativeQuery = true)
+    Long findFirstIdCreatedSince(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Long findMaxId();
+
+    @Query(value = "SELECT outbox_event_id FROM outbox_event " +
+            "WHERE outbox_event_id > :afterId AND outbox_event_id < :beforeId AND status = 'PUBLISHED' " +
+            "ORDER BY outbox_event_id LIMIT :limit", nativeQuery = true)
+    List<Long> findPublishedIdsInRange(@Param("afterId") long afterId,
+                                       @Param("beforeId") long beforeId,
+                                       @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO outbox_event_archive " +
+            "(outbox_event_id, event_type, payload, status, retry_count, created_at, published_at, archived_at) " +
+            "SELECT outbox_event_id, event_type, payload, status, retry_count, created_at, published_at, :now " +
+            "FROM outbox_event WHERE outbox_event_id IN :ids", nativeQuery = true)
+    int archiveByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,14 +1,25 @@
 package com.kkh.shop_1.domain.outbox.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kkh.shop_1.common.mail.MailMessage;
+import com.kkh.shop_1.common.mail.MailTemplate;
+import com.kkh.shop_1.common.mail.SmtpMailDispatcher;
+import com.kkh.shop_1.domain.order.dto.OrderPaidEventPayload;
+import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
 import com.kkh.shop_1.domain.user.entity.User;
 import com.kkh.shop_1.domain.user.repository.UserRepository;
-import com.kkh.shop_1.domain.user.service.EmailService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  *
  * outbox 이벤트를 실제 이메일로 발송하는 구현체 (LoggingOutboxEventPublisher를 대체).
@@ -16,43 +27,125 @@ import org.springframework.stereotype.Component;
  * 다른 이벤트 타입/다른 채널(푸시, 알림톡 등)이 필요해지면 이 클래스를 분기하거나
  * OutboxEventPublisher 구현체를 이벤트 타입별로 나눠도 된다.
  *
+ * payload에는 개인정보를 두지 않으므로 수신자 이메일/이름은 발송 시점에 userId로 조회한다. (배치당 findAllById 한 번)
+ * 릴레이 배치는 SmtpMailDispatcher로 풀링된 SMTP 연결을 재사용해 한 번에 보낸다. 제목/본문 템플릿은 클래스 로딩 시 한 번만 컴파일한다.
+ *
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class EmailOutboxEventPublisher implements OutboxEventPublisher {
 
-    private final EmailService emailService;
+    private static final String ORDER_PAID = "ORDER_PAID";
+
+    private static final MailTemplate<OrderPaidMail> ORDER_PAID_SUBJECT = MailTemplate.text(
+            "[Shop1] 주문 #{{orderId}} 결제가 완료되었습니다",
+            Map.<String, Function<OrderPaidMail, ?>>of("orderId", mail -> mail.paid().getOrderId()));
+
+    private static final MailTemplate<OrderPaidMail> ORDER_PAID_CONTENT = MailTemplate.html(
+            "{{name}}님, 주문이 정상적으로 결제되었습니다.<br><br>주문번호: {{orderId}}<br>결제금액: {{amount}}원",
+            Map.<String, Function<OrderPaidMail, ?>>of(
+                    "name", mail -> mail.recipient().getNickname(),
+                    "orderId", mail -> mail.paid().getOrderId(),
+                    "amount", mail -> String.format("%,d", mail.paid().getTotalAmount())));
+
+    // 템플릿 렌더링 모델: payload + 발송 시점에 조회한 수신자
+    private record OrderPaidMail(OrderPaidEventPayload paid, User recipient) {
+    }
+
+    private final SmtpMailDispatcher mailDispatcher;
     private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
+    private final ObjectReader payloadReader;
 
-    @Override
+    public EmailOutboxEventPublisher(SmtpMailDispatcher mailDispatcher,
+                                     UserRepository userRepository,
+                                     ObjectMapper objectMapper) {
+        this.mailDispatcher = mailDispatcher;
+        this.userRepository = userRepository;
+        this.payloadReader = objectMapper.readerFor(OrderPaidEventPayload.class);
+    }
+
+    /**
+     * 이벤트 한 건의 알림 메일을 보낸다. 실패하면 예외를 던진다.
+     */
     public void publish(String eventType, String payload) {
-        if (!"ORDER_PAID".equals(eventType)) {
-            log.info("알림 대상이 아닌 이벤트 타입이라 건너뜁니다. eventType={}", eventType);
+        if (!ORDER_PAID.equals(eventType)) {
+            log.debug("알림 대상이 아닌 이벤트 타입이라 건너뜁니다. eventType={}", eventType);
             return;
         }
 
         try {
-            JsonNode node = objectMapper.readTree(payload);
-            Long userId = node.get("userId").asLong();
-            Long orderId = node.get("orderId").asLong();
-            int totalAmount = node.get("totalAmount").asInt();
-
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalStateException("알림 대상 사용자를 찾을 수 없습니다. userId=" + userId));
+            OrderPaidEventPayload paid = parse(payload);
+            User recipient = findRecipients(List.of(paid)).get(paid.getUserId());
+            if (recipient == null) {
+                throw new IllegalStateException("알림 대상 사용자를 찾을 수 없습니다. userId=" + paid.getUserId());
+            }
+            mailDispatcher.send(toMessage(new OrderPaidMail(paid, recipient)));
+            log.info("결제 완료 알림 이메일 발송 완료. orderId={}, userId={}", paid.getOrderId(), paid.getUserId());
+        } catch (Exception e) {
+            throw new RuntimeException("결제 완료 알림 이메일 발송 실패. payload=" + payload, e);
+        }
+    }
 
-            String subject = String.format("[Shop1] 주문 #%d 결제가 완료되었습니다", orderId);
-            String content = String.format(
-                    "%s님, 주문이 정상적으로 결제되었습니다.<br><br>주문번호: %d<br>결제금액: %,d원",
-                    user.getNickname(), orderId, totalAmount
-            );
+    @Override
+    public Map<Long, Exception> publishBatch(List<OutboxEvent> events) {
+        Map<Long, Exception> failures = new LinkedHashMap<>();
+        List<Long> eventIds = new ArrayList<>();
+        List<OrderPaidEventPayload> payloads = new ArrayList<>();
 
-            emailService.sendMail(user.getEmail(), subject, content);
-            log.info("결제 완료 알림 이메일 발송 완료. orderId={}, userId={}", orderId, userId);
+        for (OutboxEvent event : events) {
+            if (!ORDER_PAID.equals(event.getEventType())) {
+                continue;
+            }
+            try {
+                payloads.add(parse(event.getPayload()));
+                eventIds.add(event.getId());
+            } catch (Exception e) {
+                failures.put(event.getId(), e);
+            }
+        }
+        if (payloads.isEmpty()) {
+            return failures;
+        }
 
-        } catch (Exception e) {
-            throw new RuntimeException("결제 완료 알림 이메일 발송 실패. payload=" + payload, e);
+        Map<Long, User> recipients = findRecipients(payloads);
+        List<MailMessage> messages = new ArrayList<>();
+        List<Long> messageEventIds = new ArrayList<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            OrderPaidEventPayload paid = payloads.get(i);
+            User recipient = recipients.get(paid.getUserId());
+            if (recipient == null) {
+                failures.put(eventIds.get(i),
+                        new IllegalStateException("알림 대상 사용자를 찾을 수 없습니다. userId=" + paid.getUserId()));
+                continue;
+            }
+            messages.add(toMessage(new OrderPaidMail(paid, recipient)));
+            messageEventIds.add(eventIds.get(i));
         }
+
+        mailDispatcher.sendBatch(messages).forEach((index, cause) -> failures.put(messageEventIds.get(index), cause));
+        log.info("결제 완료 알림 이메일 배치 발송. 요청={}건, 실패={}건", messages.size(), failures.size());
+        return failures;
+    }
+
+    private OrderPaidEventPayload parse(String payload) throws IOException {
+        return payloadReader.readValue(payload);
+    }
+
+    /**
+     * 배치의 수신자를 사용자 테이블에서 한 번에 조회한다. (userId -> User)
+     */
+    private Map<Long, User> findRecipients(List<OrderPaidEventPayload> payloads) {
+        List<Long> userIds = payloads.stream()
+                .map(OrderPaidEventPayload::getUserId)
+                .distinct()
+                .toList();
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private MailMessage toMessage(OrderPaidMail mail) {
+        return new MailMessage(mail.recipient().getEmail(),
+                ORDER_PAID_SUBJECT.render(mail),
+                ORDER_PAID_CONTENT.render(mail));
     }
 }
@@ -1,27 +1,87 @@
 package com.kkh.shop_1.domain.outbox.service;
 
 import com.kkh.shop_1.domain.outbox.event.OutboxEventCreatedEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  *
  * 트랜잭션 커밋 직후 outbox 이벤트를 즉시 발행 시도한다. (실패하거나 유실되면 OutboxPollingScheduler가 재처리)
  *
+ * 발행(선점 + 조회 모델 투영 + 스트림 추가 + 메일)은 요청 스레드가 아니라 전용 작업자(유한 큐)에서 돈다.
+ * 큐가 가득 차면 버리고 폴링 릴레이에 맡긴다. (이벤트는 이미 커밋돼 있으므로 유실되지 않는다)
+ *
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OutboxEventListener {
 
     private final OutboxEventService outboxEventService;
+    private final Executor dispatchExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public OutboxEventListener(OutboxEventService outboxEventService,
+                               MeterRegistry meterRegistry,
+                               @Value("${outbox.dispatch.threads:4}") int threads,
+                               @Value("${outbox.dispatch.queue-capacity:1000}") int queueCapacity) {
+        this(outboxEventService, newDispatchExecutor(threads, queueCapacity), meterRegistry);
+    }
+
+    OutboxEventListener(OutboxEventService outboxEventService, Executor dispatchExecutor, MeterRegistry meterRegistry) {
+        this.outboxEventService = outboxEventService;
+        this.dispatchExecutor = dispatchExecutor;
+        this.meterRegistry = meterRegistry;
+    }
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void onOutboxEventCreated(OutboxEventCreatedEvent event) {
-        log.info("트랜잭션 커밋 완료, Outbox 이벤트 즉시 발행 시도. outboxEventId={}", event.getOutboxEventId());
-        outboxEventService.tryPublish(event.getOutboxEventId());
+        Long outboxEventId = event.getOutboxEventId();
+        try {
+            dispatchExecutor.execute(() -> publish(outboxEventId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Outbox 즉시 발행 큐가 가득 찼습니다. 폴링으로 처리합니다. outboxEventId={}", outboxEventId);
+            meterRegistry.counter("outbox.dispatch.rejected").increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 남은 작업은 폴링 릴레이가 이어받는다.
+        if (dispatchExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void publish(Long outboxEventId) {
+        try {
+            outboxEventService.tryPublish(outboxEventId);
+        } catch (Exception e) {
+            log.warn("Outbox 이벤트 즉시 발행 실패. 폴링으로 처리합니다. outboxEventId={}", outboxEventId, e);
+        }
+    }
+
+    private static ThreadPoolExecutor newDispatchExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadSeq = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatch-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
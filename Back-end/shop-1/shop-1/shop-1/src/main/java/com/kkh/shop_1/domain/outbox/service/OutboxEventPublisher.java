@@ -1,17 +1,27 @@
 package com.kkh.shop_1.domain.outbox.service;
 
+import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
+
+import java.util.List;
+import java.util.Map;
+
 /**
  *
  * 아웃박스 이벤트를 실제로 외부에 전달하는 방법을 추상화한 인터페이스.
- * 지금은 이메일 발송(EmailOutboxEventPublisher, ORDER_PAID만 처리)으로 구현되어 있고,
- * 다른 채널(푸시, 알림톡, 메시지 큐 등)이 필요해지면 이 인터페이스를 구현하는
- * @Component를 새로 만들어 교체하거나 이벤트 타입별로 분기하면 된다.
+ * 지금은 주문 조회 모델 갱신(OrderViewProjector), Redis Stream 추가(RedisStreamOutboxEventPublisher),
+ * 이메일 발송(EmailOutboxEventPublisher, ORDER_PAID만 처리)이 있고,
+ * OutboxEventService가 등록된 구현체 모두에 @Order 순서대로 전달한다. 뒤 구현체가 실패하면 재시도 때 앞 구현체도
+ * 다시 호출되므로, 앞에 두는 구현체는 멱등이어야 한다.
+ * 새 하위 소비자(검색 색인, 통계 등)는 여기 구현체를 늘리지 말고 OutboxStreamConsumer로 스트림을 읽게 한다.
+ * (릴레이 경로에 동기 호출이 늘지 않는다)
  *
  */
 public interface OutboxEventPublisher {
 
     /**
-     * @throws RuntimeException 발행 실패 시 던진다. (호출부에서 재시도/실패 카운트를 처리)
+     * 릴레이가 선점한 배치를 한 번에 전달한다. 실패한 이벤트 id와 원인을 반환하고, 나머지는 성공으로 본다.
+     * 이벤트 id는 하위 소비자의 중복 제거 키로 쓰이므로, 구현체는 id가 필요하면 OutboxEvent에서 직접 읽는다.
+     * 예외를 던지면 호출부가 배치 전체를 실패로 보고 재시도/실패 카운트를 처리한다.
      */
-    void publish(String eventType, String payload);
+    Map<Long, Exception> publishBatch(List<OutboxEvent> events);
 }
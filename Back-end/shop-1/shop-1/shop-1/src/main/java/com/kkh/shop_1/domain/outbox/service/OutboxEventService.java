@@ -2,10 +2,13 @@ package com.kkh.shop_1.domain.outbox.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.util.NodeIdentity;
+import com.kkh.shop_1.common.util.RetryBackoff;
 import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
 import com.kkh.shop_1.domain.outbox.entity.OutboxStatus;
 import com.kkh.shop_1.domain.outbox.event.OutboxEventCreatedEvent;
 import com.kkh.shop_1.domain.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
@@ -15,34 +18,43 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 public class OutboxEventService {
 
-    // 폴링 안전망이 재처리 대상으로 보는 기준: PENDING 상태로 이만큼 지난 이벤트 (즉시 발행이 아직 안 끝났을 수도 있는 시간은 건너뜀)
-    private static final Duration STALE_THRESHOLD = Duration.ofMinutes(3);
+    // 선점 후 이 시간 안에 결과를 반영하지 못하면(노드 종료 등) 다른 작업자가 다시 가져갈 수 있다.
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(2);
+    // 발행 실패 후 재시도 간격: 1분, 2분, 4분, ... 최대 30분 (지터 포함)
+    static final RetryBackoff RETRY_BACKOFF = new RetryBackoff(Duration.ofMinutes(1), Duration.ofMinutes(30));
 
     private final OutboxEventRepository outboxEventRepository;
-    private final OutboxEventPublisher outboxEventPublisher;
+    // 조회 모델 갱신(OrderViewProjector), 이메일 발송 등. @Order 순서대로 모두 성공해야 발행 완료로 본다.
+    private final List<OutboxEventPublisher> outboxEventPublishers;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     // 항상 새 물리 트랜잭션을 강제하는 용도(REQUIRES_NEW)로만 쓰는 짧은 트랜잭션 템플릿.
-    // tryPublish()에서 "DB 조회 -> 외부 I/O(트랜잭션 밖) -> DB 반영"을 명확히 분리하기 위해
+    // "선점(DB) -> 외부 I/O(트랜잭션 밖) -> 결과 반영(DB)"을 명확히 분리하기 위해
     // 선언적 @Transactional 대신 프로그래밍 방식 트랜잭션을 사용한다.
     private final TransactionTemplate requiresNewTx;
 
     public OutboxEventService(OutboxEventRepository outboxEventRepository,
-                               OutboxEventPublisher outboxEventPublisher,
+                               List<OutboxEventPublisher> outboxEventPublishers,
                                ApplicationEventPublisher applicationEventPublisher,
                                ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
                                PlatformTransactionManager transactionManager) {
         this.outboxEventRepository = outboxEventRepository;
-        this.outboxEventPublisher = outboxEventPublisher;
+        this.outboxEventPublishers = outboxEventPublishers;
         this.applicationEventPublisher = applicationEventPublisher;
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
         this.requiresNewTx = new TransactionTemplate(transactionManager);
         this.requiresNewTx.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
     }
@@ -69,11 +81,12 @@ public class OutboxEventService {
 
     /**
      *
-     * 단건 발행 시도. AFTER_COMMIT 즉시 발행과 폴링 스케줄러 양쪽에서 공통으로 사용한다.
+     * 커밋 직후(AFTER_COMMIT) 단건 즉시 발행 시도.
      *
-     * DB 조회 -> 외부 I/O(알림 발송, 트랜잭션 밖) -> DB 반영, 세 단계를 명확히 분리한다.
+     * 선점(DB) -> 외부 I/O(알림 발송, 트랜잭션 밖) -> 결과 반영(DB), 세 단계를 명확히 분리한다.
      * 본론(주문/결제)에서 얻은 교훈과 같다: 응답이 느릴 수 있는 외부 호출을 트랜잭션 안에 두면
      * 그동안 DB 커넥션이 반납되지 않는다. DB에 손대는 두 구간만 REQUIRES_NEW로 짧게 감싼다.
+     * 선점은 조건부 UPDATE 한 번이라, 이미 발행됐거나 릴레이가 가져간 이벤트는 여기서 건너뛴다.
      *
      * REQUIRES_NEW인 이유: AFTER_COMMIT 콜백 시점엔 원래 트랜잭션이 이미 물리적으로 커밋됐지만
      * TransactionSynchronizationManager의 동기화 컨텍스트는 afterCompletion 전까지 아직 살아있다.
@@ -84,52 +97,140 @@ public class OutboxEventService {
      *
      */
     public void tryPublish(Long outboxEventId) {
-        OutboxEvent snapshot = requiresNewTx.execute(status ->
-                outboxEventRepository.findById(outboxEventId).orElse(null));
+        String owner = NodeIdentity.nextClaimToken();
+        List<OutboxEvent> claimed = requiresNewTx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = outboxEventRepository.claimById(
+                    outboxEventId, OutboxStatus.PENDING, owner, now.plus(CLAIM_LEASE));
+            return updated > 0 ? outboxEventRepository.findAllById(List.of(outboxEventId)) : List.<OutboxEvent>of();
+        });
 
-        if (snapshot == null || snapshot.isPublished()) {
+        if (claimed == null || claimed.isEmpty()) {
             return;
         }
+        publishClaimed(owner, claimed);
+    }
 
-        boolean success;
-        try {
-            outboxEventPublisher.publish(snapshot.getEventType(), snapshot.getPayload());
-            success = true;
-        } catch (Exception e) {
-            log.error("Outbox 이벤트 발행 실패. id={}, eventType={}, retryCount={}",
-                    snapshot.getId(), snapshot.getEventType(), snapshot.getRetryCount() + 1, e);
-            success = false;
+    /**
+     *
+     * 폴링 릴레이 한 배치: 재시도 시각(next_attempt_at)이 된 PENDING 이벤트를 SKIP LOCKED로 최대 batchSize건 선점하고,
+     * 구현체별로 배치 단위로 전달한 뒤 결과를 일괄 UPDATE로 반영한다.
+     * 여러 작업자/노드가 동시에 호출해도 서로 다른 이벤트를 가져간다.
+     *
+     * @return 이번에 선점한 건수 (batchSize보다 작으면 더 가져갈 이벤트가 없다는 뜻)
+     *
+     */
+    public int relayStaleBatch(int batchSize) {
+        String owner = NodeIdentity.nextClaimToken();
+        List<OutboxEvent> claimed = requiresNewTx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxEventRepository.findClaimableIdsForUpdate(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.<OutboxEvent>of();
+            }
+            outboxEventRepository.claim(ids, owner, now.plus(CLAIM_LEASE));
+            return outboxEventRepository.findAllById(ids);
+        });
+
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
         }
+        publishClaimed(owner, claimed);
+        return claimed.size();
+    }
 
-        applyPublishResult(outboxEventId, success);
+    /**
+     * 아직 발행되지 않은 가장 오래된 이벤트의 생성 시각 (없으면 null). 릴레이 지연(lag) 메트릭용.
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime findOldestPendingCreatedAt() {
+        return outboxEventRepository.findOldestCreatedAt(OutboxStatus.PENDING);
     }
 
-    private void applyPublishResult(Long outboxEventId, boolean success) {
-        requiresNewTx.executeWithoutResult(status -> {
-            OutboxEvent event = outboxEventRepository.findById(outboxEventId).orElse(null);
-            if (event == null) {
-                return;
+    /**
+     * 최대 재시도 횟수를 넘겨 FAILED로 확정된(dead letter) 이벤트 수. 운영자가 원인(last_error)을 보고 처리한다.
+     */
+    @Transactional(readOnly = true)
+    public long countDeadLetters() {
+        return outboxEventRepository.countByStatus(OutboxStatus.FAILED);
+    }
+
+    private void publishClaimed(String owner, List<OutboxEvent> claimed) {
+        Map<Long, Exception> failures = new LinkedHashMap<>();
+        List<OutboxEvent> remaining = claimed;
+
+        for (OutboxEventPublisher publisher : outboxEventPublishers) {
+            Map<Long, Exception> failed;
+            try {
+                failed = publisher.publishBatch(remaining);
+            } catch (Exception e) {
+                failed = new LinkedHashMap<>();
+                for (OutboxEvent event : remaining) {
+                    failed.put(event.getId(), e);
+                }
             }
-            if (success) {
-                event.markPublished();
+            if (!failed.isEmpty()) {
+                failures.putAll(failed);
+                Map<Long, Exception> failedNow = failed;
+                remaining = remaining.stream().filter(event -> !failedNow.containsKey(event.getId())).toList();
+            }
+            if (remaining.isEmpty()) {
+                break;
+            }
+        }
+
+        List<OutboxEvent> failedEvents = new ArrayList<>();
+        for (OutboxEvent event : claimed) {
+            Exception cause = failures.get(event.getId());
+            if (cause == null) {
+                continue;
+            }
+            failedEvents.add(event);
+            if (event.getRetryCount() + 1 >= OutboxEvent.MAX_RETRY_COUNT) {
+                log.error("Outbox 이벤트 최대 재시도 초과, dead letter로 확정합니다. id={}, eventType={}",
+                        event.getId(), event.getEventType(), cause);
+                meterRegistry.counter("outbox.events.dead-lettered", "eventType", event.getEventType()).increment();
             } else {
-                event.markPublishFailed();
+                log.error("Outbox 이벤트 발행 실패. id={}, eventType={}, retryCount={}",
+                        event.getId(), event.getEventType(), event.getRetryCount() + 1, cause);
             }
-            outboxEventRepository.save(event);
-        });
+        }
+
+        List<Long> publishedIds = new ArrayList<>(remaining.stream().map(OutboxEvent::getId).toList());
+        applyPublishResults(owner, publishedIds, failedEvents, failures);
+
+        meterRegistry.counter("outbox.events.relayed", "result", "published").increment(publishedIds.size());
+        meterRegistry.counter("outbox.events.relayed", "result", "failed").increment(failedEvents.size());
     }
 
     /**
-     *
-     * 폴링 안전망 대상 조회: PENDING 상태이면서 일정 시간 이상 지난 이벤트
-     * (즉시 발행 실패, 또는 커밋 직후 애플리케이션이 재시작되어 이벤트 리스너가 아예 못 뜬 경우 등)
-     *
+     * 성공분은 한 번의 UPDATE로, 실패분은 (재시도 횟수, 원인)이 같은 것끼리 묶어 UPDATE한다.
+     * 하위 시스템 장애로 배치 전체가 같은 원인으로 실패하면 재시도 횟수별로 한 번씩이다.
      */
-    @Transactional(readOnly = true)
-    public List<Long> findStalePendingEventIds() {
-        LocalDateTime threshold = LocalDateTime.now().minus(STALE_THRESHOLD);
-        return outboxEventRepository.findByStatusAndCreatedAtBefore(OutboxStatus.PENDING, threshold).stream()
-                .map(OutboxEvent::getId)
-                .toList();
+    private void applyPublishResults(String owner, List<Long> publishedIds,
+                                     List<OutboxEvent> failedEvents, Map<Long, Exception> failures) {
+        Map<FailureGroup, List<Long>> failedGroups = new LinkedHashMap<>();
+        for (OutboxEvent event : failedEvents) {
+            FailureGroup group = new FailureGroup(event.getRetryCount(), describe(failures.get(event.getId())));
+            failedGroups.computeIfAbsent(group, key -> new ArrayList<>()).add(event.getId());
+        }
+
+        requiresNewTx.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!publishedIds.isEmpty()) {
+                outboxEventRepository.markPublished(publishedIds, owner, OutboxStatus.PUBLISHED, now);
+            }
+            failedGroups.forEach((group, ids) -> outboxEventRepository.markPublishFailed(ids, owner,
+                    OutboxEvent.MAX_RETRY_COUNT, OutboxStatus.FAILED,
+                    RETRY_BACKOFF.nextAttemptAt(group.retryCount(), now), group.lastError()));
+        });
+    }
+
+    private static String describe(Exception cause) {
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return message.length() <= OutboxEvent.LAST_ERROR_LENGTH ? message : message.substring(0, OutboxEvent.LAST_ERROR_LENGTH);
+    }
+
+    private record FailureGroup(int retryCount, String lastError) {
     }
 }
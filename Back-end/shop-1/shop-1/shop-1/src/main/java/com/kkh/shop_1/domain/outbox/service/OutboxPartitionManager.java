@@ -0,0 +1,123 @@
+package com.kkh.shop_1.domain.outbox.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ *
+ * MySQL에서 outbox_event를 생성 월 기준 RANGE 파티션으로 운영할 때의 파티션 관리. (outbox.retention.partitioning.enabled=true)
+ *
+ * - 파티션 이름은 pYYYYMM, 경계는 VALUES LESS THAN (TO_DAYS('다음 달 1일')), 마지막은 pmax(MAXVALUE)다.
+ *   테이블 전환 DDL은 resources/db/outbox_event_partitioning.sql 참고.
+ * - 보존 기간이 통째로 지난 파티션은 DROP PARTITION으로 행 수와 관계없이 한 번에 지운다.
+ *   단, 아직 발행되지 않은(PENDING/FAILED) 행이 남은 파티션은 건드리지 않고 배치 삭제에 맡긴다.
+ * - 앞으로 쓸 파티션은 pmax를 나눠(REORGANIZE) 미리 만들어 둔다.
+ *
+ */
+@Slf4j
+@Component
+public class OutboxPartitionManager {
+
+    private static final String TABLE = "outbox_event";
+    private static final String MAX_PARTITION = "pmax";
+    private static final Pattern PARTITION_NAME = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    // MySQL TO_DAYS('1970-01-01')
+    private static final long TO_DAYS_EPOCH = 719_528L;
+    // 미리 만들어 둘 다음 달 파티션 수
+    private static final int MONTHS_AHEAD = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public OutboxPartitionManager(JdbcTemplate jdbcTemplate,
+                                  @Value("${outbox.retention.partitioning.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 상한(다음 달 1일)이 cutoff 이하인 파티션을 지운다. archive가 켜져 있으면 먼저 보관 테이블로 복사한다.
+     *
+     * @return 지운 파티션 수
+     */
+    public int dropPartitionsBefore(LocalDateTime cutoff, boolean archive) {
+        int dropped = 0;
+        for (PartitionBound partition : findPartitions()) {
+            if (partition.upperBound().isAfter(cutoff.toLocalDate())) {
+                continue;
+            }
+            Integer unpublished = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + TABLE + " PARTITION (" + partition.name() + ") WHERE status <> 'PUBLISHED'",
+                    Integer.class);
+            if (unpublished != null && unpublished > 0) {
+                log.warn("미발행 이벤트가 남아 있어 파티션을 유지합니다. partition={}, unpublished={}", partition.name(), unpublished);
+                continue;
+            }
+            if (archive) {
+                jdbcTemplate.update("INSERT INTO outbox_event_archive " +
+                        "(outbox_event_id, event_type, payload, status, retry_count, created_at, published_at, archived_at) " +
+                        "SELECT outbox_event_id, event_type, payload, status, retry_count, created_at, published_at, NOW() " +
+                        "FROM " + TABLE + " PARTITION (" + partition.name() + ")");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+            log.info("Outbox 파티션 삭제. partition={}, upperBound={}", partition.name(), partition.upperBound());
+            dropped++;
+        }
+        return dropped;
+    }
+
+    /**
+     * 이번 달부터 MONTHS_AHEAD개월 뒤까지의 파티션이 없으면 pmax를 나눠 만든다.
+     */
+    public void ensureFuturePartitions(LocalDate today) {
+        List<PartitionBound> partitions = findPartitions();
+        LocalDate lastUpperBound = partitions.stream()
+                .map(PartitionBound::upperBound)
+                .max(LocalDate::compareTo)
+                .orElse(YearMonth.from(today).atDay(1));
+
+        YearMonth target = YearMonth.from(today).plusMonths(MONTHS_AHEAD);
+        for (YearMonth month = YearMonth.from(lastUpperBound); !month.isAfter(target); month = month.plusMonths(1)) {
+            String name = month.format(NAME_FORMAT);
+            String upperBound = month.plusMonths(1).atDay(1).toString();
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+                    "PARTITION " + name + " VALUES LESS THAN (TO_DAYS('" + upperBound + "')), " +
+                    "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            log.info("Outbox 파티션 추가. partition={}", name);
+        }
+    }
+
+    private List<PartitionBound> findPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                (rs, rowNum) -> {
+                    String name = rs.getString(1);
+                    String description = rs.getString(2);
+                    if (!PARTITION_NAME.matcher(name).matches() || "MAXVALUE".equalsIgnoreCase(description)) {
+                        return null;
+                    }
+                    return new PartitionBound(name, LocalDate.ofEpochDay(Long.parseLong(description) - TO_DAYS_EPOCH));
+                },
+                TABLE).stream()
+                .filter(partition -> partition != null)
+                .toList();
+    }
+
+    record PartitionBound(String name, LocalDate upperBound) {
+    }
+}
@@ -1,33 +1,117 @@
 package com.kkh.shop_1.domain.outbox.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *
  * 즉시 발행(AFTER_COMMIT)이 실패했거나, 발행 시도 자체가 누락된(애플리케이션 재시작 등) PENDING 이벤트를
- * 주기적으로 재처리하는 폴링 안전망.
+ * 주기적으로 재처리하는 폴링 릴레이.
+ *
+ * - 작업자 여러 개가 동시에 OutboxEventService.relayStaleBatch()를 반복 호출해, 배치를 선점/발행/반영하는 과정이 겹쳐 돈다.
+ * - 선점은 SELECT ... FOR UPDATE SKIP LOCKED + 선점 만료 시각이라 작업자끼리, 노드끼리 같은 이벤트를 가져가지 않는다.
+ *   그래서 클러스터 단일 실행(@SchedulerLock) 없이 모든 노드가 함께 적체를 비운다.
+ * - 선점 대상은 next_attempt_at이 지난 PENDING 이벤트뿐이다. 실패한 이벤트는 백오프만큼 뒤로 밀려 있으므로,
+ *   하위 시스템 장애 중에도 실패 행이 매 주기 다시 읽히며 DB 부하를 만들지 않는다.
+ * - 가장 오래된 미발행 이벤트의 경과 시간(lag), 직전 실행의 처리량(건/초), dead letter 수를 게이지로 남긴다.
  *
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OutboxPollingScheduler {
 
     private final OutboxEventService outboxEventService;
+    private final int workers;
+    private final int batchSize;
+    private final ExecutorService relayExecutor;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong throughputPerSecond = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+
+    public OutboxPollingScheduler(OutboxEventService outboxEventService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${outbox.relay.workers:4}") int workers,
+                                  @Value("${outbox.relay.batch-size:100}") int batchSize) {
+        this.outboxEventService = outboxEventService;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.relayExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("outbox.lag.seconds", lagSeconds);
+        meterRegistry.gauge("outbox.relay.throughput", throughputPerSecond);
+        meterRegistry.gauge("outbox.dead.letters", deadLetters);
+    }
 
-    @Scheduled(fixedDelay = 60_000L) // 1분마다
+    @Scheduled(fixedDelay = 10_000L) // 10초마다
     public void republishStaleEvents() {
-        List<Long> staleEventIds = outboxEventService.findStalePendingEventIds();
-        if (staleEventIds.isEmpty()) {
-            return;
+        long startedAt = System.nanoTime();
+        AtomicInteger relayed = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(relayExecutor.submit(() -> drain(relayed)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Outbox 릴레이 작업자 실패", e.getCause());
+            }
         }
 
-        log.info("Outbox 폴링 안전망: 재처리 대상 {}건", staleEventIds.size());
-        staleEventIds.forEach(outboxEventService::tryPublish);
+        long elapsedMillis = Math.max(Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), 1L);
+        throughputPerSecond.set(relayed.get() * 1000L / elapsedMillis);
+        updateBacklogGauges();
+
+        if (relayed.get() > 0) {
+            log.info("Outbox 폴링 릴레이: {}건 처리, {}ms", relayed.get(), elapsedMillis);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdownNow();
+    }
+
+    // 선점할 이벤트가 배치 크기보다 적게 남을 때까지 반복한다.
+    private void drain(AtomicInteger relayed) {
+        int claimed;
+        do {
+            claimed = outboxEventService.relayStaleBatch(batchSize);
+            relayed.addAndGet(claimed);
+        } while (claimed >= batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    private void updateBacklogGauges() {
+        try {
+            LocalDateTime oldest = outboxEventService.findOldestPendingCreatedAt();
+            lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0L);
+            deadLetters.set(outboxEventService.countDeadLetters());
+        } catch (Exception e) {
+            log.warn("Outbox 적체 메트릭 계산 실패", e);
+        }
     }
 }
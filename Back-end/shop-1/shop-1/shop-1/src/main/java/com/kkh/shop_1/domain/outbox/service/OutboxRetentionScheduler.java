@@ -0,0 +1,129 @@
+package com.kkh.shop_1.domain.outbox.service;
+
+import com.kkh.shop_1.common.annotation.SchedulerLock;
+import com.kkh.shop_1.domain.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ *
+ * 발행 완료(PUBLISHED)된 아웃박스 이벤트를 보존 기간(outbox.retention.published-days)이 지나면 정리한다.
+ *
+ * - 정리 범위는 "cutoff 이후 생성된 첫 이벤트 id" 앞쪽의 PK 범위다. 그 안에서 PUBLISHED id만 작은 배치로 골라
+ *   (보관이 켜져 있으면 outbox_event_archive로 복사한 뒤) 삭제한다. 배치마다 짧은 트랜잭션이고 배치 사이에 잠깐 쉬어
+ *   잠금과 복제 지연을 길게 만들지 않는다.
+ * - PENDING/FAILED 이벤트는 기간이 지나도 지우지 않는다. (재시도/dead letter 확인 대상)
+ * - 파티션 모드에서는 기간이 통째로 지난 월 파티션을 먼저 DROP하고, 남은 행만 배치 삭제로 처리한다.
+ *
+ */
+@Slf4j
+@Component
+public class OutboxRetentionScheduler {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPartitionManager outboxPartitionManager;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration retention;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final boolean archive;
+
+    public OutboxRetentionScheduler(OutboxEventRepository outboxEventRepository,
+                                    OutboxPartitionManager outboxPartitionManager,
+                                    MeterRegistry meterRegistry,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${outbox.retention.published-days:7}") int publishedDays,
+                                    @Value("${outbox.retention.batch-size:1000}") int batchSize,
+                                    @Value("${outbox.retention.batch-pause-ms:50}") long batchPauseMillis,
+                                    @Value("${outbox.retention.archive:false}") boolean archive) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPartitionManager = outboxPartitionManager;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofDays(publishedDays);
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.archive = archive;
+    }
+
+    @Scheduled(cron = "0 40 3 * * *") // 매일 새벽 3시 40분
+    @SchedulerLock(name = "outbox-retention", lockAtMostFor = "PT2H", lockAtLeastFor = "PT5M")
+    public void purgePublishedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+
+        if (outboxPartitionManager.isEnabled()) {
+            try {
+                int dropped = outboxPartitionManager.dropPartitionsBefore(cutoff, archive);
+                meterRegistry.counter("outbox.retention.partitions.dropped").increment(dropped);
+                outboxPartitionManager.ensureFuturePartitions(LocalDate.now());
+            } catch (Exception e) {
+                log.error("Outbox 파티션 관리 실패. 배치 삭제로 계속 정리합니다.", e);
+            }
+        }
+
+        int purged = purgeInBatches(cutoff);
+        if (purged > 0) {
+            log.info("Outbox 보존 기간 정리 완료. {}건, cutoff={}, archive={}", purged, cutoff, archive);
+        }
+    }
+
+    int purgeInBatches(LocalDateTime cutoff) {
+        Long beforeId = outboxEventRepository.findFirstIdCreatedSince(cutoff);
+        if (beforeId == null) {
+            // cutoff 이후 생성된 이벤트가 없으면 전체가 정리 후보다.
+            Long maxId = outboxEventRepository.findMaxId();
+            if (maxId == null) {
+                return 0;
+            }
+            beforeId = maxId + 1;
+        }
+
+        long afterId = 0L;
+        int purged = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = outboxEventRepository.findPublishedIdsInRange(afterId, beforeId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (archive) {
+                    outboxEventRepository.archiveByIds(ids, LocalDateTime.now());
+                }
+                outboxEventRepository.deleteByIds(ids);
+            });
+            meterRegistry.counter("outbox.retention.rows", "action", archive ? "archived" : "deleted").increment(ids.size());
+
+            purged += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+            pause();
+        }
+        return purged;
+    }
+
+    private void pause() {
+        if (batchPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.kkh.shop_1.domain.outbox.stream;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * 아웃박스 이벤트 스트림의 하위 소비자(검색 색인, 통계, 판매 집계 등).
+ * 이 인터페이스를 구현한 @Component를 추가하면 OutboxStreamConsumerContainer가 소비자 그룹을 만들고 배치로 전달한다.
+ * 릴레이(OutboxEventService)는 스트림에 한 번 추가할 뿐이므로, 소비자를 늘려도 릴레이 경로 비용은 그대로다.
+ *
+ */
+public interface OutboxStreamConsumer {
+
+    /**
+     * 소비자 그룹 이름. 그룹마다 스트림을 독립적으로 끝까지 읽는다. (노드가 여러 개면 그룹 안에서 나눠 읽음)
+     */
+    String group();
+
+    /**
+     * 받을 이벤트 타입. 비어 있으면 모든 타입을 받는다. 대상이 아닌 항목은 전달하지 않고 바로 ack한다.
+     */
+    default Set<String> eventTypes() {
+        return Set.of();
+    }
+
+    /**
+     * 배치 처리. 예외를 던지면 배치 전체를 ack하지 않고, 일정 시간 뒤 pending 재처리로 다시 전달된다.
+     */
+    void handle(List<OutboxStreamMessage> messages);
+}
@@ -0,0 +1,298 @@
+package com.kkh.shop_1.domain.outbox.stream;
+
+import com.kkh.shop_1.common.util.NodeIdentity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * OutboxStreamConsumer 구현체마다 Redis Stream 소비자 그룹을 만들고, 그룹별 전용 스레드에서 배치로 읽어 전달한다.
+ *
+ * - XREADGROUP(COUNT batch-size, BLOCK)으로 새 항목을 배치로 읽고, 처리에 성공한 배치는 XACK 한 번으로 확인한다.
+ * - 처리에 실패해 ack되지 않은 항목은 pending으로 남는다. 주기적으로 XPENDING을 보고 일정 시간 이상 방치된 항목을
+ *   XCLAIM으로 가져와 다시 처리한다. (죽은 노드가 들고 있던 항목도 같은 방식으로 이어받는다)
+ *   전달 횟수가 한도를 넘은 항목은 그룹별 dead letter 스트림으로 옮기고 ack한다.
+ * - 그룹별 지연(마지막 추가 항목과 마지막 전달 항목의 시각 차), pending 수를 게이지로 남긴다.
+ * - 스트림은 대략적인 최대 길이(outbox.stream.max-length)로 주기적으로 잘라 메모리를 제한한다.
+ *
+ */
+@Slf4j
+@Component
+public class OutboxStreamConsumerContainer {
+
+    private static final Duration BLOCK_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration MAINTENANCE_INTERVAL = Duration.ofSeconds(30);
+    // 이 시간 이상 ack되지 않은 pending 항목을 다시 가져와 처리한다.
+    private static final Duration RECLAIM_MIN_IDLE = Duration.ofSeconds(60);
+    private static final long MAX_DELIVERIES = 5;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final List<OutboxStreamConsumer> consumers;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxLength;
+    private final String consumerName;
+    private final ExecutorService workers;
+    private final Map<String, AtomicLong> lagMillis = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> pendingCounts = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public OutboxStreamConsumerContainer(StringRedisTemplate stringRedisTemplate,
+                                         ObjectProvider<OutboxStreamConsumer> consumers,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${outbox.stream.enabled:false}") boolean enabled,
+                                         @Value("${outbox.stream.batch-size:100}") int batchSize,
+                                         @Value("${outbox.stream.max-length:100000}") long maxLength) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.consumers = consumers.orderedStream().toList();
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxLength = maxLength;
+        this.consumerName = NodeIdentity.nodeId();
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-stream-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || consumers.isEmpty()) {
+            return;
+        }
+        running = true;
+        for (OutboxStreamConsumer consumer : consumers) {
+            registerGauges(consumer.group());
+            workers.submit(() -> runLoop(consumer));
+        }
+        log.info("Outbox 스트림 소비자 시작. groups={}, consumer={}",
+                consumers.stream().map(OutboxStreamConsumer::group).toList(), consumerName);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.shutdownNow();
+    }
+
+    @Scheduled(fixedDelay = 60_000L)
+    public void trimStream() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForStream().trim(OutboxStreams.EVENTS_KEY, maxLength, true);
+        } catch (Exception e) {
+            log.warn("Outbox 스트림 길이 정리 실패", e);
+        }
+    }
+
+    private void runLoop(OutboxStreamConsumer consumer) {
+        long nextMaintenanceAt = 0L;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (System.currentTimeMillis() >= nextMaintenanceAt) {
+                    ensureGroup(consumer.group());
+                    reclaimPending(consumer);
+                    updateMetrics(consumer.group());
+                    nextMaintenanceAt = System.currentTimeMillis() + MAINTENANCE_INTERVAL.toMillis();
+                }
+                pollOnce(consumer);
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Outbox 스트림 소비 루프 오류. group={}", consumer.group(), e);
+                sleepQuietly(BLOCK_TIMEOUT);
+            }
+        }
+    }
+
+    /**
+     * 새 항목을 한 배치 읽어 처리한다.
+     */
+    void pollOnce(OutboxStreamConsumer consumer) {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(consumer.group(), consumerName),
+                StreamReadOptions.empty().count(batchSize).block(BLOCK_TIMEOUT),
+                StreamOffset.create(OutboxStreams.EVENTS_KEY, ReadOffset.lastConsumed()));
+        if (records != null && !records.isEmpty()) {
+            process(consumer, records);
+        }
+    }
+
+    /**
+     * 오래 방치된 pending 항목을 이 소비자로 가져와 다시 처리하고, 전달 횟수 한도를 넘은 항목은 dead letter로 옮긴다.
+     */
+    void reclaimPending(OutboxStreamConsumer consumer) {
+        String group = consumer.group();
+        PendingMessages pending = stringRedisTemplate.opsForStream()
+                .pending(OutboxStreams.EVENTS_KEY, group, Range.unbounded(), batchSize);
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+
+        List<RecordId> reclaimIds = new ArrayList<>();
+        List<RecordId> deadIds = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(RECLAIM_MIN_IDLE) < 0) {
+                continue;
+            }
+            if (message.getTotalDeliveryCount() >= MAX_DELIVERIES) {
+                deadIds.add(message.getId());
+            } else {
+                reclaimIds.add(message.getId());
+            }
+        }
+
+        if (!deadIds.isEmpty()) {
+            moveToDeadLetter(group, deadIds);
+        }
+        if (!reclaimIds.isEmpty()) {
+            List<MapRecord<String, Object, Object>> claimed = stringRedisTemplate.opsForStream().claim(
+                    OutboxStreams.EVENTS_KEY, group, consumerName,
+                    RedisStreamCommands.XClaimOptions.minIdle(RECLAIM_MIN_IDLE).ids(reclaimIds.toArray(RecordId[]::new)));
+            meterRegistry.counter("outbox.stream.reclaimed", "group", group).increment(claimed.size());
+            if (!claimed.isEmpty()) {
+                process(consumer, claimed);
+            }
+        }
+    }
+
+    private void process(OutboxStreamConsumer consumer, List<MapRecord<String, Object, Object>> records) {
+        String group = consumer.group();
+        List<OutboxStreamMessage> messages = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            OutboxStreamMessage message = toMessage(record);
+            if (consumer.eventTypes().isEmpty() || consumer.eventTypes().contains(message.eventType())) {
+                messages.add(message);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                consumer.handle(messages);
+            } catch (Exception e) {
+                // ack하지 않고 남겨 두면 RECLAIM_MIN_IDLE 이후 reclaimPending()에서 다시 전달된다.
+                log.warn("Outbox 스트림 소비 실패. group={}, {}건", group, messages.size(), e);
+                meterRegistry.counter("outbox.stream.consumed", "group", group, "result", "failure").increment(messages.size());
+                return;
+            }
+        }
+
+        String[] ids = records.stream().map(record -> record.getId().getValue()).toArray(String[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(OutboxStreams.EVENTS_KEY, group, ids);
+        meterRegistry.counter("outbox.stream.consumed", "group", group, "result", "success").increment(messages.size());
+    }
+
+    private void moveToDeadLetter(String group, List<RecordId> deadIds) {
+        for (RecordId id : deadIds) {
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .range(OutboxStreams.EVENTS_KEY, Range.closed(id.getValue(), id.getValue()));
+            if (records != null && !records.isEmpty()) {
+                stringRedisTemplate.opsForStream().add(StreamRecords.newRecord()
+                        .in(OutboxStreams.DEAD_LETTER_KEY_PREFIX + group)
+                        .ofMap(records.get(0).getValue()));
+            }
+            log.error("Outbox 스트림 항목 전달 한도 초과, dead letter로 옮깁니다. group={}, recordId={}", group, id.getValue());
+        }
+        stringRedisTemplate.opsForStream().acknowledge(OutboxStreams.EVENTS_KEY, group,
+                deadIds.stream().map(RecordId::getValue).toArray(String[]::new));
+        meterRegistry.counter("outbox.stream.dead", "group", group).increment(deadIds.size());
+    }
+
+    // 새 그룹은 스트림에 남아 있는 처음 항목부터 읽는다. ('$'로 만들면 그룹 생성 전에 추가된 이벤트를 영영 받지 못한다)
+    // 이미 다른 경로로 반영한 이벤트가 다시 올 수 있으므로 소비자는 outboxEventId로 중복을 거른다.
+    private void ensureGroup(String group) {
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    OutboxStreams.EVENTS_KEY.getBytes(StandardCharsets.UTF_8), group, ReadOffset.from("0"), true));
+        } catch (Exception e) {
+            // 이미 그룹이 있으면 BUSYGROUP 오류가 난다.
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && (e.getCause() == null || !String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                throw e;
+            }
+        }
+    }
+
+    private void updateMetrics(String group) {
+        try {
+            StreamInfo.XInfoStream stream = stringRedisTemplate.opsForStream().info(OutboxStreams.EVENTS_KEY);
+            stringRedisTemplate.opsForStream().groups(OutboxStreams.EVENTS_KEY).stream()
+                    .filter(info -> group.equals(info.groupName()))
+                    .findFirst()
+                    .ifPresent(info -> {
+                        long lastAdded = RecordId.of(stream.lastGeneratedId()).getTimestamp();
+                        long lastDelivered = RecordId.of(info.lastDeliveredId()).getTimestamp();
+                        lagMillis.get(group).set(Math.max(0L, lastAdded - lastDelivered));
+                        pendingCounts.get(group).set(info.pendingCount());
+                    });
+        } catch (Exception e) {
+            log.debug("Outbox 스트림 메트릭 갱신 실패. group={}", group, e);
+        }
+    }
+
+    private void registerGauges(String group) {
+        lagMillis.computeIfAbsent(group, key ->
+                meterRegistry.gauge("outbox.stream.lag.ms", Tags.of("group", key), new AtomicLong()));
+        pendingCounts.computeIfAbsent(group, key ->
+                meterRegistry.gauge("outbox.stream.pending", Tags.of("group", key), new AtomicLong()));
+    }
+
+    private static OutboxStreamMessage toMessage(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        Object id = fields.get(OutboxStreams.FIELD_ID);
+        return new OutboxStreamMessage(
+                record.getId().getValue(),
+                id != null ? Long.valueOf(id.toString()) : null,
+                (String) fields.get(OutboxStreams.FIELD_TYPE),
+                (String) fields.get(OutboxStreams.FIELD_PAYLOAD));
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
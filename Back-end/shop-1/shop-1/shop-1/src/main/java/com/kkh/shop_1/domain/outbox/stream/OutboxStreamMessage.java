@@ -0,0 +1,10 @@
+package com.kkh.shop_1.domain.outbox.stream;
+
+/**
+ *
+ * Redis Stream(outbox:events)에서 읽은 아웃박스 이벤트 한 건.
+ * 발행은 최소 한 번(at-least-once)이므로, 소비자는 outboxEventId로 중복을 걸러야 한다.
+ *
+ */
+public record OutboxStreamMessage(String recordId, Long outboxEventId, String eventType, String payload) {
+}
@@ -0,0 +1,19 @@
+package com.kkh.shop_1.domain.outbox.stream;
+
+/**
+ *
+ * 아웃박스 이벤트 스트림 키/필드 이름.
+ *
+ */
+public final class OutboxStreams {
+
+    public static final String EVENTS_KEY = "outbox:events";
+    public static final String DEAD_LETTER_KEY_PREFIX = "outbox:events:dead:";
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_TYPE = "type";
+    static final String FIELD_PAYLOAD = "payload";
+
+    private OutboxStreams() {
+    }
+}
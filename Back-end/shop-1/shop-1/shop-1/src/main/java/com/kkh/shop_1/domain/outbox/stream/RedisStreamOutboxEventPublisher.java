@@ -0,0 +1,76 @@
+package com.kkh.shop_1.domain.outbox.stream;
+
+import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
+import com.kkh.shop_1.domain.outbox.service.OutboxEventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * 아웃박스 이벤트를 Redis Stream(outbox:events)에 추가하는 발행 구현체.
+ * 하위 소비자는 OutboxStreamConsumer로 스트림을 읽으므로, 릴레이는 소비자 수와 관계없이 XADD만 한다.
+ *
+ * 릴레이 배치는 파이프라인 한 번으로 모두 추가한다. 조회 모델 갱신(OrderViewProjector) 다음 순서로 실행된다.
+ * 모든 항목에 아웃박스 이벤트 id를 넣는다. (재시도로 같은 이벤트가 다시 추가돼도 소비자가 id로 거른다)
+ *
+ * 스트림 추가가 실패하면 그 이벤트는 뒤 구현체(이메일 발송)로 넘어가지 않고 재시도된다.
+ * 스트림을 읽는 소비자가 없으면 발행 경로만 늘어나므로, 소비자를 배포할 때 outbox.stream.enabled=true로 켠다. (기본 꺼짐)
+ *
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "outbox.stream.enabled", havingValue = "true", matchIfMissing = false)
+public class RedisStreamOutboxEventPublisher implements OutboxEventPublisher {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, Exception> publishBatch(List<OutboxEvent> events) {
+        Map<Long, Exception> failures = new LinkedHashMap<>();
+        if (events.isEmpty()) {
+            return failures;
+        }
+        try {
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (OutboxEvent event : events) {
+                        ops.opsForStream().add(StreamRecords.newRecord()
+                                .in(OutboxStreams.EVENTS_KEY)
+                                .ofMap(fields(event.getId(), event.getEventType(), event.getPayload())));
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 파이프라인은 건별 성공 여부를 알 수 없으므로 배치 전체를 실패로 돌려 재시도한다. (소비자는 id로 중복을 거른다)
+            log.warn("Outbox 스트림 추가 실패. {}건", events.size(), e);
+            events.forEach(event -> failures.put(event.getId(), e));
+        }
+        return failures;
+    }
+
+    private static Map<String, String> fields(Long outboxEventId, String eventType, String payload) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(OutboxStreams.FIELD_ID, String.valueOf(outboxEventId));
+        fields.put(OutboxStreams.FIELD_TYPE, eventType);
+        fields.put(OutboxStreams.FIELD_PAYLOAD, payload);
+        return fields;
+    }
+}
@@ -1,14 +1,19 @@
 package com.kkh.shop_1.domain.review.controller;
 
 import com.kkh.shop_1.common.ApiResponse;
+import com.kkh.shop_1.common.etag.ETagVersionStore;
+import com.kkh.shop_1.common.etag.ETags;
+import com.kkh.shop_1.domain.review.dto.ReviewCursorPageDto;
 import com.kkh.shop_1.domain.review.dto.ReviewRequestDto;
 import com.kkh.shop_1.domain.review.dto.ReviewResponseDto;
+import com.kkh.shop_1.domain.review.dto.ReviewSummaryDto;
 import com.kkh.shop_1.domain.review.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +28,7 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final ETagVersionStore eTagVersionStore;
 
     /**
      *
@@ -63,9 +69,40 @@ public class ReviewController {
     public ResponseEntity<ApiResponse<Page<ReviewResponseDto>>> getReviews(
             @PathVariable Long itemId,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
-            @AuthenticationPrincipal Long userId
+            @AuthenticationPrincipal Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        // isOwner 필드가 로그인 사용자마다 달라지므로 userId도 ETag에 포함한다.
+        String etag = ETags.strong("reviews-" + itemId,
+                eTagVersionStore.currentVersion(ETagVersionStore.itemReviews(itemId)), pageable, userId);
+        return ETags.conditional(etag, ifNoneMatch, () -> reviewService.getReviewsByItem(itemId, pageable, userId));
+    }
+
+    /**
+     *
+     * 상품 리뷰 요약 조회 (리뷰 수, 평균 평점, 1~5점 분포)
+     *
+     */
+    @GetMapping("/items/{itemId}/summary")
+    public ResponseEntity<ApiResponse<ReviewSummaryDto>> getReviewSummary(@PathVariable Long itemId) {
+        return ResponseEntity.ok(ApiResponse.success(reviewService.getReviewSummary(itemId)));
+    }
+
+    /**
+     *
+     * 상품별 리뷰 커서 조회 (작성일 내림차순)
+     *
+     */
+    @GetMapping("/items/{itemId}/cursor")
+    public ResponseEntity<ApiResponse<ReviewCursorPageDto>> getReviewsByCursor(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        Page<ReviewResponseDto> reviews = reviewService.getReviewsByItem(itemId, pageable, userId);
-        return ResponseEntity.ok(ApiResponse.success(reviews));
+        String etag = ETags.strong("reviews-cursor-" + itemId,
+                eTagVersionStore.currentVersion(ETagVersionStore.itemReviews(itemId)), cursor, size, userId);
+        return ETags.conditional(etag, ifNoneMatch, () -> reviewService.getReviewsByItemCursor(itemId, cursor, size, userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.kkh.shop_1.domain.review.dto;
+
+import com.kkh.shop_1.common.util.KeysetCursorCodec;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 리뷰 커서 조회의 위치 (마지막으로 내려준 리뷰의 작성 시각 + id, 형식은 KeysetCursorCodec)
+ *
+ */
+public record ReviewCursor(LocalDateTime createdAt, Long reviewId) {
+
+    /**
+     * 커서 문자열을 해석한다. 비어 있으면 첫 페이지(null)로 본다.
+     */
+    public static ReviewCursor decode(String cursor) {
+        return KeysetCursorCodec.decode(cursor, ReviewCursor::new);
+    }
+
+    public String encode() {
+        return KeysetCursorCodec.encode(createdAt, reviewId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.kkh.shop_1.domain.review.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ *
+ * 커서 기반 리뷰 목록 응답 (nextCursor를 다음 요청의 cursor 파라미터로 그대로 넘긴다)
+ *
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewCursorPageDto {
+
+    private List<ReviewResponseDto> reviews;
+    private String nextCursor;
+    private boolean hasNext;
+}
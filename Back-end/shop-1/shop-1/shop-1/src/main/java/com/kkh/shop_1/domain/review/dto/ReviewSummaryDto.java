@@ -0,0 +1,44 @@
+package com.kkh.shop_1.domain.review.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *
+ * 상품 리뷰 요약 (리뷰 수, 평균 평점, 1~5점 분포)
+ *
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ReviewSummaryDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long itemId;
+    private long reviewCount;
+    private double averageRating;
+    private Map<Integer, Long> ratingCounts;
+
+    /**
+     * counts[1] ~ counts[5]에 점수별 리뷰 수가 담긴 배열로 만든다.
+     */
+    public static ReviewSummaryDto of(Long itemId, long[] counts) {
+        Map<Integer, Long> ratingCounts = new LinkedHashMap<>();
+        long reviewCount = 0;
+        long totalScore = 0;
+        for (int rating = 5; rating >= 1; rating--) {
+            ratingCounts.put(rating, counts[rating]);
+            reviewCount += counts[rating];
+            totalScore += counts[rating] * rating;
+        }
+        double average = reviewCount == 0 ? 0.0 : (double) totalScore / reviewCount;
+        return new ReviewSummaryDto(itemId, reviewCount, average, ratingCounts);
+    }
+}
@@ -0,0 +1,88 @@
+package com.kkh.shop_1.domain.review.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ *
+ * 상품별 리뷰 평점 집계 (1~5점 분포)
+ *
+ * 상품 행과 분리해 두어 리뷰 집계 갱신이 재고 차감과 같은 상품 행 락을 두고 경합하지 않게 한다.
+ * 값은 ItemRatingStatsService가 모아서(write-behind) 원자적 UPDATE로만 증감한다.
+ *
+ */
+@Entity
+@Table(name = "item_rating_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ItemRatingStats {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long oneStar;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long twoStar;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long threeStar;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long fourStar;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long fiveStar;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long reviewCount;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long totalScore;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    /**
+     * counts[1] ~ counts[5]에 점수별 리뷰 수를 담아 만든다. (counts[0]은 사용하지 않음)
+     */
+    public static ItemRatingStats of(Long itemId, long[] counts) {
+        ItemRatingStats stats = new ItemRatingStats();
+        stats.itemId = itemId;
+        stats.overwrite(counts);
+        return stats;
+    }
+
+    public void overwrite(long[] counts) {
+        this.oneStar = counts[1];
+        this.twoStar = counts[2];
+        this.threeStar = counts[3];
+        this.fourStar = counts[4];
+        this.fiveStar = counts[5];
+        this.reviewCount = 0;
+        this.totalScore = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            this.reviewCount += counts[rating];
+            this.totalScore += counts[rating] * rating;
+        }
+    }
+
+    public long[] histogram() {
+        return new long[]{0, oneStar, twoStar, threeStar, fourStar, fiveStar};
+    }
+}
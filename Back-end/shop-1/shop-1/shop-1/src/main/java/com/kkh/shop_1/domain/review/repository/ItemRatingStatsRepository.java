@@ -0,0 +1,57 @@
+package com.kkh.shop_1.domain.review.repository;
+
+import com.kkh.shop_1.domain.review.entity.ItemRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ItemRatingStatsRepository extends JpaRepository<ItemRatingStats, Long> {
+
+    /**
+     * 집계 행이 없으면 0으로 채운 행을 만든다. 이미 있으면 아무것도 바꾸지 않는다. (노드끼리 동시에 만들어도 충돌하지 않음)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO item_rating_stats " +
+            "(item_id, one_star, two_star, three_star, four_star, five_star, review_count, total_score, updated_at) " +
+            "VALUES (:itemId, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE item_id = item_id", nativeQuery = true)
+    int insertIfAbsent(@Param("itemId") Long itemId);
+
+    /**
+     * 모아 둔 증감분을 한 번의 원자적 UPDATE로 반영한다. 집계 행이 없으면 0을 반환한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ItemRatingStats s SET " +
+            "s.oneStar = s.oneStar + :d1, s.twoStar = s.twoStar + :d2, s.threeStar = s.threeStar + :d3, " +
+            "s.fourStar = s.fourStar + :d4, s.fiveStar = s.fiveStar + :d5, " +
+            "s.reviewCount = s.reviewCount + :countDelta, s.totalScore = s.totalScore + :scoreDelta, " +
+            "s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.itemId = :itemId")
+    int applyDelta(@Param("itemId") Long itemId,
+                   @Param("d1") long d1, @Param("d2") long d2, @Param("d3") long d3,
+                   @Param("d4") long d4, @Param("d5") long d5,
+                   @Param("countDelta") long countDelta, @Param("scoreDelta") long scoreDelta);
+
+    /**
+     * 리뷰 테이블 기준 값으로 집계 행을 덮어쓴다. 집계와 덮어쓰기가 한 문장이라 행 락을 잡은 채 계산된다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE item_rating_stats s " +
+            "LEFT JOIN (SELECT item_id, " +
+            "SUM(rating = 1) AS one_star, SUM(rating = 2) AS two_star, SUM(rating = 3) AS three_star, " +
+            "SUM(rating = 4) AS four_star, SUM(rating = 5) AS five_star, " +
+            "COUNT(*) AS review_count, SUM(rating) AS total_score " +
+            "FROM review WHERE item_id = :itemId GROUP BY item_id) r ON r.item_id = s.item_id " +
+            "SET s.one_star = COALESCE(r.one_star, 0), s.two_star = COALESCE(r.two_star, 0), " +
+            "s.three_star = COALESCE(r.three_star, 0), s.four_star = COALESCE(r.four_star, 0), " +
+            "s.five_star = COALESCE(r.five_star, 0), s.review_count = COALESCE(r.review_count, 0), " +
+            "s.total_score = COALESCE(r.total_score, 0), s.updated_at = CURRENT_TIMESTAMP " +
+            "WHERE s.item_id = :itemId", nativeQuery = true)
+    int overwriteFromReviews(@Param("itemId") Long itemId);
+
+    @Query("select s.itemId from ItemRatingStats s")
+    List<Long> findAllItemIds();
+}
@@ -1,5 +1,6 @@
 package com.kkh.shop_1.domain.review.repository;
 
+import com.kkh.shop_1.domain.review.dto.ReviewCursor;
 import com.kkh.shop_1.domain.review.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,10 +8,53 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    @Query("select r from Review r join fetch r.user left join fetch r.images where r.item.id = :itemId order by r.createdAt desc")
-    Page<Review> findAllByItemId(@Param("itemId") Long itemId, Pageable pageable);
-}
\ No newline at end of file
+    /**
+     * 1단계: 리뷰 id만 페이징한다. (컬렉션 fetch join이 없어 LIMIT/OFFSET이 SQL로 나간다)
+     */
+    @Query(value = "select r.id from Review r where r.item.id = :itemId",
+            countQuery = "select count(r) from Review r where r.item.id = :itemId")
+    Page<Long> findIdsByItemId(@Param("itemId") Long itemId, Pageable pageable);
+
+    /**
+     * 커서 첫 페이지 (등록일, id 내림차순). 다음 커서를 본문 조회 결과와 무관하게 만들 수 있게 (작성 시각, id)를 함께 읽는다.
+     */
+    @Query("select new com.kkh.shop_1.domain.review.dto.ReviewCursor(r.createdAt, r.id) from Review r " +
+            "where r.item.id = :itemId order by r.createdAt desc, r.id desc")
+    List<ReviewCursor> findFirstPositionsByItemId(@Param("itemId") Long itemId, Pageable limit);
+
+    /**
+     * 커서 다음 페이지. offset 없이 (createdAt, id) 조건으로 이어 읽는다.
+     */
+    @Query("select new com.kkh.shop_1.domain.review.dto.ReviewCursor(r.createdAt, r.id) from Review r " +
+            "where r.item.id = :itemId " +
+            "and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :reviewId)) " +
+            "order by r.createdAt desc, r.id desc")
+    List<ReviewCursor> findPositionsByItemIdAfter(@Param("itemId") Long itemId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("reviewId") Long reviewId,
+                                                  Pageable limit);
+
+    /**
+     * 2단계: 한 페이지 분량의 리뷰만 작성자/이미지와 함께 읽는다.
+     */
+    @Query("select distinct r from Review r join fetch r.user left join fetch r.images where r.id in :ids")
+    List<Review> findAllWithUserAndImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 평점 집계 재계산용: [rating, count]
+     */
+    @Query("select r.rating, count(r) from Review r where r.item.id = :itemId group by r.rating")
+    List<Object[]> countByRating(@Param("itemId") Long itemId);
+
+    /**
+     * 전체 평점 집계 재계산용: 리뷰가 하나라도 있는 상품 id
+     */
+    @Query("select distinct r.item.id from Review r")
+    List<Long> findReviewedItemIds();
+}
@@ -0,0 +1,235 @@
+package com.kkh.shop_1.domain.review.service;
+
+import com.kkh.shop_1.common.annotation.SchedulerLock;
+import com.kkh.shop_1.common.etag.ETagVersionStore;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import com.kkh.shop_1.domain.review.dto.ReviewSummaryDto;
+import com.kkh.shop_1.domain.review.entity.ItemRatingStats;
+import com.kkh.shop_1.domain.review.repository.ItemRatingStatsRepository;
+import com.kkh.shop_1.domain.review.repository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * 상품 평점 집계(item_rating_stats) 관리 서비스
+ *
+ * 리뷰 등록/삭제 트랜잭션에서는 상품 행을 건드리지 않고, 커밋 이후 상품별 증감분(점수별 +1/-1)만 메모리에 모은다.
+ * 1초마다 모인 증감분을 상품당 한 번의 원자적 UPDATE로 반영하므로, 리뷰가 몰려도 상품 행 갱신은 주기당 한 번이다.
+ *
+ * 메모리에 모인 증감분은 노드가 죽으면 사라질 수 있으므로, 매일 새벽 리뷰 테이블 기준으로 전체 집계를 다시 맞춘다.
+ * 집계 행이 아직 없는 상품은 0으로 채운 행을 만든 뒤 증감분을 더한다. 리뷰 수로 덮어쓰면 아직 반영되지 않은
+ * 증감분(이 노드나 다른 노드의 메모리)이 나중에 한 번 더 더해지므로, 덮어쓰기는 재집계에서만 한다.
+ * (기존 데이터처럼 집계 행 없이 쌓인 리뷰는 새벽 재집계에서 맞춰짐)
+ *
+ */
+@Slf4j
+@Service
+public class ItemRatingStatsService {
+
+    public static final String SUMMARY_CACHE = "item:rating-summary";
+    // ItemService.getItemDetail()의 캐시. 상세 DTO에 평균 평점/리뷰 수가 들어 있다.
+    private static final String ITEM_DETAIL_CACHE = "item:detail";
+
+    private final ItemRatingStatsRepository itemRatingStatsRepository;
+    private final ReviewRepository reviewRepository;
+    private final ItemRepository itemRepository;
+    private final CacheManager cacheManager;
+    private final ETagVersionStore eTagVersionStore;
+    private final TransactionTemplate transactionTemplate;
+
+    // itemId -> 점수별 증감분 (index 1~5). 배열은 compute() 안에서만 수정한다.
+    private final Map<Long, long[]> pendingDeltas = new ConcurrentHashMap<>();
+    // 증감분 반영과 재집계 덮어쓰기가 같은 상품에서 겹치지 않게 한다. (증감분 누적(merge)은 막지 않음)
+    private final Object flushLock = new Object();
+
+    public ItemRatingStatsService(ItemRatingStatsRepository itemRatingStatsRepository,
+                                  ReviewRepository reviewRepository,
+                                  ItemRepository itemRepository,
+                                  CacheManager cacheManager,
+                                  ETagVersionStore eTagVersionStore,
+                                  PlatformTransactionManager transactionManager) {
+        this.itemRatingStatsRepository = itemRatingStatsRepository;
+        this.reviewRepository = reviewRepository;
+        this.itemRepository = itemRepository;
+        this.cacheManager = cacheManager;
+        this.eTagVersionStore = eTagVersionStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordAdded(Long itemId, int rating) {
+        recordAfterCommit(itemId, rating, 1);
+    }
+
+    public void recordRemoved(Long itemId, int rating) {
+        recordAfterCommit(itemId, rating, -1);
+    }
+
+    /**
+     *
+     * 리뷰 요약 조회 (캐시). 집계 행이 없으면 리뷰 테이블에서 직접 계산한다.
+     *
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = SUMMARY_CACHE, key = "#itemId")
+    public ReviewSummaryDto getSummary(Long itemId) {
+        long[] counts = itemRatingStatsRepository.findById(itemId)
+                .map(ItemRatingStats::histogram)
+                .orElseGet(() -> countFromReviews(itemId));
+        return ReviewSummaryDto.of(itemId, counts);
+    }
+
+    @Scheduled(fixedDelay = 1000L)
+    public void flush() {
+        if (pendingDeltas.isEmpty()) {
+            return;
+        }
+
+        for (Long itemId : new ArrayList<>(pendingDeltas.keySet())) {
+            synchronized (flushLock) {
+                long[] delta = pendingDeltas.remove(itemId);
+                if (delta == null || isZero(delta)) {
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> applyDelta(itemId, delta));
+                    afterStatsChanged(itemId);
+                } catch (Exception e) {
+                    merge(itemId, delta);
+                    log.error("평점 집계 반영 실패. 다음 주기에 재시도합니다. itemId={}", itemId, e);
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * 리뷰 테이블 기준 전체 재집계 (메모리 증감분 유실 보정)
+     *
+     * 상품마다 이 노드에 쌓인 증감분을 버리고 한 문장으로 덮어쓴다. 증감분은 리뷰 커밋 이후에만 쌓이므로
+     * 버린 증감분은 덮어쓴 값에 이미 들어 있다. 그동안 flush()는 그 상품을 반영하지 않는다.
+     *
+     */
+    @Scheduled(cron = "0 30 4 * * *") // 매일 새벽 4시 30분
+    @SchedulerLock(name = "item-rating-reconcile", lockAtMostFor = "PT1H", lockAtLeastFor = "PT5M")
+    public void reconcileAll() {
+        // 리뷰가 모두 삭제된 상품도 0으로 맞추도록 집계 행이 있는 상품을 함께 돈다.
+        Set<Long> itemIds = new LinkedHashSet<>(reviewRepository.findReviewedItemIds());
+        itemIds.addAll(itemRatingStatsRepository.findAllItemIds());
+
+        int fixed = 0;
+        for (Long itemId : itemIds) {
+            synchronized (flushLock) {
+                long[] pending = pendingDeltas.remove(itemId);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> overwriteFromReviews(itemId));
+                    afterStatsChanged(itemId);
+                    fixed++;
+                } catch (Exception e) {
+                    if (pending != null) {
+                        merge(itemId, pending);
+                    }
+                    log.error("평점 재집계 실패. itemId={}", itemId, e);
+                }
+            }
+        }
+        log.info("평점 전체 재집계 완료. {}건", fixed);
+    }
+
+    private void recordAfterCommit(Long itemId, int rating, int sign) {
+        long[] delta = new long[6];
+        delta[rating] = sign;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    merge(itemId, delta);
+                }
+            });
+        } else {
+            merge(itemId, delta);
+        }
+    }
+
+    private void merge(Long itemId, long[] delta) {
+        pendingDeltas.compute(itemId, (id, current) -> {
+            long[] merged = (current != null) ? current : new long[6];
+            for (int rating = 1; rating <= 5; rating++) {
+                merged[rating] += delta[rating];
+            }
+            return merged;
+        });
+    }
+
+    private void applyDelta(Long itemId, long[] delta) {
+        long countDelta = 0;
+        long scoreDelta = 0;
+        for (int rating = 1; rating <= 5; rating++) {
+            countDelta += delta[rating];
+            scoreDelta += delta[rating] * rating;
+        }
+
+        itemRatingStatsRepository.insertIfAbsent(itemId);
+        itemRatingStatsRepository.applyDelta(itemId,
+                delta[1], delta[2], delta[3], delta[4], delta[5], countDelta, scoreDelta);
+        itemRepository.addRating(itemId, (int) scoreDelta, (int) countDelta);
+    }
+
+    private void overwriteFromReviews(Long itemId) {
+        itemRatingStatsRepository.insertIfAbsent(itemId);
+        itemRatingStatsRepository.overwriteFromReviews(itemId);
+        ItemRatingStats stats = itemRatingStatsRepository.findById(itemId)
+                .orElseThrow(() -> new IllegalStateException("평점 집계 행이 없습니다. itemId=" + itemId));
+        itemRepository.overwriteRating(itemId, (int) stats.getTotalScore(), (int) stats.getReviewCount());
+    }
+
+    private long[] countFromReviews(Long itemId) {
+        long[] counts = new long[6];
+        for (Object[] row : reviewRepository.countByRating(itemId)) {
+            counts[(Integer) row[0]] = (Long) row[1];
+        }
+        return counts;
+    }
+
+    /**
+     * 상품 행의 평균 평점/리뷰 수는 리뷰 등록/삭제 시점이 아니라 여기(반영 직후)에서 바뀌므로,
+     * 리뷰 요약과 상품 상세 캐시를 함께 지우고 상세 ETag도 갱신한다.
+     */
+    private void afterStatsChanged(Long itemId) {
+        evict(SUMMARY_CACHE, itemId);
+        evict(ITEM_DETAIL_CACHE, itemId);
+        eTagVersionStore.bumpAfterCommit(ETagVersionStore.itemDetail(itemId));
+    }
+
+    private void evict(String cacheName, Long itemId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(itemId);
+        }
+    }
+
+    private boolean isZero(long[] delta) {
+        for (int rating = 1; rating <= 5; rating++) {
+            if (delta[rating] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
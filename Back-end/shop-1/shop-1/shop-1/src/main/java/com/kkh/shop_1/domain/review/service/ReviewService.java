@@ -1,11 +1,18 @@
 package com.kkh.shop_1.domain.review.service;
 
+import com.kkh.shop_1.common.etag.ETagVersionStore;
 import com.kkh.shop_1.common.s3.S3Service;
 import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.order.dto.OrderChangedEventPayload;
 import com.kkh.shop_1.domain.order.entity.OrderItem;
+import com.kkh.shop_1.domain.order.service.OrderHistoryService;
 import com.kkh.shop_1.domain.order.service.OrderService;
+import com.kkh.shop_1.domain.outbox.service.OutboxEventService;
+import com.kkh.shop_1.domain.review.dto.ReviewCursor;
+import com.kkh.shop_1.domain.review.dto.ReviewCursorPageDto;
 import com.kkh.shop_1.domain.review.dto.ReviewRequestDto;
 import com.kkh.shop_1.domain.review.dto.ReviewResponseDto;
+import com.kkh.shop_1.domain.review.dto.ReviewSummaryDto;
 import com.kkh.shop_1.domain.review.entity.Review;
 import com.kkh.shop_1.domain.review.entity.ReviewImage;
 import com.kkh.shop_1.domain.review.repository.ReviewRepository;
@@ -14,13 +21,20 @@ import com.kkh.shop_1.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,7 +45,13 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final OrderService orderService;
+    private final OutboxEventService outboxEventService;
+    private final OrderHistoryService orderHistoryService;
     private final S3Service s3Service; // S3 서비스 주입
+    private final ETagVersionStore eTagVersionStore;
+    private final ItemRatingStatsService itemRatingStatsService;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
 
     /**
      *
@@ -77,10 +97,15 @@ public class ReviewService {
             }
         }
 
-        item.addReviewRating(dto.getRating());
+        itemRatingStatsService.recordAdded(item.getId(), dto.getRating());
         orderItem.changeReviewStatus();
+        // 주문 내역의 리뷰 작성 여부가 바뀌므로 주문 조회 모델도 갱신한다.
+        outboxEventService.record("ORDER_UPDATED", OrderChangedEventPayload.of(orderItem.getOrder().getId(), userId));
+        orderHistoryService.evictAfterCommit(userId);
 
-        return reviewRepository.save(review).getId();
+        Long reviewId = reviewRepository.save(review).getId();
+        eTagVersionStore.bumpAfterCommit(ETagVersionStore.itemReviews(item.getId()));
+        return reviewId;
     }
 
     /**
@@ -101,18 +126,77 @@ public class ReviewService {
             s3Service.deleteImageByUrl(image.getImageUrl());
         }
 
-        review.getItem().removeReviewRating(review.getRating());
+        itemRatingStatsService.recordRemoved(review.getItem().getId(), review.getRating());
 
         reviewRepository.delete(review);
+        eTagVersionStore.bumpAfterCommit(ETagVersionStore.itemReviews(review.getItem().getId()));
     }
 
     /**
      *
      * 상품별 리뷰 목록 조회 (페이징)
+     * 리뷰 id만 먼저 페이징한 뒤, 해당 페이지의 리뷰만 작성자/이미지와 함께 읽는다.
      *
      */
     public Page<ReviewResponseDto> getReviewsByItem(Long itemId, Pageable pageable, Long currentUserId) {
-        return reviewRepository.findAllByItemId(itemId, pageable)
-                .map(review -> ReviewResponseDto.of(review, currentUserId));
+        // 같은 시각에 작성된 리뷰가 페이지 경계에서 중복/누락되지 않도록 id 정렬을 덧붙인다.
+        Pageable idPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().and(Sort.by(Sort.Direction.DESC, "id")));
+
+        Page<Long> idPage = reviewRepository.findIdsByItemId(itemId, idPageable);
+        List<ReviewResponseDto> content = loadReviews(idPage.getContent(), currentUserId);
+
+        return new PageImpl<>(content, pageable, idPage.getTotalElements());
+    }
+
+    /**
+     *
+     * 상품 리뷰 요약 (리뷰 수, 평균 평점, 점수별 분포)
+     *
+     */
+    public ReviewSummaryDto getReviewSummary(Long itemId) {
+        return itemRatingStatsService.getSummary(itemId);
+    }
+
+    /**
+     *
+     * 상품별 리뷰 목록 커서 조회 (작성일 내림차순)
+     *
+     */
+    public ReviewCursorPageDto getReviewsByItemCursor(Long itemId, String cursor, int size, Long currentUserId) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        ReviewCursor position = ReviewCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<ReviewCursor> positions = (position == null)
+                ? reviewRepository.findFirstPositionsByItemId(itemId, limit)
+                : reviewRepository.findPositionsByItemIdAfter(itemId, position.createdAt(), position.reviewId(), limit);
+
+        // 다음 커서와 hasNext는 1단계에서 읽은 위치로 정한다. (두 쿼리 사이에 리뷰가 삭제돼 본문이 덜 읽혀도 흔들리지 않게)
+        boolean hasNext = positions.size() > pageSize;
+        List<ReviewCursor> pagePositions = hasNext ? positions.subList(0, pageSize) : positions;
+        List<ReviewResponseDto> reviews = loadReviews(
+                pagePositions.stream().map(ReviewCursor::reviewId).toList(), currentUserId);
+
+        String nextCursor = hasNext ? pagePositions.get(pagePositions.size() - 1).encode() : null;
+        return new ReviewCursorPageDto(reviews, nextCursor, hasNext);
+    }
+
+    /**
+     * 한 페이지 분량의 리뷰를 쿼리 한 번으로 읽고, 1단계에서 정한 id 순서대로 돌려준다.
+     */
+    private List<ReviewResponseDto> loadReviews(List<Long> ids, Long currentUserId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Review> reviews = reviewRepository.findAllWithUserAndImagesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Review::getId, Function.identity()));
+
+        return ids.stream()
+                .map(reviews::get)
+                .filter(Objects::nonNull) // 두 쿼리 사이에 삭제된 리뷰
+                .map(review -> ReviewResponseDto.of(review, currentUserId))
+                .toList();
     }
 }
\ No newline at end of file
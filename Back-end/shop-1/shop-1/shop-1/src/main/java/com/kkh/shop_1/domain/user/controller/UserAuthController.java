@@ -51,10 +51,11 @@ public class UserAuthController {
             @CookieValue(name = ACCESS_TOKEN, required = false) String cookieToken
     ) {
         String accessToken = resolveToken(headerToken, cookieToken);
-        if (accessToken == null || !jwtProvider.validateToken(accessToken)) {
+        // 검증은 한 번만 하고(검증된 토큰 캐시 사용), 응답에 필요한 회원 정보만 조회한다.
+        Long userId = (accessToken != null) ? jwtProvider.findUserId(accessToken).orElse(null) : null;
+        if (userId == null) {
             return ResponseEntity.status(401).body(ApiResponse.<UserInfoDTO>fail("로그인 필요"));
         }
-        Long userId = Long.valueOf(jwtProvider.parseClaims(accessToken).getSubject());
         User user = userService.findById(userId);
         return ResponseEntity.ok(ApiResponse.success(UserInfoDTO.from(user)));
     }
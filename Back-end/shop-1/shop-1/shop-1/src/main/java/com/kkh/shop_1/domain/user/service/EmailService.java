@@ -1,79 +1,87 @@
 package com.kkh.shop_1.domain.user.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.kkh.shop_1.common.mail.MailMessage;
+import com.kkh.shop_1.common.mail.MailTemplate;
+import com.kkh.shop_1.common.mail.SmtpMailDispatcher;
+import com.kkh.shop_1.common.store.TtlStore;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.function.Function;
+
+/**
+ *
+ * 이메일 인증 서비스. 인증코드/시도 횟수/인증 완료 표시는 TtlStore(Redis)에 두어,
+ * 발송과 검증 요청이 서로 다른 노드로 가도 같은 값을 보고, 버려진 코드는 TTL로 사라진다.
+ *
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender javaMailSender;
+    private final SmtpMailDispatcher mailDispatcher;
+    private final TtlStore ttlStore;
+
+    private static final MailTemplate<String> VERIFICATION_CONTENT = MailTemplate.html(
+            "인증번호: <strong>{{code}}</strong> (5분 이내에 입력해주세요)",
+            Map.<String, Function<String, ?>>of("code", Function.identity()));
 
-    private static final long CODE_TTL_MILLIS = 5 * 60 * 1000L; // 인증코드 유효시간: 5분
+    private static final Duration CODE_TTL = Duration.ofMinutes(5); // 인증코드 유효시간: 5분
     private static final int MAX_VERIFY_ATTEMPTS = 5; // 브루트포스 방지용 시도 횟수 제한
-    private static final long VERIFIED_TTL_MILLIS = 30 * 60 * 1000L; // 인증 완료 후 회원가입에 사용 가능한 시간: 30분
+    private static final Duration VERIFIED_TTL = Duration.ofMinutes(30); // 인증 완료 후 회원가입에 사용 가능한 시간: 30분
 
-    // 발송된 인증코드 저장소 (Key: 이메일)
-    private final Map<String, VerificationEntry> verificationCodes = new ConcurrentHashMap<>();
-    // 인증에 성공한 이메일 저장소 (Key: 이메일, Value: 만료 시각)
-    private final Map<String, Long> verifiedEmails = new ConcurrentHashMap<>();
+    private static final String CODE_KEY_PREFIX = "auth:email:code:";         // 발송된 인증코드
+    private static final String ATTEMPTS_KEY_PREFIX = "auth:email:attempts:"; // 인증코드별 검증 시도 횟수
+    private static final String VERIFIED_KEY_PREFIX = "auth:email:verified:"; // 인증에 성공한 이메일
 
     // 1. 인증번호 전송
     public void sendVerificationCode(String email) {
         String code = createCode();
-        verificationCodes.put(email, new VerificationEntry(code, System.currentTimeMillis() + CODE_TTL_MILLIS));
+        ttlStore.put(CODE_KEY_PREFIX + email, code, CODE_TTL);
+        ttlStore.delete(ATTEMPTS_KEY_PREFIX + email); // 새 코드는 시도 횟수를 처음부터 센다.
 
-        sendMail(email, "[Shop1] 회원가입 인증번호입니다.", "인증번호: <strong>" + code + "</strong> (5분 이내에 입력해주세요)");
+        sendMail(email, "[Shop1] 회원가입 인증번호입니다.", VERIFICATION_CONTENT.render(code));
     }
 
     /**
      *
      * 범용 메일 발송 (인증코드 외에 주문/결제 알림 등에도 재사용)
+     * 풀링된 SMTP 연결을 재사용하므로 메일마다 TLS 핸드셰이크/인증을 다시 하지 않는다.
      *
      */
     public void sendMail(String to, String subject, String htmlContent) {
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-
-            javaMailSender.send(mimeMessage);
-        } catch (MessagingException e) {
-            throw new RuntimeException("이메일 전송 실패", e);
-        }
+        mailDispatcher.send(new MailMessage(to, subject, htmlContent));
     }
 
     // 2. 인증번호 검증
     public boolean verifyCode(String email, String code) {
-        VerificationEntry entry = verificationCodes.get(email);
+        String codeKey = CODE_KEY_PREFIX + email;
+        String attemptsKey = ATTEMPTS_KEY_PREFIX + email;
 
-        if (entry == null || entry.isExpired()) {
-            verificationCodes.remove(email);
+        String issued = ttlStore.get(codeKey);
+        if (issued == null) {
             return false;
         }
 
-        if (entry.attempts.incrementAndGet() > MAX_VERIFY_ATTEMPTS) {
-            verificationCodes.remove(email);
+        if (ttlStore.increment(attemptsKey, CODE_TTL) > MAX_VERIFY_ATTEMPTS) {
+            ttlStore.delete(codeKey);
+            ttlStore.delete(attemptsKey);
             return false;
         }
 
-        if (!entry.code.equals(code)) {
+        if (!issued.equals(code)) {
             return false;
         }
 
-        verificationCodes.remove(email);
-        verifiedEmails.put(email, System.currentTimeMillis() + VERIFIED_TTL_MILLIS);
+        // 같은 코드로 동시에 검증해도 코드를 지운 한 요청만 성공한다.
+        if (!code.equals(ttlStore.getAndDelete(codeKey))) {
+            return false;
+        }
+        ttlStore.delete(attemptsKey);
+        ttlStore.put(VERIFIED_KEY_PREFIX + email, "1", VERIFIED_TTL);
         return true;
     }
 
@@ -83,8 +91,7 @@ public class EmailService {
      *
      */
     public void consumeVerifiedEmail(String email) {
-        Long expiresAt = verifiedEmails.remove(email);
-        if (expiresAt == null || expiresAt < System.currentTimeMillis()) {
+        if (ttlStore.getAndDelete(VERIFIED_KEY_PREFIX + email) == null) {
             throw new IllegalStateException("이메일 인증이 필요합니다.");
         }
     }
@@ -98,19 +105,4 @@ public class EmailService {
         }
         return key.toString();
     }
-
-    private static class VerificationEntry {
-        private final String code;
-        private final long expiresAt;
-        private final AtomicInteger attempts = new AtomicInteger(0);
-
-        private VerificationEntry(String code, long expiresAt) {
-            this.code = code;
-            this.expiresAt = expiresAt;
-        }
-
-        private boolean isExpired() {
-            return System.currentTimeMillis() > expiresAt;
-        }
-    }
 }
@@ -2,9 +2,11 @@ package com.kkh.shop_1.domain.user.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.config.RestTemplateConfig;
 import com.kkh.shop_1.domain.user.dto.KakaoUserInfoDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -29,6 +31,13 @@ public class KakaoService {
     @Value("${kakao.redirect-uri}")
     private String kakaoRedirectUri;
 
+    // RestTemplateConfig도 이 값으로 연결 풀 예열 주소와 operation 태그를 만든다.
+    public static final String AUTH_BASE_URL = "https://kauth.kakao.com";
+    public static final String API_BASE_URL = "https://kapi.kakao.com";
+    public static final String TOKEN_PATH = "/oauth/token";
+    public static final String USER_INFO_PATH = "/v2/user/me";
+
+    @Qualifier(RestTemplateConfig.KAKAO_AUTH)
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
@@ -48,7 +57,7 @@ public class KakaoService {
      *
      */
     public String getKakaoToken(String code) {
-        String url = "https://kauth.kakao.com/oauth/token";
+        String url = AUTH_BASE_URL + TOKEN_PATH;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -81,7 +90,7 @@ public class KakaoService {
      *
      */
     public KakaoUserInfoDTO getKakaoUserInfoByToken(String accessToken) {
-        String url = "https://kapi.kakao.com/v2/user/me";
+        String url = API_BASE_URL + USER_INFO_PATH;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
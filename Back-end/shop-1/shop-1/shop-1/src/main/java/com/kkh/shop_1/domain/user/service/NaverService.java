@@ -2,18 +2,20 @@ package com.kkh.shop_1.domain.user.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.config.RestTemplateConfig;
+import com.kkh.shop_1.common.store.TtlStore;
 import com.kkh.shop_1.domain.user.dto.NaverUserInfoDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.Map;
+import java.time.Duration;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -31,12 +33,20 @@ public class NaverService {
     @Value("${naver.client-secret}")
     private String clientSecret;
 
+    // RestTemplateConfig도 이 값으로 연결 풀 예열 주소와 operation 태그를 만든다.
+    public static final String AUTH_BASE_URL = "https://nid.naver.com";
+    public static final String API_BASE_URL = "https://openapi.naver.com";
+    public static final String TOKEN_PATH = "/oauth2.0/token";
+    public static final String USER_INFO_PATH = "/v1/nid/me";
+
+    @Qualifier(RestTemplateConfig.NAVER_AUTH)
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final TtlStore ttlStore;
 
-    private static final long STATE_TTL_MILLIS = 10 * 60 * 1000L; // state 유효시간: 10분
-    // 서버가 발급한 state 저장소 (Key: state 값, Value: 만료 시각). CSRF 방지용.
-    private final Map<String, Long> issuedStates = new ConcurrentHashMap<>();
+    private static final Duration STATE_TTL = Duration.ofMinutes(10); // state 유효시간: 10분
+    // 서버가 발급한 state (CSRF 방지용). 발급과 콜백이 다른 노드로 가도 확인할 수 있도록 TtlStore(Redis)에 둔다.
+    private static final String STATE_KEY_PREFIX = "auth:naver:state:";
 
     /**
      *
@@ -44,20 +54,13 @@ public class NaverService {
      *
      */
     public String issueState() {
-        cleanupExpiredStates();
         String state = UUID.randomUUID().toString();
-        issuedStates.put(state, System.currentTimeMillis() + STATE_TTL_MILLIS);
+        ttlStore.put(STATE_KEY_PREFIX + state, "1", STATE_TTL);
         return state;
     }
 
-    private void cleanupExpiredStates() {
-        long now = System.currentTimeMillis();
-        issuedStates.values().removeIf(expiresAt -> expiresAt < now);
-    }
-
     private void validateState(String state) {
-        Long expiresAt = (state == null) ? null : issuedStates.remove(state);
-        if (expiresAt == null || expiresAt < System.currentTimeMillis()) {
+        if (state == null || ttlStore.getAndDelete(STATE_KEY_PREFIX + state) == null) {
             throw new IllegalArgumentException("유효하지 않거나 만료된 로그인 요청입니다.");
         }
     }
@@ -79,7 +82,7 @@ public class NaverService {
      *
      */
     public String getNaverAccessToken(String code, String state) {
-        String url = "https://nid.naver.com/oauth2.0/token";
+        String url = AUTH_BASE_URL + TOKEN_PATH;
 
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(url)
                 .queryParam("grant_type", "authorization_code")
@@ -104,7 +107,7 @@ public class NaverService {
      *
      */
     public NaverUserInfoDTO getNaverUserInfo(String accessToken) {
-        String url = "https://openapi.naver.com/v1/nid/me";
+        String url = API_BASE_URL + USER_INFO_PATH;
 
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
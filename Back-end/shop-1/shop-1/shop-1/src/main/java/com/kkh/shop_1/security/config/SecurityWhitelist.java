@@ -1,10 +1,20 @@
 package com.kkh.shop_1.security.config;
 
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  *
  * 인증 없이 접근 가능한 경로 목록. SecurityConfig의 인가 설정과
  * JwtAuthenticationFilter의 "선택적 인증" 판단이 이 목록을 공유한다.
  *
+ * 필터는 요청마다 matches()로 판단하므로, 목록은 클래스 로딩 시 한 번 "접두사(/x/**)"와 "정확히 일치"로 나눠 둔다.
+ * 그 밖의 형태(중간 와일드카드 등)만 AntPathMatcher로 비교한다.
+ *
  */
 public final class SecurityWhitelist {
 
@@ -12,10 +22,58 @@ public final class SecurityWhitelist {
             "/auth/**",
             "/items/**",
             "/reviews/items/**",
+            "/payments/webhooks/**", // PG 웹훅 (서명으로 검증)
             "/error",
             "/favicon.ico"
     };
 
+    private static final String ANY_SUFFIX = "/**";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final String[] PREFIXES;           // "/items/**" -> "/items"
+    private static final Set<String> EXACT_PATHS;
+    private static final String[] OTHER_PATTERNS;
+
+    static {
+        List<String> prefixes = new ArrayList<>();
+        Set<String> exactPaths = new HashSet<>();
+        List<String> others = new ArrayList<>();
+        for (String pattern : PATHS) {
+            String head = pattern.endsWith(ANY_SUFFIX) ? pattern.substring(0, pattern.length() - ANY_SUFFIX.length()) : pattern;
+            if (PATH_MATCHER.isPattern(head)) {
+                others.add(pattern);
+            } else if (head.length() < pattern.length()) {
+                prefixes.add(head);
+            } else {
+                exactPaths.add(pattern);
+            }
+        }
+        PREFIXES = prefixes.toArray(new String[0]);
+        EXACT_PATHS = Set.copyOf(exactPaths);
+        OTHER_PATTERNS = others.toArray(new String[0]);
+    }
+
+    /**
+     * AntPathMatcher로 PATHS를 하나씩 비교한 것과 같은 결과
+     */
+    public static boolean matches(String uri) {
+        if (EXACT_PATHS.contains(uri)) {
+            return true;
+        }
+        for (String prefix : PREFIXES) {
+            // "/items/**"는 "/items" 자체와 "/items/..." 모두에 맞는다.
+            if (uri.startsWith(prefix) && (uri.length() == prefix.length() || uri.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        for (String pattern : OTHER_PATTERNS) {
+            if (PATH_MATCHER.match(pattern, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private SecurityWhitelist() {
     }
 }
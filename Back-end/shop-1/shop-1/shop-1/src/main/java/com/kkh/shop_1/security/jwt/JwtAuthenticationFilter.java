@@ -10,7 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -26,7 +25,6 @@ import java.nio.charset.StandardCharsets;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
-    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -45,7 +43,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 Authentication authentication = jwtProvider.getAuthentication(token);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             } catch (RuntimeException e) {
-                if (isWhitelisted(uri)) {
+                if (SecurityWhitelist.matches(uri)) {
                     // 공개 경로는 인증이 없어도 되므로, 유효하지 않은 토큰은 무시하고 비로그인 상태로 진행한다.
                     log.warn("공개 경로에서 유효하지 않은 토큰을 무시합니다: {}", e.getMessage());
                 } else {
@@ -58,15 +56,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean isWhitelisted(String uri) {
-        for (String pattern : SecurityWhitelist.PATHS) {
-            if (PATH_MATCHER.match(pattern, uri)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private String resolveToken(HttpServletRequest request) {
 
         String bearerToken = request.getHeader("Authorization");
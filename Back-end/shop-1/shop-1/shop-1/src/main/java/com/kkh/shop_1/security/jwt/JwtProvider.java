@@ -4,10 +4,10 @@ import com.kkh.shop_1.domain.user.dto.KakaoUserInfoDTO;
 import com.kkh.shop_1.domain.user.dto.NaverUserInfoDTO;
 import com.kkh.shop_1.domain.user.entity.LoginType;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -16,17 +16,36 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.time.Clock;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class JwtProvider {
 
+    // 서명 키와 파서는 한 번만 만들어 재사용한다. (JwtParser는 불변이라 여러 스레드가 함께 써도 된다)
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Clock clock;
 
-    @Value("${jwt.secret.key}")
-    private String secretKey;
+    public JwtProvider(@Value("${jwt.secret.key}") String secretKey,
+                       @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+        this(secretKey, cacheMaxEntries, Clock.systemUTC());
+    }
+
+    JwtProvider(String secretKey, int cacheMaxEntries, Clock clock) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(cacheMaxEntries, clock);
+        this.clock = clock;
+    }
 
     // =========================
     // Token Expiration
@@ -125,9 +144,18 @@ public class JwtProvider {
     }
 
     // =========================
-    // Authentication (수정됨)
+    // Authentication
     // =========================
+
+    /**
+     * 액세스 토큰의 인증 정보. 한 번 검증한 토큰은 만료 전까지 캐시에서 바로 돌려준다.
+     */
     public Authentication getAuthentication(String token) {
+        Authentication cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
         Claims claims = parseClaims(token);
 
         // 토큰 타입 검증
@@ -142,7 +170,22 @@ public class JwtProvider {
                 ? Collections.singletonList(new SimpleGrantedAuthority(userRole))
                 : Collections.emptyList();
 
-        return new UsernamePasswordAuthenticationToken(userId, null, authorities);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userId, null, authorities);
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(token, authentication, claims.getExpiration().getTime());
+        }
+        return authentication;
+    }
+
+    /**
+     * 유효한 액세스 토큰이면 사용자 id, 아니면 빈 값 (검증은 한 번만 한다)
+     */
+    public Optional<Long> findUserId(String accessToken) {
+        try {
+            return Optional.of((Long) getAuthentication(accessToken).getPrincipal());
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
     }
 
     // =========================
@@ -158,24 +201,20 @@ public class JwtProvider {
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     // =========================
     // Common Builder
     // =========================
     private String buildToken(Claims claims, long expiration) {
-        Date now = new Date();
+        Date now = new Date(clock.millis());
         Date expiry = new Date(now.getTime() + expiration);
         return Jwts.builder()
                 .setClaims(claims)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 }
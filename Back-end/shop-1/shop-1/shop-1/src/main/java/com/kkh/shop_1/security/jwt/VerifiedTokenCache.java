@@ -0,0 +1,93 @@
+package com.kkh.shop_1.security.jwt;
+
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * 서명 검증이 끝난 액세스 토큰의 인증 정보를 보관하는 JVM 내 캐시.
+ *
+ * - 키는 토큰 원문이 아니라 SHA-256 해시라, 메모리에 토큰이 남지 않는다. (해시 한 번이 HMAC 검증 + 클레임 JSON 파싱보다 싸다)
+ * - 토큰의 만료 시각까지만 쓰고, 만료된 항목은 조회 시점에 버린다.
+ * - 최대 항목 수를 넘으면 만료된 항목부터 지우고, 그래도 가득 차 있으면 임의의 항목을 지워 한도를 지킨다.
+ *
+ * 검증에 실패한 토큰은 넣지 않는다. (임의의 토큰으로 캐시를 채울 수 없게)
+ *
+ */
+final class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    private record Entry(Authentication authentication, long expiresAtMillis) {
+    }
+
+    Authentication get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    void put(String token, Authentication authentication, long expiresAtMillis) {
+        if (maxEntries <= 0 || expiresAtMillis <= clock.millis()) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(hash(token), new Entry(authentication, expiresAtMillis));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = clock.millis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        if (entries.size() < maxEntries) {
+            return;
+        }
+
+        // 만료된 항목만으로 자리가 나지 않으면 한도의 10%만큼 비운다. (비워진 토큰은 다음 요청에서 다시 검증)
+        Iterator<String> iterator = entries.keySet().iterator();
+        int target = maxEntries - Math.max(maxEntries / 10, 1);
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
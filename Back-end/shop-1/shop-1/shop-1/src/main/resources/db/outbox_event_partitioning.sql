@@ -0,0 +1,18 @@
+-- outbox_event를 생성 월 기준 RANGE 파티션 테이블로 전환 (MySQL 8).
+-- 적용 후 outbox.retention.partitioning.enabled=true로 켜면 OutboxPartitionManager가
+-- 다음 달 파티션을 미리 만들고, 보존 기간이 지난 파티션을 DROP PARTITION으로 지운다.
+--
+-- MySQL 파티션 키는 모든 유니크 키에 포함되어야 하므로 PK를 (outbox_event_id, created_at)으로 바꾼다.
+-- outbox_event_id는 여전히 AUTO_INCREMENT라 애플리케이션(JPA @Id)에서는 그대로 단일 키로 쓴다.
+-- 테이블을 다시 쓰는 작업이므로 트래픽이 적은 시간에 실행한다. 첫 파티션 경계는 적용 시점에 맞게 고친다.
+
+ALTER TABLE outbox_event
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (outbox_event_id, created_at);
+
+ALTER TABLE outbox_event
+    PARTITION BY RANGE (TO_DAYS(created_at)) (
+        PARTITION p202610 VALUES LESS THAN (TO_DAYS('2026-11-01')),
+        PARTITION p202611 VALUES LESS THAN (TO_DAYS('2026-12-01')),
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
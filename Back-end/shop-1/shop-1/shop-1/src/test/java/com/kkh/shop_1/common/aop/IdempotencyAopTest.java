@@ -1,6 +1,10 @@
 package com.kkh.shop_1.common.aop;
 
 import com.kkh.shop_1.common.annotation.Idempotent;
+import com.kkh.shop_1.common.idempotency.IdempotencyStore;
+import com.kkh.shop_1.common.idempotency.IdempotencyStore.Claim;
+import com.kkh.shop_1.common.idempotency.IdempotencyStore.State;
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.AfterEach;
@@ -8,15 +12,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoSettings;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -27,9 +28,10 @@ import java.time.Duration;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -37,17 +39,16 @@ import static org.mockito.Mockito.verify;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class IdempotencyAopTest {
 
+    private static final Duration LEASE = Duration.ofSeconds(60);
+
     @InjectMocks
     private IdempotencyAop idempotencyAop;
 
     @Mock
-    private RedissonClient redissonClient;
-
-    @Mock
-    private StringRedisTemplate stringRedisTemplate;
+    private IdempotencyStore idempotencyStore;
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private RedisLeaseLock redisLeaseLock;
 
     @Mock
     private ProceedingJoinPoint joinPoint;
@@ -55,9 +56,6 @@ class IdempotencyAopTest {
     @Mock
     private MethodSignature methodSignature;
 
-    @Mock
-    private RLock rLock;
-
     private Idempotent idempotent;
 
     // 실제 결제 응답 DTO(OrderDetailDTO 등)처럼 @Getter만 있고 기본 생성자가 protected인 형태를 재현한 응답 클래스
@@ -85,6 +83,9 @@ class IdempotencyAopTest {
     interface TargetService {
         @Idempotent(ttlHours = 24)
         SampleResponse doWork();
+
+        @Idempotent(ttlHours = 24, lockKey = "'lock:order-approve:' + #p0")
+        SampleResponse doLockedWork(Long orderId);
     }
 
     @BeforeEach
@@ -93,12 +94,8 @@ class IdempotencyAopTest {
         request.addHeader("Idempotency-Key", "test-key-1");
         RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
 
-        Method method = TargetService.class.getMethod("doWork");
-        idempotent = method.getAnnotation(Idempotent.class);
-
-        given(joinPoint.getSignature()).willReturn(methodSignature);
-        given(methodSignature.getMethod()).willReturn(method);
-        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        stubMethod(TargetService.class.getMethod("doWork"));
+        given(joinPoint.getArgs()).willReturn(new Object[0]);
     }
 
     @AfterEach
@@ -107,12 +104,11 @@ class IdempotencyAopTest {
     }
 
     @Test
-    @DisplayName("최초 요청은 실제 로직을 실행하고, 결과를 Redis에 캐싱한다")
-    void firstRequest_ExecutesAndCachesResult() throws Throwable {
+    @DisplayName("최초 요청은 선점 후 실제 로직을 실행하고, 결과를 완료 응답으로 저장한다")
+    void firstRequest_ExecutesAndCompletesClaim() throws Throwable {
         // given
-        given(valueOperations.get("idempotency:result:test-key-1")).willReturn(null);
-        given(redissonClient.getLock("idempotency:lock:test-key-1")).willReturn(rLock);
-        given(rLock.tryLock(0, 60, java.util.concurrent.TimeUnit.SECONDS)).willReturn(true);
+        Claim claim = acquired(null, false);
+        given(idempotencyStore.claim("test-key-1", null, LEASE)).willReturn(claim);
         given(joinPoint.proceed()).willReturn(new SampleResponse(1L, "성공"));
 
         // when
@@ -123,16 +119,17 @@ class IdempotencyAopTest {
         assertThat(((SampleResponse) result).getMessage()).isEqualTo("성공");
 
         verify(joinPoint).proceed();
-        verify(valueOperations).set(eq("idempotency:result:test-key-1"), any(String.class), eq(Duration.ofHours(24)));
-        verify(rLock).unlock();
+        verify(idempotencyStore).complete(eq(claim), any(String.class), eq(Duration.ofHours(24)));
+        verify(idempotencyStore, never()).release(any());
     }
 
     @Test
-    @DisplayName("이미 처리된 키로 다시 요청하면 실제 로직을 실행하지 않고 캐시된 응답을 반환한다")
+    @DisplayName("이미 처리된 키로 다시 요청하면 실제 로직을 실행하지 않고 저장된 응답을 반환한다")
     void duplicateRequest_ReturnsCachedResultWithoutExecuting() throws Throwable {
         // given
         String cachedJson = "{\"id\":1,\"message\":\"이전 응답\"}";
-        given(valueOperations.get("idempotency:result:test-key-1")).willReturn(cachedJson);
+        given(idempotencyStore.claim("test-key-1", null, LEASE))
+                .willReturn(new Claim(State.COMPLETED, "test-key-1", null, null, false, cachedJson));
 
         // when
         Object result = idempotencyAop.around(joinPoint, idempotent);
@@ -142,16 +139,15 @@ class IdempotencyAopTest {
         assertThat(((SampleResponse) result).getMessage()).isEqualTo("이전 응답");
 
         verify(joinPoint, never()).proceed();
-        verify(redissonClient, never()).getLock(any(String.class));
+        verify(idempotencyStore, never()).complete(any(), anyString(), any());
     }
 
     @Test
-    @DisplayName("같은 키로 동시에 요청이 들어오면(락 획득 실패) 즉시 예외를 던지고 실제 로직은 실행하지 않는다")
-    void concurrentRequest_LockContention_ThrowsImmediately() throws Throwable {
+    @DisplayName("같은 키의 요청이 처리 중이면 즉시 예외를 던지고 실제 로직은 실행하지 않는다")
+    void concurrentRequest_InFlight_ThrowsImmediately() throws Throwable {
         // given
-        given(valueOperations.get("idempotency:result:test-key-1")).willReturn(null);
-        given(redissonClient.getLock("idempotency:lock:test-key-1")).willReturn(rLock);
-        given(rLock.tryLock(0, 60, java.util.concurrent.TimeUnit.SECONDS)).willReturn(false);
+        given(idempotencyStore.claim("test-key-1", null, LEASE))
+                .willReturn(new Claim(State.IN_FLIGHT, "test-key-1", null, null, false, null));
 
         // when & then
         assertThatThrownBy(() -> idempotencyAop.around(joinPoint, idempotent))
@@ -173,16 +169,15 @@ class IdempotencyAopTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Idempotency-Key");
 
-        verify(stringRedisTemplate, never()).opsForValue();
+        verify(idempotencyStore, never()).claim(anyString(), any(), any());
     }
 
     @Test
-    @DisplayName("실제 로직이 실패하면 응답을 캐싱하지 않고, 같은 키로 재시도할 수 있도록 락을 해제한다")
-    void executionFails_DoesNotCacheAndReleasesLock() throws Throwable {
+    @DisplayName("실제 로직이 실패하면 응답을 저장하지 않고, 같은 키로 재시도할 수 있도록 선점을 해제한다")
+    void executionFails_DoesNotCompleteAndReleasesClaim() throws Throwable {
         // given
-        given(valueOperations.get("idempotency:result:test-key-1")).willReturn(null);
-        given(redissonClient.getLock("idempotency:lock:test-key-1")).willReturn(rLock);
-        given(rLock.tryLock(0, 60, java.util.concurrent.TimeUnit.SECONDS)).willReturn(true);
+        Claim claim = acquired(null, false);
+        given(idempotencyStore.claim("test-key-1", null, LEASE)).willReturn(claim);
         given(joinPoint.proceed()).willThrow(new IllegalStateException("결제 승인 실패"));
 
         // when & then
@@ -190,7 +185,58 @@ class IdempotencyAopTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("결제 승인 실패");
 
-        verify(valueOperations, never()).set(any(String.class), any(String.class), any(Duration.class));
-        verify(rLock).unlock();
+        verify(idempotencyStore, never()).complete(any(), anyString(), any());
+        verify(idempotencyStore).release(claim);
+    }
+
+    @Test
+    @DisplayName("lockKey가 있으면 선점과 같은 호출로 락을 잡고, 실행 동안 현재 스레드 소유로 등록했다가 완료 후 지운다")
+    void lockKey_AcquiredWithClaim_AdoptedDuringExecution() throws Throwable {
+        // given
+        stubMethod(TargetService.class.getMethod("doLockedWork", Long.class));
+        given(joinPoint.getArgs()).willReturn(new Object[]{5L});
+
+        Claim claim = acquired("lock:order-approve:5", true);
+        given(idempotencyStore.claim("test-key-1", "lock:order-approve:5", LEASE)).willReturn(claim);
+        given(joinPoint.proceed()).willReturn(new SampleResponse(5L, "승인"));
+
+        // when
+        idempotencyAop.around(joinPoint, idempotent);
+
+        // then
+        InOrder order = inOrder(redisLeaseLock, joinPoint, idempotencyStore);
+        order.verify(redisLeaseLock).adopt("lock:order-approve:5", claim.token());
+        order.verify(joinPoint).proceed();
+        order.verify(redisLeaseLock).forget("lock:order-approve:5");
+        order.verify(idempotencyStore).complete(eq(claim), any(String.class), eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    @DisplayName("다른 요청이 락을 들고 있어 선점만 된 경우에는 락을 등록하지 않고 실행한다(락은 메서드 안에서 잡는다)")
+    void lockKey_BusyLock_ProceedsWithoutAdopting() throws Throwable {
+        // given
+        stubMethod(TargetService.class.getMethod("doLockedWork", Long.class));
+        given(joinPoint.getArgs()).willReturn(new Object[]{5L});
+
+        given(idempotencyStore.claim("test-key-1", "lock:order-approve:5", LEASE)).willReturn(acquired("lock:order-approve:5", false));
+        given(joinPoint.proceed()).willReturn(new SampleResponse(5L, "승인"));
+
+        // when
+        idempotencyAop.around(joinPoint, idempotent);
+
+        // then
+        verify(joinPoint).proceed();
+        verify(redisLeaseLock, never()).adopt(anyString(), anyString());
+        verify(redisLeaseLock, never()).forget(anyString());
+    }
+
+    private void stubMethod(Method method) {
+        idempotent = method.getAnnotation(Idempotent.class);
+        given(joinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getMethod()).willReturn(method);
+    }
+
+    private Claim acquired(String lockKey, boolean lockAcquired) {
+        return new Claim(State.ACQUIRED, "test-key-1", lockKey, "token-1", lockAcquired, null);
     }
 }
@@ -0,0 +1,153 @@
+package com.kkh.shop_1.common.aop;
+
+import com.kkh.shop_1.common.annotation.SchedulerLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.redisson.api.RBucket;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SchedulerLockAopTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<Object> bucket;
+
+    @Mock
+    private RScript script;
+
+    @Mock
+    private RMap<Object, Object> history;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SchedulerLockAop schedulerLockAop;
+
+    @BeforeEach
+    void setUp() {
+        schedulerLockAop = new SchedulerLockAop(redissonClient, meterRegistry);
+        given(redissonClient.getBucket(anyString(), any(Codec.class))).willReturn(bucket);
+        given(redissonClient.getScript(any(Codec.class))).willReturn(script);
+        given(redissonClient.getMap(anyString(), any(Codec.class))).willReturn(history);
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulerLockAop.shutdown();
+    }
+
+    @Test
+    @DisplayName("임대를 잡으면 작업을 실행하고, 끝나면 내 토큰일 때만 임대를 해제한다")
+    void acquired_RunsAndReleases() throws Throwable {
+        // given
+        given(bucket.setIfAbsent(any(), any(Duration.class))).willReturn(true);
+        given(joinPoint.proceed()).willReturn(null);
+
+        // when
+        schedulerLockAop.around(joinPoint, lock("PT10M", "PT0S"));
+
+        // then
+        verify(joinPoint).proceed();
+        verify(script).eval(any(RScript.Mode.class), contains("'del'"), any(RScript.ReturnType.class), anyList(), any());
+        assertThat(meterRegistry.counter("scheduler.job.runs", "job", "test-job", "result", "success").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("scheduler.job.last.success").tag("job", "test-job").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 임대 중이면 작업을 실행하지 않고 건너뛴다")
+    void notAcquired_Skips() throws Throwable {
+        // given
+        given(bucket.setIfAbsent(any(), any(Duration.class))).willReturn(false);
+
+        // when
+        schedulerLockAop.around(joinPoint, lock("PT10M", "PT0S"));
+
+        // then
+        verify(joinPoint, never()).proceed();
+        assertThat(meterRegistry.counter("scheduler.job.runs", "job", "test-job", "result", "skipped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("lockAtLeastFor가 남았으면 해제하지 않고 남은 시간만큼 임대를 유지한다")
+    void lockAtLeastFor_KeepsLease() throws Throwable {
+        // given
+        given(bucket.setIfAbsent(any(), any(Duration.class))).willReturn(true);
+
+        // when
+        schedulerLockAop.around(joinPoint, lock("PT10M", "PT5M"));
+
+        // then
+        ArgumentCaptor<Object> ttl = ArgumentCaptor.forClass(Object.class);
+        verify(script).eval(any(RScript.Mode.class), contains("'pexpire'"), any(RScript.ReturnType.class), anyList(), any(), ttl.capture());
+        assertThat(Long.parseLong((String) ttl.getValue())).isBetween(Duration.ofMinutes(4).toMillis(), Duration.ofMinutes(5).toMillis());
+        verify(script, never()).eval(any(RScript.Mode.class), contains("'del'"), any(RScript.ReturnType.class), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("작업이 실패하면 예외를 그대로 던지고 실패로 집계한다")
+    void failure_RethrowsAndCounts() throws Throwable {
+        // given
+        given(bucket.setIfAbsent(any(), any(Duration.class))).willReturn(true);
+        given(joinPoint.proceed()).willThrow(new IllegalStateException("boom"));
+
+        // when & then
+        assertThatThrownBy(() -> schedulerLockAop.around(joinPoint, lock("PT10M", "PT0S")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.counter("scheduler.job.runs", "job", "test-job", "result", "failure").count()).isEqualTo(1.0);
+        verify(script).eval(any(RScript.Mode.class), contains("'del'"), any(RScript.ReturnType.class), anyList(), any());
+    }
+
+    private SchedulerLock lock(String atMost, String atLeast) {
+        return new SchedulerLock() {
+            @Override
+            public String name() {
+                return "test-job";
+            }
+
+            @Override
+            public String lockAtMostFor() {
+                return atMost;
+            }
+
+            @Override
+            public String lockAtLeastFor() {
+                return atLeast;
+            }
+
+            @Override
+            public Class<? extends java.lang.annotation.Annotation> annotationType() {
+                return SchedulerLock.class;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.kkh.shop_1.common.http;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class HttpClientMetricsInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HttpClientMetricsInterceptor interceptor;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        HttpClientPoolSpec spec = HttpClientPoolSpec.of("kakaopay", 10, List.of(),
+                Map.of("/payment/approve", "approve", "/payment/order", "inquire"));
+        interceptor = new HttpClientMetricsInterceptor(spec, meterRegistry);
+        execution = mock(ClientHttpRequestExecution.class);
+    }
+
+    private MockClientHttpRequest request(String url) {
+        return new MockClientHttpRequest(HttpMethod.POST, URI.create(url));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return meterRegistry.find(HttpClientMetricsInterceptor.METRIC_NAME)
+                .tags("provider", "kakaopay", "operation", operation, "outcome", outcome)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("요청 경로로 operation을 정해 provider/operation/outcome 태그로 지연 시간을 기록한다")
+    void intercept_RecordsLatencyByProviderAndOperation() throws IOException {
+        // given
+        given(execution.execute(any(), any())).willReturn(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        // when
+        ClientHttpResponse response = interceptor.intercept(
+                request("https://open-api.kakaopay.com/online/v1/payment/approve"), new byte[0], execution);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(timer("approve", "SUCCESS")).isNotNull();
+        assertThat(timer("approve", "SUCCESS").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("5xx 응답은 SERVER_ERROR, 매핑에 없는 경로는 other로 기록한다")
+    void intercept_ServerErrorAndUnknownPath() throws IOException {
+        // given
+        given(execution.execute(any(), any())).willReturn(new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY));
+
+        // when
+        interceptor.intercept(request("https://open-api.kakaopay.com/online/v1/payment/unknown"), new byte[0], execution);
+
+        // then
+        assertThat(timer("other", "SERVER_ERROR").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("연결/읽기 실패로 예외가 나도 IO_ERROR로 기록하고 예외는 그대로 던진다")
+    void intercept_IoError_RecordsAndRethrows() throws IOException {
+        // given
+        given(execution.execute(any(), any())).willThrow(new IOException("Read timed out"));
+
+        // when & then
+        assertThatThrownBy(() -> interceptor.intercept(
+                request("https://open-api.kakaopay.com/online/v1/payment/order"), new byte[0], execution))
+                .isInstanceOf(IOException.class);
+        assertThat(timer("inquire", "IO_ERROR").count()).isEqualTo(1);
+    }
+}
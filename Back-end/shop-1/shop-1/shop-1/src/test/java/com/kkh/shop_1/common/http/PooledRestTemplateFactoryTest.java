@@ -0,0 +1,150 @@
+package com.kkh.shop_1.common.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 HTTP 서버에 실제로 연결을 맺어 풀 크기/예열/유휴 연결 정리를 확인한다. 풀 상태는 게이지(http.client.pool.*)로 읽는다.
+ */
+class PooledRestTemplateFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockEnvironment environment;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger headRequests = new AtomicInteger();
+    private PooledRestTemplateFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        environment = new MockEnvironment();
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            headRequests.incrementAndGet();
+            try {
+                // 예열 요청들이 겹쳐야 서로 다른 연결이 열린다.
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (factory != null) {
+            factory.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private PooledRestTemplateFactory factory(long idleEvictSeconds, int prewarmConnections) {
+        factory = new PooledRestTemplateFactory(meterRegistry, environment, 1000, 1000, 1000, idleEvictSeconds, 60, prewarmConnections);
+        return factory;
+    }
+
+    private HttpClientPoolSpec spec(String provider) {
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        return HttpClientPoolSpec.of(provider, 10, List.of(baseUrl), Map.of());
+    }
+
+    private double gauge(String name, String provider) {
+        return meterRegistry.get(name).tag("provider", provider).gauge().value();
+    }
+
+    private void awaitGauge(String name, String provider, double expected, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (gauge(name, provider) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    @DisplayName("provider별 max-connections 프로퍼티가 있으면 기본 풀 크기 대신 그 값을 쓴다")
+    void create_PoolSizeOverriddenPerProvider() {
+        // given
+        environment.setProperty("http.client.pools.kakaopay.max-connections", "7");
+        PooledRestTemplateFactory factory = factory(30, 0);
+
+        // when
+        factory.create(spec("kakaopay"));
+        factory.create(spec("tosspay"));
+
+        // then
+        assertThat(gauge("http.client.pool.max", "kakaopay")).isEqualTo(7.0);
+        assertThat(gauge("http.client.pool.max", "tosspay")).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("기동 후 예열하면 예열 주소마다 설정한 수만큼 연결을 맺어 유휴 상태로 풀에 남긴다")
+    void prewarm_OpensConnectionsIntoPool() throws InterruptedException {
+        // given
+        PooledRestTemplateFactory factory = factory(30, 2);
+        factory.create(spec("kakaopay"));
+
+        // when
+        factory.prewarm();
+        awaitGauge("http.client.pool.available", "kakaopay", 2.0, Duration.ofSeconds(3));
+
+        // then
+        assertThat(headRequests.get()).isEqualTo(2);
+        assertThat(gauge("http.client.pool.available", "kakaopay")).isEqualTo(2.0);
+        assertThat(gauge("http.client.pool.leased", "kakaopay")).isZero();
+    }
+
+    @Test
+    @DisplayName("예열 연결 수가 0이면 아무 요청도 보내지 않는다")
+    void prewarm_Disabled_NoRequests() {
+        // given
+        PooledRestTemplateFactory factory = factory(30, 0);
+        factory.create(spec("kakaopay"));
+
+        // when
+        factory.prewarm();
+
+        // then
+        assertThat(headRequests.get()).isZero();
+        assertThat(gauge("http.client.pool.available", "kakaopay")).isZero();
+    }
+
+    @Test
+    @DisplayName("유휴 시간을 넘긴 연결은 백그라운드 정리로 풀에서 빠진다")
+    void idleConnections_Evicted() throws InterruptedException {
+        // given
+        PooledRestTemplateFactory factory = factory(1, 2);
+        factory.create(spec("kakaopay"));
+        factory.prewarm();
+        awaitGauge("http.client.pool.available", "kakaopay", 2.0, Duration.ofSeconds(3));
+        assertThat(gauge("http.client.pool.available", "kakaopay")).isEqualTo(2.0);
+
+        // when
+        awaitGauge("http.client.pool.available", "kakaopay", 0.0, Duration.ofSeconds(5));
+
+        // then
+        assertThat(gauge("http.client.pool.available", "kakaopay")).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+package com.kkh.shop_1.common.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisLeaseLockTest {
+
+    private static final String KEY = "lock:order-approve:1";
+    private static final Duration LEASE = Duration.ofSeconds(60);
+
+    @InjectMocks
+    private RedisLeaseLock redisLeaseLock;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<String> bucket;
+
+    @Mock
+    private RScript script;
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.<String>getBucket(KEY, StringCodec.INSTANCE)).willReturn(bucket);
+        given(redissonClient.getScript(StringCodec.INSTANCE)).willReturn(script);
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisLeaseLock.forget(KEY);
+    }
+
+    @Test
+    @DisplayName("같은 스레드가 다시 잡으면 Redis를 거치지 않고, 마지막 해제 때만 내 토큰으로 지운다")
+    void reentrantLock_ReleasesOnlyOnOutermostUnlock() throws InterruptedException {
+        // given
+        given(bucket.setIfAbsent(anyString(), eq(LEASE))).willReturn(true);
+
+        // when
+        assertThat(redisLeaseLock.tryLock(KEY, Duration.ZERO, LEASE)).isTrue();
+        assertThat(redisLeaseLock.tryLock(KEY, Duration.ZERO, LEASE)).isTrue();
+        redisLeaseLock.unlock(KEY);
+
+        // then
+        verify(bucket, times(1)).setIfAbsent(anyString(), eq(LEASE));
+        verify(script, never()).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any());
+        assertThat(redisLeaseLock.isHeldByCurrentThread(KEY)).isTrue();
+
+        redisLeaseLock.unlock(KEY);
+        verify(script).eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.INTEGER), eq(List.<Object>of(KEY)), any());
+        assertThat(redisLeaseLock.isHeldByCurrentThread(KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("다른 요청이 들고 있으면 대기 시간 동안 다시 시도하고, 끝내 못 잡으면 false를 반환한다")
+    void busyLock_RetriesUntilWaitTimeThenFails() throws InterruptedException {
+        // given
+        given(bucket.setIfAbsent(anyString(), eq(LEASE))).willReturn(false);
+
+        // when
+        boolean locked = redisLeaseLock.tryLock(KEY, Duration.ofMillis(50), LEASE);
+
+        // then
+        assertThat(locked).isFalse();
+        verify(bucket, atLeast(2)).setIfAbsent(anyString(), eq(LEASE));
+        assertThat(redisLeaseLock.isHeldByCurrentThread(KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("adopt()로 등록한 락은 안쪽 코드가 다시 잡고 풀어도 Redis를 거치지 않는다")
+    void adoptedLock_NestedLockAndUnlockSkipRedis() throws InterruptedException {
+        // given
+        redisLeaseLock.adopt(KEY, "claim-token");
+
+        // when
+        assertThat(redisLeaseLock.tryLock(KEY, Duration.ofSeconds(10), LEASE)).isTrue();
+        redisLeaseLock.unlock(KEY);
+
+        // then
+        verify(bucket, never()).setIfAbsent(anyString(), any(Duration.class));
+        verify(script, never()).eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any());
+        assertThat(redisLeaseLock.isHeldByCurrentThread(KEY)).isTrue();
+
+        redisLeaseLock.forget(KEY);
+        assertThat(redisLeaseLock.isHeldByCurrentThread(KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("잡지 않은 락을 풀려고 하면 IllegalStateException을 던진다")
+    void unlockWithoutHolding_Throws() {
+        assertThatThrownBy(() -> redisLeaseLock.unlock(KEY))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
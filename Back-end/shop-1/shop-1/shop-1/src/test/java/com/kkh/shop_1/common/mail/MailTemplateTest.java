@@ -0,0 +1,51 @@
+package com.kkh.shop_1.common.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailTemplateTest {
+
+    record Model(String name, int amount) {
+    }
+
+    @Test
+    @DisplayName("자리표시자를 등록한 함수 값으로 치환한다")
+    void render_ReplacesPlaceholders() {
+        // given
+        MailTemplate<Model> template = MailTemplate.text("{{name}}님 결제금액 {{ amount }}원",
+                Map.<String, Function<Model, ?>>of("name", Model::name, "amount", Model::amount));
+
+        // when
+        String rendered = template.render(new Model("구매자", 1000));
+
+        // then
+        assertThat(rendered).isEqualTo("구매자님 결제금액 1000원");
+    }
+
+    @Test
+    @DisplayName("HTML 템플릿은 치환 값만 이스케이프하고 템플릿 자체의 태그는 유지한다")
+    void html_EscapesValuesOnly() {
+        // given
+        MailTemplate<Model> template = MailTemplate.html("<strong>{{name}}</strong>",
+                Map.<String, Function<Model, ?>>of("name", Model::name));
+
+        // when
+        String rendered = template.render(new Model("<script>", 0));
+
+        // then
+        assertThat(rendered).isEqualTo("<strong>&lt;script&gt;</strong>");
+    }
+
+    @Test
+    @DisplayName("정의되지 않은 자리표시자는 컴파일 시점에 실패한다")
+    void compile_UnknownPlaceholder_Throws() {
+        assertThatThrownBy(() -> MailTemplate.text("{{unknown}}", Map.<String, Function<Model, ?>>of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,274 @@
+package com.kkh.shop_1.common.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SmtpMailDispatcherTest {
+
+    @Mock
+    private JavaMailSenderImpl mailSender;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Transport> createdTransports = new ArrayList<>();
+    private Session session;
+    private SmtpMailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // MimeMessage 생성에는 실제 Session이 필요하므로 spy로 두고 Transport만 가짜로 돌려준다.
+        session = spy(Session.getInstance(new Properties()));
+        given(mailSender.getSession()).willReturn(session);
+        willAnswer(invocation -> {
+            Transport transport = connectableTransport();
+            createdTransports.add(transport);
+            return transport;
+        }).given(session).getTransport("smtp");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private SmtpMailDispatcher dispatcher(int poolSize) {
+        dispatcher = new SmtpMailDispatcher(mailSender, meterRegistry, poolSize);
+        return dispatcher;
+    }
+
+    /**
+     * connect/close에 따라 isConnected(NOOP 확인)가 바뀌는 가짜 연결.
+     */
+    private static Transport connectableTransport() throws MessagingException {
+        Transport transport = mock(Transport.class);
+        AtomicBoolean connected = new AtomicBoolean();
+        willAnswer(invocation -> connected.get()).given(transport).isConnected();
+        willAnswer(invocation -> {
+            connected.set(true);
+            return null;
+        }).given(transport).connect(any(), anyInt(), any(), any());
+        willAnswer(invocation -> {
+            connected.set(false);
+            return null;
+        }).given(transport).close();
+        return transport;
+    }
+
+    private static MailMessage message(int index) {
+        return new MailMessage("user" + index + "@test.com", "제목" + index, "<p>본문</p>");
+    }
+
+    private static List<MailMessage> messages(int count) {
+        return IntStream.range(0, count).mapToObj(SmtpMailDispatcherTest::message).toList();
+    }
+
+    private double counter(String name, String... tags) {
+        return meterRegistry.counter(name, tags).count();
+    }
+
+    @Test
+    @DisplayName("반납된 연결은 다음 발송에서 다시 빌려 쓰므로 연결/인증은 한 번만 한다")
+    void send_ReusesPooledTransport() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(2);
+
+        // when
+        dispatcher.send(message(0));
+        dispatcher.send(message(1));
+
+        // then
+        assertThat(createdTransports).hasSize(1);
+        Transport transport = createdTransports.get(0);
+        verify(transport).connect(any(), anyInt(), any(), any());
+        verify(transport, times(2)).sendMessage(any(), any());
+        assertThat(counter("mail.transport.connects")).isEqualTo(1.0);
+        assertThat(counter("mail.dispatch", "result", "success")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("빌릴 때 NOOP 확인에서 끊긴 연결이면 같은 Transport로 다시 연결한 뒤 보낸다")
+    void send_BorrowedTransportDropped_Reconnects() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(1);
+        dispatcher.send(message(0));
+        Transport transport = createdTransports.get(0);
+        transport.close(); // 서버가 유휴 연결을 끊은 상황
+
+        // when
+        dispatcher.send(message(1));
+
+        // then
+        assertThat(createdTransports).hasSize(1);
+        verify(transport, times(2)).connect(any(), anyInt(), any(), any());
+        verify(transport, times(2)).sendMessage(any(), any());
+    }
+
+    @Test
+    @DisplayName("연결 오류로 한 통이 실패하면 그 통만 실패로 돌려주고, 연결을 다시 맺어 나머지를 계속 보낸다")
+    void sendBatch_ConnectionError_ReconnectsAndContinues() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(1);
+        dispatcher.send(message(0));
+        Transport transport = createdTransports.get(0);
+        MessagingException connectionError = new MessagingException("421 connection dropped");
+        AtomicInteger sends = new AtomicInteger();
+        willAnswer(invocation -> {
+            if (sends.incrementAndGet() == 1) {
+                throw connectionError;
+            }
+            return null;
+        }).given(transport).sendMessage(any(), any());
+
+        // when
+        Map<Integer, Exception> failures = dispatcher.sendBatch(messages(3));
+
+        // then
+        assertThat(failures).containsOnlyKeys(0);
+        assertThat(failures.get(0)).isSameAs(connectionError);
+        verify(transport, times(2)).connect(any(), anyInt(), any(), any());
+        assertThat(counter("mail.dispatch", "result", "failure")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("수신자 오류(SendFailedException)는 연결 문제가 아니므로 다시 연결하지 않는다")
+    void sendBatch_RecipientError_KeepsConnection() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(1);
+        dispatcher.send(message(0));
+        Transport transport = createdTransports.get(0);
+        AtomicInteger sends = new AtomicInteger();
+        willAnswer(invocation -> {
+            if (sends.incrementAndGet() == 2) {
+                throw new SendFailedException("550 no such user");
+            }
+            return null;
+        }).given(transport).sendMessage(any(), any());
+
+        // when
+        Map<Integer, Exception> failures = dispatcher.sendBatch(messages(3));
+
+        // then
+        assertThat(failures).containsOnlyKeys(1);
+        verify(transport).connect(any(), anyInt(), any(), any());
+        verify(transport, times(0)).close();
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("연결에 실패하면 모든 메시지를 실패로 돌려주고, 빌린 자리는 반납해 다음 발송이 막히지 않는다")
+    void send_ConnectFails_AllFailedAndPermitReleased() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(1);
+        MessagingException authFailure = new MessagingException("535 authentication failed");
+        Transport broken = mock(Transport.class);
+        willThrow(authFailure).given(broken).connect(any(), anyInt(), any(), any());
+        willAnswer(invocation -> broken)
+                .willAnswer(invocation -> {
+                    Transport transport = connectableTransport();
+                    createdTransports.add(transport);
+                    return transport;
+                })
+                .given(session).getTransport("smtp");
+
+        // when
+        Map<Integer, Exception> failures = dispatcher.sendBatch(messages(3));
+
+        // then
+        assertThat(failures).containsOnlyKeys(0, 1, 2);
+        assertThat(failures.values()).allMatch(cause -> cause == authFailure);
+        assertThat(counter("mail.dispatch", "result", "failure")).isEqualTo(3.0);
+        // 풀 크기 1에서 자리가 새었다면 여기서 멈춘다.
+        dispatcher.send(message(3));
+        assertThat(createdTransports).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("한 통 발송이 실패하면 IllegalStateException으로 원인을 감싸 던진다")
+    void send_Failure_Throws() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(1);
+        dispatcher.send(message(0));
+        willThrow(new SendFailedException("550 no such user"))
+                .given(createdTransports.get(0)).sendMessage(any(), any());
+
+        // when & then
+        assertThatThrownBy(() -> dispatcher.send(message(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(SendFailedException.class);
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("큰 배치는 풀 크기 이하의 연결로 나눠 보내고, 다음 배치는 반납된 연결을 다시 쓴다")
+    void sendBatch_LargeBatch_BoundedByPoolSize() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(2);
+
+        // when
+        Map<Integer, Exception> first = dispatcher.sendBatch(messages(20));
+        int afterFirst = createdTransports.size();
+        Map<Integer, Exception> second = dispatcher.sendBatch(messages(20));
+
+        // then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(afterFirst).isBetween(1, 2);
+        assertThat(createdTransports).hasSize(afterFirst);
+        verify(session, atMost(2)).getTransport("smtp");
+        assertThat(counter("mail.dispatch", "result", "success")).isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("종료하면 풀에 남은 연결을 닫는다")
+    void shutdown_ClosesIdleTransports() throws Exception {
+        // given
+        SmtpMailDispatcher dispatcher = dispatcher(1);
+        dispatcher.send(message(0));
+        Transport transport = createdTransports.get(0);
+
+        // when
+        dispatcher.shutdown();
+
+        // then
+        verify(transport).close();
+        assertThat(transport.isConnected()).isFalse();
+    }
+}
@@ -0,0 +1,70 @@
+package com.kkh.shop_1.common.store;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * 테스트용 TtlStore. 만료는 주입한 Clock 기준으로 조회 시점에 판단한다.
+ *
+ */
+public class InMemoryTtlStore implements TtlStore {
+
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public InMemoryTtlStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryTtlStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    private record Entry(String value, long expiresAtMillis) {
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, clock.millis() + ttl.toMillis()));
+    }
+
+    @Override
+    public String get(String key) {
+        Entry entry = live(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    @Override
+    public String getAndDelete(String key) {
+        Entry entry = entries.remove(key);
+        return (entry != null && entry.expiresAtMillis() > clock.millis()) ? entry.value() : null;
+    }
+
+    @Override
+    public long increment(String key, Duration ttl) {
+        Entry updated = entries.compute(key, (k, current) -> {
+            if (current == null || current.expiresAtMillis() <= clock.millis()) {
+                return new Entry("1", clock.millis() + ttl.toMillis());
+            }
+            return new Entry(String.valueOf(Long.parseLong(current.value()) + 1), current.expiresAtMillis());
+        });
+        return Long.parseLong(updated.value());
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,48 @@
+package com.kkh.shop_1.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorCodecTest {
+
+    record Position(LocalDateTime sortedAt, Long id) {
+    }
+
+    @Test
+    @DisplayName("인코딩한 커서를 다시 해석하면 마이크로초까지 같은 위치가 된다")
+    void encodeDecode_RoundTrip() {
+        // given
+        LocalDateTime sortedAt = LocalDateTime.of(2026, 8, 15, 10, 0, 0, 123_456_000);
+
+        // when
+        String cursor = KeysetCursorCodec.encode(sortedAt, 42L);
+        Position decoded = KeysetCursorCodec.decode(cursor, Position::new);
+
+        // then
+        assertThat(cursor).isEqualTo("2026-08-15T10:00:00.123456,42");
+        assertThat(decoded).isEqualTo(new Position(sortedAt, 42L));
+    }
+
+    @Test
+    @DisplayName("비어 있는 커서는 첫 페이지(null)로 본다")
+    void decode_Blank_ReturnsNull() {
+        assertThat(KeysetCursorCodec.decode(null, Position::new)).isNull();
+        assertThat(KeysetCursorCodec.decode(" ", Position::new)).isNull();
+    }
+
+    @Test
+    @DisplayName("형식이 맞지 않는 커서는 예외가 발생한다")
+    void decode_Malformed_Throws() {
+        assertThatThrownBy(() -> KeysetCursorCodec.decode("abc", Position::new))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursorCodec.decode("2026-08-15T10:00,x", Position::new))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursorCodec.decode("not-a-date,1", Position::new))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
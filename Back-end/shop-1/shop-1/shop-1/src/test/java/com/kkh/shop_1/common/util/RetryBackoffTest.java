@@ -0,0 +1,49 @@
+package com.kkh.shop_1.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryBackoffTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 8, 15, 10, 0);
+    private final RetryBackoff backoff = new RetryBackoff(Duration.ofMinutes(1), Duration.ofMinutes(30));
+
+    @Test
+    @DisplayName("재시도 횟수가 늘 때마다 대기 시간이 두 배가 된다 (지터 최대값 기준)")
+    void nextAttemptAt_DoublesPerRetry() {
+        assertThat(delay(0, 0.999999)).isBetween(Duration.ofMinutes(1).minusSeconds(1), Duration.ofMinutes(1));
+        assertThat(delay(1, 0.999999)).isBetween(Duration.ofMinutes(2).minusSeconds(1), Duration.ofMinutes(2));
+        assertThat(delay(3, 0.999999)).isBetween(Duration.ofMinutes(8).minusSeconds(1), Duration.ofMinutes(8));
+    }
+
+    @Test
+    @DisplayName("지터는 대기 시간의 절반 이상, 전체 이하 범위에서 정해진다")
+    void nextAttemptAt_JitterWithinHalfToFull() {
+        assertThat(delay(2, 0.0)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(delay(2, 0.5)).isEqualTo(Duration.ofMinutes(3));
+    }
+
+    @Test
+    @DisplayName("대기 시간은 최대 간격을 넘지 않는다")
+    void nextAttemptAt_CappedAtMaxDelay() {
+        assertThat(delay(10, 0.999999)).isLessThanOrEqualTo(backoff.getMaxDelay());
+        assertThat(delay(100, 0.0)).isEqualTo(backoff.getMaxDelay().dividedBy(2));
+    }
+
+    @Test
+    @DisplayName("최대 간격이 기본 간격보다 짧으면 예외가 발생한다")
+    void constructor_MaxShorterThanBase_Throws() {
+        assertThatThrownBy(() -> new RetryBackoff(Duration.ofSeconds(30), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Duration delay(int retryCount, double random) {
+        return Duration.between(now, backoff.nextAttemptAt(retryCount, now, random));
+    }
+}
@@ -5,8 +5,10 @@ import com.kkh.shop_1.domain.cart.dto.CartItemAddRequestDTO;
 import com.kkh.shop_1.domain.cart.dto.CartItemResponseDTO;
 import com.kkh.shop_1.domain.cart.entity.CartItem;
 import com.kkh.shop_1.domain.cart.repository.CartItemRepository;
+import com.kkh.shop_1.domain.item.dto.ItemSnapshot;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import com.kkh.shop_1.domain.item.service.ItemSnapshotService;
 import com.kkh.shop_1.domain.user.entity.User;
 import com.kkh.shop_1.domain.user.service.UserService;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,6 +51,9 @@ class CartItemServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ItemSnapshotService itemSnapshotService;
+
     @Nested
     @DisplayName("장바구니 상품 추가 테스트")
     class AddItem {
@@ -155,14 +161,13 @@ class CartItemServiceTest {
         void getCartItemsSuccess() {
             // given
             User user = mock(User.class);
-            Item item = Item.builder().name("테스트상품").price(10000).build();
-            ReflectionTestUtils.setField(item, "id", 100L);
+            ItemSnapshot item = ItemSnapshot.builder().id(100L).name("테스트상품").price(10000).build();
 
             CartItem cartItem = CartItem.createCartItem(user, 100L, 2);
 
             given(userService.findById(1L)).willReturn(user);
             given(cartItemRepository.findByUser(user)).willReturn(List.of(cartItem));
-            given(itemRepository.findAllById(anyList())).willReturn(List.of(item));
+            given(itemSnapshotService.getAll(anyList())).willReturn(Map.of(100L, item));
 
             // when
             ApiResponse<List<CartItemResponseDTO>> response = cartItemService.getCartItems(1L);
@@ -1,5 +1,6 @@
 package com.kkh.shop_1.domain.item.controller;
 
+import com.kkh.shop_1.common.etag.ETagVersionStore;
 import com.kkh.shop_1.domain.item.dto.ItemDetailDTO;
 import com.kkh.shop_1.domain.item.dto.ItemSummaryDTO;
 import com.kkh.shop_1.domain.item.entity.Item;
@@ -7,6 +8,7 @@ import com.kkh.shop_1.domain.item.entity.ItemCategory;
 import com.kkh.shop_1.domain.item.entity.ItemStatus;
 import com.kkh.shop_1.domain.item.entity.StockStatus;
 import com.kkh.shop_1.domain.item.service.ItemService;
+import com.kkh.shop_1.domain.item.service.ItemSnapshotService;
 import com.kkh.shop_1.domain.user.entity.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,9 +24,12 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +43,12 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ETagVersionStore eTagVersionStore;
+
+    @MockBean
+    private ItemSnapshotService itemSnapshotService;
+
     // -------------------------
     // 상품 전체 조회
     // -------------------------
@@ -135,4 +146,47 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.status").value("FAIL"))
                 .andExpect(jsonPath("$.message").value("아이템을 찾을 수 없습니다"));
     }
+
+    // -------------------------
+    // 조건부 조회 (ETag)
+    // -------------------------
+    @Test
+    @DisplayName("상품 단건 조회 - ETag가 일치하면 서비스 호출 없이 304를 반환한다")
+    @WithMockUser
+    void getItemById_notModified() throws Exception {
+        // given
+        given(eTagVersionStore.currentVersion(ETagVersionStore.itemDetail(1L))).willReturn("v1");
+
+        // when & then
+        mockMvc.perform(get("/items/1")
+                        .header("If-None-Match", "\"item-1-v1\"")
+                        .with(csrf()))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"item-1-v1\""));
+
+        verify(itemService, never()).getItemDetail(1L);
+    }
+
+    @Test
+    @DisplayName("상품 단건 조회 - ETag가 다르면 본문과 새 ETag를 반환한다")
+    @WithMockUser
+    void getItemById_modified_returnsETag() throws Exception {
+        // given
+        ItemDetailDTO dto = ItemDetailDTO.builder()
+                .id(1L)
+                .name("단건 상품")
+                .build();
+        given(eTagVersionStore.currentVersion(ETagVersionStore.itemDetail(1L))).willReturn("v2");
+        given(itemService.getItemDetail(1L)).willReturn(dto);
+
+        // when & then
+        mockMvc.perform(get("/items/1")
+                        .header("If-None-Match", "\"item-1-v1\"")
+                        .with(csrf()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"item-1-v2\""))
+                .andExpect(jsonPath("$.data.id").value(1L));
+    }
 }
@@ -0,0 +1,183 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.kkh.shop_1.domain.item.dto.ItemCatalogRow;
+import com.kkh.shop_1.domain.item.dto.ItemSearchCondition;
+import com.kkh.shop_1.domain.item.dto.ItemSummaryDTO;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.entity.StockStatus;
+import com.kkh.shop_1.domain.item.event.ItemChangedEvent;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ItemCatalogIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    private ItemCatalogIndex itemCatalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemCatalogIndex = new ItemCatalogIndex(itemRepository, redissonClient);
+        given(redissonClient.getTopic(any(), any())).willReturn(topic);
+        given(itemRepository.findCatalogRowsAfter(eq(0L), any(Pageable.class))).willReturn(List.of(
+                row(1L, 10000, StockStatus.IN_STOCK, 1),
+                row(2L, 20000, StockStatus.IN_STOCK, 2),
+                row(3L, 30000, StockStatus.IN_STOCK, 3)
+        ));
+        itemCatalogIndex.reloadAll();
+    }
+
+    private static ItemCatalogRow row(Long id, int price, StockStatus stockStatus, int day) {
+        return new ItemCatalogRow(id, "상품" + id, price, null, ItemCategory.BOOKS, ItemStatus.SELLING, stockStatus,
+                null, 0, LocalDateTime.of(2026, 1, day, 0, 0));
+    }
+
+    private List<ItemSummaryDTO> search(String sort) {
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setSort(sort);
+        return itemCatalogIndex.search(condition, PageRequest.of(0, 10)).getContent();
+    }
+
+    private Object snapshot() {
+        return ReflectionTestUtils.getField(itemCatalogIndex, "snapshot");
+    }
+
+    @Test
+    @DisplayName("재고 변경처럼 정렬 값이 그대로인 변경은 요약만 바꾸고 다시 정렬하지 않는다")
+    void applyPendingChanges_StockOnly_PatchesSummaryWithoutReorder() {
+        // given
+        Object before = snapshot();
+        itemCatalogIndex.onItemChanged(ItemChangedEvent.stockChanged(2L));
+        given(itemRepository.findCatalogRowsByIdIn(Set.of(2L)))
+                .willReturn(List.of(row(2L, 20000, StockStatus.OUT_OF_STOCK, 2)));
+
+        // when
+        itemCatalogIndex.applyPendingChanges();
+
+        // then
+        List<ItemSummaryDTO> latest = search("latest");
+        assertThat(latest).extracting(ItemSummaryDTO::getId).containsExactly(3L, 2L, 1L);
+        assertThat(latest.get(1).getStockStatus()).isEqualTo("OUT_OF_STOCK");
+        assertThat(ReflectionTestUtils.getField(snapshot(), "latestOrder"))
+                .isSameAs(ReflectionTestUtils.getField(before, "latestOrder"));
+    }
+
+    @Test
+    @DisplayName("요약도 정렬 값도 그대로면 스냅샷을 바꾸지 않는다")
+    void applyPendingChanges_NothingChanged_KeepsSnapshot() {
+        // given
+        Object before = snapshot();
+        itemCatalogIndex.onItemChanged(ItemChangedEvent.stockChanged(1L));
+        given(itemRepository.findCatalogRowsByIdIn(Set.of(1L)))
+                .willReturn(List.of(row(1L, 10000, StockStatus.IN_STOCK, 1)));
+
+        // when
+        itemCatalogIndex.applyPendingChanges();
+
+        // then
+        assertThat(snapshot()).isSameAs(before);
+    }
+
+    @Test
+    @DisplayName("가격이 바뀌면 스냅샷을 다시 만들어 정렬 순서에 반영한다")
+    void applyPendingChanges_PriceChanged_Reorders() {
+        // given
+        itemCatalogIndex.onItemChanged(new ItemChangedEvent(1L));
+        given(itemRepository.findCatalogRowsByIdIn(Set.of(1L)))
+                .willReturn(List.of(row(1L, 50000, StockStatus.IN_STOCK, 1)));
+
+        // when
+        itemCatalogIndex.applyPendingChanges();
+
+        // then
+        assertThat(search("priceHigh")).extracting(ItemSummaryDTO::getId).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("DB에서 사라진 상품은 목록에서 뺀다")
+    void applyPendingChanges_Removed_DropsItem() {
+        // given
+        itemCatalogIndex.onItemChanged(new ItemChangedEvent(3L));
+        given(itemRepository.findCatalogRowsByIdIn(Set.of(3L))).willReturn(List.of());
+
+        // when
+        itemCatalogIndex.applyPendingChanges();
+
+        // then
+        assertThat(search("latest")).extracting(ItemSummaryDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("전체 적재는 id 순으로 페이지를 이어 읽는다")
+    void reloadAll_PagesByLastId() {
+        // given
+        List<ItemCatalogRow> fullPage = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> row(id, 1000, StockStatus.IN_STOCK, 1))
+                .toList();
+        given(itemRepository.findCatalogRowsAfter(eq(0L), any(Pageable.class))).willReturn(fullPage);
+        given(itemRepository.findCatalogRowsAfter(eq(1000L), any(Pageable.class)))
+                .willReturn(List.of(row(1001L, 1000, StockStatus.IN_STOCK, 2)));
+
+        // when
+        itemCatalogIndex.reloadAll();
+
+        // then
+        verify(itemRepository).findCatalogRowsAfter(eq(1000L), any(Pageable.class));
+        assertThat(itemCatalogIndex.search(new ItemSearchCondition(), PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(1001);
+    }
+
+    @Test
+    @DisplayName("전체 적재가 읽는 동안 반영된 상품은 교체 후 다시 읽도록 대기열에 되돌린다")
+    void reloadAll_ChangesDuringLoad_Requeued() {
+        // given: 적재가 페이지를 읽는 사이에 상품 2의 증분 반영이 끝난다.
+        given(itemRepository.findCatalogRowsByIdIn(Set.of(2L)))
+                .willReturn(List.of(row(2L, 20000, StockStatus.OUT_OF_STOCK, 2)));
+        given(itemRepository.findCatalogRowsAfter(anyLong(), any(Pageable.class))).willAnswer(invocation -> {
+            itemCatalogIndex.onItemChanged(ItemChangedEvent.stockChanged(2L));
+            itemCatalogIndex.applyPendingChanges();
+            return List.of(row(1L, 10000, StockStatus.IN_STOCK, 1), row(2L, 20000, StockStatus.IN_STOCK, 2));
+        });
+
+        // when
+        itemCatalogIndex.reloadAll();
+        itemCatalogIndex.applyPendingChanges();
+
+        // then: 적재가 읽은 예전 재고 상태가 남지 않는다.
+        assertThat(search("latest")).extracting(ItemSummaryDTO::getStockStatus).containsExactly("OUT_OF_STOCK", "IN_STOCK");
+    }
+}
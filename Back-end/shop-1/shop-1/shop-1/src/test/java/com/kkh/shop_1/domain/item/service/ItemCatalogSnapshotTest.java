@@ -0,0 +1,130 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.kkh.shop_1.domain.item.dto.ItemSearchCondition;
+import com.kkh.shop_1.domain.item.dto.ItemSummaryDTO;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemCatalogSnapshotTest {
+
+    private final ItemCatalogSnapshot snapshot = ItemCatalogSnapshot.of(List.of(
+            row(1L, 10000, ItemCategory.BOOKS, ItemStatus.SELLING, 5, 100L),
+            row(2L, 30000, ItemCategory.BOOKS, ItemStatus.SELLING, 50, 200L),
+            row(3L, 20000, ItemCategory.CLOTHING, ItemStatus.SOLD_OUT, 10, 300L),
+            row(4L, 40000, ItemCategory.BOOKS, ItemStatus.DELETED, 999, 400L),
+            row(5L, 25000, ItemCategory.CLOTHING, ItemStatus.SELLING, 1, 500L)
+    ));
+
+    @Test
+    @DisplayName("조건이 없으면 삭제 상품을 제외하고 최신 등록순으로 반환한다")
+    void search_NoCondition_LatestExcludingDeleted() {
+        // when
+        Page<ItemSummaryDTO> page = snapshot.search(new ItemSearchCondition(), PageRequest.of(0, 10));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting(ItemSummaryDTO::getId).containsExactly(5L, 3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("카테고리와 가격 범위로 필터링하고 가격 높은순으로 정렬한다")
+    void search_CategoryAndPriceRange_PriceHigh() {
+        // given
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setCategory("books");
+        condition.setMinPrice(5000);
+        condition.setMaxPrice(35000);
+        condition.setSort("priceHigh");
+
+        // when
+        Page<ItemSummaryDTO> page = snapshot.search(condition, PageRequest.of(0, 10));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(ItemSummaryDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("페이지 offset 이후의 결과만 담고 전체 건수는 유지한다")
+    void search_SecondPage_ViewsOrder() {
+        // given
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setSort("views");
+
+        // when
+        Page<ItemSummaryDTO> page = snapshot.search(condition, PageRequest.of(1, 2));
+
+        // then
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting(ItemSummaryDTO::getId).containsExactly(1L, 5L);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 카테고리는 기존 쿼리처럼 필터 없이 처리한다")
+    void search_UnknownCategory_Ignored() {
+        // given
+        ItemSearchCondition condition = new ItemSearchCondition();
+        condition.setCategory("unknown");
+        condition.setSort("priceLow");
+
+        // when
+        Page<ItemSummaryDTO> page = snapshot.search(condition, PageRequest.of(0, 10));
+
+        // then
+        assertThat(page.getContent()).extracting(ItemSummaryDTO::getId).containsExactly(1L, 3L, 5L, 2L);
+    }
+
+    @Test
+    @DisplayName("요약만 바꾼 스냅샷은 정렬 순서를 그대로 두고 바뀐 상품의 요약만 새 값으로 내려준다")
+    void withSummaries_ReplacesSummaryKeepingOrder() {
+        // given
+        ItemSummaryDTO soldOut = ItemSummaryDTO.builder()
+                .id(2L)
+                .price(30000)
+                .category(ItemCategory.BOOKS.name())
+                .status(ItemStatus.SELLING.name())
+                .stockStatus("OUT_OF_STOCK")
+                .build();
+
+        // when
+        ItemCatalogSnapshot patched = snapshot.withSummaries(List.of(soldOut));
+
+        // then
+        Page<ItemSummaryDTO> page = patched.search(new ItemSearchCondition(), PageRequest.of(0, 10));
+        assertThat(page.getContent()).extracting(ItemSummaryDTO::getId).containsExactly(5L, 3L, 2L, 1L);
+        assertThat(page.getContent().get(2)).isSameAs(soldOut);
+        // 원본 스냅샷은 바뀌지 않는다.
+        assertThat(snapshot.search(new ItemSearchCondition(), PageRequest.of(0, 10)).getContent().get(2).getStockStatus()).isNull();
+    }
+
+    @Test
+    @DisplayName("스냅샷에 없는 상품의 요약은 바꿔 끼울 수 없다")
+    void withSummaries_UnknownItem_Throws() {
+        // given
+        ItemSummaryDTO unknown = ItemSummaryDTO.builder().id(99L).build();
+
+        // when & then
+        assertThatThrownBy(() -> snapshot.withSummaries(List.of(unknown)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ItemCatalogSnapshot.Row row(Long id, int price, ItemCategory category, ItemStatus status,
+                                               int viewCount, long createdAt) {
+        ItemSummaryDTO summary = ItemSummaryDTO.builder()
+                .id(id)
+                .price(price)
+                .category(category.name())
+                .status(status.name())
+                .build();
+        return new ItemCatalogSnapshot.Row(id, price, category, status, viewCount, createdAt, summary);
+    }
+}
@@ -0,0 +1,281 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.item.dto.ItemListingRow;
+import com.kkh.shop_1.domain.item.dto.ItemSummaryDTO;
+import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.event.ItemChangedEvent;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import com.kkh.shop_1.domain.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ItemListingIndexTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private RedisOperations<String, String> pipelineOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ItemListingIndex itemListingIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        itemListingIndex = new ItemListingIndex(stringRedisTemplate, itemRepository, objectMapper);
+
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(stringRedisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(stringRedisTemplate.opsForSet()).willReturn(setOperations);
+        // 파이프라인 안의 명령도 같은 mock으로 받아 순서를 검증한다.
+        given(pipelineOperations.opsForValue()).willReturn(valueOperations);
+        given(pipelineOperations.opsForZSet()).willReturn(zSetOperations);
+        given(stringRedisTemplate.executePipelined(any(SessionCallback.class))).willAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOperations);
+            return List.of();
+        });
+        given(valueOperations.get("listing:built")).willReturn("1700000000000");
+    }
+
+    @Test
+    @DisplayName("두 번째 페이지는 offset부터 페이지 크기만큼만 ZRANGE로 읽고, 요약 캐시가 빈 상품만 DB에서 채운다")
+    void findPage_SecondPage_ReadsRangeAndBackfillsMissing() throws Exception {
+        // given
+        String indexKey = "listing:category:ELECTRONICS:latest";
+        given(zSetOperations.reverseRange(indexKey, 2L, 3L)).willReturn(new LinkedHashSet<>(List.of("3", "4")));
+        given(zSetOperations.zCard(indexKey)).willReturn(5L);
+        given(valueOperations.multiGet(List.of("listing:summary:3", "listing:summary:4")))
+                .willReturn(Arrays.asList(objectMapper.writeValueAsString(ItemSummaryDTO.from(item(3L, ItemCategory.ELECTRONICS))), null));
+        given(itemRepository.findAllById(List.of(4L))).willReturn(List.of(item(4L, ItemCategory.ELECTRONICS)));
+
+        // when
+        Page<ItemSummaryDTO> page = itemListingIndex.findPage(ItemCategory.ELECTRONICS, "latest", PageRequest.of(1, 2));
+
+        // then
+        assertThat(page.getContent()).extracting(ItemSummaryDTO::getId).containsExactly(3L, 4L);
+        assertThat(page.getTotalElements()).isEqualTo(5L);
+        verify(valueOperations).set(eq("listing:summary:4"), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("삭제가 반영되지 못하고 남은 상품은 이번 페이지에서 빼고 인덱스에서도 지운다")
+    void findPage_LeftoverDeletedItem_RemovedFromIndex() {
+        // given
+        String indexKey = "listing:category:ELECTRONICS:latest";
+        Item deleted = item(4L, ItemCategory.ELECTRONICS);
+        deleted.setStatus(ItemStatus.DELETED);
+        given(zSetOperations.reverseRange(indexKey, 0L, 1L)).willReturn(new LinkedHashSet<>(List.of("4")));
+        given(zSetOperations.zCard(indexKey)).willReturn(1L);
+        given(valueOperations.multiGet(List.of("listing:summary:4"))).willReturn(Arrays.asList((String) null));
+        given(itemRepository.findAllById(List.of(4L))).willReturn(List.of(deleted));
+
+        // when
+        Page<ItemSummaryDTO> page = itemListingIndex.findPage(ItemCategory.ELECTRONICS, "latest", PageRequest.of(0, 2));
+
+        // then
+        assertThat(page.getContent()).isEmpty();
+        verify(zSetOperations).remove("listing:category:ELECTRONICS:latest", "4");
+        verify(zSetOperations).remove("listing:category:ELECTRONICS:price", "4");
+        verify(zSetOperations).remove("listing:category:ELECTRONICS:views", "4");
+    }
+
+    @Test
+    @DisplayName("적재 중에는 인덱스를 쓰지 않고 null을 돌려 DB 조회로 넘긴다")
+    void findPage_WhileBuilding_ReturnsNull() {
+        // given
+        given(valueOperations.get("listing:built")).willReturn("building");
+
+        // when & then
+        assertThat(itemListingIndex.findPage(ItemCategory.ELECTRONICS, "latest", PageRequest.of(0, 2))).isNull();
+        verifyNoInteractions(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("재고만 바뀐 변경은 DB와 Redis를 건드리지 않는다")
+    void onItemChanged_StockOnly_NoWork() {
+        // when
+        itemListingIndex.onItemChanged(ItemChangedEvent.stockChanged(1L));
+
+        // then
+        verifyNoInteractions(itemRepository);
+        verify(stringRedisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @DisplayName("카테고리가 바뀐 수정은 이전 카테고리에서만 빼고 새 카테고리에 넣는다")
+    void onItemChanged_CategoryChanged_TouchesOnlyOldAndNewCategory() {
+        // given
+        given(itemRepository.findById(1L)).willReturn(Optional.of(item(1L, ItemCategory.BOOKS)));
+
+        // when
+        itemListingIndex.onItemChanged(new ItemChangedEvent(1L, ItemCategory.ELECTRONICS));
+
+        // then
+        verify(zSetOperations).remove("listing:category:ELECTRONICS:latest", "1");
+        verify(zSetOperations).add(eq("listing:category:BOOKS:latest"), eq("1"), anyDouble());
+        verify(zSetOperations, never()).remove(eq("listing:category:CLOTHING:latest"), any());
+        verify(zSetOperations, never()).remove(eq("listing:category:BOOKS:latest"), any());
+    }
+
+    @Test
+    @DisplayName("카테고리가 그대로인 수정은 다른 카테고리 인덱스를 건드리지 않는다")
+    void onItemChanged_SameCategory_NoRemoval() {
+        // given
+        given(itemRepository.findById(1L)).willReturn(Optional.of(item(1L, ItemCategory.BOOKS)));
+
+        // when
+        itemListingIndex.onItemChanged(new ItemChangedEvent(1L, ItemCategory.BOOKS));
+
+        // then
+        verify(zSetOperations, never()).remove(anyString(), any());
+        verify(zSetOperations).add(eq("listing:category:BOOKS:price"), eq("1"), anyDouble());
+    }
+
+    @Test
+    @DisplayName("삭제된 상품은 인덱스에 넣지 않고 현재 카테고리에서 뺀다")
+    void onItemChanged_Deleted_RemovedNotWritten() {
+        // given
+        Item deleted = item(1L, ItemCategory.BOOKS);
+        deleted.setStatus(ItemStatus.DELETED);
+        given(itemRepository.findById(1L)).willReturn(Optional.of(deleted));
+
+        // when
+        itemListingIndex.onItemChanged(new ItemChangedEvent(1L));
+
+        // then
+        verify(zSetOperations).remove("listing:category:BOOKS:latest", "1");
+        verify(zSetOperations, never()).add(anyString(), anyString(), anyDouble());
+        verify(pipelineOperations).delete("listing:summary:1");
+    }
+
+    @Test
+    @DisplayName("적재 중에 들어온 변경은 id를 남기고, 적재가 스냅샷을 쓴 뒤 DB에서 다시 읽어 덮어쓴다")
+    void rebuild_ChangeDuringBuild_ReplayedAfterBulkWrite() {
+        // given: 적재가 읽은 스냅샷은 변경 전(ELECTRONICS), 적재 중 커밋된 변경으로 DB는 BOOKS
+        Item stale = item(1L, ItemCategory.ELECTRONICS);
+        Item fresh = item(1L, ItemCategory.BOOKS);
+        given(itemRepository.findListingRowsAfter(eq(ItemStatus.DELETED), eq(0L), any(Pageable.class)))
+                .willReturn(List.of(ItemListingRow.from(stale)));
+        given(itemRepository.findById(1L)).willReturn(Optional.of(fresh));
+        given(valueOperations.get("listing:built")).willReturn("building");
+        given(setOperations.pop("listing:dirty", 100L)).willReturn(List.of("1"), List.of());
+
+        // when: 적재 중 변경 알림 -> 적재
+        itemListingIndex.onItemChanged(new ItemChangedEvent(1L, ItemCategory.ELECTRONICS));
+        itemListingIndex.rebuild();
+
+        // then
+        verify(setOperations).add("listing:dirty", "1");
+        InOrder order = inOrder(zSetOperations, valueOperations);
+        order.verify(zSetOperations).add(eq("listing:category:ELECTRONICS:latest"), eq("1"), anyDouble());
+        order.verify(valueOperations).set(eq("listing:built"), anyString(), eq(Duration.ofHours(6)));
+        order.verify(zSetOperations).remove("listing:category:ELECTRONICS:latest", "1");
+        order.verify(zSetOperations).add(eq("listing:category:BOOKS:latest"), eq("1"), anyDouble());
+    }
+
+    @Test
+    @DisplayName("적재가 끝나면 완료 표시를 TTL과 함께 남겨 주기적으로 다시 적재되게 한다")
+    void rebuild_SetsMarkerWithTtl() {
+        // given
+        given(itemRepository.findListingRowsAfter(eq(ItemStatus.DELETED), eq(0L), any(Pageable.class)))
+                .willReturn(List.of(ItemListingRow.from(item(1L, ItemCategory.BOOKS))));
+        given(setOperations.pop(anyString(), anyLong())).willReturn(List.of());
+
+        // when
+        itemListingIndex.rebuild();
+
+        // then
+        verify(valueOperations).set("listing:built", "building", Duration.ofMinutes(10));
+        verify(stringRedisTemplate).delete("listing:dirty");
+        verify(valueOperations).set(eq("listing:built"), anyString(), eq(Duration.ofHours(6)));
+    }
+
+    @Test
+    @DisplayName("전체 적재는 정렬 값 프로젝션을 id 순 페이지로 이어 읽고, 목록 요약은 쓰지 않는다")
+    void rebuild_PagesProjectionWithoutSummaries() {
+        // given
+        List<ItemListingRow> fullPage = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new ItemListingRow(id, 10000, ItemCategory.BOOKS, ItemStatus.SELLING, null, 0))
+                .toList();
+        given(itemRepository.findListingRowsAfter(eq(ItemStatus.DELETED), eq(0L), any(Pageable.class))).willReturn(fullPage);
+        given(itemRepository.findListingRowsAfter(eq(ItemStatus.DELETED), eq(1000L), any(Pageable.class)))
+                .willReturn(List.of(new ItemListingRow(1001L, 5000, ItemCategory.HOME, ItemStatus.SELLING, null, 3)));
+        given(setOperations.pop(anyString(), anyLong())).willReturn(List.of());
+
+        // when
+        itemListingIndex.rebuild();
+
+        // then
+        verify(zSetOperations).add("listing:category:BOOKS:price", "1000", 10000.0);
+        verify(zSetOperations).add("listing:category:HOME:views", "1001", 3.0);
+        verify(itemRepository, never()).findAll();
+        verify(valueOperations, never()).set(startsWith("listing:summary:"), anyString(), any(Duration.class));
+    }
+
+    private static Item item(Long id, ItemCategory category) {
+        return Item.builder()
+                .id(id)
+                .name("상품" + id)
+                .price(10000)
+                .quantity(5)
+                .itemCategory(category)
+                .seller(mock(User.class))
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.kkh.shop_1.domain.item.service;
 
+import com.kkh.shop_1.common.etag.ETagVersionStore;
 import com.kkh.shop_1.common.s3.S3Service;
 import com.kkh.shop_1.domain.item.document.ItemDocument;
 import com.kkh.shop_1.domain.item.dto.CreateItemRequestDTO;
+import com.kkh.shop_1.domain.item.dto.ItemCursor;
+import com.kkh.shop_1.domain.item.dto.ItemCursorPageDTO;
 import com.kkh.shop_1.domain.item.dto.ItemDetailDTO;
 import com.kkh.shop_1.domain.item.dto.UpdateItemRequestDTO;
 import com.kkh.shop_1.domain.item.entity.Item;
@@ -23,11 +26,13 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,6 +65,18 @@ class ItemServiceTest {
     @Mock
     private ItemSearchRepository itemSearchRepository;
 
+    @Mock
+    private ETagVersionStore eTagVersionStore;
+
+    @Mock
+    private ItemCatalogIndex itemCatalogIndex;
+
+    @Mock
+    private ItemListingIndex itemListingIndex;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Nested
     @DisplayName("상품 등록 테스트")
     class CreateItem {
@@ -182,6 +199,56 @@ class ItemServiceTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("상품이 존재하지 않습니다.");
         }
+
+        @Test
+        @DisplayName("커서 조회 시 한 건을 더 읽어 다음 페이지 여부와 다음 커서를 계산한다")
+        void getMyItemsByCursor_hasNext() {
+            // given
+            Long sellerId = 1L;
+            LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123456000);
+            Item first = cursorItem(30L, now);
+            Item second = cursorItem(20L, now.minusMinutes(1));
+            Item extra = cursorItem(10L, now.minusMinutes(2));
+
+            given(itemRepository.findVisibleByCursor(sellerId, null, null, 3))
+                    .willReturn(List.of(first, second, extra));
+
+            // when
+            ItemCursorPageDTO result = itemService.getMyItemsByCursor(sellerId, null, 2);
+
+            // then
+            assertThat(result.getItems()).extracting("id").containsExactly(30L, 20L);
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(ItemCursor.decode(result.getNextCursor())).isEqualTo(new ItemCursor(now.minusMinutes(1), 20L));
+        }
+
+        @Test
+        @DisplayName("마지막 페이지의 커서 조회는 다음 커서를 내려주지 않는다")
+        void getMyItemsByCursor_lastPage() {
+            // given
+            Long sellerId = 1L;
+            ItemCursor cursor = new ItemCursor(LocalDateTime.of(2024, 5, 1, 12, 0), 20L);
+            Item last = cursorItem(10L, LocalDateTime.of(2024, 5, 1, 11, 0));
+
+            given(itemRepository.findVisibleByCursor(sellerId, null, cursor, 3))
+                    .willReturn(List.of(last));
+
+            // when
+            ItemCursorPageDTO result = itemService.getMyItemsByCursor(sellerId, cursor.encode(), 2);
+
+            // then
+            assertThat(result.getItems()).hasSize(1);
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("형식이 잘못된 커서로 조회하면 예외가 발생한다")
+        void getMyItemsByCursor_invalidCursor_fail() {
+            assertThatThrownBy(() -> itemService.getMyItemsByCursor(1L, "not-a-cursor", 12))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("잘못된 커서입니다");
+        }
     }
 
     @Nested
@@ -399,6 +466,82 @@ class ItemServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("재고 증감 테스트")
+    class Stock {
+
+        @Test
+        @DisplayName("재고 차감으로 품절이 되면 상세와 목록 ETag 버전을 모두 올린다")
+        void decreaseStock_soldOut_bumpsListVersion() {
+            // given
+            given(itemRepository.decreaseStock(1L, 3)).willReturn(1);
+            given(itemRepository.markOutOfStock(1L)).willReturn(1);
+
+            // when
+            itemService.decreaseStock(1L, 3);
+
+            // then
+            verify(eTagVersionStore).bumpAfterCommit(ETagVersionStore.ITEM_LIST, ETagVersionStore.itemDetail(1L));
+        }
+
+        @Test
+        @DisplayName("재고 차감 후에도 재고가 남으면 상세 ETag 버전만 올린다")
+        void decreaseStock_stillInStock_bumpsDetailOnly() {
+            // given
+            given(itemRepository.decreaseStock(1L, 1)).willReturn(1);
+            given(itemRepository.markOutOfStock(1L)).willReturn(0);
+
+            // when
+            itemService.decreaseStock(1L, 1);
+
+            // then
+            verify(eTagVersionStore).bumpAfterCommit(ETagVersionStore.itemDetail(1L));
+            verify(eTagVersionStore, never()).bumpAfterCommit(ETagVersionStore.ITEM_LIST, ETagVersionStore.itemDetail(1L));
+        }
+
+        @Test
+        @DisplayName("재고가 부족하면 품절 전환도 버전 증가도 하지 않고 예외가 발생한다")
+        void decreaseStock_insufficient_fail() {
+            // given
+            given(itemRepository.decreaseStock(1L, 10)).willReturn(0);
+
+            // when & then
+            assertThatThrownBy(() -> itemService.decreaseStock(1L, 10))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("재고가 부족합니다.");
+            verify(itemRepository, never()).markOutOfStock(anyLong());
+            verifyNoInteractions(eTagVersionStore);
+        }
+
+        @Test
+        @DisplayName("품절 상품의 재고가 복구되면 목록 ETag 버전도 올린다")
+        void increaseStock_backInStock_bumpsListVersion() {
+            // given
+            given(itemRepository.markInStock(1L)).willReturn(1);
+
+            // when
+            itemService.increaseStock(1L, 2);
+
+            // then
+            verify(itemRepository).increaseStock(1L, 2);
+            verify(eTagVersionStore).bumpAfterCommit(ETagVersionStore.ITEM_LIST, ETagVersionStore.itemDetail(1L));
+        }
+
+        @Test
+        @DisplayName("이미 판매 중인 상품의 재고 복구는 상세 ETag 버전만 올린다")
+        void increaseStock_alreadyInStock_bumpsDetailOnly() {
+            // given
+            given(itemRepository.markInStock(1L)).willReturn(0);
+
+            // when
+            itemService.increaseStock(1L, 2);
+
+            // then
+            verify(eTagVersionStore).bumpAfterCommit(ETagVersionStore.itemDetail(1L));
+            verify(eTagVersionStore, never()).bumpAfterCommit(ETagVersionStore.ITEM_LIST, ETagVersionStore.itemDetail(1L));
+        }
+    }
+
     // --- Helper Methods ---
 
     private CreateItemRequestDTO createRequest(String name, int price, int quantity) {
@@ -411,6 +554,19 @@ class ItemServiceTest {
                 .build();
     }
 
+    private Item cursorItem(Long id, LocalDateTime createdAt) {
+        Item item = Item.builder()
+                .name("상품" + id)
+                .price(1000)
+                .quantity(1)
+                .itemCategory(ItemCategory.ELECTRONICS)
+                .seller(mock(User.class))
+                .build();
+        ReflectionTestUtils.setField(item, "id", id);
+        ReflectionTestUtils.setField(item, "createdAt", createdAt);
+        return item;
+    }
+
     private UpdateItemRequestDTO updateRequest(String name, int price, int quantity) {
         return new UpdateItemRequestDTO(name, price, quantity, "ELECTRONICS", "설명");
     }
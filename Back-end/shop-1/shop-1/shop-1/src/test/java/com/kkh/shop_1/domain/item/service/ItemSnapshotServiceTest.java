@@ -0,0 +1,143 @@
+package com.kkh.shop_1.domain.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.item.dto.ItemSnapshot;
+import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import com.kkh.shop_1.domain.user.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ItemSnapshotServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ItemSnapshotService itemSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        itemSnapshotService = new ItemSnapshotService(stringRedisTemplate, itemRepository, objectMapper);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("캐시에 있는 상품은 MGET으로 읽고, 없는 상품만 DB에서 한 번에 읽어 캐시를 채운다")
+    void getAll_readsMissesFromDbAndBackfills() throws Exception {
+        // given
+        ItemSnapshot cached = ItemSnapshot.builder().id(1L).name("캐시상품").price(1000).status("SELLING").build();
+        given(valueOperations.multiGet(anyList()))
+                .willReturn(Arrays.asList(objectMapper.writeValueAsString(cached), null));
+        given(itemRepository.findAllById(List.of(2L))).willReturn(List.of(item(2L, "DB상품")));
+
+        // when
+        Map<Long, ItemSnapshot> result = itemSnapshotService.getAll(List.of(1L, 2L));
+
+        // then
+        assertThat(result.keySet()).containsExactly(1L, 2L);
+        assertThat(result.get(1L).getName()).isEqualTo("캐시상품");
+        assertThat(result.get(2L).getName()).isEqualTo("DB상품");
+        verify(itemRepository, times(1)).findAllById(List.of(2L));
+        verify(stringRedisTemplate).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @DisplayName("같은 요청 안에서 다시 조회하면 Redis/DB를 거치지 않고 같은 인스턴스를 반환한다")
+    void getAll_sameRequest_returnsIdenticalInstance() {
+        // given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        given(valueOperations.multiGet(anyList())).willReturn(Arrays.asList((String) null));
+        given(itemRepository.findAllById(List.of(1L))).willReturn(List.of(item(1L, "상품")));
+
+        // when
+        ItemSnapshot first = itemSnapshotService.getAll(List.of(1L)).get(1L);
+        ItemSnapshot second = itemSnapshotService.getAll(List.of(1L)).get(1L);
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(valueOperations, times(1)).multiGet(anyList());
+        verify(itemRepository, times(1)).findAllById(anyList());
+    }
+
+    @Test
+    @DisplayName("Redis 조회에 실패하면 DB에서 조회한다")
+    void getAll_redisFailure_fallsBackToDb() {
+        // given
+        given(valueOperations.multiGet(anyList())).willThrow(new RuntimeException("redis down"));
+        given(itemRepository.findAllById(List.of(1L))).willReturn(List.of(item(1L, "상품")));
+
+        // when
+        Map<Long, ItemSnapshot> result = itemSnapshotService.getAll(List.of(1L));
+
+        // then
+        assertThat(result.get(1L).getName()).isEqualTo("상품");
+    }
+
+    @Test
+    @DisplayName("일괄 조회 API는 삭제된 상품을 제외한다")
+    void getVisible_excludesDeletedItems() {
+        // given
+        Item deleted = item(2L, "삭제상품");
+        deleted.setStatus(ItemStatus.DELETED);
+        given(valueOperations.multiGet(anyList())).willReturn(Arrays.asList(null, null));
+        given(itemRepository.findAllById(anyList())).willReturn(List.of(item(1L, "상품"), deleted));
+
+        // when
+        List<ItemSnapshot> result = itemSnapshotService.getVisible(List.of(1L, 2L));
+
+        // then
+        assertThat(result).extracting(ItemSnapshot::getId).containsExactly(1L);
+    }
+
+    private Item item(Long id, String name) {
+        Item item = Item.builder()
+                .name(name)
+                .price(1000)
+                .quantity(10)
+                .itemCategory(ItemCategory.ELECTRONICS)
+                .seller(mock(User.class))
+                .build();
+        ReflectionTestUtils.setField(item, "id", id);
+        return item;
+    }
+}
@@ -0,0 +1,173 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.order.dto.OrderDetailDTO;
+import com.kkh.shop_1.domain.order.dto.OrderHeaderRow;
+import com.kkh.shop_1.domain.order.dto.OrderHistoryPageDTO;
+import com.kkh.shop_1.domain.order.dto.OrderItemRow;
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.OrderView;
+import com.kkh.shop_1.domain.order.repository.OrderViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderHistoryServiceTest {
+
+    @Mock
+    private OrderViewRepository orderViewRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private OrderHistoryService orderHistoryService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        orderHistoryService = new OrderHistoryService(orderViewRepository, stringRedisTemplate, objectMapper);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("조회 모델을 한 건 더 읽어 다음 페이지 여부를 판단하고, 문서를 그대로 응답으로 돌려준다")
+    void getPage_firstPage() throws Exception {
+        // given
+        given(orderViewRepository.findByUserId(eq(1L), any(Pageable.class)))
+                .willReturn(List.of(view(20L, now, 2), view(10L, now.minusDays(1), 1)));
+
+        // when
+        OrderHistoryPageDTO page = orderHistoryService.getPage(1L, null, 1);
+
+        // then
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo(now + ",20");
+        assertThat(page.getOrders()).hasSize(1);
+        assertThat(page.getOrders().get(0).getItems()).hasSize(2);
+        assertThat(page.getOrders().get(0).getTotalPrice()).isEqualTo(9000 * 2);
+        assertThat(page.getOrders().get(0).getAddress().getRecipientName()).isEqualTo("홍길동");
+        // 기본 크기가 아닌 페이지는 캐싱하지 않는다.
+        verify(valueOperations, never()).set(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("커서가 있으면 (주문일, id) 이후 주문만 조회하고 캐시는 사용하지 않는다")
+    void getPage_withCursor() throws Exception {
+        // given
+        given(orderViewRepository.findByUserIdAfter(eq(1L), eq(now), eq(20L), any(Pageable.class)))
+                .willReturn(List.of(view(10L, now.minusDays(1), 1)));
+
+        // when
+        OrderHistoryPageDTO page = orderHistoryService.getPage(1L, now + ",20", OrderHistoryService.DEFAULT_PAGE_SIZE);
+
+        // then
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getOrders()).extracting("orderId").containsExactly(10L);
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("기본 크기 첫 페이지는 사용자별 캐시에 있으면 DB를 조회하지 않는다")
+    void getPage_firstPageFromCache() throws Exception {
+        // given
+        given(orderViewRepository.findByUserId(eq(1L), any(Pageable.class))).willReturn(List.of(view(20L, now, 1)));
+        OrderHistoryPageDTO loaded = orderHistoryService.getPage(1L, null, OrderHistoryService.DEFAULT_PAGE_SIZE);
+        given(valueOperations.get("orders:first-page:1")).willReturn(objectMapper.writeValueAsString(loaded));
+
+        // when
+        OrderHistoryPageDTO cached = orderHistoryService.getPage(1L, null, OrderHistoryService.DEFAULT_PAGE_SIZE);
+
+        // then
+        assertThat(cached.getOrders()).extracting("orderId").containsExactly(20L);
+        assertThat(cached.getOrders().get(0).getItems().get(0).isReviewWritten()).isFalse();
+        verify(orderViewRepository, times(1)).findByUserId(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 예외가 발생한다")
+    void getPage_invalidCursor() {
+        assertThatThrownBy(() -> orderHistoryService.getPage(1L, "abc", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("목록 API는 건수 제한 없이 전체를 돌려주고, 조회 모델은 마지막 주문 위치부터 이어 읽는다")
+    void getAll_readsAllChunksByCursor() throws Exception {
+        // given: 첫 묶음은 꽉 차 있고(LIST_CHUNK_SIZE건), 다음 묶음에서 끝난다.
+        List<OrderView> firstChunk = new ArrayList<>();
+        for (long i = 0; i < OrderHistoryService.LIST_CHUNK_SIZE; i++) {
+            firstChunk.add(view(1000L - i, now.minusMinutes(i), 1));
+        }
+        OrderView last = firstChunk.get(firstChunk.size() - 1);
+        given(orderViewRepository.findByUserId(eq(1L), any(Pageable.class))).willReturn(firstChunk);
+        given(orderViewRepository.findByUserIdAfter(eq(1L), eq(last.getOrderDate()), eq(last.getOrderId()), any(Pageable.class)))
+                .willReturn(List.of(view(5L, now.minusDays(30), 1)));
+
+        // when
+        List<OrderDetailDTO> orders = orderHistoryService.getAll(1L);
+
+        // then
+        assertThat(orders).hasSize(OrderHistoryService.LIST_CHUNK_SIZE + 1);
+        assertThat(orders.get(orders.size() - 1).getOrderId()).isEqualTo(5L);
+        verify(orderViewRepository, times(1)).findByUserIdAfter(eq(1L), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("단건 조회는 조회 모델에서 읽고, 다른 사용자의 주문이면 예외가 발생한다")
+    void getOrder() throws Exception {
+        // given
+        given(orderViewRepository.findById(20L)).willReturn(Optional.of(view(20L, now, 1)));
+
+        // when
+        Optional<OrderDetailDTO> result = orderHistoryService.getOrder(1L, 20L);
+
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get().getTid()).isEqualTo("T20");
+        assertThatThrownBy(() -> orderHistoryService.getOrder(2L, 20L))
+                .isInstanceOf(SecurityException.class);
+    }
+
+    private OrderView view(Long orderId, LocalDateTime orderDate, int itemCount) throws Exception {
+        OrderHeaderRow header = new OrderHeaderRow(orderId, 1L, "T" + orderId, OrderStatus.PAID, orderDate,
+                "12345", "서울시 강남구", "101호", "홍길동", "010-1234-5678");
+        List<OrderItemRow> items = LongStream.range(0, itemCount)
+                .mapToObj(i -> new OrderItemRow(orderId, orderId * 10 + i, 1L, "상품", 1, 10000, 1000, 9000, false))
+                .toList();
+        OrderDetailDTO detail = OrderDetailDTO.of(header, items);
+
+        OrderView view = OrderView.of(orderId, 1L, orderDate);
+        view.refresh(detail.getStatus(), detail.getTotalPrice(), "상품", objectMapper.writeValueAsString(detail));
+        return view;
+    }
+}
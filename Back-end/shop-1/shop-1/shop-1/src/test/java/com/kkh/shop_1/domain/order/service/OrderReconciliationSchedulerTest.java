@@ -1,37 +1,48 @@
 package com.kkh.shop_1.domain.order.service;
 
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
 import com.kkh.shop_1.domain.order.entity.Order;
 import com.kkh.shop_1.domain.order.entity.OrderStatus;
 import com.kkh.shop_1.domain.order.entity.PaymentType;
 import com.kkh.shop_1.domain.order.repository.OrderRepository;
 import com.kkh.shop_1.domain.user.entity.Address;
 import com.kkh.shop_1.domain.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RedissonClient;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class OrderReconciliationSchedulerTest {
 
-    @InjectMocks
     private OrderReconciliationScheduler scheduler;
 
     @Mock
@@ -46,6 +57,40 @@ class OrderReconciliationSchedulerTest {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private RedisLeaseLock redisLeaseLock;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RRateLimiter rateLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        scheduler = new OrderReconciliationScheduler(orderRepository, orderTxHandler, paymentServiceFactory,
+                redisLeaseLock, redissonClient, meterRegistry, 4, 2, 10, 10, 50, 2000);
+        given(redisLeaseLock.tryLock(anyString(), any(Duration.class), any(Duration.class))).willReturn(true);
+        given(redissonClient.getRateLimiter(anyString())).willReturn(rateLimiter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * 주어진 주문들이 모두 첫 번째 id 구간(0 ~ CHUNK_SIZE-1)에 있다고 가정한다.
+     */
+    private void givenStuckOrders(Order... orders) {
+        given(orderRepository.findFirstIdByStatusAfter(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class), anyLong()))
+                .willReturn(orders.length > 0 ? orders[0].getId() : null, (Long) null);
+        given(orderRepository.findByStatusInIdRange(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class), eq(0L), eq(OrderReconciliationScheduler.CHUNK_SIZE)))
+                .willReturn(List.of(orders));
+    }
+
     private Order buildStuckOrder(Long orderId, Long userId) {
         User user = mock(User.class);
         given(user.getId()).willReturn(userId);
@@ -62,8 +107,7 @@ class OrderReconciliationSchedulerTest {
     void reconcile_PgPaid_CompletesPayment() {
         // given
         Order order = buildStuckOrder(1L, 100L);
-        given(orderRepository.findByStatusAndOrderDateBefore(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class)))
-                .willReturn(List.of(order));
+        givenStuckOrders(order);
         given(paymentServiceFactory.getService(PaymentType.TOSS_PAY)).willReturn(paymentService);
         given(paymentService.inquire(order)).willReturn(PaymentStatus.PAID);
 
@@ -80,8 +124,7 @@ class OrderReconciliationSchedulerTest {
     void reconcile_PgNotPaid_CancelsOrder() {
         // given
         Order order = buildStuckOrder(2L, 100L);
-        given(orderRepository.findByStatusAndOrderDateBefore(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class)))
-                .willReturn(List.of(order));
+        givenStuckOrders(order);
         given(paymentServiceFactory.getService(PaymentType.TOSS_PAY)).willReturn(paymentService);
         given(paymentService.inquire(order)).willReturn(PaymentStatus.NOT_PAID);
 
@@ -98,8 +141,7 @@ class OrderReconciliationSchedulerTest {
     void reconcile_PgUnknown_DoesNothing() {
         // given
         Order order = buildStuckOrder(3L, 100L);
-        given(orderRepository.findByStatusAndOrderDateBefore(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class)))
-                .willReturn(List.of(order));
+        givenStuckOrders(order);
         given(paymentServiceFactory.getService(PaymentType.TOSS_PAY)).willReturn(paymentService);
         given(paymentService.inquire(order)).willReturn(PaymentStatus.UNKNOWN);
 
@@ -117,8 +159,7 @@ class OrderReconciliationSchedulerTest {
         // given
         Order failingOrder = buildStuckOrder(4L, 100L);
         Order healthyOrder = buildStuckOrder(5L, 200L);
-        given(orderRepository.findByStatusAndOrderDateBefore(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class)))
-                .willReturn(List.of(failingOrder, healthyOrder));
+        givenStuckOrders(failingOrder, healthyOrder);
         given(paymentServiceFactory.getService(PaymentType.TOSS_PAY)).willReturn(paymentService);
         given(paymentService.inquire(failingOrder)).willThrow(new RuntimeException("PG 통신 실패"));
         given(paymentService.inquire(healthyOrder)).willReturn(PaymentStatus.PAID);
@@ -135,8 +176,7 @@ class OrderReconciliationSchedulerTest {
     @DisplayName("방치된 주문이 없으면 PG 조회를 시도하지 않는다")
     void reconcile_NoStuckOrders_DoesNotCallPg() {
         // given
-        given(orderRepository.findByStatusAndOrderDateBefore(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class)))
-                .willReturn(List.of());
+        givenStuckOrders();
 
         // when
         scheduler.reconcileStuckOrders();
@@ -144,4 +184,94 @@ class OrderReconciliationSchedulerTest {
         // then
         verify(paymentServiceFactory, never()).getService(any());
     }
+
+    @Test
+    @DisplayName("다른 노드가 이미 임대한 구간은 PG 조회 없이 건너뛴다")
+    void reconcile_ChunkLeasedByOtherNode_Skips() throws InterruptedException {
+        // given
+        Order order = buildStuckOrder(6L, 100L);
+        givenStuckOrders(order);
+        given(redisLeaseLock.tryLock(anyString(), any(Duration.class), any(Duration.class))).willReturn(false);
+
+        // when
+        scheduler.reconcileStuckOrders();
+
+        // then
+        verify(orderRepository, never()).findByStatusInIdRange(any(), any(), anyLong(), anyLong());
+        verify(paymentServiceFactory, never()).getService(any());
+        verify(redisLeaseLock, never()).unlock(anyString());
+        assertThat(meterRegistry.counter("reconciliation.chunks", "result", "skipped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("구간 임대는 처리가 끝나면 바로 풀어, 곧바로 이어지는 실행도 같은 구간을 다시 점검한다")
+    void reconcile_LeaseReleasedAfterChunk() throws InterruptedException {
+        // given
+        Order order = buildStuckOrder(6L, 100L);
+        given(orderRepository.findFirstIdByStatusAfter(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class), anyLong()))
+                .willReturn(6L, null, 6L, null);
+        given(orderRepository.findByStatusInIdRange(any(), any(), eq(0L), anyLong())).willReturn(List.of(order));
+        given(paymentServiceFactory.getService(PaymentType.TOSS_PAY)).willReturn(paymentService);
+        given(paymentService.inquire(order)).willReturn(PaymentStatus.UNKNOWN);
+
+        // when
+        scheduler.reconcileStuckOrders();
+        scheduler.reconcileStuckOrders();
+
+        // then
+        InOrder leaseOrder = inOrder(redisLeaseLock, paymentService);
+        leaseOrder.verify(redisLeaseLock).tryLock(eq("reconcile:lease:0"), eq(Duration.ZERO), any(Duration.class));
+        leaseOrder.verify(paymentService).inquire(order);
+        leaseOrder.verify(redisLeaseLock).unlock("reconcile:lease:0");
+        verify(paymentService, times(2)).inquire(order);
+        verify(redisLeaseLock, times(2)).unlock("reconcile:lease:0");
+    }
+
+    @Test
+    @DisplayName("구간 처리 중 예외가 나도 임대는 푼다")
+    void reconcile_ChunkFails_LeaseStillReleased() {
+        // given
+        given(orderRepository.findFirstIdByStatusAfter(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class), anyLong()))
+                .willReturn(6L, (Long) null);
+        given(orderRepository.findByStatusInIdRange(any(), any(), eq(0L), anyLong()))
+                .willThrow(new IllegalStateException("DB 오류"));
+
+        // when & then: 예외는 스케줄러로 올라간다.
+        assertThatThrownBy(() -> scheduler.reconcileStuckOrders()).isInstanceOf(IllegalStateException.class);
+        verify(redisLeaseLock).unlock("reconcile:lease:0");
+    }
+
+    @Test
+    @DisplayName("id 구간 단위로 이어서 스캔하고, 처리 결과를 PG별로 집계한다")
+    void reconcile_ScansChunksAndRecordsMetrics() throws InterruptedException {
+        // given
+        long secondChunkId = OrderReconciliationScheduler.CHUNK_SIZE + 7;
+        Order first = buildStuckOrder(7L, 100L);
+        Order second = buildStuckOrder(secondChunkId, 200L);
+        given(orderRepository.findFirstIdByStatusAfter(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class), eq(0L)))
+                .willReturn(7L);
+        given(orderRepository.findFirstIdByStatusAfter(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class), eq(OrderReconciliationScheduler.CHUNK_SIZE - 1)))
+                .willReturn(secondChunkId);
+        given(orderRepository.findFirstIdByStatusAfter(eq(OrderStatus.PAYMENT_PENDING), any(LocalDateTime.class), eq(OrderReconciliationScheduler.CHUNK_SIZE * 2 - 1)))
+                .willReturn(null);
+        given(orderRepository.findByStatusInIdRange(any(), any(), eq(0L), anyLong())).willReturn(List.of(first));
+        given(orderRepository.findByStatusInIdRange(any(), any(), eq(OrderReconciliationScheduler.CHUNK_SIZE), anyLong())).willReturn(List.of(second));
+        given(paymentServiceFactory.getService(PaymentType.TOSS_PAY)).willReturn(paymentService);
+        given(paymentService.inquire(first)).willReturn(PaymentStatus.PAID);
+        given(paymentService.inquire(second)).willReturn(PaymentStatus.NOT_PAID);
+
+        // when
+        scheduler.reconcileStuckOrders();
+
+        // then
+        verify(orderTxHandler).completeOrderPayment(7L, 100L);
+        verify(orderTxHandler).cancelOrderPayment(secondChunkId);
+        verify(redisLeaseLock).tryLock(eq("reconcile:lease:0"), any(Duration.class), any(Duration.class));
+        verify(redisLeaseLock).tryLock(eq("reconcile:lease:1"), any(Duration.class), any(Duration.class));
+        verify(redisLeaseLock).unlock("reconcile:lease:0");
+        verify(redisLeaseLock).unlock("reconcile:lease:1");
+        assertThat(meterRegistry.counter("reconciliation.orders", "pg", "TOSS_PAY", "result", "PAID").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("reconciliation.orders", "pg", "TOSS_PAY", "result", "NOT_PAID").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("reconciliation.inquiry", "pg", "TOSS_PAY").count()).isEqualTo(2L);
+    }
 }
@@ -1,5 +1,6 @@
 package com.kkh.shop_1.domain.order.service;
 
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.item.entity.ItemCategory;
 import com.kkh.shop_1.domain.item.entity.ItemStatus;
@@ -32,6 +33,7 @@ import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -67,9 +69,15 @@ class OrderServiceTest {
     @Mock
     private OrderTxHandler orderTxHandler;
 
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
     @Mock
     private RedissonClient redissonClient;
 
+    @Mock
+    private RedisLeaseLock redisLeaseLock;
+
     @Mock
     private PaymentService paymentService;
 
@@ -256,9 +264,7 @@ class OrderServiceTest {
             ReflectionTestUtils.setField(order, "paymentType", PaymentType.KAKAO_PAY);
             ReflectionTestUtils.setField(order, "tid", "tid-1");
 
-            RLock approveLock = mock(RLock.class);
-            given(redissonClient.getLock("ORDER_APPROVE:" + orderId)).willReturn(approveLock);
-            given(approveLock.tryLock(10, TimeUnit.SECONDS)).willReturn(true);
+            given(redisLeaseLock.tryLock("lock:order-approve:" + orderId, Duration.ofSeconds(10), Duration.ofSeconds(60))).willReturn(true);
 
             given(orderRepository.findByIdWithFetch(orderId)).willReturn(Optional.of(order));
             given(paymentServiceFactory.getService(PaymentType.KAKAO_PAY)).willReturn(paymentService);
@@ -269,7 +275,7 @@ class OrderServiceTest {
             // then
             verify(paymentService).approve(any(PaymentApproveRequestDTO.class));
             verify(orderTxHandler).completeOrderPayment(orderId, userId);
-            verify(approveLock).unlock();
+            verify(redisLeaseLock).unlock("lock:order-approve:" + orderId);
         }
 
         @Test
@@ -281,9 +287,7 @@ class OrderServiceTest {
             OrderApproveDTO dto = new OrderApproveDTO();
             dto.setOrderId(orderId.toString());
 
-            RLock approveLock = mock(RLock.class);
-            given(redissonClient.getLock("ORDER_APPROVE:" + orderId)).willReturn(approveLock);
-            given(approveLock.tryLock(10, TimeUnit.SECONDS)).willReturn(false);
+            given(redisLeaseLock.tryLock("lock:order-approve:" + orderId, Duration.ofSeconds(10), Duration.ofSeconds(60))).willReturn(false);
 
             // when & then
             assertThatThrownBy(() -> orderService.approveOrder(dto, userId))
@@ -291,7 +295,7 @@ class OrderServiceTest {
                     .hasMessageContaining("결제 승인이 처리 중");
 
             verify(orderRepository, never()).findByIdWithFetch(anyLong());
-            verify(approveLock, never()).unlock();
+            verify(redisLeaseLock, never()).unlock(anyString());
         }
 
         @Test
@@ -303,16 +307,24 @@ class OrderServiceTest {
             OrderApproveDTO dto = new OrderApproveDTO();
             dto.setOrderId(orderId.toString());
 
-            RLock approveLock = mock(RLock.class);
-            given(redissonClient.getLock("ORDER_APPROVE:" + orderId)).willReturn(approveLock);
-            given(approveLock.tryLock(10, TimeUnit.SECONDS)).willThrow(new InterruptedException());
+            given(redisLeaseLock.tryLock("lock:order-approve:" + orderId, Duration.ofSeconds(10), Duration.ofSeconds(60)))
+                    .willThrow(new InterruptedException());
 
             // when & then
             assertThatThrownBy(() -> orderService.approveOrder(dto, userId))
                     .isInstanceOf(IllegalStateException.class);
 
             assertThat(Thread.currentThread().isInterrupted()).isTrue();
-            verify(approveLock, never()).unlock();
+            verify(redisLeaseLock, never()).unlock(anyString());
+        }
+
+        @Test
+        @DisplayName("@Idempotent 선점과 함께 잡는 락 키는 PG 콜백 주문 id에서 실제 주문 id를 꺼내 만들고, 형식이 잘못되면 null이다")
+        void approveLockKeyOf_ParsesPgOrderId() {
+            assertThat(OrderService.approveLockKeyOf("ORDER_12_1700000000")).isEqualTo("lock:order-approve:12");
+            assertThat(OrderService.approveLockKeyOf("12")).isEqualTo("lock:order-approve:12");
+            assertThat(OrderService.approveLockKeyOf("ORDER_x")).isNull();
+            assertThat(OrderService.approveLockKeyOf(null)).isNull();
         }
     }
 
@@ -320,11 +332,8 @@ class OrderServiceTest {
     @DisplayName("approveOrder() - doApprove 내부 검증 로직")
     class DoApproveTest {
 
-        private RLock stubApproveLock(Long orderId) throws InterruptedException {
-            RLock approveLock = mock(RLock.class);
-            given(redissonClient.getLock("ORDER_APPROVE:" + orderId)).willReturn(approveLock);
-            given(approveLock.tryLock(10, TimeUnit.SECONDS)).willReturn(true);
-            return approveLock;
+        private void stubApproveLock(Long orderId) throws InterruptedException {
+            given(redisLeaseLock.tryLock("lock:order-approve:" + orderId, Duration.ofSeconds(10), Duration.ofSeconds(60))).willReturn(true);
         }
 
         @Test
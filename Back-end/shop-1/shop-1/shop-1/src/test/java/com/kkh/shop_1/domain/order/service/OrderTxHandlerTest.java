@@ -34,6 +34,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -74,6 +75,9 @@ class OrderTxHandlerTest {
     @Mock
     private OutboxEventService outboxEventService;
 
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
     private User user;
     private Address address;
     private Item item;
@@ -172,7 +176,7 @@ class OrderTxHandlerTest {
                     .itemOrders(Collections.singletonList(itemOrder))
                     .build();
 
-            given(itemService.findById(1L)).willReturn(Optional.of(item));
+            given(itemService.findAllByIds(List.of(1L))).willReturn(Map.of(1L, item));
             given(orderRepository.save(any(Order.class))).willAnswer(invocation -> {
                 Order savedOrder = invocation.getArgument(0);
                 ReflectionTestUtils.setField(savedOrder, "id", 100L);
@@ -188,6 +192,8 @@ class OrderTxHandlerTest {
             assertThat(result.getOrderItems().get(0).getQuantity()).isEqualTo(3);
             verify(itemService).decreaseStock(1L, 3);
             verify(orderRepository).save(any(Order.class));
+            verify(outboxEventService).record(eq("ORDER_CREATED"), any());
+            verify(orderHistoryService).evictAfterCommit(user.getId());
         }
 
         @Test
@@ -202,7 +208,7 @@ class OrderTxHandlerTest {
                     .itemOrders(Collections.singletonList(itemOrder))
                     .build();
 
-            given(itemService.findById(99L)).willReturn(Optional.empty());
+            given(itemService.findAllByIds(List.of(99L))).willReturn(Collections.emptyMap());
 
             // when & then
             assertThatThrownBy(() -> orderTxHandler.createOrder(user, address, dto))
@@ -239,7 +245,7 @@ class OrderTxHandlerTest {
                     .itemOrders(Collections.singletonList(itemOrder))
                     .build();
 
-            given(itemService.findById(1L)).willReturn(Optional.of(item));
+            given(itemService.findAllByIds(List.of(1L))).willReturn(Map.of(1L, item));
             given(couponService.getUsableUserCoupon(user.getId(), 1L)).willReturn(userCoupon);
             given(orderRepository.save(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
 
@@ -411,6 +417,8 @@ class OrderTxHandlerTest {
             verify(itemService).increaseStock(1L, 3);
             verify(itemService).increaseStock(2L, 2);
             verify(orderRepository).save(order);
+            verify(outboxEventService).record(eq("ORDER_CANCELLED"), any());
+            verify(orderHistoryService).evictAfterCommit(user.getId());
         }
 
         @Test
@@ -0,0 +1,123 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.domain.order.dto.OrderDetailDTO;
+import com.kkh.shop_1.domain.order.dto.OrderHeaderRow;
+import com.kkh.shop_1.domain.order.dto.OrderItemRow;
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.OrderView;
+import com.kkh.shop_1.domain.order.repository.OrderItemRepository;
+import com.kkh.shop_1.domain.order.repository.OrderRepository;
+import com.kkh.shop_1.domain.order.repository.OrderViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderViewProjectorTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderViewRepository orderViewRepository;
+
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private OrderViewProjector orderViewProjector;
+
+    private final LocalDateTime orderDate = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        orderViewProjector = new OrderViewProjector(orderRepository, orderItemRepository, orderViewRepository,
+                orderHistoryService, objectMapper, transactionManager);
+        given(orderRepository.findHeaderRowById(1L)).willReturn(Optional.of(header(OrderStatus.PAID)));
+        given(orderItemRepository.findRowsByOrderIds(List.of(1L))).willReturn(List.of(
+                new OrderItemRow(1L, 10L, 100L, "상품A", 2, 10000, 1000, 9000, false),
+                new OrderItemRow(1L, 11L, 101L, "상품B", 1, 5000, 0, 5000, true)
+        ));
+    }
+
+    @Test
+    @DisplayName("ORDER_PAID 이벤트를 받으면 주문 테이블의 현재 상태로 조회 모델 행을 만든다")
+    void publish_createsView() throws Exception {
+        // given
+        given(orderViewRepository.findByIdForUpdate(1L)).willReturn(Optional.empty());
+
+        // when
+        orderViewProjector.publish("ORDER_PAID", "{\"orderId\":1,\"userId\":7,\"totalAmount\":23000}");
+
+        // then
+        ArgumentCaptor<OrderView> captor = ArgumentCaptor.forClass(OrderView.class);
+        verify(orderViewRepository).saveAndFlush(captor.capture());
+        OrderView view = captor.getValue();
+        assertThat(view.getUserId()).isEqualTo(7L);
+        assertThat(view.getStatus()).isEqualTo("PAID");
+        assertThat(view.getTotalPrice()).isEqualTo(9000 * 2 + 5000);
+        assertThat(view.getItemSummary()).isEqualTo("상품A 외 1건");
+
+        OrderDetailDTO document = objectMapper.readValue(view.getDocument(), OrderDetailDTO.class);
+        assertThat(document.getItems()).extracting("itemName").containsExactly("상품A", "상품B");
+        verify(orderHistoryService).evictAfterCommit(7L);
+    }
+
+    @Test
+    @DisplayName("이미 조회 모델이 있으면 같은 행을 현재 상태로 덮어쓴다 (같은 이벤트가 여러 번 와도 결과가 같다)")
+    void publish_refreshesExistingView() {
+        // given
+        OrderView existing = OrderView.of(1L, 7L, orderDate);
+        existing.refresh("READY", 0, null, "{}");
+        given(orderViewRepository.findByIdForUpdate(1L)).willReturn(Optional.of(existing));
+
+        // when
+        orderViewProjector.publish("ORDER_UPDATED", "{\"orderId\":1,\"userId\":7}");
+        orderViewProjector.publish("ORDER_UPDATED", "{\"orderId\":1,\"userId\":7}");
+
+        // then
+        verify(orderViewRepository, times(2)).saveAndFlush(existing);
+        assertThat(existing.getStatus()).isEqualTo("PAID");
+        assertThat(existing.getTotalPrice()).isEqualTo(23000);
+    }
+
+    @Test
+    @DisplayName("주문 이벤트가 아니면 아무것도 하지 않는다")
+    void publish_ignoresOtherEvents() {
+        // when
+        orderViewProjector.publish("USER_SIGNED_UP", "{\"userId\":7}");
+
+        // then
+        verifyNoInteractions(orderViewRepository);
+        verify(orderRepository, never()).findHeaderRowById(any());
+    }
+
+    private OrderHeaderRow header(OrderStatus status) {
+        return new OrderHeaderRow(1L, 7L, "T1", status, orderDate,
+                "12345", "서울시 강남구", "101호", "홍길동", "010-1234-5678");
+    }
+}
@@ -0,0 +1,278 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.dto.OrderApproveDTO;
+import com.kkh.shop_1.domain.order.dto.OrderPaymentRow;
+import com.kkh.shop_1.domain.order.dto.PaymentApprovalDTO;
+import com.kkh.shop_1.domain.order.entity.Order;
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.PaymentApproval;
+import com.kkh.shop_1.domain.order.entity.PaymentApprovalStatus;
+import com.kkh.shop_1.domain.order.event.PaymentApprovalRequestedEvent;
+import com.kkh.shop_1.domain.order.repository.OrderRepository;
+import com.kkh.shop_1.domain.order.repository.PaymentApprovalRepository;
+import com.kkh.shop_1.domain.order.service.PaymentApprovalService.ClaimedApproval;
+import com.kkh.shop_1.domain.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentApprovalServiceTest {
+
+    private static final Long ORDER_ID = 1L;
+    private static final Long USER_ID = 10L;
+
+    @Mock
+    private PaymentApprovalRepository paymentApprovalRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    // TransactionTemplate이 콜백을 그대로 실행하므로 실제 트랜잭션 없이 로직만 검증한다.
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentApprovalService paymentApprovalService;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        paymentApprovalService = new PaymentApprovalService(
+                paymentApprovalRepository, orderRepository, applicationEventPublisher, transactionManager);
+
+        User user = mock(User.class);
+        given(user.getId()).willReturn(USER_ID);
+        order = mock(Order.class);
+        given(order.getUser()).willReturn(user);
+        given(order.getTotalAmount()).willReturn(10000);
+        given(order.getStatus()).willReturn(OrderStatus.PAYMENT_PENDING);
+        given(orderRepository.findByIdWithFetch(ORDER_ID)).willReturn(Optional.of(order));
+    }
+
+    @Test
+    @DisplayName("처음 접수하면 요청을 저장하고, 커밋 후 처리를 위한 이벤트를 발행한 뒤 PENDING을 돌려준다")
+    void enqueue_New_SavesAndPublishesEvent() {
+        // given
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID)).willReturn(Optional.empty());
+        given(paymentApprovalRepository.saveAndFlush(any(PaymentApproval.class)))
+                .willAnswer(invocation -> withId(invocation.getArgument(0)));
+
+        // when
+        PaymentApprovalDTO result = paymentApprovalService.enqueue(approveDTO(10000), USER_ID);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentApprovalStatus.PENDING);
+        verify(applicationEventPublisher).publishEvent(any(PaymentApprovalRequestedEvent.class));
+    }
+
+    @Test
+    @DisplayName("결제 금액이 주문 금액과 다르면 접수하지 않는다")
+    void enqueue_AmountMismatch_Throws() {
+        assertThatThrownBy(() -> paymentApprovalService.enqueue(approveDTO(9000), USER_ID))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(paymentApprovalRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("이미 접수된 주문이면 새로 저장하지 않고 기존 요청의 상태를 돌려준다")
+    void enqueue_AlreadyPending_ReturnsExisting() {
+        // given
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID)).willReturn(Optional.of(approval()));
+
+        // when
+        PaymentApprovalDTO result = paymentApprovalService.enqueue(approveDTO(10000), USER_ID);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentApprovalStatus.PENDING);
+        verify(paymentApprovalRepository, never()).saveAndFlush(any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("실패로 끝난 주문을 다시 결제하면 새 결제 정보로 재접수한다")
+    void enqueue_Failed_Resubmits() {
+        // given
+        PaymentApproval failed = approval();
+        failed.markFailed("PG 승인 거절");
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID)).willReturn(Optional.of(failed));
+
+        // when
+        PaymentApprovalDTO result = paymentApprovalService.enqueue(approveDTO(10000), USER_ID);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentApprovalStatus.PENDING);
+        assertThat(failed.getAttemptCount()).isZero();
+        verify(applicationEventPublisher).publishEvent(any(PaymentApprovalRequestedEvent.class));
+    }
+
+    @Test
+    @DisplayName("실패로 끝났지만 그 뒤 대사로 주문이 결제 완료됐다면 다시 승인하지 않고 승인 완료로 맞춘다")
+    void enqueue_FailedButOrderPaid_Reconciled() {
+        // given
+        PaymentApproval failed = approval();
+        failed.markFailed("주문 반영 실패");
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID)).willReturn(Optional.of(failed));
+        given(order.getStatus()).willReturn(OrderStatus.PAID);
+
+        // when
+        PaymentApprovalDTO result = paymentApprovalService.enqueue(approveDTO(10000), USER_ID);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentApprovalStatus.APPROVED);
+        assertThat(failed.getStatus()).isEqualTo(PaymentApprovalStatus.APPROVED);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("같은 주문의 콜백이 동시에 들어와 먼저 저장된 요청이 있으면 그 요청의 상태를 돌려준다")
+    void enqueue_ConcurrentInsert_ReturnsWinner() {
+        // given
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID))
+                .willReturn(Optional.empty(), Optional.of(approval()));
+        given(paymentApprovalRepository.saveAndFlush(any(PaymentApproval.class)))
+                .willThrow(new DataIntegrityViolationException("duplicate order_id"));
+
+        // when
+        PaymentApprovalDTO result = paymentApprovalService.enqueue(approveDTO(10000), USER_ID);
+
+        // then
+        assertThat(result.getOrderId()).isEqualTo(ORDER_ID);
+        assertThat(result.getStatus()).isEqualTo(PaymentApprovalStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("상태 조회: 승인 요청은 FAILED여도 주문이 결제 완료면 승인 완료로 돌려준다")
+    void getApproval_FailedButOrderPaid_ReportsApproved() {
+        // given
+        PaymentApproval failed = approval();
+        failed.markFailed("주문 반영 실패");
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID)).willReturn(Optional.of(failed));
+        given(orderRepository.findPaymentRowById(ORDER_ID))
+                .willReturn(Optional.of(new OrderPaymentRow(ORDER_ID, USER_ID, OrderStatus.PAID)));
+
+        // when
+        PaymentApprovalDTO result = paymentApprovalService.getApproval(ORDER_ID, USER_ID);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentApprovalStatus.APPROVED);
+        assertThat(result.getFailureReason()).isNull();
+    }
+
+    @Test
+    @DisplayName("상태 조회: 주문도 결제되지 않았다면 실패 사유와 함께 FAILED를 돌려준다")
+    void getApproval_FailedAndOrderPending_ReportsFailed() {
+        // given
+        PaymentApproval failed = approval();
+        failed.markFailed("PG 승인 거절");
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID)).willReturn(Optional.of(failed));
+        given(orderRepository.findPaymentRowById(ORDER_ID))
+                .willReturn(Optional.of(new OrderPaymentRow(ORDER_ID, USER_ID, OrderStatus.PAYMENT_PENDING)));
+
+        // when
+        PaymentApprovalDTO result = paymentApprovalService.getApproval(ORDER_ID, USER_ID);
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentApprovalStatus.FAILED);
+        assertThat(result.getFailureReason()).isEqualTo("PG 승인 거절");
+    }
+
+    @Test
+    @DisplayName("상태 조회: 다른 사용자의 요청이면 예외가 발생한다")
+    void getApproval_OtherUser_Throws() {
+        // given
+        given(paymentApprovalRepository.findByOrderId(ORDER_ID)).willReturn(Optional.of(approval()));
+
+        // when & then
+        assertThatThrownBy(() -> paymentApprovalService.getApproval(ORDER_ID, 99L))
+                .isInstanceOf(SecurityException.class);
+    }
+
+    @Test
+    @DisplayName("단건 선점: 다른 작업자가 이미 가져간 요청이면 null을 돌려준다")
+    void claim_AlreadyClaimed_ReturnsNull() {
+        // given
+        given(paymentApprovalRepository.claimById(eq(100L), eq(PaymentApprovalStatus.PENDING), anyString(), any(), any()))
+                .willReturn(0);
+
+        // when & then
+        assertThat(paymentApprovalService.claim(100L)).isNull();
+        verify(paymentApprovalRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("배치 선점: 선점한 요청마다 같은 선점 토큰을 붙여 돌려준다")
+    void claimDue_ClaimsWithSameToken() {
+        // given
+        PaymentApproval approval = approval();
+        given(paymentApprovalRepository.findClaimableIdsForUpdate(any(LocalDateTime.class), anyInt()))
+                .willReturn(List.of(100L));
+        given(paymentApprovalRepository.findAllById(List.of(100L))).willReturn(List.of(approval));
+
+        // when
+        List<ClaimedApproval> claimed = paymentApprovalService.claimDue(10);
+
+        // then
+        assertThat(claimed).hasSize(1);
+        verify(paymentApprovalRepository).claim(eq(List.of(100L)), eq(claimed.get(0).owner()), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("결과 반영: 선점이 만료돼 다른 작업자가 가져간 요청은 바꾸지 않는다")
+    void markApproved_ClaimTakenOver_NotChanged() {
+        // given
+        PaymentApproval current = approval();
+        ReflectionTestUtils.setField(current, "claimedBy", "node-2-1");
+        given(paymentApprovalRepository.findById(100L)).willReturn(Optional.of(current));
+
+        // when
+        paymentApprovalService.markApproved(new ClaimedApproval(current, "node-1-1"));
+
+        // then
+        assertThat(current.getStatus()).isEqualTo(PaymentApprovalStatus.PENDING);
+    }
+
+    private static OrderApproveDTO approveDTO(int amount) {
+        OrderApproveDTO dto = new OrderApproveDTO();
+        dto.setOrderId(String.valueOf(ORDER_ID));
+        dto.setPg_token("pg-token");
+        dto.setAmount(amount);
+        return dto;
+    }
+
+    private static PaymentApproval approval() {
+        return withId(PaymentApproval.create(ORDER_ID, USER_ID, approveDTO(10000)));
+    }
+
+    private static PaymentApproval withId(PaymentApproval approval) {
+        ReflectionTestUtils.setField(approval, "id", 100L);
+        return approval;
+    }
+}
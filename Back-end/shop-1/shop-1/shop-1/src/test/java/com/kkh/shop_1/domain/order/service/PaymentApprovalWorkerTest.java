@@ -0,0 +1,205 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.dto.OrderApproveDTO;
+import com.kkh.shop_1.domain.order.entity.PaymentApproval;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import com.kkh.shop_1.domain.order.service.PaymentApprovalService.ClaimedApproval;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PaymentApprovalWorkerTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private PaymentApprovalService paymentApprovalService;
+    private OrderService orderService;
+    private PaymentApprovalNotifier notifier;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentApprovalWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        paymentApprovalService = mock(PaymentApprovalService.class);
+        orderService = mock(OrderService.class);
+        notifier = mock(PaymentApprovalNotifier.class);
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new PaymentApprovalWorker(paymentApprovalService, orderService, notifier, meterRegistry,
+                4, 10, 50, MAX_ATTEMPTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    @DisplayName("승인 성공 시 APPROVED로 반영하고 구독자에게 완료를 알린다")
+    void process_Success_MarksApprovedAndNotifies() {
+        // given
+        ClaimedApproval claimed = claimed(1L, 0);
+
+        // when
+        worker.process(claimed);
+
+        // then
+        verify(orderService).approveLocked(eq(1L), any(OrderApproveDTO.class), eq(10L));
+        verify(paymentApprovalService).markApproved(claimed);
+        verify(notifier).publishCompleted(1L);
+        assertThat(meterRegistry.counter("payment.approval.processed", "result", "approved").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("PG 장애로 호출 전에 거절되면 실패로 확정하지 않고 재시도를 예약한다")
+    void process_GatewayUnavailable_SchedulesRetry() {
+        // given
+        ClaimedApproval claimed = claimed(2L, 0);
+        willThrow(new PaymentGatewayUnavailableException(PaymentType.KAKAO_PAY))
+                .given(orderService).approveLocked(eq(2L), any(), any());
+
+        // when
+        worker.process(claimed);
+
+        // then
+        verify(paymentApprovalService).scheduleRetry(eq(claimed), any(LocalDateTime.class), anyString());
+        verify(paymentApprovalService, never()).markFailed(any(), any());
+        verify(notifier, never()).publishCompleted(any());
+    }
+
+    @Test
+    @DisplayName("동기 승인이 같은 주문을 처리 중이면(락 획득 실패) 재시도를 예약한다")
+    void process_ApprovalInProgress_SchedulesRetry() {
+        // given
+        ClaimedApproval claimed = claimed(3L, 1);
+        willThrow(new OrderApprovalInProgressException()).given(orderService).approveLocked(eq(3L), any(), any());
+
+        // when
+        worker.process(claimed);
+
+        // then
+        verify(paymentApprovalService).scheduleRetry(eq(claimed), any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    @DisplayName("재시도 한도에 도달하면 FAILED로 확정하고 알린다")
+    void process_RetryExhausted_MarksFailed() {
+        // given
+        ClaimedApproval claimed = claimed(4L, MAX_ATTEMPTS - 1);
+        willThrow(new PaymentGatewayUnavailableException(PaymentType.TOSS_PAY))
+                .given(orderService).approveLocked(eq(4L), any(), any());
+
+        // when
+        worker.process(claimed);
+
+        // then
+        verify(paymentApprovalService).markFailed(eq(claimed), anyString());
+        verify(paymentApprovalService, never()).scheduleRetry(any(), any(), any());
+        verify(notifier).publishCompleted(4L);
+    }
+
+    @Test
+    @DisplayName("PG 호출 후 실패(PG 오류 응답 등)는 재시도하지 않고 FAILED로 확정한다")
+    void process_PgError_MarksFailedWithoutRetry() {
+        // given
+        ClaimedApproval claimed = claimed(5L, 0);
+        willThrow(new RuntimeException("결제 승인 과정에서 오류가 발생했습니다."))
+                .given(orderService).approveLocked(eq(5L), any(), any());
+
+        // when
+        worker.process(claimed);
+
+        // then
+        verify(paymentApprovalService).markFailed(claimed, "결제 승인 과정에서 오류가 발생했습니다.");
+        verify(paymentApprovalService, never()).scheduleRetry(any(), any(), any());
+        verify(notifier).publishCompleted(5L);
+    }
+
+    @Test
+    @DisplayName("승인은 됐지만 결과 반영이 실패하면 FAILED로 덮어쓰지 않고 선점 만료 후 재처리에 맡긴다")
+    void process_MarkApprovedFails_LeavesForLeaseExpiry() {
+        // given
+        ClaimedApproval claimed = claimed(6L, 0);
+        willThrow(new RuntimeException("db down")).given(paymentApprovalService).markApproved(claimed);
+
+        // when
+        worker.process(claimed);
+
+        // then
+        verify(paymentApprovalService, never()).markFailed(any(), any());
+        verify(notifier, never()).publishCompleted(any());
+        assertThat(meterRegistry.counter("payment.approval.processed", "result", "error").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("같은 주문의 작업은 같은 레인에서 들어온 순서대로 하나씩 처리된다")
+    void dispatch_SameOrder_ProcessedSequentiallyInOrder() throws InterruptedException {
+        // given
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        willAnswer(invocation -> {
+            OrderApproveDTO dto = invocation.getArgument(1);
+            Thread.sleep(20);
+            processed.add(Integer.parseInt(dto.getPg_token()));
+            done.countDown();
+            return null;
+        }).given(orderService).approveLocked(eq(7L), any(), any());
+
+        // when
+        for (int i = 1; i <= 3; i++) {
+            worker.dispatch(claimed(7L, 0, String.valueOf(i)));
+        }
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(processed).containsExactly(1, 2, 3);
+        assertThat(worker.laneFor(7L)).isEqualTo(worker.laneFor(7L));
+    }
+
+    @Test
+    @DisplayName("재시도 간격은 1초부터 두 배씩 늘어나고 30초를 넘지 않는다")
+    void nextAttemptAt_ExponentialWithCap() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        // when & then
+        assertThat(Duration.between(now, PaymentApprovalWorker.RETRY_BACKOFF.nextAttemptAt(0, now, 0.999))).isLessThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(Duration.between(now, PaymentApprovalWorker.RETRY_BACKOFF.nextAttemptAt(2, now, 0.0))).isEqualTo(Duration.ofSeconds(2));
+        assertThat(Duration.between(now, PaymentApprovalWorker.RETRY_BACKOFF.nextAttemptAt(10, now, 0.999))).isLessThanOrEqualTo(Duration.ofSeconds(30));
+    }
+
+    private ClaimedApproval claimed(Long orderId, int attemptCount) {
+        return claimed(orderId, attemptCount, "pg-token");
+    }
+
+    private ClaimedApproval claimed(Long orderId, int attemptCount, String pgToken) {
+        OrderApproveDTO dto = new OrderApproveDTO();
+        dto.setOrderId(String.valueOf(orderId));
+        dto.setPg_token(pgToken);
+        PaymentApproval approval = PaymentApproval.create(orderId, 10L, dto);
+        ReflectionTestUtils.setField(approval, "id", orderId * 100);
+        ReflectionTestUtils.setField(approval, "attemptCount", attemptCount);
+        ReflectionTestUtils.setField(approval, "requestedAt", LocalDateTime.now().minusSeconds(1));
+        return new ClaimedApproval(approval, "node-1");
+    }
+}
@@ -0,0 +1,135 @@
+package com.kkh.shop_1.domain.order.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(50).toNanos();
+    private static final long SLOW = Duration.ofSeconds(4).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<PaymentCircuitBreaker.State> transitions = new ArrayList<>();
+    private PaymentCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        PaymentCircuitBreaker.Settings settings = new PaymentCircuitBreaker.Settings(
+                10, 4, 50, Duration.ofSeconds(3), Duration.ofSeconds(30), 2);
+        circuitBreaker = new PaymentCircuitBreaker(settings, clock::get, transitions::add);
+    }
+
+    private void call(boolean failed, long elapsedNanos) {
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onResult(elapsedNanos, failed);
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+    }
+
+    @Test
+    @DisplayName("최소 호출 수에 못 미치면 실패가 있어도 닫힌 상태를 유지한다")
+    void belowMinimumCalls_StaysClosed() {
+        // when
+        call(true, FAST);
+        call(true, FAST);
+        call(true, FAST);
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("실패율이 임계치 이상이면 열리고, 열린 동안에는 호출을 허용하지 않는다")
+    void failureRateAboveThreshold_Opens() {
+        // when
+        call(false, FAST);
+        call(false, FAST);
+        call(true, FAST);
+        call(true, FAST);
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(transitions).containsExactly(PaymentCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("느린 호출은 성공 응답이어도 실패로 센다")
+    void slowCalls_CountAsFailures() {
+        // when
+        for (int i = 0; i < 4; i++) {
+            call(false, SLOW);
+        }
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("열린 시간이 지나면 반열림으로 바뀌어 정해진 수만큼만 시험 호출을 허용하고, 모두 성공하면 닫힌다")
+    void halfOpen_ProbesSucceed_Closes() {
+        // given
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // when
+        boolean first = circuitBreaker.tryAcquirePermission();
+        boolean second = circuitBreaker.tryAcquirePermission();
+        boolean third = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onResult(FAST, false);
+        circuitBreaker.onResult(FAST, false);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.CLOSED);
+        assertThat(transitions).containsExactly(
+                PaymentCircuitBreaker.State.OPEN, PaymentCircuitBreaker.State.HALF_OPEN, PaymentCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("반열림 상태의 시험 호출이 하나라도 실패하면 다시 열린다")
+    void halfOpen_ProbeFails_Reopens() {
+        // given
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // when
+        call(true, FAST);
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("다시 닫히면 이전 실패 기록은 지워진다")
+    void closedAgain_WindowIsReset() {
+        // given
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        call(false, FAST);
+        call(false, FAST);
+
+        // when
+        call(true, FAST);
+        call(true, FAST);
+        call(false, FAST);
+
+        // then
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,241 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentInquiryHedgerTest {
+
+    private static final Duration MIN_DELAY = Duration.ofMillis(10);
+    private static final Duration MAX_DELAY = Duration.ofMillis(50);
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private PaymentInquiryHedger hedger(int budgetPercent) {
+        return new PaymentInquiryHedger(new PaymentInquiryHedger.Settings(
+                budgetPercent, MIN_DELAY, MAX_DELAY, 5, 20), executor, meterRegistry);
+    }
+
+    private double hedged(String result) {
+        return meterRegistry.counter("reconciliation.inquiry.hedged", "pg", "TOSS_PAY", "result", result).count();
+    }
+
+    /**
+     * 첫 호출은 release가 열릴 때까지 붙잡혀 있다가 firstResult를, 이후 호출은 바로 laterResult를 돌려주는 스텁 PG 조회.
+     */
+    private Supplier<PaymentStatus> slowFirst(CountDownLatch release, AtomicBoolean firstInterrupted,
+                                              PaymentStatus firstResult, PaymentStatus laterResult) {
+        AtomicInteger calls = new AtomicInteger();
+        return () -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    firstInterrupted.set(true);
+                    Thread.currentThread().interrupt();
+                    return PaymentStatus.UNKNOWN;
+                }
+                return firstResult;
+            }
+            return laterResult;
+        };
+    }
+
+    @Test
+    @DisplayName("첫 요청이 헤지 지연 안에 오면 추가 요청을 보내지 않는다")
+    void fastPrimary_NoHedge() throws InterruptedException {
+        // given
+        PaymentInquiryHedger hedger = hedger(100);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        PaymentStatus result = hedger.inquire(PaymentType.TOSS_PAY, () -> {
+            calls.incrementAndGet();
+            return PaymentStatus.PAID;
+        }, () -> true);
+
+        // then
+        assertThat(result).isEqualTo(PaymentStatus.PAID);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedged("sent")).isZero();
+    }
+
+    @Test
+    @DisplayName("첫 요청이 늦으면 같은 조회를 한 번 더 보내 먼저 온 결론을 쓰고, 늦은 요청은 취소한다")
+    void slowPrimary_HedgeWins_PrimaryCancelled() throws InterruptedException {
+        // given
+        PaymentInquiryHedger hedger = hedger(100);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean primaryInterrupted = new AtomicBoolean();
+
+        // when
+        PaymentStatus result = hedger.inquire(PaymentType.TOSS_PAY,
+                slowFirst(release, primaryInterrupted, PaymentStatus.NOT_PAID, PaymentStatus.PAID), () -> true);
+
+        // then
+        assertThat(result).isEqualTo(PaymentStatus.PAID);
+        assertThat(hedged("sent")).isEqualTo(1.0);
+        assertThat(hedged("won")).isEqualTo(1.0);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(primaryInterrupted).isTrue();
+        assertThat(meterRegistry.get("reconciliation.inquiry.attempt").tag("attempt", "hedge").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("첫 요청을 기다리는 중 호출 스레드가 중단되면 첫 요청을 취소하고 헤지 없이 InterruptedException을 던진다")
+    void interruptedWhileWaiting_PrimaryCancelledAndRethrown() throws InterruptedException {
+        // given: 헤지 지연을 길게 두어 첫 대기 중에 중단되게 한다.
+        PaymentInquiryHedger hedger = new PaymentInquiryHedger(new PaymentInquiryHedger.Settings(
+                100, MIN_DELAY, Duration.ofSeconds(5), 5, 20), executor, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean primaryInterrupted = new AtomicBoolean();
+        Supplier<PaymentStatus> slow = () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                primaryInterrupted.set(true);
+                Thread.currentThread().interrupt();
+            }
+            return PaymentStatus.PAID;
+        };
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicBoolean interruptRestored = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            try {
+                hedger.inquire(PaymentType.TOSS_PAY, slow, () -> true);
+            } catch (Throwable t) {
+                thrown.set(t);
+                interruptRestored.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        caller.start();
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        caller.interrupt();
+        caller.join(1000);
+
+        // then
+        assertThat(thrown.get()).isInstanceOf(InterruptedException.class);
+        assertThat(interruptRestored).isTrue();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(primaryInterrupted).isTrue();
+        assertThat(hedged("sent")).isZero();
+    }
+
+    @Test
+    @DisplayName("헤지 응답이 UNKNOWN이면 결론을 낼 수 있는 첫 요청 결과를 기다린다")
+    void hedgeUnknown_WaitsForPrimary() throws InterruptedException {
+        // given
+        PaymentInquiryHedger hedger = hedger(100);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            Thread.sleep(100);
+            release.countDown();
+            return null;
+        });
+
+        // when
+        PaymentStatus result = hedger.inquire(PaymentType.TOSS_PAY,
+                slowFirst(release, new AtomicBoolean(), PaymentStatus.PAID, PaymentStatus.UNKNOWN), () -> true);
+
+        // then
+        assertThat(result).isEqualTo(PaymentStatus.PAID);
+        assertThat(hedged("won")).isZero();
+    }
+
+    @Test
+    @DisplayName("헤지 예산이 없으면 추가 요청 없이 첫 요청을 기다린다")
+    void budgetExhausted_NoHedge() throws InterruptedException {
+        // given
+        PaymentInquiryHedger hedger = hedger(0);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            Thread.sleep(100);
+            release.countDown();
+            return null;
+        });
+
+        // when
+        PaymentStatus result = hedger.inquire(PaymentType.TOSS_PAY,
+                slowFirst(release, new AtomicBoolean(), PaymentStatus.NOT_PAID, PaymentStatus.PAID), () -> true);
+
+        // then
+        assertThat(result).isEqualTo(PaymentStatus.NOT_PAID);
+        assertThat(hedged("budget-exhausted")).isEqualTo(1.0);
+        assertThat(hedged("sent")).isZero();
+    }
+
+    @Test
+    @DisplayName("초당 조회 수 한도로 헤지를 못 보내면 예산을 돌려놓는다")
+    void rateLimited_RefundsBudget() throws InterruptedException {
+        // given: 예산 50% -> 두 번째 조회 때 토큰 1개가 모이지만 한도에 걸려 헤지를 못 보낸다.
+        PaymentInquiryHedger hedger = hedger(50);
+        hedger.inquire(PaymentType.TOSS_PAY, () -> PaymentStatus.PAID, () -> true);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            Thread.sleep(100);
+            release.countDown();
+            return null;
+        });
+        hedger.inquire(PaymentType.TOSS_PAY,
+                slowFirst(release, new AtomicBoolean(), PaymentStatus.PAID, PaymentStatus.PAID), () -> false);
+
+        // when
+        PaymentStatus result = hedger.inquire(PaymentType.TOSS_PAY,
+                slowFirst(new CountDownLatch(1), new AtomicBoolean(), PaymentStatus.UNKNOWN, PaymentStatus.NOT_PAID), () -> true);
+
+        // then
+        assertThat(result).isEqualTo(PaymentStatus.NOT_PAID);
+        assertThat(hedged("rate-limited")).isEqualTo(1.0);
+        assertThat(hedged("sent")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("표본이 적으면 최대 지연을, 충분하면 최근 p95(최소 지연 이상)를 헤지 지연으로 쓴다")
+    void hedgeDelay_DerivedFromP95() throws InterruptedException {
+        // given
+        PaymentInquiryHedger hedger = hedger(100);
+        Duration before = hedger.hedgeDelay(PaymentType.TOSS_PAY);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            hedger.inquire(PaymentType.TOSS_PAY, () -> PaymentStatus.PAID, () -> true);
+        }
+
+        // then
+        assertThat(before).isEqualTo(MAX_DELAY);
+        assertThat(hedger.hedgeDelay(PaymentType.TOSS_PAY)).isBetween(MIN_DELAY, MAX_DELAY);
+        assertThat(hedger.hedgeDelay(PaymentType.KAKAO_PAY)).isEqualTo(MAX_DELAY);
+    }
+}
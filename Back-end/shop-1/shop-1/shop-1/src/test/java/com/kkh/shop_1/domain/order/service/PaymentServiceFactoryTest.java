@@ -0,0 +1,260 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.kkh.shop_1.domain.order.dto.PaymentApproveRequestDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentApproveResponseDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentReadyRequestDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentReadyResponseDTO;
+import com.kkh.shop_1.domain.order.entity.Order;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PaymentServiceFactoryTest {
+
+    private StubPg kakaoPg;
+    private StubPg tossPg;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentServiceFactory factory;
+
+    /**
+     * 응답을 마음대로 바꿀 수 있는 로컬 스텁 PG.
+     */
+    static class StubPg implements PaymentService {
+        private final PaymentType type;
+        private final AtomicInteger calls = new AtomicInteger();
+        volatile RuntimeException failure;
+        volatile Error error;
+        volatile CountDownLatch block;
+
+        StubPg(PaymentType type) {
+            this.type = type;
+        }
+
+        @Override
+        public PaymentType getPaymentType() {
+            return type;
+        }
+
+        @Override
+        public PaymentReadyResponseDTO ready(PaymentReadyRequestDTO request) {
+            respond();
+            return PaymentReadyResponseDTO.builder().tid("tid").build();
+        }
+
+        @Override
+        public PaymentApproveResponseDTO approve(PaymentApproveRequestDTO request) {
+            respond();
+            return PaymentApproveResponseDTO.builder().success(true).build();
+        }
+
+        @Override
+        public void cancel(String paymentKey, String cancelReason, Integer cancelAmount) {
+            respond();
+        }
+
+        @Override
+        public PaymentStatus inquire(Order order) {
+            respond();
+            return PaymentStatus.PAID;
+        }
+
+        private void respond() {
+            calls.incrementAndGet();
+            if (block != null) {
+                try {
+                    block.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        kakaoPg = new StubPg(PaymentType.KAKAO_PAY);
+        tossPg = new StubPg(PaymentType.TOSS_PAY);
+        meterRegistry = new SimpleMeterRegistry();
+        // 창 10건 / 최소 4건 / 실패율 50% / 느린 호출 3초 / 30초 열림 / 시험 호출 1건 / 동시 2건, 대기 10ms
+        factory = new PaymentServiceFactory(List.of(kakaoPg, tossPg), meterRegistry,
+                10, 4, 50, 3000, 30, 1, 2, 10);
+    }
+
+    private void failApproves(PaymentService service, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThatThrownBy(() -> service.approve(mock(PaymentApproveRequestDTO.class)))
+                    .isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("PG 연결 오류가 이어지면 서킷이 열려 PG를 호출하지 않고 바로 503 예외를 던진다")
+    void gatewayFailures_OpenCircuit_FailFast() {
+        // given
+        PaymentService service = factory.getService(PaymentType.KAKAO_PAY);
+        kakaoPg.failure = new RuntimeException("결제 승인 과정에서 오류가 발생했습니다.", new ResourceAccessException("Read timed out"));
+        failApproves(service, 4);
+
+        // when & then
+        assertThatThrownBy(() -> service.approve(mock(PaymentApproveRequestDTO.class)))
+                .isInstanceOf(PaymentGatewayUnavailableException.class);
+        assertThat(kakaoPg.calls.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("payment.circuit.state").tag("pg", "KAKAO_PAY").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("payment.calls.rejected").tag("reason", "open").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("4xx 업무 오류(카드 거절 등)는 PG 장애로 보지 않아 서킷이 열리지 않는다")
+    void businessErrors_DoNotOpenCircuit() {
+        // given
+        PaymentService service = factory.getService(PaymentType.KAKAO_PAY);
+        kakaoPg.failure = new RuntimeException("토스 에러", new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        failApproves(service, 6);
+
+        // when
+        kakaoPg.failure = null;
+        PaymentApproveResponseDTO result = service.approve(mock(PaymentApproveRequestDTO.class));
+
+        // then
+        assertThat(result.isSuccess()).isTrue();
+    }
+
+    @Test
+    @DisplayName("한 PG의 서킷이 열려도 다른 PG 호출은 그대로 나간다")
+    void openCircuit_IsIsolatedPerPaymentType() {
+        // given
+        kakaoPg.failure = new RuntimeException(new ResourceAccessException("Connection refused"));
+        failApproves(factory.getService(PaymentType.KAKAO_PAY), 4);
+
+        // when
+        PaymentApproveResponseDTO result = factory.getService(PaymentType.TOSS_PAY).approve(mock(PaymentApproveRequestDTO.class));
+
+        // then
+        assertThat(result.isSuccess()).isTrue();
+    }
+
+    @Test
+    @DisplayName("서킷이 열려 있으면 조회는 예외 대신 UNKNOWN을, 취소는 막지 않고 PG로 보낸다")
+    void openCircuit_InquireUnknown_CancelPassesThrough() {
+        // given
+        PaymentService service = factory.getService(PaymentType.KAKAO_PAY);
+        kakaoPg.failure = new RuntimeException(new ResourceAccessException("Connection refused"));
+        failApproves(service, 4);
+        kakaoPg.failure = null;
+
+        // when
+        PaymentStatus status = service.inquire(mock(Order.class));
+        service.cancel("tid", "테스트 취소", 1000);
+
+        // then
+        assertThat(status).isEqualTo(PaymentStatus.UNKNOWN);
+        assertThat(kakaoPg.calls.get()).isEqualTo(5); // 승인 4번 + 취소 1번
+    }
+
+    @Test
+    @DisplayName("동시 호출이 벌크헤드 한도를 넘으면 기다리지 않고 바로 거절한다")
+    void bulkheadFull_RejectsImmediately() throws Exception {
+        // given
+        PaymentService service = factory.getService(PaymentType.KAKAO_PAY);
+        CountDownLatch release = new CountDownLatch(1);
+        kakaoPg.block = release;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(() -> service.approve(mock(PaymentApproveRequestDTO.class)));
+            executor.submit(() -> service.approve(mock(PaymentApproveRequestDTO.class)));
+            while (kakaoPg.calls.get() < 2) {
+                Thread.sleep(5);
+            }
+
+            // when & then
+            assertThatThrownBy(() -> service.ready(mock(PaymentReadyRequestDTO.class)))
+                    .isInstanceOf(PaymentGatewayUnavailableException.class);
+            assertThat(meterRegistry.get("payment.calls.rejected").tag("reason", "bulkhead").counter().count()).isEqualTo(1.0);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 시험 호출이 Error로 끝나도 실패로 기록해 다시 OPEN으로 돌리고, 시험 호출 자리가 새지 않는다")
+    void halfOpenProbeError_ReopensCircuit() {
+        // given
+        AtomicLong now = new AtomicLong();
+        PaymentCircuitBreaker circuitBreaker = new PaymentCircuitBreaker(new PaymentCircuitBreaker.Settings(
+                10, 4, 50, Duration.ofSeconds(3), Duration.ofSeconds(30), 1), now::get, state -> { });
+        ResilientPaymentService service = new ResilientPaymentService(kakaoPg, circuitBreaker, new Semaphore(2), 10, meterRegistry);
+        kakaoPg.failure = new RuntimeException(new ResourceAccessException("Connection refused"));
+        failApproves(service, 4);
+        kakaoPg.failure = null;
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        // when: 시험 호출이 Error로 끝난다.
+        kakaoPg.error = new NoClassDefFoundError("broken");
+        assertThatThrownBy(() -> service.approve(mock(PaymentApproveRequestDTO.class)))
+                .isInstanceOf(NoClassDefFoundError.class);
+
+        // then: 다시 열렸다가, 열림 시간이 지나면 새 시험 호출로 닫힌다.
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.OPEN);
+        kakaoPg.error = null;
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(service.approve(mock(PaymentApproveRequestDTO.class)).isSuccess()).isTrue();
+        assertThat(circuitBreaker.state()).isEqualTo(PaymentCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("벌크헤드 대기 중 인터럽트되면 인터럽트 상태를 유지하고, 벌크헤드 포화와 따로 센다")
+    void interruptedWhileWaitingForBulkhead_CountedSeparately() {
+        // given
+        PaymentService service = factory.getService(PaymentType.KAKAO_PAY);
+        Thread.currentThread().interrupt();
+
+        // when
+        PaymentStatus status = service.inquire(mock(Order.class));
+
+        // then
+        assertThat(Thread.interrupted()).isTrue(); // 확인하면서 인터럽트 상태를 지운다.
+        assertThat(status).isEqualTo(PaymentStatus.UNKNOWN);
+        assertThat(kakaoPg.calls.get()).isZero();
+        assertThat(meterRegistry.get("payment.calls.rejected").tag("reason", "interrupted").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("payment.calls.rejected").tag("reason", "bulkhead").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 결제 수단이면 IllegalArgumentException을 던진다")
+    void unknownPaymentType_Throws() {
+        // given
+        PaymentServiceFactory kakaoOnly = new PaymentServiceFactory(List.of(kakaoPg), meterRegistry,
+                10, 4, 50, 3000, 30, 1, 2, 10);
+
+        // when & then
+        assertThatThrownBy(() -> kakaoOnly.getService(PaymentType.NAVER_PAY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
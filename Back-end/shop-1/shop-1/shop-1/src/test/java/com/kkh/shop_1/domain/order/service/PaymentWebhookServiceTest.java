@@ -0,0 +1,319 @@
+package com.kkh.shop_1.domain.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.lock.RedisLeaseLock;
+import com.kkh.shop_1.domain.order.dto.OrderPaymentRow;
+import com.kkh.shop_1.domain.order.entity.OrderStatus;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import com.kkh.shop_1.domain.order.entity.PaymentWebhookEvent;
+import com.kkh.shop_1.domain.order.entity.PaymentWebhookResult;
+import com.kkh.shop_1.domain.order.repository.OrderRepository;
+import com.kkh.shop_1.domain.order.repository.PaymentWebhookEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentWebhookServiceTest {
+
+    private static final String SECRET = "webhook-secret";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String TIMESTAMP = String.valueOf(NOW.getEpochSecond());
+
+    @Mock
+    private PaymentWebhookEventRepository webhookEventRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderTxHandler orderTxHandler;
+
+    @Mock
+    private RedisLeaseLock redisLeaseLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PaymentWebhookService paymentWebhookService;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("payment.webhook.kakaopay.secret", SECRET)
+                .withProperty("payment.webhook.tosspay.secret", SECRET);
+        PaymentWebhookVerifier verifier = new PaymentWebhookVerifier(
+                environment, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        paymentWebhookService = new PaymentWebhookService(verifier, webhookEventRepository, orderRepository,
+                orderTxHandler, redisLeaseLock, new ObjectMapper(), meterRegistry, transactionManager);
+
+        given(redisLeaseLock.tryLock(anyString(), any(Duration.class), any(Duration.class))).willReturn(true);
+        given(webhookEventRepository.saveAndFlush(any(PaymentWebhookEvent.class))).willAnswer(invocation -> {
+            PaymentWebhookEvent event = invocation.getArgument(0);
+            ReflectionTestUtils.setField(event, "id", 1L);
+            given(webhookEventRepository.findById(1L)).willReturn(Optional.of(event));
+            return event;
+        });
+    }
+
+    @Test
+    @DisplayName("서명이 맞는 결제 완료 알림은 결제 대기 주문을 완료 처리하고 반영 결과를 기록한다")
+    void receive_PaidForPendingOrder_CompletesPayment() {
+        // given
+        byte[] body = kakao("T100", "SUCCESS_PAYMENT");
+        given(orderRepository.findPaymentRowByTid("T100")).willReturn(Optional.of(new OrderPaymentRow(10L, 7L, OrderStatus.PAYMENT_PENDING)));
+        given(orderRepository.findPaymentRowById(10L)).willReturn(Optional.of(new OrderPaymentRow(10L, 7L, OrderStatus.PAYMENT_PENDING)));
+
+        // when
+        String result = paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo("APPLIED");
+        verify(orderTxHandler).completeOrderPayment(10L, 7L);
+        verify(redisLeaseLock).tryLock("lock:order-approve:10", Duration.ofSeconds(10), Duration.ofSeconds(60));
+        verify(redisLeaseLock).unlock("lock:order-approve:10");
+        PaymentWebhookEvent saved = webhookEventRepository.findById(1L).orElseThrow();
+        assertThat(saved.isProcessed()).isTrue();
+        assertThat(saved.getResult()).isEqualTo(PaymentWebhookResult.APPLIED);
+        assertThat(meterRegistry.counter("payment.webhook.received", "pg", "KAKAO_PAY", "result", "APPLIED").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("토스 취소 알림은 결제 대기 주문을 취소(재고 복구) 처리한다")
+    void receive_TossCanceled_CancelsPendingOrder() {
+        // given
+        byte[] body = "{\"eventType\":\"PAYMENT_STATUS_CHANGED\",\"data\":{\"orderId\":\"ORDER_11_1\",\"status\":\"CANCELED\"}}"
+                .getBytes(StandardCharsets.UTF_8);
+        OrderPaymentRow pending = new OrderPaymentRow(11L, 7L, OrderStatus.PAYMENT_PENDING);
+        given(orderRepository.findPaymentRowByTid("ORDER_11_1")).willReturn(Optional.of(pending));
+        given(orderRepository.findPaymentRowById(11L)).willReturn(Optional.of(pending));
+
+        // when
+        String result = paymentWebhookService.receive("tosspay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo("APPLIED");
+        verify(orderTxHandler).cancelOrderPayment(11L);
+    }
+
+    @Test
+    @DisplayName("서명이 맞지 않으면 저장/반영 없이 거부한다")
+    void receive_InvalidSignature_Rejected() {
+        // given
+        byte[] body = kakao("T100", "SUCCESS_PAYMENT");
+        String forged = Base64.getEncoder().encodeToString("forged".getBytes(StandardCharsets.UTF_8));
+
+        // when & then
+        assertThatThrownBy(() -> paymentWebhookService.receive("kakaopay", TIMESTAMP, forged, body))
+                .isInstanceOf(PaymentWebhookSignatureException.class);
+        verify(webhookEventRepository, never()).saveAndFlush(any());
+        verify(orderTxHandler, never()).completeOrderPayment(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("서명 시각이 허용 범위(5분)를 벗어나면 재전송으로 보고 거부한다")
+    void receive_StaleTimestamp_Rejected() {
+        // given
+        byte[] body = kakao("T100", "SUCCESS_PAYMENT");
+        String stale = String.valueOf(NOW.minusSeconds(301).getEpochSecond());
+        String signature = Base64.getEncoder().encodeToString(
+                PaymentWebhookVerifier.sign(SECRET.getBytes(StandardCharsets.UTF_8), stale, body));
+
+        // when & then
+        assertThatThrownBy(() -> paymentWebhookService.receive("kakaopay", stale, signature, body))
+                .isInstanceOf(PaymentWebhookSignatureException.class);
+    }
+
+    @Test
+    @DisplayName("비밀키가 설정되지 않은 PG의 웹훅은 받지 않는다")
+    void receive_ProviderWithoutSecret_Rejected() {
+        // given
+        byte[] body = "{\"reserveId\":\"R1\",\"admissionState\":\"SUCCESS\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when & then
+        assertThatThrownBy(() -> paymentWebhookService.receive("naverpay", TIMESTAMP, sign(body), body))
+                .isInstanceOf(PaymentWebhookSignatureException.class);
+    }
+
+    @Test
+    @DisplayName("이미 반영이 끝난 같은 알림이 다시 오면 중복으로 보고 반영하지 않는다")
+    void receive_DuplicateProcessed_Skipped() {
+        // given
+        byte[] body = kakao("T100", "SUCCESS_PAYMENT");
+        PaymentWebhookEvent processed = PaymentWebhookEvent.create(PaymentType.KAKAO_PAY, "T100", PaymentStatus.PAID, "SUCCESS_PAYMENT", "{}");
+        processed.markProcessed(PaymentWebhookResult.APPLIED);
+        given(webhookEventRepository.saveAndFlush(any(PaymentWebhookEvent.class))).willThrow(new DataIntegrityViolationException("dup"));
+        given(webhookEventRepository.findByPaymentTypeAndTidAndPaymentStatus(PaymentType.KAKAO_PAY, "T100", PaymentStatus.PAID))
+                .willReturn(Optional.of(processed));
+
+        // when
+        String result = paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo(PaymentWebhookService.DUPLICATE);
+        verify(orderRepository, never()).findPaymentRowByTid(anyString());
+    }
+
+    @Test
+    @DisplayName("반영 도중 실패했던 알림이 다시 오면 미처리 행으로 보고 다시 반영한다")
+    void receive_DuplicateUnprocessed_Reapplied() {
+        // given
+        byte[] body = kakao("T100", "SUCCESS_PAYMENT");
+        PaymentWebhookEvent unprocessed = PaymentWebhookEvent.create(PaymentType.KAKAO_PAY, "T100", PaymentStatus.PAID, "SUCCESS_PAYMENT", "{}");
+        ReflectionTestUtils.setField(unprocessed, "id", 5L);
+        given(webhookEventRepository.saveAndFlush(any(PaymentWebhookEvent.class))).willThrow(new DataIntegrityViolationException("dup"));
+        given(webhookEventRepository.findByPaymentTypeAndTidAndPaymentStatus(PaymentType.KAKAO_PAY, "T100", PaymentStatus.PAID))
+                .willReturn(Optional.of(unprocessed));
+        given(webhookEventRepository.findById(5L)).willReturn(Optional.of(unprocessed));
+        OrderPaymentRow pending = new OrderPaymentRow(10L, 7L, OrderStatus.PAYMENT_PENDING);
+        given(orderRepository.findPaymentRowByTid("T100")).willReturn(Optional.of(pending));
+        given(orderRepository.findPaymentRowById(10L)).willReturn(Optional.of(pending));
+
+        // when
+        String result = paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo("APPLIED");
+        verify(orderTxHandler).completeOrderPayment(10L, 7L);
+        assertThat(unprocessed.isProcessed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("락을 잡은 뒤 다시 읽은 주문이 이미 결제 완료면(동기 승인이 먼저 반영) 아무것도 하지 않는다")
+    void receive_AlreadyPaid_NoChange() {
+        // given
+        byte[] body = kakao("T100", "SUCCESS_PAYMENT");
+        given(orderRepository.findPaymentRowByTid("T100")).willReturn(Optional.of(new OrderPaymentRow(10L, 7L, OrderStatus.PAYMENT_PENDING)));
+        given(orderRepository.findPaymentRowById(10L)).willReturn(Optional.of(new OrderPaymentRow(10L, 7L, OrderStatus.PAID)));
+
+        // when
+        String result = paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo("ALREADY_APPLIED");
+        verify(orderTxHandler, never()).completeOrderPayment(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("결제 완료 주문에 대한 취소 알림은 자동으로 되돌리지 않고 CONFLICT로 기록한다")
+    void receive_CancelForPaidOrder_Conflict() {
+        // given
+        byte[] body = kakao("T100", "CANCEL_PAYMENT");
+        OrderPaymentRow paid = new OrderPaymentRow(10L, 7L, OrderStatus.PAID);
+        given(orderRepository.findPaymentRowByTid("T100")).willReturn(Optional.of(paid));
+        given(orderRepository.findPaymentRowById(10L)).willReturn(Optional.of(paid));
+
+        // when
+        String result = paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo("CONFLICT");
+        verify(orderTxHandler, never()).cancelOrderPayment(anyLong());
+    }
+
+    @Test
+    @DisplayName("결론이 나지 않은 상태(READY) 알림은 기록하지 않고 무시한다")
+    void receive_UnknownStatus_Ignored() {
+        // given
+        byte[] body = kakao("T100", "READY");
+
+        // when
+        String result = paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo(PaymentWebhookService.IGNORED);
+        verify(webhookEventRepository, never()).saveAndFlush(any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"QUIT_PAYMENT", "FAIL_AUTH_PASSWORD"})
+    @DisplayName("카카오 중간 상태(사용자 이탈, 비밀번호 오류) 알림은 주문을 취소하지 않고 무시한다")
+    void receive_KakaoInterimStatus_Ignored(String status) {
+        // given
+        byte[] body = kakao("T100", status);
+
+        // when
+        String result = paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo(PaymentWebhookService.IGNORED);
+        verify(webhookEventRepository, never()).saveAndFlush(any());
+        verify(orderTxHandler, never()).cancelOrderPayment(anyLong());
+    }
+
+    @Test
+    @DisplayName("네이버 승인 실패 알림은 주문을 취소하지 않고 무시한다 (정합성 배치가 판단)")
+    void receive_NaverFailedAdmission_Ignored() {
+        // given
+        paymentWebhookService = naverEnabledService();
+        byte[] body = "{\"paymentId\":\"N100\",\"admissionState\":\"FAIL\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        String result = paymentWebhookService.receive("naverpay", TIMESTAMP, sign(body), body);
+
+        // then
+        assertThat(result).isEqualTo(PaymentWebhookService.IGNORED);
+        verify(webhookEventRepository, never()).saveAndFlush(any());
+        verify(orderTxHandler, never()).cancelOrderPayment(anyLong());
+    }
+
+    @Test
+    @DisplayName("거래 id가 없는 본문은 잘못된 요청으로 거부한다")
+    void receive_MissingTid_ThrowsIllegalArgument() {
+        // given
+        byte[] body = "{\"status\":\"SUCCESS_PAYMENT\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when & then
+        assertThatThrownBy(() -> paymentWebhookService.receive("kakaopay", TIMESTAMP, sign(body), body))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PaymentWebhookService naverEnabledService() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("payment.webhook.naverpay.secret", SECRET);
+        PaymentWebhookVerifier verifier = new PaymentWebhookVerifier(
+                environment, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        return new PaymentWebhookService(verifier, webhookEventRepository, orderRepository,
+                orderTxHandler, redisLeaseLock, new ObjectMapper(), meterRegistry, transactionManager);
+    }
+
+    private byte[] kakao(String tid, String status) {
+        return ("{\"tid\":\"" + tid + "\",\"status\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String sign(byte[] body) {
+        return Base64.getEncoder().encodeToString(
+                PaymentWebhookVerifier.sign(SECRET.getBytes(StandardCharsets.UTF_8), TIMESTAMP, body));
+    }
+}
@@ -0,0 +1,183 @@
+package com.kkh.shop_1.domain.order.simulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.http.HttpClientPoolSpec;
+import com.kkh.shop_1.common.http.PooledRestTemplateFactory;
+import com.kkh.shop_1.domain.order.dto.PaymentApproveRequestDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentReadyRequestDTO;
+import com.kkh.shop_1.domain.order.dto.PaymentReadyResponseDTO;
+import com.kkh.shop_1.domain.order.entity.Order;
+import com.kkh.shop_1.domain.order.service.KakaoPayService;
+import com.kkh.shop_1.domain.order.service.NaverPayService;
+import com.kkh.shop_1.domain.order.service.PaymentStatus;
+import com.kkh.shop_1.domain.order.service.TossPayService;
+import com.kkh.shop_1.domain.user.entity.Address;
+import com.kkh.shop_1.domain.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 실제 PaymentService 구현체를 로컬 포트에 띄운 시뮬레이터에 붙여, 요청 형식/응답 해석이 맞물리는지 확인한다.
+ * 요청은 운영과 같은 PooledRestTemplateFactory의 연결 풀을 거쳐 소켓으로 나간다.
+ */
+class PgSimulatorTest {
+
+    private static final long READ_TIMEOUT_MS = 300;
+
+    private PgSimulator simulator;
+    private PooledRestTemplateFactory restTemplateFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pg.simulator.median-ms", "0");
+        simulator = new PgSimulator(new ObjectMapper(), environment);
+        simulator.start();
+        restTemplateFactory = new PooledRestTemplateFactory(new SimpleMeterRegistry(), environment,
+                1000, READ_TIMEOUT_MS, 1000, 30, 60, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        restTemplateFactory.shutdown();
+        simulator.stop();
+    }
+
+    private RestTemplate restTemplate(String provider) {
+        return restTemplateFactory.create(HttpClientPoolSpec.of(provider, 4, List.of(), Map.of()));
+    }
+
+    private <T> T pointedAtSimulator(T service, String provider) {
+        ReflectionTestUtils.setField(service, "apiBaseUrl", simulator.baseUrl(provider));
+        return service;
+    }
+
+    private Order order(String tid) {
+        Order order = Order.create(mock(User.class), mock(Address.class));
+        ReflectionTestUtils.setField(order, "tid", tid);
+        return order;
+    }
+
+    private PaymentReadyRequestDTO readyRequest() {
+        PaymentReadyRequestDTO request = mock(PaymentReadyRequestDTO.class);
+        given(request.getPartnerOrderId()).willReturn("1");
+        given(request.getPartnerUserId()).willReturn("10");
+        given(request.getItemName()).willReturn("상품");
+        given(request.getQuantity()).willReturn(1);
+        given(request.getTotalAmount()).willReturn(1000);
+        given(request.getApprovalUrl()).willReturn("http://localhost/approve");
+        return request;
+    }
+
+    @Test
+    @DisplayName("카카오페이: 준비 -> 승인 -> 조회 -> 취소 흐름이 실제 서비스 코드로 동작한다")
+    void kakaoPay_FullFlow() {
+        // given
+        KakaoPayService service = pointedAtSimulator(new KakaoPayService(restTemplate("kakaopay")), "kakaopay");
+        ReflectionTestUtils.setField(service, "cid", "TC0ONETIME");
+        ReflectionTestUtils.setField(service, "secretKey", "dummy");
+
+        // when
+        PaymentReadyResponseDTO ready = service.ready(readyRequest());
+        PaymentStatus beforeApprove = service.inquire(order(ready.getTid()));
+        service.approve(PaymentApproveRequestDTO.builder().tid(ready.getTid()).partnerOrderId("1").partnerUserId("10").pgToken("pg").build());
+        PaymentStatus afterApprove = service.inquire(order(ready.getTid()));
+        service.cancel(ready.getTid(), "테스트", 1000);
+
+        // then
+        assertThat(ready.getRedirectUrl()).contains(ready.getTid());
+        assertThat(beforeApprove).isEqualTo(PaymentStatus.UNKNOWN);
+        assertThat(afterApprove).isEqualTo(PaymentStatus.PAID);
+        assertThat(service.inquire(order(ready.getTid()))).isEqualTo(PaymentStatus.NOT_PAID);
+    }
+
+    @Test
+    @DisplayName("네이버페이: 예약 -> 승인 -> 조회 흐름이 동작하고, 모르는 결제 id는 NOT_PAID로 조회된다")
+    void naverPay_FullFlow() {
+        // given
+        NaverPayService service = pointedAtSimulator(new NaverPayService(restTemplate("naverpay")), "naverpay");
+        ReflectionTestUtils.setField(service, "partnerId", "partner");
+
+        // when
+        PaymentReadyResponseDTO ready = service.ready(readyRequest());
+        service.approve(PaymentApproveRequestDTO.builder().tid(ready.getTid()).build());
+
+        // then
+        assertThat(service.inquire(order(ready.getTid()))).isEqualTo(PaymentStatus.PAID);
+        assertThat(service.inquire(order("unknown"))).isEqualTo(PaymentStatus.NOT_PAID);
+    }
+
+    @Test
+    @DisplayName("토스: 승인 중복 요청은 성공으로, 승인 전 조회는 404 -> NOT_PAID로 처리된다")
+    void tossPay_DuplicateConfirmAndNotFound() {
+        // given
+        TossPayService service = pointedAtSimulator(new TossPayService(restTemplate("tosspay")), "tosspay");
+        ReflectionTestUtils.setField(service, "secretKey", "test_sk");
+        String orderId = service.ready(readyRequest()).getTid();
+        PaymentApproveRequestDTO approve = PaymentApproveRequestDTO.builder().tid(orderId).paymentKey("pk-1").amount(1000).build();
+
+        // when
+        PaymentStatus beforeApprove = service.inquire(order(orderId));
+        service.approve(approve);
+        service.approve(approve);
+
+        // then
+        assertThat(beforeApprove).isEqualTo(PaymentStatus.NOT_PAID);
+        assertThat(service.inquire(order(orderId))).isEqualTo(PaymentStatus.PAID);
+    }
+
+    @Test
+    @DisplayName("오류율/타임아웃 비율을 주면 500 응답과 읽기 타임아웃을 흉내 낸다")
+    void injectedFailures() {
+        // given
+        RestTemplate restTemplate = restTemplate("tosspay");
+        String url = simulator.baseUrl("tosspay") + "/v1/payments/orders/x";
+
+        // when & then
+        simulator.setProfile("tosspay", new PgLatencyProfile(0, 0, 1.0, 0.0, 0));
+        assertThatThrownBy(() -> restTemplate.getForEntity(url, Map.class))
+                .isInstanceOf(HttpServerErrorException.class);
+
+        // 시뮬레이터가 클라이언트 읽기 타임아웃보다 오래 붙잡고 있으면 실제처럼 타임아웃이 난다.
+        simulator.setProfile("tosspay", new PgLatencyProfile(0, 0, 0.0, 1.0, READ_TIMEOUT_MS * 3));
+        assertThatThrownBy(() -> restTemplate.getForEntity(url, Map.class))
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    @Test
+    @DisplayName("응답 시간은 중앙값/p99에 맞춘 로그정규분포로 뽑는다")
+    void latencyProfile_MatchesMedianAndP99() {
+        // given
+        PgLatencyProfile profile = new PgLatencyProfile(100, 1000, 0, 0, 0);
+        int samples = 20_000;
+        long[] latencies = new long[samples];
+
+        // when
+        for (int i = 0; i < samples; i++) {
+            latencies[i] = profile.sampleLatencyMs();
+        }
+        Arrays.sort(latencies);
+
+        // then
+        assertThat(latencies[samples / 2]).isBetween(85L, 115L);
+        assertThat(latencies[(int) (samples * 0.99)]).isBetween(750L, 1300L);
+    }
+}
@@ -1,21 +1,27 @@
 package com.kkh.shop_1.domain.outbox.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.mail.MailMessage;
+import com.kkh.shop_1.common.mail.SmtpMailDispatcher;
+import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
 import com.kkh.shop_1.domain.user.entity.User;
 import com.kkh.shop_1.domain.user.repository.UserRepository;
-import com.kkh.shop_1.domain.user.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -27,65 +33,126 @@ class EmailOutboxEventPublisherTest {
     private EmailOutboxEventPublisher publisher;
 
     @Mock
-    private EmailService emailService;
+    private SmtpMailDispatcher mailDispatcher;
 
     @Mock
     private UserRepository userRepository;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // paidAt(LocalDateTime) 역직렬화를 위해 JavaTimeModule을 등록한다. (스프링 ObjectMapper와 같은 조건)
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        publisher = new EmailOutboxEventPublisher(mailDispatcher, userRepository, objectMapper);
+    }
 
     @Test
-    @DisplayName("ORDER_PAID 이벤트는 결제자 이메일로 결제완료 알림 메일을 보낸다")
+    @DisplayName("ORDER_PAID 이벤트는 발송 시점에 userId로 수신자를 조회해 결제완료 알림 메일을 보낸다")
     void publish_OrderPaid_SendsEmailToBuyer() {
         // given
-        publisher = new EmailOutboxEventPublisher(emailService, userRepository, objectMapper);
-
-        User user = mock(User.class);
-        given(user.getEmail()).willReturn("buyer@test.com");
-        given(user.getNickname()).willReturn("구매자");
-        given(userRepository.findById(100L)).willReturn(Optional.of(user));
-
+        User user = user(100L, "buyer@test.com");
+        given(userRepository.findAllById(List.of(100L))).willReturn(List.of(user));
         String payload = "{\"orderId\":1,\"userId\":100,\"totalAmount\":15000,\"paidAt\":\"2026-08-15T10:00:00\"}";
 
         // when
         publisher.publish("ORDER_PAID", payload);
 
         // then
-        ArgumentCaptor<String> subjectCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
-        verify(emailService).sendMail(org.mockito.ArgumentMatchers.eq("buyer@test.com"), subjectCaptor.capture(), contentCaptor.capture());
+        ArgumentCaptor<MailMessage> messageCaptor = ArgumentCaptor.forClass(MailMessage.class);
+        verify(mailDispatcher).send(messageCaptor.capture());
 
-        assertThat(subjectCaptor.getValue()).contains("주문 #1");
-        assertThat(contentCaptor.getValue()).contains("구매자").contains("15,000원");
+        MailMessage message = messageCaptor.getValue();
+        assertThat(message.to()).isEqualTo("buyer@test.com");
+        assertThat(message.subject()).contains("주문 #1");
+        assertThat(message.htmlContent()).contains("구매자").contains("15,000원");
     }
 
     @Test
-    @DisplayName("ORDER_PAID가 아닌 이벤트 타입은 무시하고 메일을 보내지 않는다")
-    void publish_OtherEventType_DoesNothing() {
+    @DisplayName("수신자 정보가 담긴 이전 payload도 그 값은 무시하고 사용자 테이블의 현재 이메일로 보낸다")
+    void publish_LegacyPayloadWithRecipient_UsesCurrentUser() {
         // given
-        publisher = new EmailOutboxEventPublisher(emailService, userRepository, objectMapper);
+        User user = user(100L, "new@test.com");
+        given(userRepository.findAllById(List.of(100L))).willReturn(List.of(user));
+        String payload = "{\"orderId\":1,\"userId\":100,\"totalAmount\":15000,\"paidAt\":\"2026-08-15T10:00:00\"," +
+                "\"recipientEmail\":\"old@test.com\",\"recipientName\":\"예전이름\"}";
 
+        // when
+        publisher.publish("ORDER_PAID", payload);
+
+        // then
+        ArgumentCaptor<MailMessage> messageCaptor = ArgumentCaptor.forClass(MailMessage.class);
+        verify(mailDispatcher).send(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().to()).isEqualTo("new@test.com");
+        assertThat(messageCaptor.getValue().htmlContent()).doesNotContain("예전이름");
+    }
+
+    @Test
+    @DisplayName("ORDER_PAID가 아닌 이벤트 타입은 무시하고 메일을 보내지 않는다")
+    void publish_OtherEventType_DoesNothing() {
         // when
         publisher.publish("SOME_OTHER_EVENT", "{}");
 
         // then
-        verify(emailService, never()).sendMail(any(), any(), any());
-        verify(userRepository, never()).findById(any());
+        verify(mailDispatcher, never()).send(any());
+        verify(userRepository, never()).findAllById(any());
     }
 
     @Test
     @DisplayName("대상 사용자를 찾을 수 없으면 예외를 던진다 (호출부가 재시도 카운트를 올릴 수 있도록)")
     void publish_UserNotFound_ThrowsException() {
         // given
-        publisher = new EmailOutboxEventPublisher(emailService, userRepository, objectMapper);
-
-        given(userRepository.findById(999L)).willReturn(Optional.empty());
+        given(userRepository.findAllById(List.of(999L))).willReturn(List.of());
         String payload = "{\"orderId\":1,\"userId\":999,\"totalAmount\":1000,\"paidAt\":\"2026-08-15T10:00:00\"}";
 
         // when & then
         assertThatThrownBy(() -> publisher.publish("ORDER_PAID", payload))
                 .isInstanceOf(RuntimeException.class);
 
-        verify(emailService, never()).sendMail(any(), any(), any());
+        verify(mailDispatcher, never()).send(any());
+    }
+
+    @Test
+    @DisplayName("배치 발행은 ORDER_PAID 메일만 한 번에 보내고, 발송 실패한 메일의 이벤트 id만 실패로 돌려준다")
+    void publishBatch_SendsTogetherAndMapsFailuresToEventIds() {
+        // given
+        OutboxEvent first = event(1L, "ORDER_PAID", paidPayload(10L, 7L));
+        OutboxEvent other = event(2L, "ORDER_UPDATED", "{\"orderId\":11,\"userId\":7}");
+        OutboxEvent second = event(3L, "ORDER_PAID", paidPayload(12L, 8L));
+        OutboxEvent orphan = event(4L, "ORDER_PAID", paidPayload(13L, 9L));
+        User a = user(7L, "a@test.com");
+        User b = user(8L, "b@test.com");
+        given(userRepository.findAllById(List.of(7L, 8L, 9L))).willReturn(List.of(a, b));
+        RuntimeException smtpFailure = new RuntimeException("421 try again later");
+        given(mailDispatcher.sendBatch(anyList())).willReturn(Map.of(1, smtpFailure));
+
+        // when
+        Map<Long, Exception> failures = publisher.publishBatch(List.of(first, other, second, orphan));
+
+        // then
+        ArgumentCaptor<List<MailMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mailDispatcher).sendBatch(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue()).extracting(MailMessage::to).containsExactly("a@test.com", "b@test.com");
+        assertThat(failures).containsOnlyKeys(3L, 4L);
+        assertThat(failures.get(3L)).isSameAs(smtpFailure);
+        assertThat(failures.get(4L)).isInstanceOf(IllegalStateException.class);
+        verify(userRepository).findAllById(List.of(7L, 8L, 9L));
+    }
+
+    private String paidPayload(Long orderId, Long userId) {
+        return "{\"orderId\":" + orderId + ",\"userId\":" + userId + ",\"totalAmount\":1000,\"paidAt\":\"2026-08-15T10:00:00\"}";
+    }
+
+    private User user(Long id, String email) {
+        User user = mock(User.class);
+        given(user.getId()).willReturn(id);
+        given(user.getEmail()).willReturn(email);
+        given(user.getNickname()).willReturn("구매자");
+        return user;
+    }
+
+    private OutboxEvent event(Long id, String eventType, String payload) {
+        OutboxEvent event = OutboxEvent.create(eventType, payload);
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
     }
 }
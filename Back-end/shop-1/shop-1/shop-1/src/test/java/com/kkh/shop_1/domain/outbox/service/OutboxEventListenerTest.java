@@ -1,28 +1,34 @@
 package com.kkh.shop_1.domain.outbox.service;
 
 import com.kkh.shop_1.domain.outbox.event.OutboxEventCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class OutboxEventListenerTest {
 
-    @InjectMocks
-    private OutboxEventListener outboxEventListener;
-
     @Mock
     private OutboxEventService outboxEventService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     @DisplayName("트랜잭션 커밋 후 이벤트를 받으면 해당 outboxEventId로 즉시 발행을 시도한다")
     void onOutboxEventCreated_TriesPublishWithCorrectId() {
-        // given
+        // given: 작업자 대신 호출 스레드에서 바로 실행한다.
+        OutboxEventListener outboxEventListener = new OutboxEventListener(outboxEventService, Runnable::run, meterRegistry);
         OutboxEventCreatedEvent event = new OutboxEventCreatedEvent(42L);
 
         // when
@@ -31,4 +37,34 @@ class OutboxEventListenerTest {
         // then
         verify(outboxEventService).tryPublish(42L);
     }
+
+    @Test
+    @DisplayName("즉시 발행이 실패해도 예외를 요청 쪽으로 올리지 않는다")
+    void onOutboxEventCreated_PublishFails_Swallowed() {
+        // given
+        OutboxEventListener outboxEventListener = new OutboxEventListener(outboxEventService, Runnable::run, meterRegistry);
+        willThrow(new IllegalStateException("DB 오류")).given(outboxEventService).tryPublish(42L);
+
+        // when
+        outboxEventListener.onOutboxEventCreated(new OutboxEventCreatedEvent(42L));
+
+        // then
+        verify(outboxEventService).tryPublish(42L);
+    }
+
+    @Test
+    @DisplayName("작업 큐가 가득 차면 발행하지 않고 거절 수를 남겨 폴링에 맡긴다")
+    void onOutboxEventCreated_QueueFull_LeftToPoller() {
+        // given
+        OutboxEventListener outboxEventListener = new OutboxEventListener(outboxEventService, runnable -> {
+            throw new RejectedExecutionException("full");
+        }, meterRegistry);
+
+        // when
+        outboxEventListener.onOutboxEventCreated(new OutboxEventCreatedEvent(42L));
+
+        // then
+        verify(outboxEventService, never()).tryPublish(anyLong());
+        assertThat(meterRegistry.counter("outbox.dispatch.rejected").count()).isEqualTo(1.0);
+    }
 }
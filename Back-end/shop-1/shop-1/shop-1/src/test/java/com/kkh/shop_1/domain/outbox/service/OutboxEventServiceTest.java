@@ -5,6 +5,7 @@ import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
 import com.kkh.shop_1.domain.outbox.entity.OutboxStatus;
 import com.kkh.shop_1.domain.outbox.event.OutboxEventCreatedEvent;
 import com.kkh.shop_1.domain.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,13 +19,15 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -45,6 +48,8 @@ class OutboxEventServiceTest {
     @Mock
     private PlatformTransactionManager transactionManager;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     record SamplePayload(Long orderId, String message) {
     }
 
@@ -54,7 +59,7 @@ class OutboxEventServiceTest {
         // transactionManager는 mock이지만 TransactionTemplate이 콜백을 그대로 실행해주므로
         // 이 단위 테스트에서는 실제 트랜잭션 없이도 로직 검증이 가능하다.
         outboxEventService = new OutboxEventService(
-                outboxEventRepository, outboxEventPublisher, applicationEventPublisher, new ObjectMapper(), transactionManager
+                outboxEventRepository, List.of(outboxEventPublisher), applicationEventPublisher, new ObjectMapper(), meterRegistry, transactionManager
         );
     }
 
@@ -83,67 +88,120 @@ class OutboxEventServiceTest {
     }
 
     @Test
-    @DisplayName("tryPublish() 성공 시 이벤트를 PUBLISHED로 변경한다")
+    @DisplayName("tryPublish() 성공 시 선점한 이벤트를 발행하고 일괄 UPDATE로 PUBLISHED 처리한다")
     void tryPublish_Success_MarksPublished() {
         // given
-        OutboxEvent event = OutboxEvent.create("ORDER_PAID", "{}");
-        given(outboxEventRepository.findById(1L)).willReturn(Optional.of(event));
+        OutboxEvent event = eventWithId(1L);
+        given(outboxEventRepository.claimById(eq(1L), eq(OutboxStatus.PENDING), anyString(), any())).willReturn(1);
+        given(outboxEventRepository.findAllById(List.of(1L))).willReturn(List.of(event));
+        given(outboxEventPublisher.publishBatch(List.of(event))).willReturn(Map.of());
 
         // when
         outboxEventService.tryPublish(1L);
 
         // then
-        verify(outboxEventPublisher).publish("ORDER_PAID", "{}");
-        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PUBLISHED);
+        verify(outboxEventPublisher).publishBatch(List.of(event));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), anyString(), eq(OutboxStatus.PUBLISHED), any());
+        verify(outboxEventRepository, never()).markPublishFailed(any(), any(), anyInt(), any(), any(), any());
+        assertThat(meterRegistry.counter("outbox.events.relayed", "result", "published").count()).isEqualTo(1.0);
     }
 
     @Test
-    @DisplayName("tryPublish() 실패 시 예외를 삼키고 재시도 횟수를 늘린다 (호출자에게 예외를 전파하지 않음)")
+    @DisplayName("tryPublish() 실패 시 예외를 삼키고 실패 UPDATE로 재시도 횟수를 늘린다 (호출자에게 예외를 전파하지 않음)")
     void tryPublish_Failure_IncrementsRetryCountWithoutThrowing() {
         // given
-        OutboxEvent event = OutboxEvent.create("ORDER_PAID", "{}");
-        given(outboxEventRepository.findById(1L)).willReturn(Optional.of(event));
-        doThrow(new RuntimeException("발송 실패")).when(outboxEventPublisher).publish(any(), any());
+        OutboxEvent event = eventWithId(1L);
+        given(outboxEventRepository.claimById(eq(1L), eq(OutboxStatus.PENDING), anyString(), any())).willReturn(1);
+        given(outboxEventRepository.findAllById(List.of(1L))).willReturn(List.of(event));
+        given(outboxEventPublisher.publishBatch(List.of(event))).willReturn(Map.of(1L, new RuntimeException("발송 실패")));
 
         // when
         outboxEventService.tryPublish(1L);
 
         // then
-        assertThat(event.getRetryCount()).isEqualTo(1);
-        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        verify(outboxEventRepository).markPublishFailed(eq(List.of(1L)), anyString(),
+                eq(OutboxEvent.MAX_RETRY_COUNT), eq(OutboxStatus.FAILED), any(LocalDateTime.class), contains("발송 실패"));
+        verify(outboxEventRepository, never()).markPublished(any(), any(), any(), any());
     }
 
     @Test
-    @DisplayName("이미 PUBLISHED인 이벤트는 다시 발행하지 않는다")
-    void tryPublish_AlreadyPublished_SkipsRepublish() {
+    @DisplayName("이미 발행됐거나 다른 작업자가 선점한 이벤트는 다시 발행하지 않는다")
+    void tryPublish_NotClaimable_SkipsRepublish() {
         // given
-        OutboxEvent event = OutboxEvent.create("ORDER_PAID", "{}");
-        event.markPublished();
-        given(outboxEventRepository.findById(1L)).willReturn(Optional.of(event));
+        given(outboxEventRepository.claimById(eq(1L), eq(OutboxStatus.PENDING), anyString(), any())).willReturn(0);
 
         // when
         outboxEventService.tryPublish(1L);
 
         // then
-        verify(outboxEventPublisher, never()).publish(any(), any());
+        verify(outboxEventPublisher, never()).publishBatch(any());
+        verify(outboxEventRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("relayStaleBatch()는 SKIP LOCKED로 선점한 배치를 발행하고, 성공/실패를 각각 한 번의 UPDATE로 반영한다")
+    void relayStaleBatch_PublishesClaimedBatchAndBulkUpdates() {
+        // given
+        OutboxEvent ok = eventWithId(1L);
+        OutboxEvent broken = OutboxEvent.create("ORDER_PAID", "broken");
+        ReflectionTestUtils.setField(broken, "id", 2L);
+
+        given(outboxEventRepository.findClaimableIdsForUpdate(any(LocalDateTime.class), eq(10)))
+                .willReturn(List.of(1L, 2L));
+        given(outboxEventRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(ok, broken));
+        given(outboxEventPublisher.publishBatch(List.of(ok, broken))).willReturn(Map.of(2L, new RuntimeException("발송 실패")));
+
+        // when
+        int claimed = outboxEventService.relayStaleBatch(10);
+
+        // then
+        assertThat(claimed).isEqualTo(2);
+
+        ArgumentCaptor<String> ownerCaptor = ArgumentCaptor.forClass(String.class);
+        verify(outboxEventRepository).claim(eq(List.of(1L, 2L)), ownerCaptor.capture(), any(LocalDateTime.class));
+        String owner = ownerCaptor.getValue();
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), eq(owner), eq(OutboxStatus.PUBLISHED), any());
+        verify(outboxEventRepository).markPublishFailed(eq(List.of(2L)), eq(owner), anyInt(), eq(OutboxStatus.FAILED), any(), any());
     }
 
     @Test
-    @DisplayName("findStalePendingEventIds()는 PENDING 상태 이벤트의 ID 목록을 반환한다")
-    void findStalePendingEventIds_ReturnsIds() {
+    @DisplayName("relayStaleBatch()는 선점할 이벤트가 없으면 발행 없이 0을 반환한다")
+    void relayStaleBatch_NothingToClaim_ReturnsZero() {
         // given
-        OutboxEvent event1 = OutboxEvent.create("ORDER_PAID", "{}");
-        ReflectionTestUtils.setField(event1, "id", 1L);
-        OutboxEvent event2 = OutboxEvent.create("ORDER_PAID", "{}");
-        ReflectionTestUtils.setField(event2, "id", 2L);
+        given(outboxEventRepository.findClaimableIdsForUpdate(any(LocalDateTime.class), eq(10)))
+                .willReturn(List.of());
+
+        // when
+        int claimed = outboxEventService.relayStaleBatch(10);
+
+        // then
+        assertThat(claimed).isZero();
+        verify(outboxEventRepository, never()).claim(any(), any(), any());
+        verify(outboxEventPublisher, never()).publishBatch(any());
+    }
+
+    private OutboxEvent eventWithId(Long id) {
+        OutboxEvent event = OutboxEvent.create("ORDER_PAID", "{}");
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
 
-        given(outboxEventRepository.findByStatusAndCreatedAtBefore(eq(OutboxStatus.PENDING), any(LocalDateTime.class)))
-                .willReturn(List.of(event1, event2));
+    @Test
+    @DisplayName("마지막 재시도까지 실패하면 dead letter로 확정하고 dead letter 메트릭을 올린다")
+    void tryPublish_LastRetryFails_CountsDeadLetter() {
+        // given
+        OutboxEvent event = eventWithId(1L);
+        ReflectionTestUtils.setField(event, "retryCount", OutboxEvent.MAX_RETRY_COUNT - 1);
+        given(outboxEventRepository.findClaimableIdsForUpdate(any(LocalDateTime.class), eq(10))).willReturn(List.of(1L));
+        given(outboxEventRepository.findAllById(List.of(1L))).willReturn(List.of(event));
+        given(outboxEventPublisher.publishBatch(List.of(event))).willReturn(Map.of(1L, new RuntimeException("발송 실패")));
 
         // when
-        List<Long> ids = outboxEventService.findStalePendingEventIds();
+        outboxEventService.relayStaleBatch(10);
 
         // then
-        assertThat(ids).containsExactly(1L, 2L);
+        verify(outboxEventRepository).markPublishFailed(eq(List.of(1L)), anyString(),
+                eq(OutboxEvent.MAX_RETRY_COUNT), eq(OutboxStatus.FAILED), any(LocalDateTime.class), any());
+        assertThat(meterRegistry.counter("outbox.events.dead-lettered", "eventType", "ORDER_PAID").count()).isEqualTo(1.0);
     }
 }
@@ -0,0 +1,212 @@
+package com.kkh.shop_1.domain.outbox.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxPartitionManagerTest {
+
+    // MySQL TO_DAYS() 값 (information_schema.PARTITIONS.PARTITION_DESCRIPTION에 그대로 나온다)
+    private static final String TO_DAYS_2026_07_01 = "740163";
+    private static final String TO_DAYS_2026_08_01 = "740194";
+    private static final String TO_DAYS_2026_09_01 = "740225";
+    private static final String TO_DAYS_2026_11_01 = "740286";
+    private static final String TO_DAYS_2026_12_01 = "740316";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private OutboxPartitionManager manager() {
+        return new OutboxPartitionManager(jdbcTemplate, true);
+    }
+
+    /**
+     * information_schema 조회 결과를 (PARTITION_NAME, PARTITION_DESCRIPTION) 행으로 돌려준다.
+     */
+    @SuppressWarnings("unchecked")
+    private void givenPartitions(String... nameAndDescription) {
+        given(jdbcTemplate.query(contains("information_schema.PARTITIONS"), any(RowMapper.class), eq("outbox_event")))
+                .willAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    List<Object> rows = new ArrayList<>();
+                    for (int i = 0; i < nameAndDescription.length; i += 2) {
+                        ResultSet rs = mock(ResultSet.class);
+                        given(rs.getString(1)).willReturn(nameAndDescription[i]);
+                        given(rs.getString(2)).willReturn(nameAndDescription[i + 1]);
+                        rows.add(mapper.mapRow(rs, i / 2));
+                    }
+                    return rows;
+                });
+    }
+
+    private void givenUnpublished(String partition, int count) {
+        given(jdbcTemplate.queryForObject(contains("PARTITION (" + partition + ")"), eq(Integer.class))).willReturn(count);
+    }
+
+    private static String reorganize(String name, String upperBound) {
+        return "ALTER TABLE outbox_event REORGANIZE PARTITION pmax INTO (" +
+                "PARTITION " + name + " VALUES LESS THAN (TO_DAYS('" + upperBound + "')), " +
+                "PARTITION pmax VALUES LESS THAN MAXVALUE)";
+    }
+
+    @Test
+    @DisplayName("상한(TO_DAYS 다음 달 1일)이 cutoff 날짜 이하인 pYYYYMM 파티션만 지우고, pmax와 이름이 다른 파티션은 건드리지 않는다")
+    void dropPartitionsBefore_DropsOnlyFullyExpiredMonths() {
+        // given: p202606 < 07-01, p202607 < 08-01, p202608 < 09-01
+        givenPartitions("p202606", TO_DAYS_2026_07_01,
+                "p202607", TO_DAYS_2026_08_01,
+                "p202608", TO_DAYS_2026_09_01,
+                "p_manual", TO_DAYS_2026_07_01,
+                "pmax", "MAXVALUE");
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).willReturn(0);
+
+        // when: 상한이 cutoff 날짜와 같은 p202607까지는 모든 행이 cutoff보다 오래됐다.
+        int dropped = manager().dropPartitionsBefore(LocalDateTime.of(2026, 8, 1, 12, 0), false);
+
+        // then
+        assertThat(dropped).isEqualTo(2);
+        verify(jdbcTemplate).execute("ALTER TABLE outbox_event DROP PARTITION p202606");
+        verify(jdbcTemplate).execute("ALTER TABLE outbox_event DROP PARTITION p202607");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE outbox_event DROP PARTITION p202608");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE outbox_event DROP PARTITION p_manual");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE outbox_event DROP PARTITION pmax");
+    }
+
+    @Test
+    @DisplayName("cutoff가 상한 하루 전이면 그 달 파티션은 아직 지우지 않는다")
+    void dropPartitionsBefore_CutoffBeforeUpperBound_Kept() {
+        // given
+        givenPartitions("p202607", TO_DAYS_2026_08_01, "pmax", "MAXVALUE");
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).willReturn(0);
+
+        // when
+        int dropped = manager().dropPartitionsBefore(LocalDateTime.of(2026, 7, 31, 23, 59), false);
+
+        // then
+        assertThat(dropped).isZero();
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("미발행 이벤트가 남은 파티션은 지우지 않고 다음 파티션으로 넘어간다")
+    void dropPartitionsBefore_UnpublishedRows_PartitionKept() {
+        // given
+        givenPartitions("p202606", TO_DAYS_2026_07_01, "p202607", TO_DAYS_2026_08_01);
+        givenUnpublished("p202606", 3);
+        givenUnpublished("p202607", 0);
+
+        // when
+        int dropped = manager().dropPartitionsBefore(LocalDateTime.of(2026, 9, 1, 0, 0), true);
+
+        // then
+        assertThat(dropped).isEqualTo(1);
+        verify(jdbcTemplate, never()).execute("ALTER TABLE outbox_event DROP PARTITION p202606");
+        verify(jdbcTemplate, never()).update(contains("PARTITION (p202606)"));
+        verify(jdbcTemplate).execute("ALTER TABLE outbox_event DROP PARTITION p202607");
+    }
+
+    @Test
+    @DisplayName("보관이 켜져 있으면 파티션을 지우기 전에 그 파티션의 행을 보관 테이블로 복사한다")
+    void dropPartitionsBefore_Archive_CopiesBeforeDrop() {
+        // given
+        givenPartitions("p202606", TO_DAYS_2026_07_01);
+        givenUnpublished("p202606", 0);
+
+        // when
+        manager().dropPartitionsBefore(LocalDateTime.of(2026, 8, 1, 0, 0), true);
+
+        // then
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(contains("INSERT INTO outbox_event_archive"));
+        order.verify(jdbcTemplate).execute("ALTER TABLE outbox_event DROP PARTITION p202606");
+        verify(jdbcTemplate).update(contains("FROM outbox_event PARTITION (p202606)"));
+    }
+
+    @Test
+    @DisplayName("마지막 파티션 다음 달부터 이번 달 + 2개월까지 pmax를 나눠 만든다")
+    void ensureFuturePartitions_CreatesMissingMonthsFromLastBound() {
+        // given: 마지막 파티션 p202608 < 09-01
+        givenPartitions("p202607", TO_DAYS_2026_08_01, "p202608", TO_DAYS_2026_09_01, "pmax", "MAXVALUE");
+
+        // when
+        manager().ensureFuturePartitions(LocalDate.of(2026, 8, 15));
+
+        // then
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute(reorganize("p202609", "2026-10-01"));
+        order.verify(jdbcTemplate).execute(reorganize("p202610", "2026-11-01"));
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("연말에는 이름과 경계가 다음 해로 넘어간다")
+    void ensureFuturePartitions_YearRollover() {
+        // given: 마지막 파티션 p202611 < 12-01
+        givenPartitions("p202610", TO_DAYS_2026_11_01, "p202611", TO_DAYS_2026_12_01, "pmax", "MAXVALUE");
+
+        // when
+        manager().ensureFuturePartitions(LocalDate.of(2026, 11, 20));
+
+        // then
+        verify(jdbcTemplate).execute(reorganize("p202612", "2027-01-01"));
+        verify(jdbcTemplate).execute(reorganize("p202701", "2027-02-01"));
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("이미 이번 달 + 2개월까지 파티션이 있으면 아무것도 만들지 않는다")
+    void ensureFuturePartitions_AlreadyAhead_NoDdl() {
+        // given: p202610 < 11-01
+        givenPartitions("p202610", TO_DAYS_2026_11_01, "pmax", "MAXVALUE");
+
+        // when
+        manager().ensureFuturePartitions(LocalDate.of(2026, 8, 15));
+
+        // then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("월 파티션이 하나도 없으면 이번 달부터 만든다")
+    void ensureFuturePartitions_NoMonthlyPartitions_StartsFromThisMonth() {
+        // given
+        givenPartitions("pmax", "MAXVALUE");
+
+        // when
+        manager().ensureFuturePartitions(LocalDate.of(2026, 8, 15));
+
+        // then
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute(reorganize("p202608", "2026-09-01"));
+        order.verify(jdbcTemplate).execute(reorganize("p202609", "2026-10-01"));
+        order.verify(jdbcTemplate).execute(reorganize("p202610", "2026-11-01"));
+        verify(jdbcTemplate, times(3)).execute(anyString());
+    }
+}
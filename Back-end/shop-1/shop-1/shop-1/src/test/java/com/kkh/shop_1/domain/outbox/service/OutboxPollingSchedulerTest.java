@@ -1,53 +1,67 @@
 package com.kkh.shop_1.domain.outbox.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class OutboxPollingSchedulerTest {
 
-    @InjectMocks
     private OutboxPollingScheduler outboxPollingScheduler;
 
     @Mock
     private OutboxEventService outboxEventService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        outboxPollingScheduler = new OutboxPollingScheduler(outboxEventService, meterRegistry, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxPollingScheduler.shutdown();
+    }
+
     @Test
-    @DisplayName("재처리 대상이 없으면 발행을 시도하지 않는다")
-    void republishStaleEvents_NoStaleEvents_DoesNotTryPublish() {
+    @DisplayName("선점할 이벤트가 없으면 배치를 한 번만 시도하고 lag은 0이다")
+    void republishStaleEvents_NoStaleEvents_StopsAfterOneBatch() {
         // given
-        given(outboxEventService.findStalePendingEventIds()).willReturn(List.of());
+        given(outboxEventService.relayStaleBatch(2)).willReturn(0);
 
         // when
         outboxPollingScheduler.republishStaleEvents();
 
         // then
-        verify(outboxEventService, never()).tryPublish(anyLong());
+        verify(outboxEventService, times(1)).relayStaleBatch(2);
+        assertThat(meterRegistry.get("outbox.lag.seconds").gauge().value()).isZero();
     }
 
     @Test
-    @DisplayName("재처리 대상이 있으면 각 id마다 한 번씩 발행을 시도한다")
-    void republishStaleEvents_StaleEventsExist_TriesPublishEachOnce() {
+    @DisplayName("배치가 가득 차 있으면 남은 이벤트가 배치 크기보다 적어질 때까지 이어서 선점한다")
+    void republishStaleEvents_FullBatches_KeepsDraining() {
         // given
-        given(outboxEventService.findStalePendingEventIds()).willReturn(List.of(1L, 2L, 3L));
+        given(outboxEventService.relayStaleBatch(2)).willReturn(2, 2, 1);
+        given(outboxEventService.findOldestPendingCreatedAt()).willReturn(LocalDateTime.now().minusMinutes(5));
 
         // when
         outboxPollingScheduler.republishStaleEvents();
 
         // then
-        verify(outboxEventService).tryPublish(1L);
-        verify(outboxEventService).tryPublish(2L);
-        verify(outboxEventService).tryPublish(3L);
+        verify(outboxEventService, times(3)).relayStaleBatch(2);
+        assertThat(meterRegistry.get("outbox.lag.seconds").gauge().value()).isGreaterThanOrEqualTo(299.0);
     }
 }
@@ -0,0 +1,107 @@
+package com.kkh.shop_1.domain.outbox.service;
+
+import com.kkh.shop_1.domain.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRetentionSchedulerTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxPartitionManager outboxPartitionManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRetentionScheduler scheduler(boolean archive) {
+        return new OutboxRetentionScheduler(outboxEventRepository, outboxPartitionManager, meterRegistry,
+                transactionManager, 7, 2, 0L, archive);
+    }
+
+    @Test
+    @DisplayName("cutoff 이전 PK 범위의 PUBLISHED 이벤트를 배치 단위로 삭제하고, 배치가 덜 차면 멈춘다")
+    void purgePublishedEvents_DeletesInBatchesWithinRange() {
+        // given
+        given(outboxEventRepository.findFirstIdCreatedSince(any(LocalDateTime.class))).willReturn(100L);
+        given(outboxEventRepository.findPublishedIdsInRange(0L, 100L, 2)).willReturn(List.of(1L, 2L));
+        given(outboxEventRepository.findPublishedIdsInRange(2L, 100L, 2)).willReturn(List.of(5L));
+
+        // when
+        scheduler(false).purgePublishedEvents();
+
+        // then
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteByIds(List.of(5L));
+        verify(outboxEventRepository, never()).archiveByIds(any(), any());
+        assertThat(meterRegistry.counter("outbox.retention.rows", "action", "deleted").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("보관이 켜져 있으면 삭제 전에 같은 배치를 보관 테이블로 복사한다")
+    void purgePublishedEvents_ArchiveEnabled_CopiesBeforeDelete() {
+        // given
+        given(outboxEventRepository.findFirstIdCreatedSince(any(LocalDateTime.class))).willReturn(100L);
+        given(outboxEventRepository.findPublishedIdsInRange(0L, 100L, 2)).willReturn(List.of(1L));
+
+        // when
+        scheduler(true).purgePublishedEvents();
+
+        // then
+        verify(outboxEventRepository).archiveByIds(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).deleteByIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("이벤트가 하나도 없으면 아무것도 지우지 않는다")
+    void purgePublishedEvents_EmptyTable_DoesNothing() {
+        // given
+        given(outboxEventRepository.findFirstIdCreatedSince(any(LocalDateTime.class))).willReturn(null);
+        given(outboxEventRepository.findMaxId()).willReturn(null);
+
+        // when
+        scheduler(false).purgePublishedEvents();
+
+        // then
+        verify(outboxEventRepository, never()).findPublishedIdsInRange(anyLong(), anyLong(), anyInt());
+        verify(outboxEventRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    @DisplayName("파티션 모드에서는 오래된 파티션을 먼저 정리하고 다음 달 파티션을 준비한다")
+    void purgePublishedEvents_PartitioningEnabled_DropsPartitionsFirst() {
+        // given
+        given(outboxPartitionManager.isEnabled()).willReturn(true);
+        given(outboxPartitionManager.dropPartitionsBefore(any(LocalDateTime.class), eq(false))).willReturn(1);
+        given(outboxEventRepository.findFirstIdCreatedSince(any(LocalDateTime.class))).willReturn(100L);
+        given(outboxEventRepository.findPublishedIdsInRange(0L, 100L, 2)).willReturn(List.of());
+
+        // when
+        scheduler(false).purgePublishedEvents();
+
+        // then
+        verify(outboxPartitionManager).ensureFuturePartitions(any());
+        assertThat(meterRegistry.counter("outbox.retention.partitions.dropped").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,162 @@
+package com.kkh.shop_1.domain.outbox.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxStreamConsumerContainerTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private ObjectProvider<OutboxStreamConsumer> consumerProvider;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingConsumer consumer = new RecordingConsumer();
+    private OutboxStreamConsumerContainer container;
+
+    @BeforeEach
+    void setUp() {
+        given(stringRedisTemplate.opsForStream()).willReturn(streamOperations);
+        given(consumerProvider.orderedStream()).willReturn(Stream.of(consumer));
+        container = new OutboxStreamConsumerContainer(stringRedisTemplate, consumerProvider, meterRegistry, true, 10, 1000L);
+    }
+
+    @Test
+    @DisplayName("읽은 배치 중 구독 타입만 전달하고, 처리에 성공하면 배치 전체를 한 번에 ack한다")
+    void pollOnce_HandlesSubscribedTypesAndAcksBatch() {
+        // given
+        given(streamOperations.read(any(org.springframework.data.redis.connection.stream.Consumer.class), any(), any()))
+                .willReturn(List.of(record("1-0", 10L, "ORDER_PAID"), record("2-0", 11L, "ORDER_UPDATED")));
+
+        // when
+        container.pollOnce(consumer);
+
+        // then
+        assertThat(consumer.received).extracting(OutboxStreamMessage::outboxEventId).containsExactly(10L);
+        verify(streamOperations).acknowledge(OutboxStreams.EVENTS_KEY, "sales", "1-0", "2-0");
+        assertThat(meterRegistry.counter("outbox.stream.consumed", "group", "sales", "result", "success").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("처리에 실패하면 ack하지 않아 pending으로 남긴다")
+    void pollOnce_HandlerFails_DoesNotAck() {
+        // given
+        consumer.fail = true;
+        given(streamOperations.read(any(org.springframework.data.redis.connection.stream.Consumer.class), any(), any()))
+                .willReturn(List.of(record("1-0", 10L, "ORDER_PAID")));
+
+        // when
+        container.pollOnce(consumer);
+
+        // then
+        verify(streamOperations, never()).acknowledge(any(String.class), any(String.class), any(String[].class));
+        assertThat(meterRegistry.counter("outbox.stream.consumed", "group", "sales", "result", "failure").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("오래 방치된 pending 항목은 가져와 다시 처리하고, 전달 한도를 넘은 항목은 dead letter로 옮긴다")
+    void reclaimPending_ReclaimsIdleAndDeadLettersExhausted() {
+        // given
+        PendingMessage idle = pendingMessage("1-0", Duration.ofMinutes(5), 2);
+        PendingMessage exhausted = pendingMessage("2-0", Duration.ofMinutes(5), 5);
+        PendingMessage fresh = pendingMessage("3-0", Duration.ofSeconds(1), 1);
+        PendingMessages pending = mock(PendingMessages.class);
+        given(pending.isEmpty()).willReturn(false);
+        given(pending.iterator()).willReturn(List.of(idle, exhausted, fresh).iterator());
+        given(streamOperations.pending(eq(OutboxStreams.EVENTS_KEY), eq("sales"), any(), anyLong())).willReturn(pending);
+        given(streamOperations.claim(eq(OutboxStreams.EVENTS_KEY), eq("sales"), any(String.class), any(RedisStreamCommands.XClaimOptions.class)))
+                .willReturn(List.of(record("1-0", 10L, "ORDER_PAID")));
+        given(streamOperations.range(eq(OutboxStreams.EVENTS_KEY), any()))
+                .willReturn(List.of(record("2-0", 20L, "ORDER_PAID")));
+
+        // when
+        container.reclaimPending(consumer);
+
+        // then
+        ArgumentCaptor<RedisStreamCommands.XClaimOptions> claimCaptor = ArgumentCaptor.forClass(RedisStreamCommands.XClaimOptions.class);
+        verify(streamOperations).claim(eq(OutboxStreams.EVENTS_KEY), eq("sales"), any(String.class), claimCaptor.capture());
+        assertThat(claimCaptor.getValue().getIds()).extracting(RecordId::getValue).containsExactly("1-0");
+        assertThat(consumer.received).extracting(OutboxStreamMessage::outboxEventId).containsExactly(10L);
+
+        verify(streamOperations).acknowledge(OutboxStreams.EVENTS_KEY, "sales", "2-0");
+        verify(streamOperations).acknowledge(OutboxStreams.EVENTS_KEY, "sales", "1-0");
+        assertThat(meterRegistry.counter("outbox.stream.dead", "group", "sales").count()).isEqualTo(1.0);
+    }
+
+    private static MapRecord<String, Object, Object> record(String id, Long outboxEventId, String type) {
+        return StreamRecords.newRecord()
+                .in(OutboxStreams.EVENTS_KEY)
+                .withId(RecordId.of(id))
+                .ofMap(Map.<Object, Object>of(OutboxStreams.FIELD_ID, String.valueOf(outboxEventId),
+                        OutboxStreams.FIELD_TYPE, type,
+                        OutboxStreams.FIELD_PAYLOAD, "{}"));
+    }
+
+    private static PendingMessage pendingMessage(String id, Duration idle, long deliveries) {
+        return new PendingMessage(RecordId.of(id),
+                org.springframework.data.redis.connection.stream.Consumer.from("sales", "node-1"), idle, deliveries);
+    }
+
+    static class RecordingConsumer implements OutboxStreamConsumer {
+
+        private final List<OutboxStreamMessage> received = new ArrayList<>();
+        private boolean fail;
+
+        @Override
+        public String group() {
+            return "sales";
+        }
+
+        @Override
+        public Set<String> eventTypes() {
+            return Set.of("ORDER_PAID");
+        }
+
+        @Override
+        public void handle(List<OutboxStreamMessage> messages) {
+            if (fail) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            received.addAll(messages);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.kkh.shop_1.domain.outbox.stream;
+
+import com.kkh.shop_1.domain.outbox.entity.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisStreamOutboxEventPublisherTest {
+
+    @InjectMocks
+    private RedisStreamOutboxEventPublisher publisher;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisOperations<String, String> pipelineOperations;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        given(pipelineOperations.opsForStream()).willReturn(streamOperations);
+        // 파이프라인 콜백을 그대로 실행해, 콜백 안에서 추가한 항목을 검증한다.
+        given(stringRedisTemplate.executePipelined(any(SessionCallback.class))).willAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOperations);
+            return List.of();
+        });
+    }
+
+    @Test
+    @DisplayName("배치의 모든 이벤트를 파이프라인 한 번으로 추가하고, 항목마다 아웃박스 이벤트 id를 넣는다")
+    @SuppressWarnings("unchecked")
+    void publishBatch_AddsEveryEventWithOutboxId() {
+        // given
+        List<OutboxEvent> events = List.of(event(1L, "ORDER_CREATED"), event(2L, "ORDER_PAID"));
+
+        // when
+        Map<Long, Exception> failures = publisher.publishBatch(events);
+
+        // then
+        assertThat(failures).isEmpty();
+        verify(stringRedisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        ArgumentCaptor<MapRecord<String, String, String>> records = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streamOperations, times(2)).add(records.capture());
+        assertThat(records.getAllValues()).extracting(MapRecord::getStream).containsOnly(OutboxStreams.EVENTS_KEY);
+        assertThat(records.getAllValues()).extracting(record -> record.getValue().get(OutboxStreams.FIELD_ID))
+                .containsExactly("1", "2");
+        assertThat(records.getAllValues().get(1).getValue())
+                .containsEntry(OutboxStreams.FIELD_TYPE, "ORDER_PAID")
+                .containsEntry(OutboxStreams.FIELD_PAYLOAD, "{\"orderId\":2}");
+    }
+
+    @Test
+    @DisplayName("Redis 오류로 파이프라인이 실패하면 배치 전체를 실패로 돌려 재시도하게 한다")
+    @SuppressWarnings("unchecked")
+    void publishBatch_PipelineFails_AllEventsFailed() {
+        // given
+        RedisConnectionFailureException cause = new RedisConnectionFailureException("connection refused");
+        given(stringRedisTemplate.executePipelined(any(SessionCallback.class))).willThrow(cause);
+        List<OutboxEvent> events = List.of(event(1L, "ORDER_CREATED"), event(2L, "ORDER_PAID"));
+
+        // when
+        Map<Long, Exception> failures = publisher.publishBatch(events);
+
+        // then
+        assertThat(failures).containsOnlyKeys(1L, 2L);
+        assertThat(failures.get(1L)).isSameAs(cause);
+    }
+
+    @Test
+    @DisplayName("빈 배치는 Redis를 호출하지 않는다")
+    void publishBatch_Empty_NoRedisCall() {
+        // when
+        Map<Long, Exception> failures = publisher.publishBatch(List.of());
+
+        // then
+        assertThat(failures).isEmpty();
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    private static OutboxEvent event(Long id, String eventType) {
+        OutboxEvent event = OutboxEvent.create(eventType, "{\"orderId\":" + id + "}");
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
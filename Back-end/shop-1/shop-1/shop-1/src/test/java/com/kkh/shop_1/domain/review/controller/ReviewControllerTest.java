@@ -1,6 +1,7 @@
 package com.kkh.shop_1.domain.review.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.etag.ETagVersionStore;
 import com.kkh.shop_1.domain.review.dto.ReviewRequestDto;
 import com.kkh.shop_1.domain.review.service.ReviewService;
 import org.junit.jupiter.api.DisplayName;
@@ -33,6 +34,9 @@ class ReviewControllerTest {
     @MockBean
     private ReviewService reviewService;
 
+    @MockBean
+    private ETagVersionStore eTagVersionStore;
+
     @Autowired
     private ObjectMapper objectMapper;
 
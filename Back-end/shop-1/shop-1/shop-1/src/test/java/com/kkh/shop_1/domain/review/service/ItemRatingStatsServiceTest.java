@@ -0,0 +1,203 @@
+package com.kkh.shop_1.domain.review.service;
+
+import com.kkh.shop_1.common.etag.ETagVersionStore;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import com.kkh.shop_1.domain.review.dto.ReviewSummaryDto;
+import com.kkh.shop_1.domain.review.entity.ItemRatingStats;
+import com.kkh.shop_1.domain.review.repository.ItemRatingStatsRepository;
+import com.kkh.shop_1.domain.review.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ItemRatingStatsServiceTest {
+
+    @Mock
+    private ItemRatingStatsRepository itemRatingStatsRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ETagVersionStore eTagVersionStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ItemRatingStatsService itemRatingStatsService;
+
+    @BeforeEach
+    void setUp() {
+        itemRatingStatsService = new ItemRatingStatsService(itemRatingStatsRepository, reviewRepository,
+                itemRepository, cacheManager, eTagVersionStore, transactionManager);
+    }
+
+    @Test
+    @DisplayName("모인 증감분은 상품당 한 번의 UPDATE로 반영된다")
+    void flush_appliesMergedDeltaOnce() {
+        // given
+        Long itemId = 1L;
+        itemRatingStatsService.recordAdded(itemId, 5);
+        itemRatingStatsService.recordAdded(itemId, 5);
+        itemRatingStatsService.recordRemoved(itemId, 3);
+        given(itemRatingStatsRepository.applyDelta(eq(itemId), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        // when
+        itemRatingStatsService.flush();
+        itemRatingStatsService.flush(); // 반영 후에는 남은 증감분이 없다
+
+        // then
+        verify(itemRatingStatsRepository, times(1)).applyDelta(itemId, 0, 0, -1, 0, 2, 1, 7);
+        verify(itemRepository, times(1)).addRating(itemId, 7, 1);
+        verify(eTagVersionStore).bumpAfterCommit(ETagVersionStore.itemDetail(itemId));
+    }
+
+    @Test
+    @DisplayName("평점 집계가 바뀌면 리뷰 요약과 상품 상세(평균 평점/리뷰 수) 캐시를 함께 지운다")
+    void flush_evictsSummaryAndItemDetailCache() {
+        // given
+        Long itemId = 4L;
+        Cache summaryCache = mock(Cache.class);
+        Cache detailCache = mock(Cache.class);
+        given(cacheManager.getCache(ItemRatingStatsService.SUMMARY_CACHE)).willReturn(summaryCache);
+        given(cacheManager.getCache("item:detail")).willReturn(detailCache);
+        itemRatingStatsService.recordAdded(itemId, 5);
+        given(itemRatingStatsRepository.applyDelta(eq(itemId), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        // when
+        itemRatingStatsService.flush();
+
+        // then
+        verify(summaryCache).evict(itemId);
+        verify(detailCache).evict(itemId);
+        verify(eTagVersionStore).bumpAfterCommit(ETagVersionStore.itemDetail(itemId));
+    }
+
+    @Test
+    @DisplayName("집계 행이 없으면 0으로 채운 행을 만든 뒤 증감분을 더한다 (리뷰 수로 덮어쓰지 않음)")
+    void flush_missingRow_insertsZeroRowThenAppliesDelta() {
+        // given
+        Long itemId = 2L;
+        itemRatingStatsService.recordAdded(itemId, 4);
+
+        // when
+        itemRatingStatsService.flush();
+
+        // then
+        InOrder inOrder = inOrder(itemRatingStatsRepository, itemRepository);
+        inOrder.verify(itemRatingStatsRepository).insertIfAbsent(itemId);
+        inOrder.verify(itemRatingStatsRepository).applyDelta(itemId, 0, 0, 0, 1, 0, 1, 4);
+        inOrder.verify(itemRepository).addRating(itemId, 4, 1);
+        verify(reviewRepository, never()).countByRating(anyLong());
+        verify(itemRatingStatsRepository, never()).overwriteFromReviews(anyLong());
+        verify(itemRepository, never()).overwriteRating(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("재집계는 상품마다 한 문장으로 덮어쓰고, 이미 리뷰 테이블에 들어간 대기 증감분은 다시 더하지 않는다")
+    void reconcileAll_overwritesAndDropsPendingDelta() {
+        // given
+        Long itemId = 5L;
+        itemRatingStatsService.recordAdded(itemId, 5);
+        given(reviewRepository.findReviewedItemIds()).willReturn(List.of(itemId));
+        given(itemRatingStatsRepository.findAllItemIds()).willReturn(List.of(itemId, 6L));
+        given(itemRatingStatsRepository.findById(itemId))
+                .willReturn(Optional.of(ItemRatingStats.of(itemId, new long[]{0, 0, 0, 0, 1, 2})));
+        given(itemRatingStatsRepository.findById(6L))
+                .willReturn(Optional.of(ItemRatingStats.of(6L, new long[6])));
+
+        // when
+        itemRatingStatsService.reconcileAll();
+        itemRatingStatsService.flush();
+
+        // then
+        verify(itemRatingStatsRepository).overwriteFromReviews(itemId);
+        verify(itemRatingStatsRepository).overwriteFromReviews(6L);
+        verify(itemRepository).overwriteRating(itemId, 14, 3);
+        verify(itemRepository).overwriteRating(6L, 0, 0);
+        verify(itemRatingStatsRepository, never()).applyDelta(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+        verify(itemRepository, never()).addRating(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("재집계에 실패한 상품의 대기 증감분은 버리지 않고 다음 주기에 반영한다")
+    void reconcileAll_failure_keepsPendingDelta() {
+        // given
+        Long itemId = 7L;
+        itemRatingStatsService.recordAdded(itemId, 2);
+        given(reviewRepository.findReviewedItemIds()).willReturn(List.of(itemId));
+        given(itemRatingStatsRepository.findAllItemIds()).willReturn(List.of());
+        given(itemRatingStatsRepository.overwriteFromReviews(itemId)).willThrow(new RuntimeException("db down"));
+
+        // when
+        itemRatingStatsService.reconcileAll();
+        itemRatingStatsService.flush();
+
+        // then
+        verify(itemRatingStatsRepository).applyDelta(itemId, 0, 1, 0, 0, 0, 1, 2);
+        verify(itemRepository).addRating(itemId, 2, 1);
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 증감분은 다음 주기에 다시 반영된다")
+    void flush_failure_keepsDelta() {
+        // given
+        Long itemId = 3L;
+        itemRatingStatsService.recordAdded(itemId, 1);
+        given(itemRatingStatsRepository.applyDelta(eq(itemId), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .willThrow(new RuntimeException("db down"))
+                .willReturn(1);
+
+        // when
+        itemRatingStatsService.flush();
+        itemRatingStatsService.flush();
+
+        // then
+        verify(itemRatingStatsRepository, times(2)).applyDelta(itemId, 1, 0, 0, 0, 0, 1, 1);
+        verify(itemRepository, times(1)).addRating(itemId, 1, 1);
+    }
+
+    @Test
+    @DisplayName("리뷰 요약은 집계 행의 분포로 평균을 계산한다")
+    void getSummary_fromStats() {
+        // given
+        Long itemId = 4L;
+        given(itemRatingStatsRepository.findById(itemId))
+                .willReturn(Optional.of(ItemRatingStats.of(itemId, new long[]{0, 0, 0, 0, 1, 3})));
+
+        // when
+        ReviewSummaryDto summary = itemRatingStatsService.getSummary(itemId);
+
+        // then
+        assertThat(summary.getReviewCount()).isEqualTo(4);
+        assertThat(summary.getAverageRating()).isEqualTo(4.75);
+        assertThat(summary.getRatingCounts()).containsEntry(5, 3L).containsEntry(1, 0L);
+    }
+}
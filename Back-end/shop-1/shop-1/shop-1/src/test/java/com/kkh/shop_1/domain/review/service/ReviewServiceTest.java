@@ -1,11 +1,17 @@
 package com.kkh.shop_1.domain.review.service;
 
+import com.kkh.shop_1.common.etag.ETagVersionStore;
 import com.kkh.shop_1.common.s3.S3Service;
 import com.kkh.shop_1.domain.item.entity.Item;
 import com.kkh.shop_1.domain.order.entity.Order;
 import com.kkh.shop_1.domain.order.entity.OrderItem;
+import com.kkh.shop_1.domain.order.service.OrderHistoryService;
 import com.kkh.shop_1.domain.order.service.OrderService;
+import com.kkh.shop_1.domain.outbox.service.OutboxEventService;
+import com.kkh.shop_1.domain.review.dto.ReviewCursor;
+import com.kkh.shop_1.domain.review.dto.ReviewCursorPageDto;
 import com.kkh.shop_1.domain.review.dto.ReviewRequestDto;
+import com.kkh.shop_1.domain.review.dto.ReviewResponseDto;
 import com.kkh.shop_1.domain.review.entity.Review;
 import com.kkh.shop_1.domain.review.repository.ReviewRepository;
 import com.kkh.shop_1.domain.user.entity.User;
@@ -16,8 +22,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +38,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -44,9 +58,21 @@ class ReviewServiceTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OutboxEventService outboxEventService;
+
+    @Mock
+    private OrderHistoryService orderHistoryService;
+
     @Mock
     private S3Service s3Service;
 
+    @Mock
+    private ETagVersionStore eTagVersionStore;
+
+    @Mock
+    private ItemRatingStatsService itemRatingStatsService;
+
     @Test
     @DisplayName("리뷰 등록 성공 - Happy Path")
     void createReview_Success() {
@@ -68,6 +94,7 @@ class ReviewServiceTest {
         given(order.getUser()).willReturn(user);
         given(user.getId()).willReturn(userId);
         given(orderItem.getItem()).willReturn(item);
+        given(item.getId()).willReturn(7L);
         given(reviewRepository.save(any(Review.class))).willReturn(review);
         given(review.getId()).willReturn(100L);
 
@@ -76,7 +103,9 @@ class ReviewServiceTest {
 
         // then
         assertThat(reviewId).isEqualTo(100L);
-        verify(item).addReviewRating(5);
+        verify(itemRatingStatsService).recordAdded(7L, 5);
+        verify(outboxEventService).record(eq("ORDER_UPDATED"), any());
+        verify(orderHistoryService).evictAfterCommit(1L);
     }
 
     @Test
@@ -160,13 +189,14 @@ class ReviewServiceTest {
         given(review.getUser()).willReturn(user);
         given(user.getId()).willReturn(userId);
         given(review.getItem()).willReturn(item);
+        given(item.getId()).willReturn(7L);
         given(review.getRating()).willReturn(5);
 
         // when
         reviewService.deleteReview(reviewId, userId);
 
         // then
-        verify(item).removeReviewRating(5);
+        verify(itemRatingStatsService).recordRemoved(7L, 5);
         verify(reviewRepository).delete(review);
     }
 
@@ -205,4 +235,98 @@ class ReviewServiceTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessage("삭제 권한이 없습니다.");
     }
+
+    @Test
+    @DisplayName("리뷰 목록 조회 - id 페이지 순서대로 해당 페이지의 리뷰만 읽는다")
+    void getReviewsByItem_TwoPhase() {
+        // given
+        Long itemId = 10L;
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt"));
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Review newer = review(2L, now);
+        Review older = review(1L, now.minusHours(1));
+
+        given(reviewRepository.findIdsByItemId(eq(itemId), any(Pageable.class)))
+                .willReturn(new PageImpl<>(List.of(2L, 1L), pageable, 5));
+        given(reviewRepository.findAllWithUserAndImagesByIdIn(List.of(2L, 1L)))
+                .willReturn(List.of(older, newer)); // IN 쿼리는 순서를 보장하지 않는다
+
+        // when
+        Page<ReviewResponseDto> result = reviewService.getReviewsByItem(itemId, pageable, 1L);
+
+        // then
+        assertThat(result.getContent()).extracting(ReviewResponseDto::getReviewId).containsExactly(2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("리뷰 커서 조회 - 한 건을 더 읽어 다음 커서를 만든다")
+    void getReviewsByItemCursor_HasNext() {
+        // given
+        Long itemId = 10L;
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Review first = review(3L, now);
+        Review second = review(2L, now.minusMinutes(1));
+
+        given(reviewRepository.findFirstPositionsByItemId(eq(itemId), any(Pageable.class))).willReturn(List.of(
+                new ReviewCursor(now, 3L), new ReviewCursor(now.minusMinutes(1), 2L), new ReviewCursor(now.minusMinutes(2), 1L)));
+        given(reviewRepository.findAllWithUserAndImagesByIdIn(List.of(3L, 2L))).willReturn(List.of(first, second));
+
+        // when
+        ReviewCursorPageDto result = reviewService.getReviewsByItemCursor(itemId, null, 2, 1L);
+
+        // then
+        assertThat(result.getReviews()).extracting(ReviewResponseDto::getReviewId).containsExactly(3L, 2L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(ReviewCursor.decode(result.getNextCursor())).isEqualTo(new ReviewCursor(now.minusMinutes(1), 2L));
+    }
+
+    @Test
+    @DisplayName("리뷰 커서 조회 - 두 쿼리 사이에 리뷰가 삭제돼도 다음 커서는 1단계에서 읽은 위치로 만든다")
+    void getReviewsByItemCursor_DeletedBetweenQueries_CursorFromScan() {
+        // given
+        Long itemId = 10L;
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Review first = review(3L, now);
+
+        given(reviewRepository.findFirstPositionsByItemId(eq(itemId), any(Pageable.class))).willReturn(List.of(
+                new ReviewCursor(now, 3L), new ReviewCursor(now.minusMinutes(1), 2L), new ReviewCursor(now.minusMinutes(2), 1L)));
+        given(reviewRepository.findAllWithUserAndImagesByIdIn(List.of(3L, 2L))).willReturn(List.of(first));
+
+        // when
+        ReviewCursorPageDto result = reviewService.getReviewsByItemCursor(itemId, null, 2, 1L);
+
+        // then
+        assertThat(result.getReviews()).extracting(ReviewResponseDto::getReviewId).containsExactly(3L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(ReviewCursor.decode(result.getNextCursor())).isEqualTo(new ReviewCursor(now.minusMinutes(1), 2L));
+    }
+
+    @Test
+    @DisplayName("리뷰 커서 조회 - 이번 페이지 리뷰가 모두 삭제돼도 예외 없이 빈 목록과 다음 커서를 돌려준다")
+    void getReviewsByItemCursor_AllDeletedBetweenQueries_NoException() {
+        // given
+        Long itemId = 10L;
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+        given(reviewRepository.findFirstPositionsByItemId(eq(itemId), any(Pageable.class))).willReturn(List.of(
+                new ReviewCursor(now, 3L), new ReviewCursor(now.minusMinutes(1), 2L), new ReviewCursor(now.minusMinutes(2), 1L)));
+        given(reviewRepository.findAllWithUserAndImagesByIdIn(List.of(3L, 2L))).willReturn(List.of());
+
+        // when
+        ReviewCursorPageDto result = reviewService.getReviewsByItemCursor(itemId, null, 2, 1L);
+
+        // then
+        assertThat(result.getReviews()).isEmpty();
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(ReviewCursor.decode(result.getNextCursor())).isEqualTo(new ReviewCursor(now.minusMinutes(1), 2L));
+    }
+
+    private Review review(Long reviewId, LocalDateTime createdAt) {
+        User writer = User.builder().id(1L).nickname("작성자").build();
+        Review review = Review.createReview(mock(Item.class), writer, 5, "리뷰" + reviewId);
+        ReflectionTestUtils.setField(review, "Id", reviewId);
+        ReflectionTestUtils.setField(review, "createdAt", createdAt);
+        return review;
+    }
 }
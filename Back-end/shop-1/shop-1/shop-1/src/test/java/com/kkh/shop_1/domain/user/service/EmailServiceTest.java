@@ -0,0 +1,155 @@
+package com.kkh.shop_1.domain.user.service;
+
+import com.kkh.shop_1.common.mail.MailMessage;
+import com.kkh.shop_1.common.mail.SmtpMailDispatcher;
+import com.kkh.shop_1.common.store.InMemoryTtlStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    @Mock
+    private SmtpMailDispatcher mailDispatcher;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private InMemoryTtlStore ttlStore;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        ttlStore = new InMemoryTtlStore(clock);
+        emailService = new EmailService(mailDispatcher, ttlStore);
+    }
+
+    @Test
+    @DisplayName("발송한 인증코드로 검증하면 성공하고, 인증 완료 표시는 회원가입 때 한 번만 소비된다")
+    void verifyCode_Success_ThenConsumeOnce() {
+        // given
+        emailService.sendVerificationCode(EMAIL);
+        String code = issuedCode();
+
+        // when
+        boolean verified = emailService.verifyCode(EMAIL, code);
+
+        // then
+        assertThat(verified).isTrue();
+        verify(mailDispatcher).send(any(MailMessage.class));
+        assertThat(emailService.verifyCode(EMAIL, code)).isFalse(); // 코드는 1회용
+        emailService.consumeVerifiedEmail(EMAIL);
+        assertThatThrownBy(() -> emailService.consumeVerifiedEmail(EMAIL))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("5분이 지난 인증코드는 검증에 실패한다")
+    void verifyCode_Expired_Fails() {
+        // given
+        emailService.sendVerificationCode(EMAIL);
+        String code = issuedCode();
+
+        // when
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+
+        // then
+        assertThat(emailService.verifyCode(EMAIL, code)).isFalse();
+    }
+
+    @Test
+    @DisplayName("틀린 코드로 5번 넘게 시도하면 맞는 코드도 더 이상 통과하지 않는다")
+    void verifyCode_TooManyAttempts_InvalidatesCode() {
+        // given
+        emailService.sendVerificationCode(EMAIL);
+        String code = issuedCode();
+        String wrong = code.equals("000000") ? "111111" : "000000";
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertThat(emailService.verifyCode(EMAIL, wrong)).isFalse();
+        }
+
+        // then
+        assertThat(emailService.verifyCode(EMAIL, code)).isFalse();
+        assertThat(ttlStore.get("auth:email:code:" + EMAIL)).isNull();
+    }
+
+    @Test
+    @DisplayName("인증코드를 다시 발송하면 시도 횟수를 처음부터 센다")
+    void sendVerificationCode_Resend_ResetsAttempts() {
+        // given
+        emailService.sendVerificationCode(EMAIL);
+        for (int i = 0; i < 4; i++) {
+            emailService.verifyCode(EMAIL, "wrong");
+        }
+
+        // when
+        emailService.sendVerificationCode(EMAIL);
+
+        // then
+        assertThat(emailService.verifyCode(EMAIL, issuedCode())).isTrue();
+    }
+
+    @Test
+    @DisplayName("인증 완료 후 30분이 지나면 회원가입에 쓸 수 없다")
+    void consumeVerifiedEmail_AfterTtl_Throws() {
+        // given
+        emailService.sendVerificationCode(EMAIL);
+        emailService.verifyCode(EMAIL, issuedCode());
+
+        // when
+        clock.advance(Duration.ofMinutes(31));
+
+        // then
+        assertThatThrownBy(() -> emailService.consumeVerifiedEmail(EMAIL))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이메일 인증");
+    }
+
+    private String issuedCode() {
+        return ttlStore.get("auth:email:code:" + EMAIL);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.kkh.shop_1.domain.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkh.shop_1.common.store.InMemoryTtlStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NaverServiceTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private InMemoryTtlStore ttlStore;
+    private NaverService naverService;
+
+    @BeforeEach
+    void setUp() {
+        ttlStore = new InMemoryTtlStore();
+        naverService = new NaverService(restTemplate, new ObjectMapper(), ttlStore);
+    }
+
+    @Test
+    @DisplayName("발급하지 않은 state로 콜백이 오면 네이버를 호출하지 않고 거절한다")
+    void getNaverUserInfo_UnknownState_Rejected() {
+        assertThatThrownBy(() -> naverService.getNaverUserInfo("code", "forged-state"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(restTemplate, never()).getForEntity(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("state는 1회용이라, 한 번 쓴 state로 다시 오면 거절한다")
+    void getNaverUserInfo_ReusedState_Rejected() {
+        // given
+        String state = naverService.issueState();
+        // 첫 콜백: state는 통과하고 토큰 요청 단계에서 실패한다. (RestTemplate 목이 응답을 주지 않음)
+        assertThatThrownBy(() -> naverService.getNaverUserInfo("code", state))
+                .isInstanceOf(RuntimeException.class)
+                .isNotInstanceOf(IllegalArgumentException.class);
+
+        // when & then
+        assertThatThrownBy(() -> naverService.getNaverUserInfo("code", state))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("만료된 로그인 요청");
+    }
+}
@@ -0,0 +1,246 @@
+package com.kkh.shop_1.loadtest;
+
+import com.kkh.shop_1.domain.item.entity.Item;
+import com.kkh.shop_1.domain.item.entity.ItemCategory;
+import com.kkh.shop_1.domain.item.entity.ItemStatus;
+import com.kkh.shop_1.domain.item.repository.ItemRepository;
+import com.kkh.shop_1.domain.item.repository.ItemSearchRepository;
+import com.kkh.shop_1.domain.item.service.ItemSearchService;
+import com.kkh.shop_1.domain.order.dto.OrderApproveDTO;
+import com.kkh.shop_1.domain.order.dto.OrderDetailDTO;
+import com.kkh.shop_1.domain.order.dto.OrderRequestDTO;
+import com.kkh.shop_1.domain.order.dto.OrderResponseDTO;
+import com.kkh.shop_1.domain.order.entity.PaymentType;
+import com.kkh.shop_1.domain.order.service.OrderService;
+import com.kkh.shop_1.domain.user.entity.LoginType;
+import com.kkh.shop_1.domain.user.entity.User;
+import com.kkh.shop_1.domain.user.entity.UserRole;
+import com.kkh.shop_1.domain.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ *
+ * 주문 생성(orderItems) -> 결제 승인(approveOrder) 전체 흐름 부하 테스트.
+ *
+ * PG는 pg-simulator 프로필의 시뮬레이터가 로컬 HTTP 포트로 응답하므로 외부 샌드박스 없이 돈다.
+ * 결제 요청은 운영과 같은 풀링 HttpClient(연결 풀, 타임아웃, 미리 데우기)를 거쳐 실제 소켓으로 나간다. (DB/Redis는 다른 통합 테스트와 같은 로컬 환경)
+ * 기본 test 태스크에서는 빠지고 ./gradlew loadTest 로 실행한다. 설정은 시스템 프로퍼티로 바꾼다.
+ *
+ *   -Dload.orders=500 -Dload.concurrency=32 -Dload.items=20 -Dload.payment-type=KAKAO_PAY
+ *   -Dpg.simulator.median-ms=80 -Dpg.simulator.p99-ms=400 -Dpg.simulator.error-rate=0.01 -Dpg.simulator.timeout-rate=0.001
+ *
+ * 단계별(order / approve / checkout) 처리량과 p50/p95/p99 응답 시간을 표로 로그에 남기고, 끝나면 만든 회원/상품/주문을 지운다.
+ *
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("pg-simulator")
+@DirtiesContext
+class CheckoutLoadTest {
+
+    private static final int ORDERS = Integer.getInteger("load.orders", 500);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final int ITEMS = Integer.getInteger("load.items", 20);
+    private static final PaymentType PAYMENT_TYPE = PaymentType.valueOf(System.getProperty("load.payment-type", "KAKAO_PAY"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.05"));
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ItemSearchRepository itemSearchRepository;
+
+    @MockBean
+    private ItemSearchService itemSearchService;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<Long> buyerIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        // 시드 데이터와 이 실행이 만든 주문을 FK 역순으로 지운다. (outbox 이벤트는 릴레이가 처리/보관한다)
+        if (!buyerIds.isEmpty()) {
+            Map<String, Object> buyers = Map.of("userIds", buyerIds);
+            jdbcTemplate.update("DELETE FROM order_item WHERE order_id IN (SELECT order_id FROM orders WHERE user_id IN (:userIds))", buyers);
+            jdbcTemplate.update("DELETE FROM payment_approval WHERE user_id IN (:userIds)", buyers);
+            jdbcTemplate.update("DELETE FROM order_view WHERE user_id IN (:userIds)", buyers);
+            jdbcTemplate.update("DELETE FROM orders WHERE user_id IN (:userIds)", buyers);
+            jdbcTemplate.update("DELETE FROM cart_item WHERE user_id IN (:userIds)", buyers);
+        }
+        if (!itemIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM item WHERE item_id IN (:itemIds)", Map.of("itemIds", itemIds));
+        }
+        if (!userIds.isEmpty()) {
+            Map<String, Object> users = Map.of("userIds", userIds);
+            jdbcTemplate.update("DELETE FROM addresses WHERE user_id IN (:userIds)", users);
+            jdbcTemplate.update("DELETE FROM users WHERE user_id IN (:userIds)", users);
+        }
+    }
+
+    @Test
+    @DisplayName("주문 생성 -> 결제 승인 전체 흐름을 목표 동시성으로 돌리고 단계별 처리량/백분위 응답 시간을 출력한다")
+    void checkout_UnderLoad() throws InterruptedException {
+        // given
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        User seller = userRepository.save(user("seller", runId, UserRole.SELLER));
+        userIds.add(seller.getId());
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(itemRepository.save(Item.builder()
+                    .name("부하테스트상품_" + runId + "_" + i)
+                    .price(1000 + i)
+                    .quantity(ORDERS)
+                    .itemCategory(ItemCategory.OTHERS)
+                    .status(ItemStatus.SELLING)
+                    .seller(seller)
+                    .build()).getId());
+        }
+        for (int i = 0; i < CONCURRENCY; i++) {
+            Long buyerId = userRepository.save(user("buyer" + i, runId, UserRole.CUSTOMER)).getId();
+            userIds.add(buyerId);
+            buyerIds.add(buyerId);
+        }
+
+        StageStats stats = new StageStats("order", "approve", "checkout");
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        CountDownLatch done = new CountDownLatch(ORDERS);
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            Long buyerId = buyerIds.get(i % buyerIds.size());
+            Long itemId = itemIds.get(i % itemIds.size());
+            inFlight.acquire();
+            executor.submit(() -> {
+                try {
+                    checkout(stats, buyerId, itemId);
+                } finally {
+                    inFlight.release();
+                    done.countDown();
+                }
+            });
+        }
+        done.await(10, TimeUnit.MINUTES);
+        long wall = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        log.info("\n{}", stats.report(wall, CONCURRENCY));
+
+        // then
+        long completed = stats.successCount("checkout");
+        assertThat(completed).isPositive();
+        assertThat((double) (ORDERS - completed) / ORDERS).isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+
+    private void checkout(StageStats stats, Long buyerId, Long itemId) {
+        long start = System.nanoTime();
+
+        OrderResponseDTO order = timed(stats, "order", () -> orderService.orderItems(buyerId, orderRequest(itemId)));
+        if (order == null) {
+            stats.failure("checkout", new IllegalStateException("order stage failed"));
+            return;
+        }
+
+        OrderDetailDTO approved = timed(stats, "approve", () -> approve(buyerId, order));
+        if (approved == null) {
+            stats.failure("checkout", new IllegalStateException("approve stage failed"));
+            return;
+        }
+        stats.success("checkout", System.nanoTime() - start);
+    }
+
+    private OrderDetailDTO approve(Long buyerId, OrderResponseDTO order) {
+        // approveOrder는 @Idempotent라 요청 헤더의 Idempotency-Key가 필요하다.
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Idempotency-Key", UUID.randomUUID().toString());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            OrderApproveDTO dto = new OrderApproveDTO();
+            if (PAYMENT_TYPE == PaymentType.TOSS_PAY) {
+                dto.setOrderId(order.getTid()); // ORDER_{id}_{ts}
+                dto.setPaymentKey("pk_" + order.getOrderId());
+            } else {
+                dto.setOrderId(String.valueOf(order.getOrderId()));
+                dto.setPg_token("simulated");
+            }
+            return orderService.approveOrder(dto, buyerId);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private <T> T timed(StageStats stats, String stage, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            stats.success(stage, System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            stats.failure(stage, e);
+            return null;
+        }
+    }
+
+    private OrderRequestDTO orderRequest(Long itemId) {
+        return OrderRequestDTO.builder()
+                .paymentType(PAYMENT_TYPE)
+                .itemOrders(List.of(OrderRequestDTO.ItemOrder.builder().itemId(itemId).quantity(1).build()))
+                .approvalUrl("http://localhost:3000/orders/{orderId}/approve")
+                .cancelUrl("http://localhost:3000/orders/cancel")
+                .failUrl("http://localhost:3000/orders/fail")
+                .zipCode("12345")
+                .roadAddress("서울시 테스트로 1")
+                .detailAddress("101호")
+                .recipientName("부하테스트")
+                .recipientPhone("010-0000-0000")
+                .build();
+    }
+
+    private User user(String prefix, String runId, UserRole role) {
+        return User.builder()
+                .loginType(LoginType.LOCAL)
+                .email(prefix + "_" + runId + "@load.test")
+                .password("1234")
+                .nickname(prefix + "_" + runId)
+                .userRole(role)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.kkh.shop_1.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트 단계(stage)별 응답 시간/오류를 모아 처리량과 백분위 응답 시간을 표로 출력한다.
+ */
+class StageStats {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, AtomicLong>> errors = new ConcurrentHashMap<>();
+    private final List<String> stageOrder = new ArrayList<>();
+
+    StageStats(String... stages) {
+        for (String stage : stages) {
+            stageOrder.add(stage);
+            latencies.put(stage, new ConcurrentLinkedQueue<>());
+            errors.put(stage, new ConcurrentHashMap<>());
+        }
+    }
+
+    void success(String stage, long elapsedNanos) {
+        latencies.get(stage).add(elapsedNanos);
+    }
+
+    void failure(String stage, Throwable e) {
+        errors.get(stage).computeIfAbsent(e.getClass().getSimpleName(), k -> new AtomicLong()).incrementAndGet();
+    }
+
+    long successCount(String stage) {
+        return latencies.get(stage).size();
+    }
+
+    long errorCount(String stage) {
+        return errors.get(stage).values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    String report(long wallNanos, int concurrency) {
+        double wallSeconds = wallNanos / 1_000_000_000.0;
+        StringBuilder out = new StringBuilder()
+                .append(String.format("%n동시성 %d, 총 소요 %.1fs%n", concurrency, wallSeconds))
+                .append(String.format("%-10s %8s %7s %9s %9s %9s %9s %9s%n",
+                        "stage", "ok", "error", "ops/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+
+        for (String stage : stageOrder) {
+            long[] sorted = latencies.get(stage).stream().mapToLong(Long::longValue).sorted().toArray();
+            out.append(String.format("%-10s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    stage, sorted.length, errorCount(stage), sorted.length / wallSeconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+        }
+
+        for (String stage : stageOrder) {
+            if (!errors.get(stage).isEmpty()) {
+                out.append(String.format("%s 오류: %s%n", stage, new TreeMap<>(errors.get(stage))));
+            }
+        }
+        return out.toString();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.kkh.shop_1.security.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityWhitelistTest {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/auth/login", "/auth", "/authx", "/items", "/items/", "/items/1", "/items/1/reviews", "/itemsx/1",
+            "/reviews/items/3", "/reviews/1", "/payments/webhooks/kakaopay", "/payments/approve",
+            "/error", "/error/x", "/favicon.ico", "/orders/1", "/"
+    })
+    @DisplayName("미리 나눠 둔 매처는 PATHS를 AntPathMatcher로 하나씩 비교한 결과와 같다")
+    void matches_SameAsAntPathMatcher(String uri) {
+        boolean expected = Arrays.stream(SecurityWhitelist.PATHS).anyMatch(pattern -> PATH_MATCHER.match(pattern, uri));
+
+        assertThat(SecurityWhitelist.matches(uri)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,135 @@
+package com.kkh.shop_1.security.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtProviderTest {
+
+    private static final String SECRET = "test-secret-key-test-secret-key-0123456789";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private JwtProvider jwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = new JwtProvider(SECRET, 100, clock);
+    }
+
+    @Test
+    @DisplayName("한 번 검증한 액세스 토큰은 만료 전까지 캐시된 인증 정보를 그대로 돌려준다")
+    void getAuthentication_SecondCall_ServedFromCache() {
+        // given
+        String token = jwtProvider.createAccessToken(7L, "CUSTOMER");
+
+        // when
+        Authentication first = jwtProvider.getAuthentication(token);
+        Authentication second = jwtProvider.getAuthentication(token);
+
+        // then
+        assertThat(first.getPrincipal()).isEqualTo(7L);
+        assertThat(first.getAuthorities()).extracting("authority").containsExactly("CUSTOMER");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("토큰이 만료되면 캐시에 있어도 다시 검증해 만료 예외를 던진다")
+    void getAuthentication_AfterExpiry_NotServedFromCache() {
+        // given
+        String token = jwtProvider.createAccessToken(7L, "CUSTOMER");
+        jwtProvider.getAuthentication(token);
+
+        // when
+        clock.advance(Duration.ofMinutes(301));
+
+        // then
+        assertThatThrownBy(() -> jwtProvider.getAuthentication(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("액세스 토큰이 아니면 캐시에 넣지 않고 매번 거절한다")
+    void getAuthentication_RefreshToken_Rejected() {
+        // given
+        String refreshToken = jwtProvider.createRefreshToken(7L);
+
+        // when & then
+        assertThatThrownBy(() -> jwtProvider.getAuthentication(refreshToken))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jwtProvider.getAuthentication(refreshToken))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명된 토큰은 캐시와 상관없이 거절한다")
+    void getAuthentication_ForeignSignature_Rejected() {
+        // given
+        JwtProvider other = new JwtProvider("other-secret-key-other-secret-key-0123456789", 100, clock);
+        String foreignToken = other.createAccessToken(7L, "ADMIN");
+
+        // when & then
+        assertThat(jwtProvider.findUserId(foreignToken)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findUserId는 유효한 액세스 토큰의 사용자 id를, 잘못된 토큰은 빈 값을 돌려준다")
+    void findUserId_ValidAndInvalid() {
+        assertThat(jwtProvider.findUserId(jwtProvider.createAccessToken(3L, "SELLER"))).contains(3L);
+        assertThat(jwtProvider.findUserId("garbage")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("캐시가 가득 차면 한도를 넘지 않도록 비운다")
+    void verifiedTokenCache_StaysBounded() {
+        // given
+        JwtProvider small = new JwtProvider(SECRET, 10, clock);
+
+        // when
+        for (long userId = 1; userId <= 50; userId++) {
+            small.getAuthentication(small.createAccessToken(userId, "CUSTOMER"));
+        }
+
+        // then
+        VerifiedTokenCache cache = (VerifiedTokenCache) ReflectionTestUtils.getField(small, "verifiedTokenCache");
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}